@@ -1,8 +1,10 @@
 package aster.truffle;
 
+import aster.truffle.nodes.parallel.ParallelExecutor;
 import aster.truffle.runtime.AsterConfig;
 import aster.truffle.runtime.AsyncTaskRegistry;
 import aster.truffle.runtime.Builtins;
+import aster.truffle.runtime.MemoCache;
 import com.oracle.truffle.api.TruffleLanguage;
 import java.util.Objects;
 import java.util.Set;
@@ -19,6 +21,9 @@ public final class AsterContext {
   private final AtomicReference<Builtins> builtinsRef = new AtomicReference<>();
   private final AtomicReference<Set<String>> effectPermissions = new AtomicReference<>(Set.of());
   private final AtomicReference<AsyncTaskRegistry> asyncRegistry = new AtomicReference<>();
+  private final AtomicReference<ParallelExecutor> parallelExecutor = new AtomicReference<>();
+  /** 纯函数记忆化缓存；选项 aster.Memoize 关闭时为 null。 */
+  private final MemoCache memoCache;
   private final AtomicLong taskIdGenerator = new AtomicLong(0);
   private final ConfigView configView;
   private final Class<AsterConfig> configClass;
@@ -28,6 +33,9 @@ public final class AsterContext {
     // 预先捕捉静态配置，避免执行过程中反复读取环境变量
     this.configView = new ConfigView(AsterConfig.DEBUG, AsterConfig.PROFILE, AsterConfig.DEFAULT_FUNCTION);
     this.configClass = AsterConfig.class;
+    this.memoCache = env.getOptions().get(AsterLanguage.Memoize)
+        ? new MemoCache(env.getOptions().get(AsterLanguage.MemoCacheSize))
+        : null;
   }
 
   public TruffleLanguage.Env getEnv() {
@@ -96,6 +104,43 @@ public final class AsterContext {
     return asyncRegistry.compareAndSet(null, created) ? created : asyncRegistry.get();
   }
 
+  /**
+   * 延迟初始化并行 List 操作的执行器（上下文独占的线程池，参数取自语言选项）。
+   * 与 asyncRegistry 相同的原子单例模式；竞争失败方创建的执行器立即关闭。
+   */
+  public ParallelExecutor getParallelExecutor() {
+    ParallelExecutor current = parallelExecutor.get();
+    if (current != null) {
+      return current;
+    }
+    ParallelExecutor created = new ParallelExecutor(
+        env.getOptions().get(AsterLanguage.ParallelThreads),
+        env.getOptions().get(AsterLanguage.ParallelMinSize),
+        env.getOptions().get(AsterLanguage.ParallelChunkMicros));
+    if (parallelExecutor.compareAndSet(null, created)) {
+      return created;
+    }
+    created.close();
+    return parallelExecutor.get();
+  }
+
+  /**
+   * 纯函数调用的记忆化缓存（见 {@link MemoCache}），未开启时返回 null。
+   */
+  public MemoCache getMemoCache() {
+    return memoCache;
+  }
+
+  /**
+   * 上下文销毁时释放上下文独占的资源（并行执行器的线程池）。
+   */
+  public void dispose() {
+    ParallelExecutor executor = parallelExecutor.get();
+    if (executor != null) {
+      executor.close();
+    }
+  }
+
   /**
    * 生成唯一的任务 ID。
    * 使用 AtomicLong 递增序列，格式为 "task-<seq>"。
@@ -1,10 +1,23 @@
 package aster.truffle;
 
 import aster.truffle.nodes.AsterRootNode;
+import aster.truffle.nodes.parallel.ParallelExecutor;
 import aster.truffle.runtime.AsterConfig;
+import aster.truffle.runtime.MemoCache;
 import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Option;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.source.Source;
+import org.graalvm.options.OptionCategory;
+import org.graalvm.options.OptionDescriptors;
+import org.graalvm.options.OptionKey;
+import org.graalvm.options.OptionStability;
+import org.graalvm.options.OptionValues;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Aster 语言 Truffle 实现
@@ -34,6 +47,36 @@ public final class AsterLanguage extends TruffleLanguage<AsterContext> {
   /** Core IR JSON MIME type */
   public static final String MIME_JSON = "application/json";
 
+  // === 并行 List 操作（见 ParallelExecutor）：每个上下文独立的 fork/join 线程池 ===
+
+  @Option(help = "Worker threads for parallel List operations (0 = available processors, 1 = disable parallelism).",
+      category = OptionCategory.USER, stability = OptionStability.STABLE)
+  static final OptionKey<Integer> ParallelThreads = new OptionKey<>(0);
+
+  @Option(help = "Minimum list length before List operations with pure lambdas run in parallel.",
+      category = OptionCategory.EXPERT, stability = OptionStability.STABLE)
+  static final OptionKey<Integer> ParallelMinSize = new OptionKey<>(ParallelExecutor.DEFAULT_MIN_PARALLEL_SIZE);
+
+  @Option(help = "Target duration of one parallel chunk in microseconds; chunk sizes adapt to the measured per-element lambda cost.",
+      category = OptionCategory.EXPERT, stability = OptionStability.STABLE)
+  static final OptionKey<Integer> ParallelChunkMicros = new OptionKey<>(ParallelExecutor.DEFAULT_CHUNK_MICROS);
+
+  // === 纯函数记忆化（见 MemoCache）：每个上下文一个有界缓存，默认关闭 ===
+
+  @Option(help = "Memoize calls to functions statically inferred as pure, keyed by structurally hashed arguments.",
+      category = OptionCategory.USER, stability = OptionStability.STABLE)
+  static final OptionKey<Boolean> Memoize = new OptionKey<>(false);
+
+  @Option(help = "Maximum number of memoized results kept per context (least recently used entries are evicted).",
+      category = OptionCategory.EXPERT, stability = OptionStability.STABLE)
+  static final OptionKey<Integer> MemoCacheSize = new OptionKey<>(MemoCache.DEFAULT_CAPACITY);
+
+  // === 结构化返回（见 ReturnNode）：默认开启，关闭仅用于基准对照 ===
+
+  @Option(help = "Lower returns in function bodies to plain values and frame-slot results instead of ReturnException (disable only for comparison).",
+      category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL)
+  static final OptionKey<Boolean> LowerReturns = new OptionKey<>(true);
+
   /**
    * 缓存的 ContextReference —— GraalVM 推荐的当前上下文获取方式。
    * {@code create()} 对同一语言类保证返回同一引用，故作静态常量持有。
@@ -51,11 +94,86 @@ public final class AsterLanguage extends TruffleLanguage<AsterContext> {
     return CONTEXT_REF.get(null);
   }
 
+  /**
+   * 本线程上初始化过的 Aster 上下文（initializeThread 在被初始化的线程上写入，最近的在前）。
+   * 弱引用：disposeThread 可能在其他线程上调用、无法清理本线程的条目，未关闭的上下文也不会因此被线程持有。
+   * 并行 worker、异步任务线程执行 guest 代码但从不进入上下文，其值为 null。
+   */
+  private static final ThreadLocal<List<WeakReference<AsterContext>>> THREAD_CONTEXTS = new ThreadLocal<>();
+
+  /**
+   * 当前线程已进入的 AsterContext；线程没有进入任何 Aster 上下文（如并行 worker、直接调用 CallTarget
+   * 的单元测试，或初始化过但当前已离开上下文的线程）时返回 null。
+   */
+  @TruffleBoundary
+  public static AsterContext getContextOrNull() {
+    List<WeakReference<AsterContext>> contexts = THREAD_CONTEXTS.get();
+    if (contexts == null) {
+      return null;
+    }
+    for (WeakReference<AsterContext> ref : contexts) {
+      AsterContext context = ref.get();
+      if (context != null && context.getEnv().getContext().isEntered()) {
+        // 嵌套进入多个上下文时以 getContext() 为准
+        return getContext();
+      }
+    }
+    return null;
+  }
+
+  @Override
+  protected void initializeThread(AsterContext context, Thread thread) {
+    if (thread != Thread.currentThread()) {
+      // 语言晚于线程初始化时，其余线程由初始化线程代为通知：该线程上 getContextOrNull 返回 null，
+      // 只影响记忆化与并行等待方式，不影响求值结果
+      return;
+    }
+    List<WeakReference<AsterContext>> contexts = THREAD_CONTEXTS.get();
+    if (contexts == null) {
+      contexts = new ArrayList<>(1);
+      THREAD_CONTEXTS.set(contexts);
+    }
+    contexts.removeIf(ref -> ref.get() == null);
+    contexts.add(0, new WeakReference<>(context));
+  }
+
+  @Override
+  protected void disposeThread(AsterContext context, Thread thread) {
+    if (thread != Thread.currentThread()) {
+      return;
+    }
+    List<WeakReference<AsterContext>> contexts = THREAD_CONTEXTS.get();
+    if (contexts == null) {
+      return;
+    }
+    contexts.removeIf(ref -> ref.get() == null || ref.get() == context);
+    if (contexts.isEmpty()) {
+      THREAD_CONTEXTS.remove();
+    }
+  }
+
+  /** 解析结果只在 aster.Memoize 与 aster.LowerReturns 相同的上下文间共享：两者都在加载期写入函数节点。 */
+  @Override
+  protected boolean areOptionsCompatible(OptionValues firstOptions, OptionValues newOptions) {
+    return firstOptions.get(Memoize).equals(newOptions.get(Memoize))
+        && firstOptions.get(LowerReturns).equals(newOptions.get(LowerReturns));
+  }
+
   @Override
   protected AsterContext createContext(Env env) {
     return new AsterContext(env);
   }
 
+  @Override
+  protected void disposeContext(AsterContext context) {
+    context.dispose();
+  }
+
+  @Override
+  protected OptionDescriptors getOptionDescriptors() {
+    return new AsterLanguageOptionDescriptors();
+  }
+
   @Override
   protected CallTarget parse(ParsingRequest request) throws Exception {
     Source source = request.getSource();
@@ -72,7 +190,9 @@ public final class AsterLanguage extends TruffleLanguage<AsterContext> {
       jsonContent = CnlCompiler.compile(content, langId);
     }
 
-    Loader loader = new Loader(this);
+    // 记忆化在加载期按上下文选项决定：未开启时函数的调用路径上没有缓存查询
+    Loader loader = new Loader(this, getContext().getMemoCache() != null,
+        getContext().getEnv().getOptions().get(LowerReturns));
     String funcName = AsterConfig.DEFAULT_FUNCTION;
 
     Loader.Program program = loader.buildProgram(jsonContent, funcName, null);
@@ -2,6 +2,8 @@ package aster.truffle;
 
 import aster.truffle.core.CoreModel;
 import aster.truffle.nodes.*;
+import aster.truffle.purity.EffectInference;
+import aster.truffle.runtime.AsterDataLayout;
 import aster.truffle.runtime.AsterEnumValue;
 import aster.truffle.runtime.Builtins;
 import aster.truffle.runtime.FrameSlotBuilder;
@@ -13,15 +15,36 @@ import java.util.List;
 
 public final class Loader {
   public static final class Program {
-    public final Node root; public final Env env; public final List<CoreModel.Param> params; public final String entry; public final java.util.List<String> effects;
-    public Program(Node root, Env env, List<CoreModel.Param> params, String entry, java.util.List<String> effects) { this.root = root; this.env = env; this.params = params; this.entry = entry; this.effects = effects; }
+    public final AsterStatementNode root; public final Env env; public final List<CoreModel.Param> params; public final String entry; public final java.util.List<String> effects;
+    public Program(AsterStatementNode root, Env env, List<CoreModel.Param> params, String entry, java.util.List<String> effects) { this.root = root; this.env = env; this.params = params; this.entry = entry; this.effects = effects; }
   }
 
   private final ObjectMapper mapper = new ObjectMapper().configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
   private final AsterLanguage language;
+  private final boolean memoize;
+  private final boolean lowerReturns;
 
   public Loader(AsterLanguage language) {
+    this(language, false);
+  }
+
+  /**
+   * @param memoize 是否为具名函数开启记忆化（见 {@link aster.truffle.runtime.MemoCache}），取自加载时
+   *                上下文的 aster.Memoize 选项
+   */
+  public Loader(AsterLanguage language, boolean memoize) {
+    this(language, memoize, true);
+  }
+
+  /**
+   * @param lowerReturns 是否对函数与 lambda 体做结构化返回降级（尾位置 Return 降为值、守卫式提前返回改写为
+   *                     if/else、其余 Return 经返回值槽位传出）；关闭时每个 Return 都抛 ReturnException，
+   *                     取自 aster.LowerReturns 选项
+   */
+  public Loader(AsterLanguage language, boolean memoize, boolean lowerReturns) {
     this.language = language;
+    this.memoize = memoize;
+    this.lowerReturns = lowerReturns;
   }
 
   public Node buildFromJson(File f) throws IOException { return buildProgram(f, null, null).root; }
@@ -39,9 +62,7 @@ public final class Loader {
   }
 
   private Program buildProgramInternal(CoreModel.Module mod, String funcName, java.util.List<String> rawArgs) throws IOException {
-    this.entryFunction = null;
-    this.entryParamSlots = null;
-    this.paramSlotStack.clear();
+    this.scope = null;
     // Import 声明在 Core 阶段已展开依赖，这里直接消费合并后的 Module，无需额外处理。
     if (mod.decls != null) {
       for (var d : mod.decls) {
@@ -51,16 +72,25 @@ public final class Loader {
       }
     }
     this.dataTypeIndex = new java.util.LinkedHashMap<>();
+    this.dataLayoutIndex = new java.util.HashMap<>();
     if (mod.decls != null) {
       for (var d : mod.decls) {
         if (d instanceof CoreModel.Data data) {
           dataTypeIndex.put(data.name, data);
+          // 每个 Data 定义只建一次布局，所有 Construct 站点与实例共享
+          dataLayoutIndex.put(data.name, AsterDataLayout.fromDefinition(data));
         }
       }
     }
     // collect enum variants mapping
     this.enumVariantToEnum = new java.util.HashMap<>();
-    if (mod.decls != null) for (var d : mod.decls) if (d instanceof CoreModel.Enum en) for (var v : en.variants) enumVariantToEnum.put(v, en.name);
+    this.enumValues = new java.util.HashMap<>();
+    if (mod.decls != null) for (var d : mod.decls) if (d instanceof CoreModel.Enum en) {
+      java.util.List<String> variants = en.variants == null ? java.util.List.of() : en.variants;
+      for (var v : variants) enumVariantToEnum.put(v, en.name);
+      // 每个 Enum 只驻留一套变体单例，所有引用站点共享
+      enumValues.put(en.name, AsterEnumValue.internAll(en.name, variants));
+    }
     // Group functions by name for possible overloading
     java.util.Map<String, java.util.List<CoreModel.Func>> funcGroups = new java.util.LinkedHashMap<>();
     if (mod.decls != null) for (var d : mod.decls) if (d instanceof CoreModel.Func fn) funcGroups.computeIfAbsent(fn.name, k -> new java.util.ArrayList<>()).add(fn);
@@ -78,25 +108,6 @@ public final class Loader {
       for (var e : funcGroups.entrySet()) { if (!e.getValue().isEmpty()) { entry = selectOverload(e.getValue(), rawArgs); break; } }
     }
     if (entry == null) throw new IOException("No function in module");
-    this.entryFunction = entry;
-    if (entry != null) {
-      FrameSlotBuilder slotBuilder = new FrameSlotBuilder();
-      // Add entry function parameters
-      if (entry.params != null) {
-        for (var p : entry.params) slotBuilder.addParameter(p.name);
-      }
-      // Collect local variables from entry function body (Let statements)
-      java.util.Set<String> entryLocals = new java.util.LinkedHashSet<>();
-      collectLocalVariables(entry.body, entryLocals);
-      for (String local : entryLocals) {
-        if (!slotBuilder.hasVariable(local)) {  // 避免与参数重复
-          slotBuilder.addLocal(local);
-        }
-      }
-      this.entryParamSlots = slotBuilder.getSymbolTable();
-    } else {
-      this.entryParamSlots = null;
-    }
 
     // Build env and predefine all functions as lambdas to enable cross-calls
     this.env = new Env();
@@ -122,6 +133,8 @@ public final class Loader {
       }
       funcs.put(e.getKey(), bestMatch);
     }
+    // 静态 effect / 纯度推断（跨函数传递），结果写入各 LambdaRootNode
+    this.effectInference = new EffectInference(funcs);
     // First pass: reserve names
     for (var name : funcs.keySet()) env.set(name, null);
     // Second pass: build lambda values and set into env
@@ -148,12 +161,14 @@ public final class Loader {
           }
         }
 
+        // Build function body in its root lexical scope; Scope/match 分支的绑定在构建期追加槽位，
+        // 因此 FrameDescriptor 必须在函数体构建完成后再生成
+        SelfTailCall tailCall = new SelfTailCall(e.getKey(), params.size());
+        ReturnSlot returnSlot = lowerReturns ? new ReturnSlot(slotBuilder) : null;
+        AsterStatementNode body = withReturnSlot(returnSlot, () -> withSelfTailCall(tailCall,
+            () -> withScope(new LexicalScope(slotBuilder), () -> buildFunctionBody(fn))));
         com.oracle.truffle.api.frame.FrameDescriptor frameDescriptor = slotBuilder.build();
 
-        // Build function body with parameter slots in scope
-        java.util.Map<String,Integer> funcParamSlots = slotBuilder.getSymbolTable();
-        Node body = withParamSlots(funcParamSlots, () -> buildFunctionBody(fn));
-
         // Create LambdaRootNode for this function (no captures for top-level functions)
         String lambdaFuncName = "func_" + e.getKey();
         LambdaRootNode rootNode = new LambdaRootNode(
@@ -163,29 +178,38 @@ public final class Loader {
             params.size(),
             0,  // captureCount = 0 for top-level functions
             body,
-            extractParamTypes(fn.params)
+            extractParamTypes(fn.params),
+            tailCall.used
         );
 
         // Get CallTarget
         com.oracle.truffle.api.CallTarget callTarget = rootNode.getCallTarget();
+        rootNode.setEffectSummary(effectInference.functionEffects(e.getKey()), associativeOpOf(fn.body, params));
+        rootNode.setMemoizable(memoize);
+        if (returnSlot != null) rootNode.setReturnSlot(returnSlot.index);
 
         // 从 Core IR 函数声明中提取 effects（如 ["IO", "Async"]）
         java.util.Set<String> requiredEffects = fn.effects != null ? new java.util.HashSet<>(fn.effects) : java.util.Set.of();
 
         // Set LambdaValue with CallTarget and effects into env
-        env.set(e.getKey(), new aster.truffle.nodes.LambdaValue(params, List.of(), new Object[0], callTarget, requiredEffects));
+        aster.truffle.nodes.LambdaValue fnValue =
+            new aster.truffle.nodes.LambdaValue(params, List.of(), new Object[0], callTarget, requiredEffects);
+        if (e.getKey().equals(entry.name)) {
+          // 入口函数：导出 executeBatch，并按参数类型生成宿主输入绑定器，宿主调用时一次性转为 guest 值
+          fnValue = fnValue.asEntry(InputBinder.forParams(fn.params, dataLayoutIndex));
+        }
+        env.set(e.getKey(), fnValue);
       }
     }
     // 如果入口函数有参数，直接返回 LambdaValue（让调用者传参执行）
     // 否则构建立即调用的 CallNode（无参函数可以直接执行）
-    Node root;
+    AsterStatementNode root;
     if (entry.params != null && !entry.params.isEmpty()) {
       // 有参函数：返回可执行的 lambda，GoldenTestAdapter 会调用 program.execute(args)
       root = new NameNodeEnv(env, entry.name);
     } else {
       // 无参函数：构建立即调用节点，context.eval() 会直接执行
-      Node target = new NameNodeEnv(env, entry.name);
-      root = CallNode.create(target, new java.util.ArrayList<>());
+      root = CallNode.create(new NameNodeEnv(env, entry.name), java.util.List.of());
     }
     return new Program(root, env, entry.params, entry.name, entry.effects);
   }
@@ -278,11 +302,17 @@ public final class Loader {
 
   private Env env;
   private java.util.Map<String,String> enumVariantToEnum;
-  private CoreModel.Func entryFunction;
-  private java.util.Map<String,Integer> entryParamSlots;
-  private final java.util.Deque<java.util.Map<String,Integer>> paramSlotStack = new java.util.ArrayDeque<>();
+  /** Enum 名 → 按序号排列的驻留变体单例。 */
+  private java.util.Map<String, AsterEnumValue[]> enumValues;
+  /** 当前正在构建的词法作用域（函数/lambda 体之外为 null）。 */
+  private LexicalScope scope;
+  private SelfTailCall selfTailCall;
+  private ReturnSlot returnSlot;
+  /** 已构建的槽位式 ReturnNode 个数；块据此判断子树是否需要传递 RETURNED 哨兵。 */
+  private int slotReturns;
   private final java.util.Deque<CoreModel.Type> returnTypeStack = new java.util.ArrayDeque<>();
   private java.util.Map<String, CoreModel.Data> dataTypeIndex;
+  private java.util.Map<String, AsterDataLayout> dataLayoutIndex;
   /**
    * 用户定义的函数名集合。Loader 在 buildProgramInternal 第一阶段填入，
    * buildExpr 在判断 Call 是否走 BuiltinCallNode 时**先**检查此集合 ——
@@ -295,60 +325,105 @@ public final class Loader {
    */
   private java.util.Set<String> userFunctionNames = java.util.Set.of();
 
-  private Node buildBlock(CoreModel.Block b) {
+  /** 当前模块的静态 effect 推断（buildProgramInternal 中创建），供函数与 lambda 的 RootNode 取用。 */
+  private EffectInference effectInference;
+
+  private AsterStatementNode buildBlock(CoreModel.Block b) {
+    return buildBlock(b, false);
+  }
+
+  /**
+   * @param tail 块是否处于函数尾位置（其值即函数返回值）。尾位置块的最后一条 Return 直接降为值，
+   *             最后一条 If/Match/Scope 的各分支同样按尾位置构建，不再抛 ReturnException；
+   *             守卫式提前返回 {@code If c { ... Return x }; rest} 改写为 {@code If c { ... x } else { rest }}。
+   */
+  private AsterStatementNode buildBlock(CoreModel.Block b, boolean tail) {
     if (b == null || b.statements == null || b.statements.isEmpty()) return LiteralNode.create(null);
-    var list = new java.util.ArrayList<Node>();
-    java.util.Map<String,Integer> slots = currentParamSlots();  // 获取当前 frame slots
+    var list = new java.util.ArrayList<AsterStatementNode>();
+    int lastIndex = b.statements.size() - 1;
+    int returnsBefore = slotReturns;
 
-    for (var s : b.statements) {
+    for (int idx = 0; idx <= lastIndex; idx++) {
+      var s = b.statements.get(idx);
+      boolean last = tail && idx == lastIndex;
+      if (tail && idx < lastIndex && isGuardReturn(s)) {
+        // 余下语句与守卫同属本块（同一词法作用域），整体作为 else 分支按尾位置构建
+        CoreModel.If iff = (CoreModel.If) s;
+        CoreModel.Block rest = new CoreModel.Block();
+        rest.statements = b.statements.subList(idx + 1, lastIndex + 1);
+        list.add(IfNode.create(buildExpr(iff.cond), buildBlock(iff.thenBlock, true), buildBlock(rest, true)));
+        return BlockNode.create(list, true, slotReturns != returnsBefore);
+      }
       if (s instanceof CoreModel.Return r) {
-        AsterExpressionNode returnExpr = buildExpr(r.expr);
-        returnExpr = maybeWrapForType(returnExpr, currentReturnType());
-        list.add(new ReturnNode(returnExpr));
+        list.add(buildReturn(r, last));
       } else if (s instanceof CoreModel.If iff) {
-        list.add(IfNode.create(buildExpr(iff.cond), buildBlock(iff.thenBlock), buildBlock(iff.elseBlock)));
+        list.add(IfNode.create(buildExpr(iff.cond), buildBlock(iff.thenBlock, last), buildBlock(iff.elseBlock, last)));
       } else if (s instanceof CoreModel.Let let) {
-        // 优先使用 frame-based LetNode，回退到 Env-based
+        // 先构建右值（`let x = x + 1` 的右侧读取外层 x），再解析/声明槽位
         AsterExpressionNode valueNode = buildExpr(let.expr);
-        if (slots != null && slots.containsKey(let.name)) {
-          list.add(LetNodeGen.create(let.name, slots.get(let.name), valueNode));
-        } else {
-          list.add(new LetNodeEnv(let.name, valueNode, env));
-        }
+        list.add(LetNodeGen.create(let.name, resolveOrDeclareSlot(let.name), valueNode));
       } else if (s instanceof CoreModel.Match mm) {
-        list.add(buildMatch(mm));
+        list.add(buildMatch(mm, last));
       } else if (s instanceof CoreModel.Scope sc) {
-        list.add(buildScope(sc));
+        list.add(buildScope(sc, last));
       } else if (s instanceof CoreModel.Set set) {
-        // 优先使用 frame-based SetNode，回退到 Env-based
         AsterExpressionNode valueNode = buildExpr(set.expr);
-        if (slots != null && slots.containsKey(set.name)) {
-          list.add(SetNodeGen.create(set.name, slots.get(set.name), valueNode));
-        } else {
-          list.add(new SetNodeEnv(set.name, valueNode, env));
-        }
+        list.add(SetNodeGen.create(set.name, resolveOrDeclareSlot(set.name), valueNode));
       } else if (s instanceof CoreModel.Start st) {
-        list.add(new StartNode(env, st.name, buildExpr(st.expr)));
+        list.add(buildStart(st));
       } else if (s instanceof CoreModel.Wait wt) {
-        list.add(new WaitNode(env, ((wt.names != null) ? wt.names : java.util.List.<String>of()).toArray(new String[0])));
+        list.add(buildWait(wt));
       } else if (s instanceof CoreModel.Workflow wf) {
         list.add(buildWorkflow(wf));
       }
     }
-    return BlockNode.create(list);
+    return BlockNode.create(list, tail && yieldsValue(b.statements.get(lastIndex)), slotReturns != returnsBefore);
+  }
+
+  /** 没有 else 分支、then 分支必然 Return 的 If（守卫式提前返回）。 */
+  private static boolean isGuardReturn(CoreModel.Stmt s) {
+    return s instanceof CoreModel.If iff
+        && (iff.elseBlock == null || iff.elseBlock.statements == null || iff.elseBlock.statements.isEmpty())
+        && alwaysReturns(iff.thenBlock == null ? null : iff.thenBlock.statements);
+  }
+
+  /** 语句序列的每条执行路径都以 Return 结束（Match 保守地视为否）。 */
+  private static boolean alwaysReturns(java.util.List<CoreModel.Stmt> statements) {
+    if (statements == null || statements.isEmpty()) return false;
+    CoreModel.Stmt last = statements.get(statements.size() - 1);
+    if (last instanceof CoreModel.Return) return true;
+    if (last instanceof CoreModel.If iff) {
+      return iff.thenBlock != null && alwaysReturns(iff.thenBlock.statements)
+          && iff.elseBlock != null && alwaysReturns(iff.elseBlock.statements);
+    }
+    if (last instanceof CoreModel.Scope sc) return alwaysReturns(sc.statements);
+    return false;
+  }
+
+  /** 尾位置上会产出函数返回值的语句；其余语句（Let/Set 等）结束时函数返回 null。 */
+  private static boolean yieldsValue(CoreModel.Stmt s) {
+    return s instanceof CoreModel.Return || s instanceof CoreModel.If
+        || s instanceof CoreModel.Match || s instanceof CoreModel.Scope;
   }
 
-  private Node buildWorkflow(CoreModel.Workflow wf) {
+  private AsterStatementNode buildWorkflow(CoreModel.Workflow wf) {
     if (wf == null || wf.steps == null || wf.steps.isEmpty()) {
       return LiteralNode.create(null);
     }
     java.util.List<CoreModel.Step> steps = wf.steps;
-    Node[] stepBodies = new Node[steps.size()];
-    Node[] compensateBodies = new Node[steps.size()];  // 补偿代码块数组
+    AsterStatementNode[] stepBodies = new AsterStatementNode[steps.size()];
+    AsterStatementNode[] compensateBodies = new AsterStatementNode[steps.size()];  // 补偿代码块数组
     String[] stepNames = new String[steps.size()];
+    int[] stepSlots = new int[steps.size()];
     java.util.Map<String, java.util.Set<String>> dependencies = new java.util.LinkedHashMap<>();
     boolean hasAnyCompensation = false;  // 跟踪是否存在任何补偿逻辑
 
+    // 步骤名先于步骤体声明槽位，步骤体/补偿块可按名引用任意步骤的 task_id
+    for (int i = 0; i < steps.size(); i++) {
+      CoreModel.Step step = steps.get(i);
+      stepSlots[i] = (step != null && step.name != null) ? resolveOrDeclareSlot(step.name) : -1;
+    }
+
     for (int i = 0; i < steps.size(); i++) {
       CoreModel.Step step = steps.get(i);
       if (step == null) {
@@ -357,12 +432,13 @@ public final class Loader {
         stepNames[i] = null;
         continue;
       }
-      stepBodies[i] = buildBlock(step.body);
+      // 步骤体在调度器线程上执行，其中的 Return 不能转成当前函数的尾调用循环
+      stepBodies[i] = withReturnSlot(null, () -> withSelfTailCall(null, () -> buildBlock(step.body)));
       stepNames[i] = step.name;
 
       // 构建补偿代码块（如果存在）
       if (step.compensate != null && step.compensate.statements != null && !step.compensate.statements.isEmpty()) {
-        compensateBodies[i] = buildBlock(step.compensate);
+        compensateBodies[i] = withReturnSlot(null, () -> withSelfTailCall(null, () -> buildBlock(step.compensate)));
         hasAnyCompensation = true;
       } else {
         compensateBodies[i] = null;
@@ -387,9 +463,9 @@ public final class Loader {
       timeoutMs = wf.timeout.milliseconds;
     }
 
-    return new WorkflowNode(env, stepBodies,
+    return new WorkflowNode(stepBodies,
         hasAnyCompensation ? compensateBodies : null,
-        stepNames, dependencies, timeoutMs);
+        stepNames, stepSlots, dependencies, timeoutMs);
   }
 
   private AsterExpressionNode buildExpr(CoreModel.Expr e) {
@@ -399,11 +475,10 @@ public final class Loader {
     if (e instanceof CoreModel.LongE l) return LiteralNode.create(Long.valueOf(l.value));
     if (e instanceof CoreModel.DoubleE d) return LiteralNode.create(Double.valueOf(d.value));
     // Decimal 字面量（ADR 0025）：value 是 canonical 十进制字符串 → guest AsterDecimalValue
-    // （包装 BigDecimal）。沙箱下不能用裸 BigDecimal（非 TruffleObject 会在 interop 边界抛
-    // ClassCastException）。
+    // （long 能容纳时为 compact 表示，不分配 BigDecimal）。沙箱下不能用裸 BigDecimal
+    // （非 TruffleObject 会在 interop 边界抛 ClassCastException）。
     if (e instanceof CoreModel.DecimalE dec) {
-      return LiteralNode.create(
-          aster.truffle.runtime.interop.AsterDecimalValue.of(new java.math.BigDecimal(dec.value)));
+      return LiteralNode.create(aster.truffle.runtime.interop.AsterDecimalValue.parse(dec.value));
     }
     if (e instanceof CoreModel.NullE) return LiteralNode.create(null);
     if (e instanceof CoreModel.AwaitE aw) return aster.truffle.nodes.AwaitNode.create(buildExpr(aw.expr));
@@ -436,12 +511,13 @@ public final class Loader {
           }
         }
 
+        // Build body node in the lambda's own root scope (params + captures + locals)；
+        // 与函数相同，FrameDescriptor 在函数体构建完成后生成
+        ReturnSlot returnSlot = lowerReturns ? new ReturnSlot(slotBuilder) : null;
+        AsterStatementNode body = withReturnSlot(returnSlot, () -> withSelfTailCall(null, () -> withReturnType(lam.ret,
+            () -> withScope(new LexicalScope(slotBuilder), () -> buildBlock(lam.body, lowerReturns)))));
         com.oracle.truffle.api.frame.FrameDescriptor frameDescriptor = slotBuilder.build();
 
-        // Build body node with parameter and capture slots in scope
-        java.util.Map<String,Integer> lambdaSlots = slotBuilder.getSymbolTable();
-        Node body = withReturnType(lam.ret, () -> withParamSlots(lambdaSlots, () -> buildBlock(lam.body)));
-
         // Create LambdaRootNode
         String lambdaName = "lambda@" + System.identityHashCode(lam);
         LambdaRootNode rootNode = new LambdaRootNode(
@@ -453,11 +529,15 @@ public final class Loader {
             body,
             extractParamTypes(lam.params)
         );
+        if (returnSlot != null) rootNode.setReturnSlot(returnSlot.index);
 
         // Get CallTarget
         com.oracle.truffle.api.CallTarget callTarget = rootNode.getCallTarget();
+        rootNode.setEffectSummary(
+            effectInference != null ? effectInference.lambdaEffects(lam) : java.util.Set.of(EffectInference.UNKNOWN),
+            associativeOpOf(lam.body, params));
 
-        // Create nodes to evaluate captured values at runtime
+        // Create nodes to evaluate captured values at runtime（在外层作用域解析）
         AsterExpressionNode[] captureExprs = new AsterExpressionNode[caps.size()];
         for (int i = 0; i < caps.size(); i++) {
           // Build expression to read the captured variable at Lambda creation time
@@ -465,7 +545,7 @@ public final class Loader {
         }
 
         // Return LambdaNode that will create LambdaValue with captured values at runtime
-        return aster.truffle.nodes.LambdaNode.create(language, env, params, caps, captureExprs, callTarget);
+        return aster.truffle.nodes.LambdaNode.create(language, params, caps, captureExprs, callTarget);
       } else {
         // Legacy Loader (Runner without AsterLanguage) 不支持 Lambda
         // 这是有意的设计决策,因为:
@@ -486,29 +566,51 @@ public final class Loader {
       // user 的 `add(request)` 会被识别为算术 add(a,b) 然后 arity 失配。
       if (c.target instanceof CoreModel.Name targetName) {
         String name = targetName.name;
-        if (Builtins.has(name) && !userFunctionNames.contains(name)) {
+        // 构建期解析一次 builtin 句柄，节点直接持有，运行期不再归一化名称/查表
+        Builtins.BuiltinDef builtinDef = Builtins.lookup(name);
+        if (builtinDef != null && !userFunctionNames.contains(name)) {
+          // 链式 List.map/filter → sum/count/reduce/收集：融合为单趟流水线，不物化中间列表
+          var pipeline = buildListPipeline(c, Builtins.canonicalName(name), builtinDef);
+          if (pipeline != null) return pipeline;
           // 创建 BuiltinCallNode（内联优化）
           var argNodes = new java.util.ArrayList<aster.truffle.nodes.AsterExpressionNode>();
           if (c.args != null) {
-            for (var a : c.args) {
-              Node argNode = buildExpr(a);
-              if (argNode instanceof aster.truffle.nodes.AsterExpressionNode exprNode) {
-                argNodes.add(exprNode);
-              } else {
-                throw new RuntimeException("Builtin argument must be expression node: " + argNode.getClass());
-              }
-            }
+            for (var a : c.args) argNodes.add(buildExpr(a));
+          }
+          // 二元算术走类型特化节点（int → long → double → Decimal，溢出宽化）
+          if (argNodes.size() == 2) {
+            var arith = aster.truffle.nodes.ArithmeticNodes.create(
+                Builtins.canonicalName(name), builtinDef, argNodes.get(0), argNodes.get(1));
+            if (arith != null) return arith;
           }
+          // 比较/逻辑走类型特化节点：原始类型操作数、原始 boolean 结果
+          var predicate = aster.truffle.nodes.ComparisonNodes.create(
+              Builtins.canonicalName(name), builtinDef, argNodes);
+          if (predicate != null) return predicate;
+          // Text.* 走类型特化节点：rope 惰性拼接、常量分隔符构建期预编译
+          var text = aster.truffle.nodes.TextNodes.create(
+              Builtins.canonicalName(name), builtinDef, argNodes);
+          if (text != null) return text;
           return aster.truffle.nodes.BuiltinCallNodeGen.create(
               name,
+              builtinDef,
               argNodes.toArray(new aster.truffle.nodes.AsterExpressionNode[0])
           );
         }
       }
 
-      // 普通函数调用：使用 CallNode
-      Node target = buildExpr(c.target);
-      var args = new java.util.ArrayList<Node>();
+      // 顶层用户函数（未被局部绑定遮蔽）：直接调用，运行期不再经 Env 查找与 LambdaValue 分派
+      if (language != null && c.target instanceof CoreModel.Name targetName
+          && userFunctionNames.contains(targetName.name)
+          && (scope == null || scope.resolve(targetName.name) < 0)) {
+        var args = new java.util.ArrayList<AsterExpressionNode>();
+        if (c.args != null) for (var a : c.args) args.add(buildExpr(a));
+        return new aster.truffle.nodes.FunctionCallNode(env, targetName.name, args);
+      }
+
+      // 普通函数调用（局部函数值、lambda 等）：使用 CallNode
+      AsterExpressionNode target = buildExpr(c.target);
+      var args = new java.util.ArrayList<AsterExpressionNode>();
       if (c.args != null) for (var a : c.args) args.add(buildExpr(a));
       return CallNode.create(target, args);
     }
@@ -533,95 +635,297 @@ public final class Loader {
     return LiteralNode.create(null);
   }
 
-  private Node buildMatch(CoreModel.Match mm) {
+  private AsterStatementNode buildMatch(CoreModel.Match mm) {
+    return buildMatch(mm, false);
+  }
+
+  private AsterStatementNode buildMatch(CoreModel.Match mm, boolean tail) {
     var patCases = new java.util.ArrayList<aster.truffle.nodes.MatchNode.CaseNode>();
+    AsterExpressionNode scrutinee = buildExpr(mm.expr);
     if (mm.cases != null) {
       for (var c : mm.cases) {
-        aster.truffle.nodes.MatchNode.PatternNode pn = buildPatternNode(c.pattern);
-        Node body;
-        if (c.body instanceof CoreModel.Scope sc) {
-          body = buildScope(sc);
-        } else if (c.body != null) {
-          // 将所有非 Scope 的语句包装为单语句 Block,确保正确处理 Let/Set/Start/Wait 等
-          CoreModel.Block singleStmtBlock = new CoreModel.Block();
-          singleStmtBlock.statements = java.util.List.of(c.body);
-          body = buildBlock(singleStmtBlock);
-        } else {
-          body = LiteralNode.create(null);
-        }
-        patCases.add(new aster.truffle.nodes.MatchNode.CaseNode(pn, body));
+        // 每个分支一个子作用域：模式绑定只在本分支可见，并遮蔽同名参数/局部变量
+        patCases.add(withScope(currentScope().child(), () -> {
+          aster.truffle.nodes.MatchNode.PatternNode pn = buildPatternNode(c.pattern);
+          AsterStatementNode body;
+          if (c.body instanceof CoreModel.Scope sc) {
+            body = buildScope(sc, tail);
+          } else if (c.body != null) {
+            // 将所有非 Scope 的语句包装为单语句 Block,确保正确处理 Let/Set/Start/Wait 等
+            CoreModel.Block singleStmtBlock = new CoreModel.Block();
+            singleStmtBlock.statements = java.util.List.of(c.body);
+            body = buildBlock(singleStmtBlock, tail);
+          } else {
+            body = LiteralNode.create(null);
+          }
+          return new aster.truffle.nodes.MatchNode.CaseNode(pn, body);
+        }));
       }
     }
-    return aster.truffle.nodes.MatchNode.create(env, buildExpr(mm.expr), patCases);
+    return aster.truffle.nodes.MatchNode.create(scrutinee, patCases, enumFamilyOf(mm));
+  }
+
+  private AsterEnumValue internedEnumValue(String variant) {
+    String en = enumVariantToEnum.get(variant);
+    if (en == null) return null;
+    for (AsterEnumValue value : enumValues.get(en)) {
+      if (value.getVariantName().equals(variant)) return value;
+    }
+    return null;
+  }
+
+  /**
+   * Match 分支所针对的 Enum：取第一个能解析为变体名（或 Enum 名）的顶层模式名。
+   * MatchNode 据此按序号预建分派表；未命中（非枚举 Match）返回 null。
+   */
+  private AsterEnumValue[] enumFamilyOf(CoreModel.Match mm) {
+    if (mm.cases == null || enumValues == null) return null;
+    for (var c : mm.cases) {
+      String name = null;
+      if (c.pattern instanceof CoreModel.PatName pn) name = pn.name;
+      else if (c.pattern instanceof CoreModel.PatCtor pc) name = pc.typeName;
+      if (name == null) continue;
+      String en = enumVariantToEnum.containsKey(name) ? enumVariantToEnum.get(name) : name;
+      AsterEnumValue[] family = enumValues.get(en);
+      if (family != null) return family;
+    }
+    return null;
   }
 
   private aster.truffle.nodes.MatchNode.PatternNode buildPatternNode(CoreModel.Pattern p) {
     if (p instanceof CoreModel.PatNull) return new aster.truffle.nodes.MatchNode.PatNullNode();
-    if (p instanceof CoreModel.PatName pn) return new aster.truffle.nodes.MatchNode.PatNameNode(pn.name);
+    if (p instanceof CoreModel.PatName pn) {
+      return new aster.truffle.nodes.MatchNode.PatNameNode(pn.name, declarePatternSlot(pn.name));
+    }
     if (p instanceof CoreModel.PatInt pi) return new aster.truffle.nodes.MatchNode.PatIntNode(pi.value);
     if (p instanceof CoreModel.PatCtor pc) {
       java.util.List<aster.truffle.nodes.MatchNode.PatternNode> args = new java.util.ArrayList<>();
       if (pc.args != null) for (var a : pc.args) args.add(buildPatternNode(a));
-      return new aster.truffle.nodes.MatchNode.PatCtorNode(pc.typeName, pc.names, args);
+      int bindCount = pc.names == null ? 0 : pc.names.size();
+      int[] bindSlots = new int[bindCount];
+      for (int i = 0; i < bindCount; i++) bindSlots[i] = declarePatternSlot(pc.names.get(i));
+      AsterDataLayout layout = dataLayoutIndex != null ? dataLayoutIndex.get(pc.typeName) : null;
+      return new aster.truffle.nodes.MatchNode.PatCtorNode(pc.typeName, layout, bindSlots, args);
     }
-    return new aster.truffle.nodes.MatchNode.PatNameNode("_");
+    return new aster.truffle.nodes.MatchNode.PatNameNode("_", -1);
   }
 
-  private Node buildScope(CoreModel.Scope sc) {
-    java.util.ArrayList<Node> list = new java.util.ArrayList<>();
-    Env previousEnv = this.env;
-    Env scopeEnv = (previousEnv != null) ? previousEnv.createChild() : new Env();
-    java.util.Map<String,Integer> slots = currentParamSlots();
-    java.util.Set<String> scopeLocals = new java.util.LinkedHashSet<>();
-    this.env = scopeEnv;
-    try {
-      if (sc.statements != null) for (var s : sc.statements) {
-        if (s instanceof CoreModel.Return r) {
-          AsterExpressionNode returnExpr = buildExpr(r.expr);
-          returnExpr = maybeWrapForType(returnExpr, currentReturnType());
-          list.add(new ReturnNode(returnExpr));
-        }
-        else if (s instanceof CoreModel.Let let) {
-          scopeLocals.add(let.name);
-          list.add(new LetNodeEnv(let.name, buildExpr(let.expr), scopeEnv));
-        }
-        else if (s instanceof CoreModel.If iff) list.add(IfNode.create(buildExpr(iff.cond), buildBlock(iff.thenBlock), buildBlock(iff.elseBlock)));
-        else if (s instanceof CoreModel.Match match) {
-          list.add(buildMatch(match));
-        }
-        else if (s instanceof CoreModel.Scope nestedScope) {
-          list.add(buildScope(nestedScope));
-        }
-        else if (s instanceof CoreModel.Set set) {
-          AsterExpressionNode valueNode = buildExpr(set.expr);
-          if (!scopeLocals.contains(set.name) && slots != null && slots.containsKey(set.name)) {
-            list.add(SetNodeGen.create(set.name, slots.get(set.name), valueNode));
-          } else {
-            list.add(new SetNodeEnv(set.name, valueNode, scopeEnv));
-          }
-        }
-        else if (s instanceof CoreModel.Start st) list.add(new StartNode(scopeEnv, st.name, buildExpr(st.expr)));
-        else if (s instanceof CoreModel.Wait wt) list.add(new WaitNode(scopeEnv, ((wt.names != null) ? wt.names : java.util.List.<String>of()).toArray(new String[0])));
-        else if (s instanceof CoreModel.Workflow wf) list.add(buildWorkflow(wf));
+  /**
+   * 为模式绑定名在当前（分支）作用域声明槽位；`_`/空名不绑定返回 -1。
+   * 大写名称在顶层是变体匹配、不绑定，但作为构造器参数时按位置绑定，故一并分配。
+   */
+  private int declarePatternSlot(String name) {
+    if (name == null || name.isEmpty() || "_".equals(name)) return -1;
+    return currentScope().declare(name);
+  }
+
+  private AsterStatementNode buildScope(CoreModel.Scope sc) {
+    return buildScope(sc, false);
+  }
+
+  private AsterStatementNode buildScope(CoreModel.Scope sc, boolean tail) {
+    return withScope(currentScope().child(), () -> buildScopeStatements(sc, tail));
+  }
+
+  private AsterStatementNode buildScopeStatements(CoreModel.Scope sc, boolean tail) {
+    java.util.ArrayList<AsterStatementNode> list = new java.util.ArrayList<>();
+    int lastIndex = sc.statements == null ? -1 : sc.statements.size() - 1;
+    int returnsBefore = slotReturns;
+    for (int idx = 0; idx <= lastIndex; idx++) {
+      var s = sc.statements.get(idx);
+      boolean last = tail && idx == lastIndex;
+      if (tail && idx < lastIndex && isGuardReturn(s)) {
+        // 与 buildBlock 相同的守卫改写；余下语句仍在当前 Scope 内构建，不另开子作用域
+        CoreModel.If iff = (CoreModel.If) s;
+        CoreModel.Scope rest = new CoreModel.Scope();
+        rest.statements = sc.statements.subList(idx + 1, lastIndex + 1);
+        list.add(IfNode.create(buildExpr(iff.cond), buildBlock(iff.thenBlock, true), buildScopeStatements(rest, true)));
+        return BlockNode.create(list, true, slotReturns != returnsBefore);
       }
-    } finally {
-      this.env = previousEnv;
+      if (s instanceof CoreModel.Return r) {
+        list.add(buildReturn(r, last));
+      }
+      else if (s instanceof CoreModel.Let let) {
+        // Scope 内 Let 总是声明新绑定，遮蔽外层同名变量，离开 Scope 后外层值不受影响
+        AsterExpressionNode valueNode = buildExpr(let.expr);
+        list.add(LetNodeGen.create(let.name, currentScope().declare(let.name), valueNode));
+      }
+      else if (s instanceof CoreModel.If iff) list.add(IfNode.create(buildExpr(iff.cond), buildBlock(iff.thenBlock, last), buildBlock(iff.elseBlock, last)));
+      else if (s instanceof CoreModel.Match match) {
+        list.add(buildMatch(match, last));
+      }
+      else if (s instanceof CoreModel.Scope nestedScope) {
+        list.add(buildScope(nestedScope, last));
+      }
+      else if (s instanceof CoreModel.Set set) {
+        // Set 修改最内层可见绑定（可能是外层变量）
+        AsterExpressionNode valueNode = buildExpr(set.expr);
+        list.add(SetNodeGen.create(set.name, resolveOrDeclareSlot(set.name), valueNode));
+      }
+      else if (s instanceof CoreModel.Start st) list.add(buildStart(st));
+      else if (s instanceof CoreModel.Wait wt) list.add(buildWait(wt));
+      else if (s instanceof CoreModel.Workflow wf) list.add(buildWorkflow(wf));
+    }
+    return BlockNode.create(list, tail && lastIndex >= 0 && yieldsValue(sc.statements.get(lastIndex)),
+        slotReturns != returnsBefore);
+  }
+
+  private AsterStatementNode buildStart(CoreModel.Start st) {
+    AsterExpressionNode expr = buildExpr(st.expr);
+    int slot = st.name != null ? resolveOrDeclareSlot(st.name) : -1;
+    return new StartNode(st.name, slot, expr);
+  }
+
+  private AsterStatementNode buildWait(CoreModel.Wait wt) {
+    java.util.List<String> names = (wt.names != null) ? wt.names : java.util.List.of();
+    int[] slots = new int[names.size()];
+    for (int i = 0; i < slots.length; i++) {
+      // 未声明的名称保留 -1，由 WaitNode 在运行期报告 "wait expects task_id"
+      slots[i] = currentScope().resolve(names.get(i));
     }
-    return BlockNode.create(list);
+    return new WaitNode(names.toArray(new String[0]), slots);
+  }
+
+  /**
+   * 把链式 List.* 调用融合为 {@link aster.truffle.nodes.ListPipelineNode}。c 为最外层调用：
+   * 外层是 map/filter 时至少要两层阶段，外层是 List.sum/count/reduce 时至少一层；否则返回 null。
+   * 阶段函数、count 谓词与 reduce 初值/函数须是 {@link #isInertArg} 表达式，且各函数经静态 effect 推断
+   * 为纯（{@link #isStaticallyPure}）；非纯链保持原嵌套的 BuiltinCallNode，沿用其调用点缓存。
+   */
+  private AsterExpressionNode buildListPipeline(CoreModel.Call c, String canonical, Builtins.BuiltinDef def) {
+    int arity = c.args == null ? 0 : c.args.size();
+    aster.truffle.nodes.ListPipelineNode.Terminal terminal;
+    switch (canonical) {
+      case "List.map", "List.filter" -> terminal = aster.truffle.nodes.ListPipelineNode.Terminal.COLLECT;
+      case "List.sum" -> terminal = aster.truffle.nodes.ListPipelineNode.Terminal.SUM;
+      case "List.count" -> terminal = aster.truffle.nodes.ListPipelineNode.Terminal.COUNT;
+      case "List.reduce" -> terminal = aster.truffle.nodes.ListPipelineNode.Terminal.REDUCE;
+      default -> {
+        return null;
+      }
+    }
+    int expectedArity = switch (terminal) {
+      case COLLECT, COUNT -> 2;
+      case SUM -> 1;
+      case REDUCE -> 3;
+    };
+    if (arity != expectedArity) return null;
+    for (int i = 1; i < arity; i++) {
+      if (!isInertArg(c.args.get(i))) return null;
+    }
+
+    // 由外向内收集 map/filter 阶段
+    boolean collect = terminal == aster.truffle.nodes.ListPipelineNode.Terminal.COLLECT;
+    java.util.List<CoreModel.Call> chain = new java.util.ArrayList<>();
+    CoreModel.Expr current = collect ? c : c.args.get(0);
+    while (current instanceof CoreModel.Call stage && isListStageCall(stage)) {
+      chain.add(stage);
+      current = stage.args.get(0);
+    }
+    if (chain.size() < (collect ? 2 : 1)) return null;
+    for (CoreModel.Call stage : chain) {
+      if (!isStaticallyPure(stage.args.get(1))) return null;
+    }
+    if ((terminal == aster.truffle.nodes.ListPipelineNode.Terminal.COUNT && !isStaticallyPure(c.args.get(1)))
+        || (terminal == aster.truffle.nodes.ListPipelineNode.Terminal.REDUCE && !isStaticallyPure(c.args.get(2)))) {
+      return null;
+    }
+    java.util.Collections.reverse(chain);
+
+    AsterExpressionNode source = buildExpr(current);
+    int n = chain.size();
+    var stages = new aster.truffle.nodes.ListPipelineNode.Stage[n];
+    var stageDefs = new Builtins.BuiltinDef[n];
+    var stageFns = new AsterExpressionNode[n];
+    for (int i = 0; i < n; i++) {
+      CoreModel.Call stage = chain.get(i);
+      String stageName = ((CoreModel.Name) stage.target).name;
+      stages[i] = "List.map".equals(Builtins.canonicalName(stageName))
+          ? aster.truffle.nodes.ListPipelineNode.Stage.MAP
+          : aster.truffle.nodes.ListPipelineNode.Stage.FILTER;
+      stageDefs[i] = Builtins.lookup(stageName);
+      stageFns[i] = buildExpr(stage.args.get(1));
+    }
+    AsterExpressionNode init = null;
+    AsterExpressionNode terminalFn = null;
+    if (terminal == aster.truffle.nodes.ListPipelineNode.Terminal.COUNT) {
+      terminalFn = buildExpr(c.args.get(1));
+    } else if (terminal == aster.truffle.nodes.ListPipelineNode.Terminal.REDUCE) {
+      init = buildExpr(c.args.get(1));
+      terminalFn = buildExpr(c.args.get(2));
+    }
+    return aster.truffle.nodes.ListPipelineNode.create(source, stages, stageDefs, stageFns, terminal,
+        collect ? null : def, init, terminalFn);
+  }
+
+  /**
+   * 函数参数在构建期即可判定为纯：lambda 字面量或未被局部绑定遮蔽的用户函数名，且推断的 effect 为空。
+   * 局部变量等静态不可知的函数值保守地视为非纯。
+   */
+  private boolean isStaticallyPure(CoreModel.Expr fn) {
+    if (effectInference == null) return false;
+    if (fn instanceof CoreModel.Lambda lam) return effectInference.lambdaEffects(lam).isEmpty();
+    return fn instanceof CoreModel.Name n
+        && currentScope().resolve(n.name) < 0
+        && userFunctionNames.contains(n.name)
+        && effectInference.functionEffects(n.name).isEmpty();
+  }
+
+  /** 未被用户函数遮蔽的 List.map / List.filter 二元调用，且函数参数可安全提前求值。 */
+  private boolean isListStageCall(CoreModel.Call call) {
+    if (!(call.target instanceof CoreModel.Name target) || call.args == null || call.args.size() != 2) return false;
+    String canonical = Builtins.canonicalName(target.name);
+    if (!"List.map".equals(canonical) && !"List.filter".equals(canonical)) return false;
+    return Builtins.lookup(target.name) != null && !userFunctionNames.contains(target.name)
+        && isInertArg(call.args.get(1));
+  }
+
+  /** 可结合的二元 builtin：List.reduce 据此按块并行归约（见 Builtins 的 List.reduce）。 */
+  private static final java.util.Set<String> ASSOCIATIVE_BUILTINS = java.util.Set.of("add", "mul", "and", "or", "Text.concat");
+
+  /**
+   * 函数/lambda 体恰为 {@code return op(p0, p1)}（p0、p1 依次为两个参数，op 为未被用户函数遮蔽的
+   * 可结合 builtin）时返回 op 的 canonical 名，否则返回 null。
+   */
+  private String associativeOpOf(CoreModel.Block body, java.util.List<String> params) {
+    if (params.size() != 2 || body == null || body.statements == null || body.statements.size() != 1) {
+      return null;
+    }
+    if (!(body.statements.get(0) instanceof CoreModel.Return ret) || !(ret.expr instanceof CoreModel.Call call)) {
+      return null;
+    }
+    if (!(call.target instanceof CoreModel.Name op) || call.args == null || call.args.size() != 2) {
+      return null;
+    }
+    String canonical = Builtins.canonicalName(op.name);
+    if (!ASSOCIATIVE_BUILTINS.contains(canonical) || userFunctionNames.contains(op.name)) {
+      return null;
+    }
+    boolean operandsAreParams = call.args.get(0) instanceof CoreModel.Name a && a.name.equals(params.get(0))
+        && call.args.get(1) instanceof CoreModel.Name b && b.name.equals(params.get(1));
+    return operandsAreParams ? canonical : null;
+  }
+
+  /** 求值无副作用的表达式（lambda、名字、字面量）：融合时提前求值不可观测。 */
+  private static boolean isInertArg(CoreModel.Expr e) {
+    return e instanceof CoreModel.Lambda || e instanceof CoreModel.Name
+        || e instanceof CoreModel.StringE || e instanceof CoreModel.Bool || e instanceof CoreModel.IntE
+        || e instanceof CoreModel.LongE || e instanceof CoreModel.DoubleE || e instanceof CoreModel.DecimalE
+        || e instanceof CoreModel.NullE;
   }
 
   private AsterExpressionNode buildConstruct(CoreModel.Construct cons) {
     CoreModel.Data dataDefinition = requireDataDefinition(cons.typeName);
     java.util.LinkedHashMap<String, AsterExpressionNode> orderedFields = prepareDataFields(cons, dataDefinition);
-    return ConstructNode.create(cons.typeName, orderedFields, dataDefinition);
+    return ConstructNode.create(dataLayoutIndex.get(dataDefinition.name), orderedFields);
   }
 
   private AsterExpressionNode buildName(String name) {
     // If name is an enum variant, return an enum value object
     if (enumVariantToEnum != null) {
-      String en = enumVariantToEnum.get(name);
-      if (en != null) {
-        return LiteralNode.create(new AsterEnumValue(en, name));
+      AsterEnumValue value = internedEnumValue(name);
+      if (value != null) {
+        return LiteralNode.create(value);
       }
     }
     // If name contains '.', build member access chain
@@ -640,35 +944,168 @@ public final class Loader {
   }
 
   private AsterExpressionNode buildSimpleName(String name) {
-    java.util.Map<String,Integer> slots = currentParamSlots();
-    if (slots != null && slots.containsKey(name)) {
-      return NameNodeGen.create(name, slots.get(name));
+    int slot = scope != null ? scope.resolve(name) : -1;
+    if (slot >= 0) {
+      return NameNodeGen.create(name, slot);
     }
+    // 词法作用域内找不到：只可能是全局函数名或 builtin 名，读取全局 Env
     return new NameNodeEnv(env, name);
   }
 
-  private Node buildFunctionBody(CoreModel.Func fn) {
-    if (fn == null) return LiteralNode.create(null);
-    return withReturnType(fn.ret, () -> {
-      if (fn == entryFunction && entryParamSlots != null && !entryParamSlots.isEmpty()) {
-        return withParamSlots(entryParamSlots, () -> buildBlock(fn.body));
+  /**
+   * Return 语句。尾位置（tail）的 Return 降为普通值节点，函数/lambda 体内的其余 Return 经返回值槽位
+   * 以哨兵传出（见 {@link ReturnNode#RETURNED}）；当前顶层函数的自尾调用（{@code Return f(...)}，f 未被局部绑定遮蔽且实参个数等于形参个数）
+   * 构建为 TailCallNode，由 LambdaRootNode 的尾调用循环在同一 frame 内执行，不再递归。
+   */
+  private AsterStatementNode buildReturn(CoreModel.Return r, boolean tail) {
+    if (selfTailCall != null
+        && r.expr instanceof CoreModel.Call call
+        && call.target instanceof CoreModel.Name target
+        && selfTailCall.name.equals(target.name)
+        && currentScope().resolve(target.name) < 0) {
+      int argCount = call.args == null ? 0 : call.args.size();
+      if (argCount == selfTailCall.arity) {
+        var args = new java.util.ArrayList<AsterExpressionNode>();
+        if (call.args != null) for (var a : call.args) args.add(buildExpr(a));
+        selfTailCall.used = true;
+        return new aster.truffle.nodes.TailCallNode(args);
       }
-      return buildBlock(fn.body);
-    });
+    }
+    AsterExpressionNode returnExpr = buildExpr(r.expr);
+    returnExpr = maybeWrapForType(returnExpr, currentReturnType());
+    // 尾位置：所在块直接以该值结束，无需 ReturnException
+    if (tail) return returnExpr;
+    if (returnSlot != null) {
+      slotReturns++;
+      return new ReturnNode(returnExpr, returnSlot.index());
+    }
+    return new ReturnNode(returnExpr);
+  }
+
+  private <T> T withReturnSlot(ReturnSlot next, java.util.function.Supplier<T> supplier) {
+    ReturnSlot previous = this.returnSlot;
+    int previousReturns = this.slotReturns;
+    this.returnSlot = next;
+    try {
+      return supplier.get();
+    } finally {
+      // 内层 RootNode（lambda、workflow 步骤体）的 Return 不经外层块传递
+      this.returnSlot = previous;
+      this.slotReturns = previousReturns;
+    }
   }
 
-  private <T> T withParamSlots(java.util.Map<String,Integer> slots, java.util.function.Supplier<T> supplier) {
-    if (slots == null || slots.isEmpty()) return supplier.get();
-    paramSlotStack.push(slots);
+  /** 当前函数/lambda 的返回值槽位，首个非尾位置 Return 出现时才分配；workflow 步骤体内为 null。 */
+  private static final class ReturnSlot {
+    final FrameSlotBuilder slots;
+    int index = -1;
+
+    ReturnSlot(FrameSlotBuilder slots) {
+      this.slots = slots;
+    }
+
+    int index() {
+      if (index < 0) index = slots.addScopedLocal("<return>");
+      return index;
+    }
+  }
+
+  private <T> T withSelfTailCall(SelfTailCall next, java.util.function.Supplier<T> supplier) {
+    SelfTailCall previous = this.selfTailCall;
+    this.selfTailCall = next;
     try {
       return supplier.get();
     } finally {
-      paramSlotStack.pop();
+      this.selfTailCall = previous;
     }
   }
 
-  private java.util.Map<String,Integer> currentParamSlots() {
-    return paramSlotStack.isEmpty() ? null : paramSlotStack.peek();
+  /** 正在构建的顶层函数（自尾调用目标）；lambda 体与 workflow 步骤体内为 null。 */
+  private static final class SelfTailCall {
+    final String name;
+    final int arity;
+    boolean used;
+
+    SelfTailCall(String name, int arity) {
+      this.name = name;
+      this.arity = arity;
+    }
+  }
+
+  private AsterStatementNode buildFunctionBody(CoreModel.Func fn) {
+    if (fn == null) return LiteralNode.create(null);
+    return withReturnType(fn.ret, () -> buildBlock(fn.body, lowerReturns));
+  }
+
+  private <T> T withScope(LexicalScope next, java.util.function.Supplier<T> supplier) {
+    LexicalScope previous = this.scope;
+    this.scope = next;
+    try {
+      return supplier.get();
+    } finally {
+      this.scope = previous;
+    }
+  }
+
+  private LexicalScope currentScope() {
+    if (scope == null) {
+      throw new IllegalStateException("No lexical scope: statements must be built inside a function or lambda body");
+    }
+    return scope;
+  }
+
+  /** Let/Set/Start：写入最内层可见绑定；尚未声明时在当前作用域新建。 */
+  private int resolveOrDeclareSlot(String name) {
+    LexicalScope current = currentScope();
+    int slot = current.resolve(name);
+    return slot >= 0 ? slot : current.declare(name);
+  }
+
+  /**
+   * 构建期词法作用域：把变量名静态解析为当前函数 frame 的槽位。
+   *
+   * 函数/lambda 的根作用域预置参数、捕获变量与提升的 Let（来自 FrameSlotBuilder 符号表）；
+   * Scope 块与 match 分支各开一个子作用域，其中的绑定经 {@link FrameSlotBuilder#addScopedLocal}
+   * 分配独立槽位，遮蔽外层同名变量而不覆盖它。解析不跨越函数边界——闭包变量只能经
+   * captures 传入。运行期不再有按名查找的 Env 链，所有局部读写都是 frame 槽位访问，
+   * 递归调用与并发执行各自持有独立 frame，互不干扰。
+   */
+  private static final class LexicalScope {
+    private final LexicalScope parent;
+    private final FrameSlotBuilder slotBuilder;
+    private final java.util.Map<String,Integer> bindings;
+
+    LexicalScope(FrameSlotBuilder slotBuilder) {
+      this(null, slotBuilder, slotBuilder.getSymbolTable());
+    }
+
+    private LexicalScope(LexicalScope parent, FrameSlotBuilder slotBuilder, java.util.Map<String,Integer> bindings) {
+      this.parent = parent;
+      this.slotBuilder = slotBuilder;
+      this.bindings = bindings;
+    }
+
+    LexicalScope child() {
+      return new LexicalScope(this, slotBuilder, new java.util.HashMap<>());
+    }
+
+    /** 由内向外查找绑定，未找到返回 -1。 */
+    int resolve(String name) {
+      for (LexicalScope s = this; s != null; s = s.parent) {
+        Integer slot = s.bindings.get(name);
+        if (slot != null) return slot;
+      }
+      return -1;
+    }
+
+    /** 在本作用域声明绑定；同一作用域内重复声明复用已有槽位。 */
+    int declare(String name) {
+      Integer existing = bindings.get(name);
+      if (existing != null) return existing;
+      int slot = slotBuilder.addScopedLocal(name);
+      bindings.put(name, slot);
+      return slot;
+    }
   }
 
   private <T> T withReturnType(CoreModel.Type type, java.util.function.Supplier<T> supplier) {
@@ -0,0 +1,270 @@
+package aster.truffle.nodes;
+
+import aster.truffle.runtime.AsterText;
+import aster.truffle.runtime.Builtins;
+import aster.truffle.runtime.ErrorMessages;
+import aster.truffle.runtime.IntegerArithmetic;
+import aster.truffle.runtime.interop.AsterDecimalValue;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * 算术 builtin（add/sub/mul/div/mod）的类型特化节点。
+ *
+ * <p>特化链沿 {@link aster.truffle.types.AsterTypes} 的隐式提升 int → long → double，
+ * 再到 Decimal；int/long 快速路径用 {@code Math.*Exact}，溢出时 rewrite 到
+ * {@link IntegerArithmetic} 的宽化实现（Int 溢出 → Long，Long 溢出 → Double）。
+ * 两侧都是文本的 add 与 Text.concat 同规则产生 rope（见 {@link AsterText}）。
+ * 其余组合（单侧字符串拼接、PII 包装值、Decimal 与整数混算、类型错误）一律回退到
+ * 构建期解析的 {@link Builtins.BuiltinDef}，语义与通用路径逐位一致。
+ *
+ * <p>与 BuiltinCallNode 早期手写 int 特化的区别：参数由 {@code @NodeChild} 交给 DSL
+ * 求值，子节点 executeInt 抛出的 UnexpectedResultException 由生成代码取回完整值继续
+ * 特化，不会二次求值参数，也不会把单个操作数误当结果（100 - 10.0 → 10 的旧问题）。
+ * ControlFlowException 从子节点原样透传。
+ */
+public final class ArithmeticNodes {
+  private ArithmeticNodes() {}
+
+  /**
+   * 为二元算术 builtin 创建特化节点。
+   *
+   * @param canonicalName 归一化后的 builtin 名（见 {@link Builtins#canonicalName}）
+   * @return 对应节点；非算术 builtin 返回 null，由调用方继续走 BuiltinCallNode
+   */
+  public static AsterExpressionNode create(String canonicalName, Builtins.BuiltinDef builtinDef,
+                                           AsterExpressionNode left, AsterExpressionNode right) {
+    return switch (canonicalName) {
+      case "add" -> ArithmeticNodesFactory.AddNodeGen.create(builtinDef, left, right);
+      case "sub" -> ArithmeticNodesFactory.SubNodeGen.create(builtinDef, left, right);
+      case "mul" -> ArithmeticNodesFactory.MulNodeGen.create(builtinDef, left, right);
+      case "div" -> ArithmeticNodesFactory.DivNodeGen.create(builtinDef, left, right);
+      case "mod" -> ArithmeticNodesFactory.ModNodeGen.create(builtinDef, left, right);
+      default -> null;
+    };
+  }
+
+  @NodeChild(value = "left", type = AsterExpressionNode.class)
+  @NodeChild(value = "right", type = AsterExpressionNode.class)
+  public abstract static class BinaryArithmeticNode extends AsterExpressionNode {
+    @CompilationFinal protected final Builtins.BuiltinDef builtinDef;
+
+    protected BinaryArithmeticNode(Builtins.BuiltinDef builtinDef) {
+      this.builtinDef = builtinDef;
+    }
+
+    /** 通用路径：已求值的两个操作数直接交给 builtin 实现，不重新执行子节点。 */
+    protected final Object callGeneric(Object a, Object b) {
+      Profiler.inc("builtin_call_generic");
+      return builtinDef.invoke(new Object[]{a, b});
+    }
+  }
+
+  public abstract static class AddNode extends BinaryArithmeticNode {
+    protected AddNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected int doInt(int a, int b) {
+      return Math.addExact(a, b);
+    }
+
+    @Specialization(replaces = "doInt")
+    protected Object doIntWidening(int a, int b) {
+      return IntegerArithmetic.add(a, b);
+    }
+
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected long doLong(long a, long b) {
+      return Math.addExact(a, b);
+    }
+
+    @Specialization(replaces = "doLong")
+    protected Object doLongWidening(long a, long b) {
+      return IntegerArithmetic.add(a, b);
+    }
+
+    @Specialization
+    protected double doDouble(double a, double b) {
+      return a + b;
+    }
+
+    @Specialization
+    protected AsterDecimalValue doDecimal(AsterDecimalValue a, AsterDecimalValue b) {
+      return a.add(b);
+    }
+
+    // `+` 双语义：两侧都是文本时拼接，与 TextNodes.ConcatNode 同一规则——短结果仍是 String，
+    // 达到 rope 阈值或任一侧已是 rope 时惰性连接；单侧文本（需 textValue 转换）走通用路径
+    @Specialization(guards = "isShort(a, b)")
+    protected String doString(String a, String b) {
+      return (String) AsterText.concat(a, b);
+    }
+
+    @Specialization(guards = {"isText(a)", "isText(b)"}, replaces = "doString")
+    protected Object doRope(Object a, Object b,
+                            @Cached TruffleString.FromJavaStringNode fromLeft,
+                            @Cached TruffleString.FromJavaStringNode fromRight,
+                            @Cached TruffleString.ConcatNode concat) {
+      if (a instanceof String left && b instanceof String right && isShort(left, right)) {
+        return AsterText.concat(left, right);
+      }
+      TruffleString l = a instanceof TruffleString ts ? ts : fromLeft.execute((String) a, AsterText.ENCODING);
+      TruffleString r = b instanceof TruffleString ts ? ts : fromRight.execute((String) b, AsterText.ENCODING);
+      return concat.execute(l, r, AsterText.ENCODING, true);
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+
+    protected static boolean isShort(String a, String b) {
+      return a.length() + b.length() < AsterText.ROPE_THRESHOLD;
+    }
+
+    protected static boolean isText(Object value) {
+      return AsterText.isText(value);
+    }
+  }
+
+  public abstract static class SubNode extends BinaryArithmeticNode {
+    protected SubNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected int doInt(int a, int b) {
+      return Math.subtractExact(a, b);
+    }
+
+    @Specialization(replaces = "doInt")
+    protected Object doIntWidening(int a, int b) {
+      return IntegerArithmetic.sub(a, b);
+    }
+
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected long doLong(long a, long b) {
+      return Math.subtractExact(a, b);
+    }
+
+    @Specialization(replaces = "doLong")
+    protected Object doLongWidening(long a, long b) {
+      return IntegerArithmetic.sub(a, b);
+    }
+
+    @Specialization
+    protected double doDouble(double a, double b) {
+      return a - b;
+    }
+
+    @Specialization
+    protected AsterDecimalValue doDecimal(AsterDecimalValue a, AsterDecimalValue b) {
+      return a.subtract(b);
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+  }
+
+  public abstract static class MulNode extends BinaryArithmeticNode {
+    protected MulNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected int doInt(int a, int b) {
+      return Math.multiplyExact(a, b);
+    }
+
+    @Specialization(replaces = "doInt")
+    protected Object doIntWidening(int a, int b) {
+      return IntegerArithmetic.mul(a, b);
+    }
+
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected long doLong(long a, long b) {
+      return Math.multiplyExact(a, b);
+    }
+
+    @Specialization(replaces = "doLong")
+    protected Object doLongWidening(long a, long b) {
+      return IntegerArithmetic.mul(a, b);
+    }
+
+    @Specialization
+    protected double doDouble(double a, double b) {
+      return a * b;
+    }
+
+    @Specialization
+    protected AsterDecimalValue doDecimal(AsterDecimalValue a, AsterDecimalValue b) {
+      return a.multiply(b);
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+  }
+
+  /**
+   * `/` 恒为浮点除法（与 TS 一致，7 / 2 = 3.5）；int/long 经隐式提升进入 double 特化。
+   * Decimal 除法被禁用，由通用路径抛出 deterministic error。
+   */
+  public abstract static class DivNode extends BinaryArithmeticNode {
+    protected DivNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected double doDouble(double a, double b) {
+      if (b == 0.0) {
+        throw new Builtins.BuiltinException(ErrorMessages.arithmeticDivisionByZero());
+      }
+      return a / b;
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+  }
+
+  /**
+   * `%`：两侧整数按整数取模（除数为 0 时与通用路径一样抛 ArithmeticException），
+   * 任一为浮点按浮点取模。
+   */
+  public abstract static class ModNode extends BinaryArithmeticNode {
+    protected ModNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected int doInt(int a, int b) {
+      return a % b;
+    }
+
+    @Specialization
+    protected long doLong(long a, long b) {
+      return a % b;
+    }
+
+    @Specialization
+    protected double doDouble(double a, double b) {
+      return a % b;
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+  }
+}
@@ -3,7 +3,6 @@ package aster.truffle.nodes;
 import aster.truffle.types.AsterTypes;
 import com.oracle.truffle.api.dsl.TypeSystemReference;
 import com.oracle.truffle.api.frame.VirtualFrame;
-import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.UnexpectedResultException;
 
 /**
@@ -14,9 +13,10 @@ import com.oracle.truffle.api.nodes.UnexpectedResultException;
  *
  * 已完成迁移：LiteralNode, NameNode, CallNode, LetNode, SetNode, ConstructNode,
  * LambdaNode, AwaitNode, IfNode, MatchNode, BlockNode 均已继承此基类。
+ * 语句节点（Return/Start/Wait/Workflow 等）与表达式节点共用 {@link AsterStatementNode} 基类。
  */
 @TypeSystemReference(AsterTypes.class)
-public abstract class AsterExpressionNode extends Node {
+public abstract class AsterExpressionNode extends AsterStatementNode {
 
   /**
    * 执行此节点并返回结果（通用版本）
@@ -24,6 +24,7 @@ public abstract class AsterExpressionNode extends Node {
    * @param frame 当前执行帧
    * @return 节点的执行结果（任意类型）
    */
+  @Override
   public abstract Object executeGeneric(VirtualFrame frame);
 
   /**
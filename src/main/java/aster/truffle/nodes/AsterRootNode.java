@@ -4,30 +4,29 @@ import aster.truffle.AsterContext;
 import aster.truffle.AsterLanguage;
 import aster.truffle.core.CoreModel;
 import aster.truffle.runtime.FrameSlotBuilder;
-import aster.truffle.runtime.interop.AsterInteropAdapter;
+import aster.truffle.runtime.interop.InteropValues;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.VirtualFrame;
-import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.RootNode;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 public final class AsterRootNode extends RootNode {
-  private final Node body;
+  @Child private AsterStatementNode body;
   private final Env globalEnv;
   private final List<CoreModel.Param> params;
   private final FrameDescriptor frameDescriptor;
   private final Map<String, Integer> symbolTable;
   private final List<String> effects;
 
-  public AsterRootNode(AsterLanguage lang, Node body, Env globalEnv, List<CoreModel.Param> params, List<String> effects) {
+  public AsterRootNode(AsterLanguage lang, AsterStatementNode body, Env globalEnv, List<CoreModel.Param> params, List<String> effects) {
     this(lang, body, globalEnv, params, effects, initFrame(params));
   }
 
   private AsterRootNode(
       AsterLanguage lang,
-      Node body,
+      AsterStatementNode body,
       Env globalEnv,
       List<CoreModel.Param> params,
       List<String> effects,
@@ -55,19 +54,14 @@ public final class AsterRootNode extends RootNode {
     }
 
     bindArgumentsToFrame(frame);
-    bindArgumentsToEnv(frame);
-    // 入口函数返回值跨宿主边界：null 须规整为 guest-null（toInteropValue），否则
-    // 裸 null 经 asGuestValue 触发 NPE/契约违例。adapt 仍只做集合/结构归一，保留
-    // 嵌套 raw null（底层 Map/List 内部消费依赖它）。
+    // 入口函数返回值跨宿主边界：null 须规整为 guest-null，裸 List/Map 包成互操作视图
+    // （均由 toInteropValue 完成），否则裸 null 经 asGuestValue 触发 NPE/契约违例。
+    // 只转换最外一层，嵌套值在宿主读取时按需转换（保留内部 raw null）。
     try {
-      Object result = Exec.exec(body, frame);
-      Object adapted = AsterInteropAdapter.adapt(result);
-      return context.getEnv().asGuestValue(
-          aster.truffle.runtime.interop.InteropValues.toInteropValue(adapted));
+      Object result = body.executeGeneric(frame);
+      return context.getEnv().asGuestValue(InteropValues.toInteropValue(result));
     } catch (ReturnNode.ReturnException rex) {
-      Object adapted = AsterInteropAdapter.adapt(rex.value);
-      return context.getEnv().asGuestValue(
-          aster.truffle.runtime.interop.InteropValues.toInteropValue(adapted));
+      return context.getEnv().asGuestValue(InteropValues.toInteropValue(rex.value));
     }
   }
 
@@ -84,16 +78,6 @@ public final class AsterRootNode extends RootNode {
     }
   }
 
-  private void bindArgumentsToEnv(VirtualFrame frame) {
-    if (params == null || params.isEmpty()) return;
-    Object[] args = frame.getArguments();
-    int count = Math.min(params.size(), args != null ? args.length : 0);
-    for (int i = 0; i < count; i++) {
-      CoreModel.Param param = params.get(i);
-      globalEnv.set(param.name, args[i]);
-    }
-  }
-
   public Map<String, Integer> getSymbolTable() {
     return symbolTable;
   }
@@ -0,0 +1,27 @@
+package aster.truffle.nodes;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Aster 可执行节点的公共基类。
+ *
+ * 语句节点（Return、TailCall、Start、Wait、Workflow）直接继承此类，表达式节点经
+ * {@link AsterExpressionNode} 继承。父节点以此类型持有子节点并虚调用执行方法，
+ * 不再经按节点类型逐个 instanceof 判断的分派链：新增节点类型无需修改任何分派代码。
+ */
+public abstract class AsterStatementNode extends Node {
+
+  /**
+   * 执行此节点并返回结果。语句节点的结果仅在其处于尾位置时有意义（见 BlockNode），
+   * 其余位置返回值被忽略。
+   */
+  public abstract Object executeGeneric(VirtualFrame frame);
+
+  /**
+   * 仅为副作用执行此节点（块内非末尾语句）。
+   */
+  public void executeVoid(VirtualFrame frame) {
+    executeGeneric(frame);
+  }
+}
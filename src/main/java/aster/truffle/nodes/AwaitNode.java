@@ -39,7 +39,7 @@ public abstract class AwaitNode extends AsterExpressionNode {
     Profiler.inc("await");
 
     // 获取 task_id
-    Object taskIdObj = Exec.exec(taskIdExpr, frame);
+    Object taskIdObj = taskIdExpr.executeGeneric(frame);
     if (!(taskIdObj instanceof String)) {
       throw new RuntimeException("await expects task_id (String), got: " +
           (taskIdObj == null ? "null" : taskIdObj.getClass().getName()));
@@ -0,0 +1,85 @@
+package aster.truffle.nodes;
+
+import aster.truffle.AsterLanguage;
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RepeatingNode;
+import com.oracle.truffle.api.nodes.RootNode;
+
+/**
+ * 批量求值的 guest 循环：对 records[start, end) 逐条调用同一函数，结果写入 results 的对应下标。
+ *
+ * 设计要点：
+ * - 循环体是 {@link LoopNode}，长批次在循环中途即可 OSR 编译；被调函数经 {@link DirectCallNode}
+ *   调用，可内联进循环
+ * - 每条记录已由调用方打包为 {@code [args..., captures...]}（与 {@link LambdaValue#apply} 相同的约定），
+ *   循环内不再做宿主转换与实参绑定
+ * - 实参为 {@code (Object[][] records, Object[] results, int start, int end)}，同一 CallTarget
+ *   可被多个 worker 按不相交区间并发调用（见 {@link LambdaValue} 的 executeBatch）
+ */
+final class BatchRootNode extends RootNode {
+  private static final int INDEX_SLOT = 0;
+
+  @Child private LoopNode loop;
+
+  private BatchRootNode(AsterLanguage language, FrameDescriptor descriptor, CallTarget target) {
+    super(language, descriptor);
+    this.loop = Truffle.getRuntime().createLoopNode(new RecordLoop(target));
+  }
+
+  static CallTarget create(CallTarget target) {
+    AsterLanguage language = target instanceof RootCallTarget rootTarget
+        ? rootTarget.getRootNode().getLanguage(AsterLanguage.class)
+        : null;
+    FrameDescriptor.Builder builder = FrameDescriptor.newBuilder();
+    builder.addSlot(FrameSlotKind.Int, "index", null);
+    return new BatchRootNode(language, builder.build(), target).getCallTarget();
+  }
+
+  @Override
+  public Object execute(VirtualFrame frame) {
+    frame.setInt(INDEX_SLOT, (Integer) frame.getArguments()[2]);
+    loop.execute(frame);
+    return frame.getArguments()[1];
+  }
+
+  @Override
+  public String getName() {
+    return "executeBatch";
+  }
+
+  private static final class RecordLoop extends Node implements RepeatingNode {
+    @Child private DirectCallNode call;
+
+    RecordLoop(CallTarget target) {
+      this.call = DirectCallNode.create(target);
+    }
+
+    @Override
+    public boolean executeRepeating(VirtualFrame frame) {
+      Object[] arguments = frame.getArguments();
+      int i = frame.getInt(INDEX_SLOT);
+      if (i >= (Integer) arguments[3]) {
+        return false;
+      }
+      Object[][] records = (Object[][]) arguments[0];
+      Object[] results = (Object[]) arguments[1];
+      Object result;
+      try {
+        result = call.call(records[i]);
+      } catch (ReturnNode.ReturnException r) {
+        result = r.value;
+      }
+      results[i] = result;
+      frame.setInt(INDEX_SLOT, i + 1);
+      return true;
+    }
+  }
+}
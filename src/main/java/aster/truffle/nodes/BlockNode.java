@@ -4,38 +4,78 @@ import aster.truffle.runtime.AsterConfig;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
-import com.oracle.truffle.api.nodes.Node;
 
 /**
- * 语句块节点 - 顺序执行子语句，保持 ReturnNode 快速返回。
+ * 语句块节点 - 顺序执行子语句。
+ *
+ * 处于函数尾位置的块（yieldsLast）以最后一条语句的值结束：Loader 已把尾位置的 Return 降为
+ * 普通值节点、把尾位置的 If/Match/Scope 按同样规则构建，返回值沿节点返回值逐层传出，
+ * 不分配、不抛出 ReturnException。
+ *
+ * 含非尾位置 Return 的块（propagatesReturn）逐条检查语句结果：遇到 {@link ReturnNode#RETURNED}
+ * 哨兵立即结束并把哨兵传给外层，直到 LambdaRootNode 从返回值槽位取值。workflow 步骤体内的
+ * Return 仍走 ReturnException。
  */
 public abstract class BlockNode extends AsterExpressionNode {
-  @Children private final Node[] statements;
+  @Children private final AsterStatementNode[] statements;
+  private final boolean yieldsLast;
+  private final boolean propagatesReturn;
 
-  protected BlockNode(java.util.List<Node> statements) {
-    this.statements = statements.toArray(new Node[0]);
+  protected BlockNode(java.util.List<? extends AsterStatementNode> statements, boolean yieldsLast, boolean propagatesReturn) {
+    this.statements = statements.toArray(new AsterStatementNode[0]);
+    this.yieldsLast = yieldsLast && !statements.isEmpty();
+    this.propagatesReturn = propagatesReturn;
   }
 
-  public static BlockNode create(java.util.List<Node> statements) {
-    return BlockNodeGen.create(statements);
+  public static BlockNode create(java.util.List<? extends AsterStatementNode> statements) {
+    return create(statements, false);
   }
 
+  public static BlockNode create(java.util.List<? extends AsterStatementNode> statements, boolean yieldsLast) {
+    return create(statements, yieldsLast, false);
+  }
+
+  /**
+   * @param propagatesReturn 子树中含以哨兵返回的 ReturnNode（见 {@link ReturnNode#RETURNED}）
+   */
+  public static BlockNode create(java.util.List<? extends AsterStatementNode> statements, boolean yieldsLast,
+                                 boolean propagatesReturn) {
+    return BlockNodeGen.create(statements, yieldsLast, propagatesReturn);
+  }
+
+  /**
+   * 子语句按静态类型虚调用：TailCall 与 workflow 步骤内的 Return 自行抛出控制流异常，其余语句只执行副作用；
+   * 尾位置块以最后一条语句的值结束。
+   */
   @Specialization
   @ExplodeLoop
   protected Object doBlock(VirtualFrame frame) {
     if (AsterConfig.DEBUG) {
       System.err.println("DEBUG: block size=" + statements.length);
     }
-    for (int i = 0; i < statements.length; i++) {
-      Node stmt = statements[i];
+    int last = statements.length - 1;
+    for (int i = 0; i < last; i++) {
       if (AsterConfig.DEBUG) {
-        System.err.println("DEBUG: stmt[" + i + "]=" + stmt.getClass().getSimpleName());
+        System.err.println("DEBUG: stmt[" + i + "]=" + statements[i].getClass().getSimpleName());
       }
-      if (stmt instanceof ReturnNode returnNode) {
-        return returnNode.execute(frame);
+      if (propagatesReturn) {
+        if (statements[i].executeGeneric(frame) == ReturnNode.RETURNED) {
+          return ReturnNode.RETURNED;
+        }
+      } else {
+        statements[i].executeVoid(frame);
       }
-      Exec.exec(stmt, frame);
     }
+    if (last < 0) {
+      return null;
+    }
+    if (yieldsLast) {
+      return statements[last].executeGeneric(frame);
+    }
+    if (propagatesReturn) {
+      return statements[last].executeGeneric(frame) == ReturnNode.RETURNED ? ReturnNode.RETURNED : null;
+    }
+    statements[last].executeVoid(frame);
     return null;
   }
 }
@@ -1,7 +1,10 @@
 package aster.truffle.nodes;
 
 import aster.truffle.nodes.parallel.ParallelListMapNode;
+import aster.truffle.nodes.parallel.ParallelListOps;
 import aster.truffle.purity.PurityAnalyzer;
+import aster.truffle.runtime.AsterList;
+import aster.truffle.runtime.AsterText;
 import aster.truffle.runtime.Builtins;
 import aster.truffle.runtime.ErrorMessages;
 import com.oracle.truffle.api.CallTarget;
@@ -16,14 +19,13 @@ import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.UnexpectedResultException;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * BuiltinCallNode - 内联常用 builtin 函数的优化节点
  *
  * 通过 Truffle DSL @Specialization 实现类型特化，直接内联算术、比较、逻辑、文本、集合运算，
- * 消除 CallTarget 调用开销。仅处理已知的 builtin，其他情况 fallback 到 Builtins.call。
+ * 消除 CallTarget 调用开销。仅处理已知的 builtin，其他情况 fallback 到构建期解析的 BuiltinDef。
  *
  * Phase 2A：算术运算 add/sub/mul/div/mod、比较运算 eq/lt/gt/lte/gte、
  *           逻辑运算 and/or/not (共 13 个 builtin)
@@ -33,88 +35,103 @@ import java.util.List;
  */
 public abstract class BuiltinCallNode extends AsterExpressionNode {
   @CompilationFinal protected final String builtinName;
+  /** 构建期归一化后的名称（运算符拼写 + → add 等），guard 只做常量比较。 */
+  @CompilationFinal protected final String canonicalName;
+  /** 构建期解析一次的 builtin 句柄；null 表示注册表中不存在该 builtin。 */
+  @CompilationFinal private final Builtins.BuiltinDef builtinDef;
   @Children protected final AsterExpressionNode[] argNodes;
   @Child private ParallelListMapNode parallelListMapNode;
 
   protected BuiltinCallNode(String builtinName, AsterExpressionNode[] argNodes) {
+    this(builtinName, Builtins.lookup(builtinName), argNodes);
+  }
+
+  /**
+   * Loader 已在构建期解析出句柄时使用，避免二次查表。
+   */
+  protected BuiltinCallNode(String builtinName, Builtins.BuiltinDef builtinDef, AsterExpressionNode[] argNodes) {
     this.builtinName = builtinName;
+    // 归一化与注册表查找只在节点创建时做一次：canonicalName 含 toLowerCase + 正则，
+    // 若留在 guard / 调用路径里，每次 `+`、`<` 都要重新分配字符串。
+    this.canonicalName = Builtins.canonicalName(builtinName);
+    this.builtinDef = builtinDef;
     this.argNodes = argNodes;
   }
 
   /**
    * Guards helper methods - 标记为 @Idempotent 因为结果仅依赖于 @CompilationFinal 字段
    */
-  // 算术 add/sub/mul/div/mod 无 int 快路径（统一走 doGeneric → Builtins.*，
-  // 已做 int/double 提升 + 字符串拼接），故无 isAdd/isSub/isMul/isDiv/isMod guard。
+  // 算术 add/sub/mul/div/mod 不在此节点特化：二元算术由 Loader 构建为 ArithmeticNodes
+  // （@NodeChild 类型特化），故无 isAdd/isSub/isMul/isDiv/isMod guard。
 
   @Idempotent
   protected boolean isEq() {
-    return Builtins.isCanonicalName(builtinName, "eq");
+    return "eq".equals(canonicalName);
   }
 
   @Idempotent
   protected boolean isLt() {
-    return Builtins.isCanonicalName(builtinName, "lt");
+    return "lt".equals(canonicalName);
   }
 
   @Idempotent
   protected boolean isGt() {
-    return Builtins.isCanonicalName(builtinName, "gt");
+    return "gt".equals(canonicalName);
   }
 
   @Idempotent
   protected boolean isLte() {
-    return Builtins.isCanonicalName(builtinName, "lte");
+    return "lte".equals(canonicalName);
   }
 
   @Idempotent
   protected boolean isGte() {
-    return Builtins.isCanonicalName(builtinName, "gte");
+    return "gte".equals(canonicalName);
   }
 
   @Idempotent
   protected boolean isAnd() {
-    return "and".equals(builtinName);
+    return "and".equals(canonicalName);
   }
 
   @Idempotent
   protected boolean isOr() {
-    return "or".equals(builtinName);
+    return "or".equals(canonicalName);
   }
 
   @Idempotent
   protected boolean isNot() {
-    return "not".equals(builtinName);
+    return "not".equals(canonicalName);
   }
 
   @Idempotent
   protected boolean isTextConcat() {
-    return "Text.concat".equals(builtinName);
+    return "Text.concat".equals(canonicalName);
   }
 
   @Idempotent
   protected boolean isTextLength() {
-    return "Text.length".equals(builtinName);
+    return "Text.length".equals(canonicalName);
   }
 
   @Idempotent
   protected boolean isListLength() {
-    return "List.length".equals(builtinName);
+    return "List.length".equals(canonicalName);
   }
 
   @Idempotent
   protected boolean isListAppend() {
-    return "List.append".equals(builtinName);
+    return "List.append".equals(canonicalName);
   }
 
   @Idempotent
   protected boolean isListMap() {
-    return "List.map".equals(builtinName);
+    return "List.map".equals(canonicalName);
   }
 
   @Idempotent
   protected boolean isListFilter() {
-    return "List.filter".equals(builtinName);
+    return "List.filter".equals(canonicalName);
   }
 
   @Idempotent
@@ -140,13 +157,12 @@ public abstract class BuiltinCallNode extends AsterExpressionNode {
     return argNodes.length == 1;
   }
 
-  // 算术 add/sub/mul/div/mod 不再用 int 快路径（@Specialization 返回 int）。
+  // 算术 add/sub/mul/div/mod 不在本节点用 int 快路径（@Specialization 返回 int）。
   // 原因：`/` 改为浮点后会产生 double，int 与 double 混算（如 subtotal(int) +
-  // tax(double)）经 int-specialization 的 rewriteOn / executeInt 重特化路径会
+  // tax(double)）经手写 int-specialization 的 rewriteOn / executeInt 重特化路径会
   // 错误返回 UnexpectedResultException 携带的单个操作数值（实测 100 - 10.0 → 10）。
-  // 统一走 doGeneric → Builtins.*（已做 int/double 数值提升 + 字符串拼接双语义），
-  // 由 CoreIrEvalCli.valueToJson 的 fitsInInt 把整数值 double 收敛回 int，
-  // 与 TS（统一 number）逐位一致。算术非热点循环，正确性优先于内联。
+  // 二元算术改由 ArithmeticNodes 承担：参数是 @NodeChild，由 DSL 生成代码处理
+  // UnexpectedResultException 与重特化；这里的 doGeneric 只兜底参数个数不为 2 的调用。
 
   // ---------------------------------------------------------------------------
   // 类型特化快速路径（#14 修复）
@@ -278,18 +294,18 @@ public abstract class BuiltinCallNode extends AsterExpressionNode {
 
   /**
    * 内联 Text.concat (String + String)
-   * 快速路径: 两个参数都是 String，直接拼接
-   * Fallback: 非 String 时交给 Builtins.call（支持 String.valueOf），不二次求值参数
+   * 快速路径: 两个参数都是文本（String 或 rope），经 AsterText 拼接，长结果为惰性 rope
+   * Fallback: 非文本时交给 Builtins.call（支持 String.valueOf），不二次求值参数
    */
   @Specialization(guards = {"isTextConcat()", "hasTwoArgs()"})
-  protected String doTextConcat(VirtualFrame frame) {
+  protected Object doTextConcat(VirtualFrame frame) {
     Profiler.inc("builtin_text_concat_inlined");
     Object a = argNodes[0].executeGeneric(frame);
     Object b = argNodes[1].executeGeneric(frame);
-    if (a instanceof String left && b instanceof String right) {
-      return left + right;
+    if (AsterText.isText(a) && AsterText.isText(b)) {
+      return AsterText.concat(a, b);
     }
-    return (String) doGenericWithArgs(a, b);
+    return doGenericWithArgs(a, b);
   }
 
   /**
@@ -301,8 +317,8 @@ public abstract class BuiltinCallNode extends AsterExpressionNode {
   protected int doTextLength(VirtualFrame frame) {
     Profiler.inc("builtin_text_length_inlined");
     Object a = argNodes[0].executeGeneric(frame);
-    if (a instanceof String text) {
-      return text.length();
+    if (AsterText.isText(a)) {
+      return AsterText.length(a);
     }
     return (int) doGenericWithArgs(a);
   }
@@ -330,7 +346,7 @@ public abstract class BuiltinCallNode extends AsterExpressionNode {
 
   /**
    * 内联 List.append (list + element)
-   * 使用 executeGeneric() + instanceof 模式，涉及对象分配 (new ArrayList)
+   * 使用 executeGeneric() + instanceof 模式；经 AsterList.appended 不可变追加（均摊 O(1)）
    * 类型不匹配时直接抛出 RuntimeException（保持异常透明性）
    */
   @Specialization(guards = {"isListAppend()", "hasTwoArgs()"})
@@ -343,9 +359,7 @@ public abstract class BuiltinCallNode extends AsterExpressionNode {
 
     List<Object> src = Builtins.asList(listObj);
     if (src != null) {
-      List<Object> mutable = new ArrayList<>(src);
-      mutable.add(element);
-      return mutable;
+      return AsterList.persistent(src).appended(element);
     }
 
     throw new RuntimeException(
@@ -399,7 +413,7 @@ public abstract class BuiltinCallNode extends AsterExpressionNode {
 
     // 小列表快速路径：直接调用 CallTarget.call()，无缓存开销
     // Phase 3C P1-2: 循环外预分配参数数组，消除每次迭代分配开销
-    List<Object> result = new ArrayList<>(list.size());
+    List<Object> result = new AsterList(list.size());
     Object[] packedArgs = new Object[1 + capturedValues.length];
     for (Object item : list) {
       packedArgs[0] = item;
@@ -463,7 +477,7 @@ public abstract class BuiltinCallNode extends AsterExpressionNode {
       throw new RuntimeException("List.map: lambda has no call target");
     }
 
-    boolean pureLambda = PurityAnalyzer.isPure(callTarget);
+    boolean pureLambda = PurityAnalyzer.isPure(lambda);
     ParallelListMapNode parallelNode = getParallelListMapNode();
     if (pureLambda && parallelNode.shouldParallelize(list.size())) {
       return parallelNode.execute(list, lambda);
@@ -472,7 +486,7 @@ public abstract class BuiltinCallNode extends AsterExpressionNode {
     Object[] capturedValues = lambda.getCapturedValues();
 
     // Map 循环：每次迭代使用 InvokeNode 执行 lambda，享受 DirectCallNode 缓存
-    List<Object> result = new ArrayList<>(list.size());
+    List<Object> result = new AsterList(list.size());
     for (Object item : list) {
       // 参数打包顺序：[item, ...captures]，与 CallNode.java:63-68 一致
       Object[] packedArgs = new Object[1 + capturedValues.length];
@@ -532,7 +546,7 @@ public abstract class BuiltinCallNode extends AsterExpressionNode {
 
     // 小列表快速路径：直接调用 CallTarget.call()，无缓存开销
     // Phase 3C P1-2: 循环外预分配参数数组，消除每次迭代分配开销
-    List<Object> result = new ArrayList<>();
+    List<Object> result = new AsterList();
     Object[] packedArgs = new Object[1 + capturedValues.length];
     for (Object item : list) {
       packedArgs[0] = item;
@@ -597,24 +611,16 @@ public abstract class BuiltinCallNode extends AsterExpressionNode {
     if (callTarget == null) {
       throw new RuntimeException("List.filter: lambda has no call target");
     }
-    boolean purePredicate = PurityAnalyzer.isPure(callTarget);
-    ParallelListMapNode parallelNode = getParallelListMapNode();
-    if (purePredicate && parallelNode.shouldParallelize(list.size())) {
-      List<Object> predicateResults = parallelNode.execute(list, predicate);
-      List<Object> filtered = new ArrayList<>();
-      for (int i = 0; i < list.size(); i++) {
-        if (Boolean.TRUE.equals(predicateResults.get(i))) {
-          filtered.add(list.get(i));
-        }
-      }
-      Profiler.inc("builtin_list_filter_parallel");
-      return filtered;
+    boolean purePredicate = PurityAnalyzer.isPure(predicate);
+    if (purePredicate && ParallelListOps.shouldParallelize(list.size())) {
+      // 分块并行标记 + 前缀和压缩，不再物化整列谓词结果
+      return ParallelListOps.filter(list, predicate);
     }
 
     Object[] capturedValues = predicate.getCapturedValues();
 
     // Filter 循环：每次迭代使用 InvokeNode 执行谓词，仅保留 Boolean.TRUE 的元素
-    List<Object> result = new ArrayList<>();
+    List<Object> result = new AsterList();
     for (Object item : list) {
       // 参数打包顺序：[item, ...captures]，与 CallNode.java:63-68 一致
       Object[] packedArgs = new Object[1 + capturedValues.length];
@@ -664,19 +670,19 @@ public abstract class BuiltinCallNode extends AsterExpressionNode {
   }
 
   /**
-   * 调用 Builtins.call 并区分「不存在该 builtin」与「builtin 合法返回 null」。
+   * 经构建期缓存的句柄调用 builtin，并区分「不存在该 builtin」与「builtin 合法返回 null」。
    * 镜像 CallNode.java 的守卫：未知 builtin 在 guest 内显式失败，避免把 null
-   * 透传到 asGuestValue 触发难以诊断的 NPE。BuiltinCallNode 仅在 Builtins.has()
-   * 为真时才由 Loader 构造，故这里 null 只可能是「合法返回 null」——但仍保留
-   * 显式守卫，防御未来注册表变动或运算符规范化的边界。
+   * 透传到 asGuestValue 触发难以诊断的 NPE。BuiltinCallNode 仅在 Builtins.lookup()
+   * 非空时才由 Loader 构造，故这里 null 只可能是「合法返回 null」——但仍保留
+   * 显式守卫，防御直接构造节点或运算符规范化的边界。
    */
   private Object callBuiltinChecked(Object[] args) {
-    if (!Builtins.has(builtinName)) {
+    if (builtinDef == null) {
       // 未知 builtin：显式失败而非返回 null（mirror CallNode:100-106）
       throw new RuntimeException("Unknown builtin: " + builtinName);
     }
     // 合法返回值（含 null，如 Map.get / Option.unwrapOr 的 sentinel）直接返回
-    return Builtins.call(builtinName, args);
+    return builtinDef.invoke(args);
   }
 
   /**
@@ -24,15 +24,15 @@ import java.util.List;
  * - 使用 @Cached 注入内联节点，Node 参数自动绑定 $node (inlining target)
  */
 public abstract class CallNode extends AsterExpressionNode {
-  @Child protected Node target;
-  @Children protected final Node[] args;
+  @Child protected AsterExpressionNode target;
+  @Children protected final AsterExpressionNode[] args;
 
-  protected CallNode(Node target, List<Node> args) {
+  protected CallNode(AsterExpressionNode target, List<? extends AsterExpressionNode> args) {
     this.target = target;
-    this.args = args.toArray(new Node[0]);
+    this.args = args.toArray(new AsterExpressionNode[0]);
   }
 
-  public static CallNode create(Node target, List<Node> args) {
+  public static CallNode create(AsterExpressionNode target, List<? extends AsterExpressionNode> args) {
     return CallNodeGen.create(target, args);
   }
 
@@ -44,7 +44,7 @@ public abstract class CallNode extends AsterExpressionNode {
       @Cached(inline = true) InvokeNode invokeNode) {
 
     Profiler.inc("call");
-    Object t = Exec.exec(target, frame);
+    Object t = target.executeGeneric(frame);
     if (AsterConfig.DEBUG) {
       System.err.println("DEBUG: call target=" + t + " (" + (t==null?"null":t.getClass().getName()) + ")");
     }
@@ -52,7 +52,7 @@ public abstract class CallNode extends AsterExpressionNode {
     // 1. Lambda/closure call via InvokeNode (with inline optimization)
     if (t instanceof LambdaValue lv) {
       Object[] av = new Object[args.length];
-      for (int i = 0; i < args.length; i++) av[i] = Exec.exec(args[i], frame);
+      for (int i = 0; i < args.length; i++) av[i] = args[i].executeGeneric(frame);
       if (AsterConfig.DEBUG) {
         System.err.println("DEBUG: call args=" + java.util.Arrays.toString(av));
       }
@@ -80,7 +80,7 @@ public abstract class CallNode extends AsterExpressionNode {
     String name = (t instanceof String) ? (String)t : null;
     if (name != null && aster.truffle.runtime.Builtins.has(name)) {
       Object[] av = new Object[args.length];
-      for (int i = 0; i < args.length; i++) av[i] = Exec.exec(args[i], frame);
+      for (int i = 0; i < args.length; i++) av[i] = args[i].executeGeneric(frame);
       try {
         Object result = aster.truffle.runtime.Builtins.call(name, av);
         if (result != null) return result;
@@ -0,0 +1,273 @@
+package aster.truffle.nodes;
+
+import aster.truffle.runtime.Builtins;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.Specialization;
+
+/**
+ * 比较与逻辑 builtin（eq/ne/lt/lte/gt/gte/and/or/not）的类型特化节点。
+ *
+ * <p>与 {@link ArithmeticNodes} 同构：操作数是 {@code @NodeChild}，由 DSL 经 executeInt /
+ * executeDouble / executeBoolean 取得原始类型值，结果以原始 boolean 返回，条件经
+ * IfNode 的 executeBoolean 消费，全程不装箱。UnexpectedResultException 由生成代码取回
+ * 已求值的值继续特化，不会二次求值参数。
+ *
+ * <p>数值比较语义与 {@link Builtins} 一致：一律按 double 比较（int/long 经
+ * {@link aster.truffle.types.AsterTypes} 隐式提升进入 double 特化，`0.0 == 0` 为真）。
+ * Decimal、PII 包装值、结构相等与非布尔真值判断等其余组合回退到构建期解析的
+ * {@link Builtins.BuiltinDef}。
+ */
+public final class ComparisonNodes {
+  private ComparisonNodes() {}
+
+  /**
+   * 为比较/逻辑 builtin 创建特化节点。
+   *
+   * @param canonicalName 归一化后的 builtin 名（见 {@link Builtins#canonicalName}）
+   * @param args 已构建的参数节点；个数与 builtin 元数不符时返回 null
+   * @return 对应节点；非比较/逻辑 builtin 返回 null，由调用方继续走 BuiltinCallNode
+   */
+  public static AsterExpressionNode create(String canonicalName, Builtins.BuiltinDef builtinDef,
+                                           java.util.List<AsterExpressionNode> args) {
+    if (args.size() == 1) {
+      return "not".equals(canonicalName) ? ComparisonNodesFactory.NotNodeGen.create(builtinDef, args.get(0)) : null;
+    }
+    if (args.size() != 2) {
+      return null;
+    }
+    AsterExpressionNode left = args.get(0);
+    AsterExpressionNode right = args.get(1);
+    return switch (canonicalName) {
+      case "eq" -> ComparisonNodesFactory.EqNodeGen.create(builtinDef, left, right);
+      case "ne" -> ComparisonNodesFactory.NeNodeGen.create(builtinDef, left, right);
+      case "lt" -> ComparisonNodesFactory.LtNodeGen.create(builtinDef, left, right);
+      case "lte" -> ComparisonNodesFactory.LteNodeGen.create(builtinDef, left, right);
+      case "gt" -> ComparisonNodesFactory.GtNodeGen.create(builtinDef, left, right);
+      case "gte" -> ComparisonNodesFactory.GteNodeGen.create(builtinDef, left, right);
+      case "and" -> ComparisonNodesFactory.AndNodeGen.create(builtinDef, left, right);
+      case "or" -> ComparisonNodesFactory.OrNodeGen.create(builtinDef, left, right);
+      default -> null;
+    };
+  }
+
+  @NodeChild(value = "left", type = AsterExpressionNode.class)
+  @NodeChild(value = "right", type = AsterExpressionNode.class)
+  public abstract static class BinaryPredicateNode extends AsterExpressionNode {
+    @CompilationFinal protected final Builtins.BuiltinDef builtinDef;
+
+    protected BinaryPredicateNode(Builtins.BuiltinDef builtinDef) {
+      this.builtinDef = builtinDef;
+    }
+
+    /** 通用路径：已求值的两个操作数直接交给 builtin 实现，不重新执行子节点。 */
+    protected final Object callGeneric(Object a, Object b) {
+      Profiler.inc("builtin_call_generic");
+      return builtinDef.invoke(new Object[]{a, b});
+    }
+  }
+
+  public abstract static class EqNode extends BinaryPredicateNode {
+    protected EqNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected boolean doInt(int a, int b) {
+      return a == b;
+    }
+
+    @Specialization
+    protected boolean doDouble(double a, double b) {
+      return a == b;
+    }
+
+    @Specialization
+    protected boolean doBoolean(boolean a, boolean b) {
+      return a == b;
+    }
+
+    @Specialization
+    protected boolean doString(String a, String b) {
+      return a.equals(b);
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+  }
+
+  public abstract static class NeNode extends BinaryPredicateNode {
+    protected NeNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected boolean doInt(int a, int b) {
+      return a != b;
+    }
+
+    @Specialization
+    protected boolean doDouble(double a, double b) {
+      return a != b;
+    }
+
+    @Specialization
+    protected boolean doBoolean(boolean a, boolean b) {
+      return a != b;
+    }
+
+    @Specialization
+    protected boolean doString(String a, String b) {
+      return !a.equals(b);
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+  }
+
+  // 有序比较只特化 int 与 double：long 经隐式提升按 double 比较，与通用路径的 toDouble 逐位一致
+
+  public abstract static class LtNode extends BinaryPredicateNode {
+    protected LtNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected boolean doInt(int a, int b) {
+      return a < b;
+    }
+
+    @Specialization
+    protected boolean doDouble(double a, double b) {
+      return a < b;
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+  }
+
+  public abstract static class LteNode extends BinaryPredicateNode {
+    protected LteNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected boolean doInt(int a, int b) {
+      return a <= b;
+    }
+
+    @Specialization
+    protected boolean doDouble(double a, double b) {
+      return a <= b;
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+  }
+
+  public abstract static class GtNode extends BinaryPredicateNode {
+    protected GtNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected boolean doInt(int a, int b) {
+      return a > b;
+    }
+
+    @Specialization
+    protected boolean doDouble(double a, double b) {
+      return a > b;
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+  }
+
+  public abstract static class GteNode extends BinaryPredicateNode {
+    protected GteNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected boolean doInt(int a, int b) {
+      return a >= b;
+    }
+
+    @Specialization
+    protected boolean doDouble(double a, double b) {
+      return a >= b;
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+  }
+
+  /**
+   * and/or 与通用路径一样两侧都求值（builtin 语义，非短路）。
+   */
+  public abstract static class AndNode extends BinaryPredicateNode {
+    protected AndNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected boolean doBoolean(boolean a, boolean b) {
+      return a && b;
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+  }
+
+  public abstract static class OrNode extends BinaryPredicateNode {
+    protected OrNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected boolean doBoolean(boolean a, boolean b) {
+      return a || b;
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+  }
+
+  @NodeChild(value = "operand", type = AsterExpressionNode.class)
+  public abstract static class NotNode extends AsterExpressionNode {
+    @CompilationFinal protected final Builtins.BuiltinDef builtinDef;
+
+    protected NotNode(Builtins.BuiltinDef builtinDef) {
+      this.builtinDef = builtinDef;
+    }
+
+    @Specialization
+    protected boolean doBoolean(boolean a) {
+      return !a;
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a) {
+      Profiler.inc("builtin_call_generic");
+      return builtinDef.invoke(new Object[]{a});
+    }
+  }
+}
@@ -1,37 +1,51 @@
 package aster.truffle.nodes;
 
-import aster.truffle.core.CoreModel;
+import aster.truffle.runtime.AsterDataLayout;
 import aster.truffle.runtime.AsterDataValue;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import java.util.Map;
 
+/**
+ * Data 构造节点。字段表达式按共享布局（{@link AsterDataLayout}）的字段顺序排列，
+ * 每次求值只分配一个值数组与一个 AsterDataValue，布局由 Loader 按 Data 定义构建一次。
+ */
 public abstract class ConstructNode extends AsterExpressionNode {
-  private final String typeName;
-  private final String[] fieldNames;
-  private final CoreModel.Data definition;
+  @CompilationFinal private final AsterDataLayout layout;
   @Children private final AsterExpressionNode[] fieldNodes;
 
-  protected ConstructNode(String typeName, Map<String, AsterExpressionNode> fields, CoreModel.Data definition) {
-    this.typeName = typeName;
-    this.fieldNames = fields.keySet().toArray(new String[0]);
-    this.fieldNodes = fields.values().toArray(new AsterExpressionNode[0]);
-    this.definition = definition;
+  protected ConstructNode(AsterDataLayout layout, Map<String, AsterExpressionNode> fields) {
+    if (fields.size() != layout.fieldCount()) {
+      throw new IllegalArgumentException("字段名与字段值数量不一致: " + layout.getFieldNames());
+    }
+    this.layout = layout;
+    this.fieldNodes = new AsterExpressionNode[layout.fieldCount()];
+    int i = 0;
+    for (Map.Entry<String, AsterExpressionNode> entry : fields.entrySet()) {
+      if (!entry.getKey().equals(layout.fieldName(i))) {
+        throw new IllegalArgumentException("字段顺序与 Data 布局不一致: " + entry.getKey() + " @ " + i);
+      }
+      fieldNodes[i++] = entry.getValue();
+    }
   }
 
-  public static ConstructNode create(String typeName, Map<String, AsterExpressionNode> fields, CoreModel.Data definition) {
-    return ConstructNodeGen.create(typeName, fields, definition);
+  /**
+   * @param fields 按布局字段顺序排列的字段表达式（Loader.prepareDataFields 的输出）
+   */
+  public static ConstructNode create(AsterDataLayout layout, Map<String, AsterExpressionNode> fields) {
+    return ConstructNodeGen.create(layout, fields);
   }
 
   @Specialization
   @ExplodeLoop
   protected Object doConstruct(VirtualFrame frame) {
     Profiler.inc("construct");
-    Object[] values = new Object[fieldNames.length];
-    for (int i = 0; i < fieldNames.length; i++) {
+    Object[] values = new Object[fieldNodes.length];
+    for (int i = 0; i < fieldNodes.length; i++) {
       values[i] = fieldNodes[i].executeGeneric(frame);
     }
-    return new AsterDataValue(typeName, fieldNames, values, definition);
+    return new AsterDataValue(layout, values);
   }
 }
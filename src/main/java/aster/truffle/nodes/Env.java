@@ -1,6 +1,10 @@
 package aster.truffle.nodes;
 
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.Truffle;
 import java.util.Collections;
+import java.util.Objects;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -9,6 +13,8 @@ import java.util.Set;
 public final class Env {
   private final Env parent;
   private final Map<String,Object> vars = new HashMap<>();
+  /** 绑定表未变化的假设；任一已有名称被改绑时失效并换新，供 FunctionCallNode 缓存调用目标。 */
+  private Assumption unchanged = Truffle.getRuntime().createAssumption("Env unchanged");
 
   public Env() {
     this(null);
@@ -32,7 +38,10 @@ public final class Env {
 
   public void set(String name, Object v) {
     if (vars.containsKey(name)) {
-      vars.put(name, v);
+      Object previous = vars.put(name, v);
+      if (previous != null && !Objects.equals(previous, v)) {
+        invalidate();
+      }
       return;
     }
     if (parent != null && parent.contains(name)) {
@@ -42,6 +51,20 @@ public final class Env {
     vars.put(name, v);
   }
 
+  /**
+   * 当前绑定表的稳定性假设。首次绑定（包括 Loader 先占位 null、再填入函数值）不会使其失效，
+   * 只有改绑已有非 null 值时才失效。
+   */
+  public Assumption getUnchangedAssumption() {
+    return unchanged;
+  }
+
+  private void invalidate() {
+    CompilerDirectives.transferToInterpreterAndInvalidate();
+    unchanged.invalidate();
+    unchanged = Truffle.getRuntime().createAssumption("Env unchanged");
+  }
+
   public boolean contains(String name) {
     if (vars.containsKey(name)) return true;
     return parent != null && parent.contains(name);
@@ -1,25 +1,15 @@
 package aster.truffle.nodes;
 
-import com.oracle.truffle.api.frame.VirtualFrame;
-import com.oracle.truffle.api.nodes.Node;
+import aster.truffle.runtime.AsterText;
 
+/**
+ * 执行期共用的值转换辅助。子节点执行统一经 {@link AsterStatementNode#executeGeneric} 虚调用。
+ */
 public final class Exec {
   private Exec() {}
 
-  public static Object exec(Node n, VirtualFrame f) {
-    Profiler.inc("exec");
-    if (n instanceof AsterExpressionNode expr) return expr.executeGeneric(f);
-    if (n instanceof ReturnNode rn) return rn.execute(f);
-    if (n instanceof LetNodeEnv lne) return lne.execute(f);
-    if (n instanceof SetNodeEnv sne) return sne.execute(f);
-    // IfNode, MatchNode, BlockNode 已迁移到 AsterExpressionNode，由第一个分支处理
-    if (n instanceof StartNode sn) return sn.execute(f);
-    if (n instanceof WaitNode wn) return wn.execute(f);
-    if (n instanceof WorkflowNode wf) return wf.execute(f);
-    return null;
-  }
-
-  public static boolean toBool(Object o) {
+  public static boolean toBool(Object value) {
+    Object o = AsterText.flatten(value);
     if (o instanceof Boolean b) return b;
     if (o instanceof Number n) return n.doubleValue() != 0.0;
     if (o instanceof String s) {
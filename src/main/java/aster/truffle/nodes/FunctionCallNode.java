@@ -0,0 +1,80 @@
+package aster.truffle.nodes;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import java.util.List;
+
+/**
+ * 顶层用户函数的直接调用节点。
+ *
+ * Loader 在构建期已确定调用目标是模块内的顶层函数（未被局部绑定遮蔽），因此：
+ * - 首次执行时从全局 Env 取出函数的 CallTarget，绑定为 DirectCallNode（可被 JIT 内联/拆分）
+ * - 以 Env 的稳定性假设守护缓存，Env 改绑后重新链接
+ * - 参数按常量下标展开求值，直接作为调用参数；顶层函数没有闭包捕获，不做捕获拼接
+ *
+ * 链接时若名称未绑定到无捕获的函数值（理论上不应发生），以通用 CallNode 替换自身。
+ */
+public final class FunctionCallNode extends AsterExpressionNode {
+  private final Env env;
+  private final String name;
+  @Children private final AsterExpressionNode[] args;
+  @Child private DirectCallNode callNode;
+  @CompilationFinal private Assumption envUnchanged;
+  @CompilationFinal private CallTarget cachedTarget;
+
+  public FunctionCallNode(Env env, String name, List<? extends AsterExpressionNode> args) {
+    this.env = env;
+    this.name = name;
+    this.args = args.toArray(new AsterExpressionNode[0]);
+  }
+
+  @Override
+  public Object executeGeneric(VirtualFrame frame) {
+    Profiler.inc("call");
+    if (envUnchanged == null || !envUnchanged.isValid()) {
+      CompilerDirectives.transferToInterpreterAndInvalidate();
+      if (!link()) {
+        return replace(CallNode.create(new NameNodeEnv(env, name), List.of(args))).executeGeneric(frame);
+      }
+    }
+    Object[] argValues = evaluateArguments(frame);
+    try {
+      return callNode.call(argValues);
+    } catch (ReturnNode.ReturnException r) {
+      return r.value;
+    }
+  }
+
+  @ExplodeLoop
+  private Object[] evaluateArguments(VirtualFrame frame) {
+    Object[] values = new Object[args.length];
+    for (int i = 0; i < args.length; i++) {
+      values[i] = args[i].executeGeneric(frame);
+    }
+    return values;
+  }
+
+  private boolean link() {
+    Assumption assumption = env.getUnchangedAssumption();
+    Object value = env.get(name);
+    if (!(value instanceof LambdaValue lambda) || lambda.getCapturedValues().length != 0) {
+      return false;
+    }
+    CallTarget target = lambda.getCallTarget();
+    if (target != cachedTarget || callNode == null) {
+      callNode = insert(DirectCallNode.create(target));
+      cachedTarget = target;
+    }
+    envUnchanged = assumption;
+    return true;
+  }
+
+  public String getName() {
+    return name;
+  }
+}
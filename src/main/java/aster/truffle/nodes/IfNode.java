@@ -4,22 +4,26 @@ import aster.truffle.runtime.AsterConfig;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
-import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.CountingConditionProfile;
 
 /**
  * 条件分支节点 - 利用 Truffle DSL 针对布尔条件进行特化，并提供通用回退。
+ *
+ * 布尔条件经子节点 executeBoolean 以原始值取得（比较 builtin 与布尔槽位读取不装箱），
+ * 分支走向经 CountingConditionProfile 记录，供编译器按实际分支概率布局代码。
  */
 @NodeChild(value = "condNode", type = AsterExpressionNode.class)
 public abstract class IfNode extends AsterExpressionNode {
-  @Child private Node thenNode;
-  @Child private Node elseNode;
+  @Child private AsterStatementNode thenNode;
+  @Child private AsterStatementNode elseNode;
+  private final CountingConditionProfile condition = CountingConditionProfile.create();
 
-  protected IfNode(Node thenNode, Node elseNode) {
+  protected IfNode(AsterStatementNode thenNode, AsterStatementNode elseNode) {
     this.thenNode = thenNode;
     this.elseNode = elseNode;
   }
 
-  public static IfNode create(AsterExpressionNode cond, Node thenNode, Node elseNode) {
+  public static IfNode create(AsterExpressionNode cond, AsterStatementNode thenNode, AsterStatementNode elseNode) {
     return IfNodeGen.create(thenNode, elseNode, cond);
   }
 
@@ -43,11 +47,11 @@ public abstract class IfNode extends AsterExpressionNode {
   }
 
   private Object executeBranch(boolean condValue, VirtualFrame frame) {
-    Node target = condValue ? thenNode : elseNode;
+    AsterStatementNode target = condition.profile(condValue) ? thenNode : elseNode;
     if (target == null) {
       return null;
     }
-    return Exec.exec(target, frame);
+    return target.executeGeneric(frame);
   }
 
   private void logDebug(Object condValue, boolean boolValue) {
@@ -56,7 +60,7 @@ public abstract class IfNode extends AsterExpressionNode {
         ", elseNode=" + simpleName(elseNode));
   }
 
-  private static String simpleName(Node node) {
+  private static String simpleName(AsterStatementNode node) {
     return node != null ? node.getClass().getSimpleName() : "null";
   }
 }
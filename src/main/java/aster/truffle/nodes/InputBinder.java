@@ -0,0 +1,253 @@
+package aster.truffle.nodes;
+
+import aster.truffle.core.CoreModel;
+import aster.truffle.runtime.AsterDataLayout;
+import aster.truffle.runtime.AsterDataValue;
+import aster.truffle.runtime.AsterList;
+import aster.truffle.runtime.interop.AsterJsonObject;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 入口函数实参的绑定器：按参数声明类型与 Data 定义在加载期生成，宿主调用入口函数时一次性把
+ * 宿主输入（Map、POJO、ProxyObject、宿主 List/数组）转换为 guest 值。
+ *
+ * 设计要点：
+ * - Data 类型的参数/字段转换为使用 Loader 共享布局的 {@link AsterDataValue}，之后策略中对它的
+ *   每次字段读取都命中 MemberAccessNode 的布局缓存（一次数组下标），而不是逐次经 InteropLibrary
+ *   查 hash 条目、解包并尝试 umlaut 别名
+ * - List 类型转换为 {@link AsterList}，元素按元素类型递归绑定；Maybe/Option/PII 按其内层类型绑定
+ * - 其余类型的值按 MemberAccessNode 读取时相同的规则解包（Int/Long/Double/Boolean/String、
+ *   guest-null → null），非基本值原样保留
+ * - 字段键查找与 MemberAccessNode 一致：先精确匹配，再试 umlaut 还原后的 ASCII 别名。
+ *   输入缺少某个字段或形态不符时不做转换、原样交给函数体，仍由 MemberAccessNode 在读取时处理
+ *   （保持原有的报错与反向别名语义）
+ * - 递归 Data 定义（如树节点）通过按类型名缓存的绑定器支持
+ */
+public abstract class InputBinder {
+  private static final InteropLibrary INTEROP = InteropLibrary.getUncached();
+
+  /** 按声明类型绑定一个值；无法绑定时原样返回。 */
+  public abstract Object bind(Object value);
+
+  /**
+   * 为入口函数的参数生成绑定器；所有参数都只需基本值解包时返回 null（宿主实参原样传入即可）。
+   */
+  public static InputBinder[] forParams(List<CoreModel.Param> params, Map<String, AsterDataLayout> layouts) {
+    if (params == null || params.isEmpty()) {
+      return null;
+    }
+    Compiler compiler = new Compiler(layouts);
+    InputBinder[] binders = new InputBinder[params.size()];
+    boolean structured = false;
+    for (int i = 0; i < binders.length; i++) {
+      binders[i] = compiler.compile(params.get(i).type);
+      structured |= binders[i] != Scalar.INSTANCE;
+    }
+    return structured ? binders : null;
+  }
+
+  /** 绑定全部实参（多出的实参原样保留）。 */
+  @TruffleBoundary
+  public static Object[] bindAll(InputBinder[] binders, Object[] args) {
+    if (args == null) {
+      return null;
+    }
+    Object[] bound = args.clone();
+    for (int i = 0; i < Math.min(binders.length, bound.length); i++) {
+      // 顶层基本类型参数与原先一样原样传入
+      if (binders[i] != Scalar.INSTANCE) {
+        bound[i] = binders[i].bind(bound[i]);
+      }
+    }
+    return bound;
+  }
+
+  private static boolean isNull(Object value) {
+    return value == null || INTEROP.isNull(value);
+  }
+
+  /** 基本值：与 MemberAccessNode 经 interop 读取成员时的解包规则一致。 */
+  private static final class Scalar extends InputBinder {
+    static final Scalar INSTANCE = new Scalar();
+
+    @Override
+    public Object bind(Object value) {
+      return MemberAccessNode.MemberReadNode.unboxInteropValue(value, INTEROP);
+    }
+  }
+
+  /** 可空包装（Maybe/Option）：null 保持 null，其余按内层类型绑定。 */
+  private static final class Nullable extends InputBinder {
+    private final InputBinder inner;
+
+    Nullable(InputBinder inner) {
+      this.inner = inner;
+    }
+
+    @Override
+    public Object bind(Object value) {
+      return isNull(value) ? null : inner.bind(value);
+    }
+  }
+
+  private static final class ListBinder extends InputBinder {
+    private final InputBinder element;
+
+    ListBinder(InputBinder element) {
+      this.element = element;
+    }
+
+    @Override
+    public Object bind(Object value) {
+      if (isNull(value)) {
+        return null;
+      }
+      // 已是 guest 列表（或不是数组）：不转换
+      if (value instanceof List<?> || !INTEROP.hasArrayElements(value) || INTEROP.isString(value)) {
+        return value;
+      }
+      try {
+        long size = INTEROP.getArraySize(value);
+        if (size > Integer.MAX_VALUE) {
+          return value;
+        }
+        AsterList out = new AsterList((int) size);
+        for (long i = 0; i < size; i++) {
+          out.add(element.bind(INTEROP.readArrayElement(value, i)));
+        }
+        return out;
+      } catch (InteropException e) {
+        return value;
+      }
+    }
+  }
+
+  private static final class DataBinder extends InputBinder {
+    private static final Object MISSING = new Object();
+
+    private final AsterDataLayout layout;
+    /** 按布局字段顺序的键与 ASCII 别名（无 umlaut 时与键相同）。 */
+    private final String[] keys;
+    private final String[] aliases;
+    /** 由 Compiler 在注册本绑定器之后填充，以支持递归定义。 */
+    private InputBinder[] fields;
+
+    DataBinder(AsterDataLayout layout) {
+      this.layout = layout;
+      int n = layout.fieldCount();
+      this.keys = new String[n];
+      this.aliases = new String[n];
+      for (int i = 0; i < n; i++) {
+        keys[i] = layout.fieldName(i);
+        aliases[i] = MemberAccessNode.MemberReadNode.denormalizeUmlauts(keys[i]);
+      }
+    }
+
+    @Override
+    public Object bind(Object value) {
+      if (isNull(value)) {
+        return null;
+      }
+      if (value instanceof AsterDataValue || value instanceof AsterJsonObject) {
+        // JSON 视图保持惰性：按需解码比一次性绑定全部字段更省
+        return value;
+      }
+      Object[] values = new Object[keys.length];
+      try {
+        for (int i = 0; i < keys.length; i++) {
+          Object raw = read(value, i);
+          if (raw == MISSING) {
+            return value;
+          }
+          // guest Map 的条目与 MemberAccessNode 的 Map 路径一样不做基本值解包
+          values[i] = value instanceof Map<?, ?> && fields[i] == Scalar.INSTANCE ? raw : fields[i].bind(raw);
+        }
+      } catch (InteropException e) {
+        return value;
+      }
+      return new AsterDataValue(layout, values);
+    }
+
+    private Object read(Object value, int i) throws InteropException {
+      String key = keys[i];
+      String alias = aliases[i];
+      if (value instanceof Map<?, ?> map) {
+        if (map.containsKey(key)) return map.get(key);
+        if (!alias.equals(key) && map.containsKey(alias)) return map.get(alias);
+        return MISSING;
+      }
+      if (INTEROP.hasHashEntries(value)) {
+        if (INTEROP.isHashEntryReadable(value, key)) return INTEROP.readHashValue(value, key);
+        if (!alias.equals(key) && INTEROP.isHashEntryReadable(value, alias)) return INTEROP.readHashValue(value, alias);
+      }
+      if (INTEROP.hasMembers(value)) {
+        if (INTEROP.isMemberReadable(value, key)) return INTEROP.readMember(value, key);
+        if (!alias.equals(key) && INTEROP.isMemberReadable(value, alias)) return INTEROP.readMember(value, alias);
+      }
+      return MISSING;
+    }
+  }
+
+  /** 类型 → 绑定器；Data 绑定器按类型名缓存，先注册再填字段以支持递归定义。 */
+  private static final class Compiler {
+    private final Map<String, AsterDataLayout> layouts;
+    private final Map<String, DataBinder> dataBinders = new HashMap<>();
+
+    Compiler(Map<String, AsterDataLayout> layouts) {
+      this.layouts = layouts != null ? layouts : Map.of();
+    }
+
+    InputBinder compile(CoreModel.Type type) {
+      if (type instanceof CoreModel.TypeName tn && tn.name != null && layouts.containsKey(tn.name)) {
+        return data(tn.name);
+      }
+      if (type instanceof CoreModel.ListT list) {
+        return new ListBinder(compile(list.type));
+      }
+      if (type instanceof CoreModel.Maybe maybe) {
+        return nullable(compile(maybe.type));
+      }
+      if (type instanceof CoreModel.Option option) {
+        return nullable(compile(option.type));
+      }
+      if (type instanceof CoreModel.PiiType pii) {
+        return compile(pii.baseType);
+      }
+      return Scalar.INSTANCE;
+    }
+
+    private InputBinder nullable(InputBinder inner) {
+      return inner == Scalar.INSTANCE ? inner : new Nullable(inner);
+    }
+
+    private DataBinder data(String name) {
+      DataBinder existing = dataBinders.get(name);
+      if (existing != null) {
+        return existing;
+      }
+      AsterDataLayout layout = layouts.get(name);
+      DataBinder binder = new DataBinder(layout);
+      dataBinders.put(name, binder);
+      Map<String, CoreModel.Type> fieldTypes = new HashMap<>();
+      CoreModel.Data definition = layout.getDefinition();
+      if (definition != null && definition.fields != null) {
+        for (CoreModel.Field field : definition.fields) {
+          if (field != null && field.name != null) {
+            fieldTypes.putIfAbsent(field.name, field.type);
+          }
+        }
+      }
+      InputBinder[] fields = new InputBinder[layout.fieldCount()];
+      for (int i = 0; i < fields.length; i++) {
+        fields[i] = compile(fieldTypes.get(layout.fieldName(i)));
+      }
+      binder.fields = fields;
+      return binder;
+    }
+  }
+}
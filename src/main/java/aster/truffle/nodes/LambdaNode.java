@@ -15,7 +15,6 @@ import java.util.List;
  */
 public abstract class LambdaNode extends AsterExpressionNode {
   @CompilationFinal private final AsterLanguage language;
-  @CompilationFinal private final Env env;
   @CompilationFinal private final List<String> params;
   @CompilationFinal private final List<String> captureNames;
   @Children private final AsterExpressionNode[] captureExprs;
@@ -23,13 +22,11 @@ public abstract class LambdaNode extends AsterExpressionNode {
 
   protected LambdaNode(
       AsterLanguage language,
-      Env env,
       List<String> params,
       List<String> captureNames,
       AsterExpressionNode[] captureExprs,
       CallTarget callTarget) {
     this.language = language;
-    this.env = env;
     this.params = params;
     this.captureNames = captureNames;
     this.captureExprs = captureExprs;
@@ -38,12 +35,11 @@ public abstract class LambdaNode extends AsterExpressionNode {
 
   public static LambdaNode create(
       AsterLanguage language,
-      Env env,
       List<String> params,
       List<String> captureNames,
       AsterExpressionNode[] captureExprs,
       CallTarget callTarget) {
-    return LambdaNodeGen.create(language, env, params, captureNames, captureExprs, callTarget);
+    return LambdaNodeGen.create(language, params, captureNames, captureExprs, callTarget);
   }
 
   @Specialization(guards = "hasNoCaptures()")
@@ -2,13 +2,19 @@ package aster.truffle.nodes;
 
 import aster.truffle.AsterLanguage;
 import aster.truffle.core.CoreModel;
+import aster.truffle.purity.EffectInference;
+import aster.truffle.purity.EffectSummary;
 import aster.truffle.runtime.AsterConfig;
+import aster.truffle.runtime.MemoCache;
 import aster.truffle.runtime.PiiSupport;
-import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RepeatingNode;
 import com.oracle.truffle.api.nodes.RootNode;
 
 /**
@@ -19,13 +25,26 @@ import com.oracle.truffle.api.nodes.RootNode;
  * 2. 参数通过 Frame arguments 传递
  * 3. 闭包变量通过 captures 数组传递
  * 4. JIT 优化和内联
+ * 5. 自尾调用（{@link TailCallNode}）：函数体包在 LoopNode 中，尾调用在同一 frame 内重绑参数后继续循环
+ * 6. 纯函数记忆化（{@link MemoCache}）：静态推断为纯的具名函数在上下文开启后按实参结构缓存返回值
+ * 7. 结构化返回：非尾位置 Return 写入返回值槽位并以 {@link ReturnNode#RETURNED} 哨兵结束函数体，不抛异常
  */
-public final class LambdaRootNode extends RootNode {
+public final class LambdaRootNode extends RootNode implements EffectSummary {
   @CompilationFinal private final String name;
   @CompilationFinal private final int paramCount;
   @CompilationFinal private final int captureCount;
   @CompilationFinal(dimensions = 1) private final CoreModel.Type[] paramTypes;
-  @Child private com.oracle.truffle.api.nodes.Node bodyNode;
+  @Child private AsterStatementNode bodyNode;
+  /** 函数体含自尾调用时非 null，bodyNode 改由其中的 TailCallLoopBody 执行。 */
+  @Child private LoopNode tailCallLoop;
+  /** 静态推断的 effect（Loader 在构建期、首次调用前写入）；未写入时视为未知，即非纯。 */
+  @CompilationFinal private java.util.Set<String> inferredEffects = java.util.Set.of(EffectInference.UNKNOWN);
+  @CompilationFinal private boolean pure;
+  @CompilationFinal private String associativeOp;
+  /** 是否允许记忆化：Loader 只在加载时上下文开启了 aster.Memoize 时对具名函数设置，仅在 pure 时生效。 */
+  @CompilationFinal private boolean memoizable;
+  /** 非尾位置 Return 的返回值槽位（见 {@link ReturnNode#RETURNED}）；函数体不含此类 Return 时为 -1。 */
+  @CompilationFinal private int returnSlot = -1;
 
   /**
    * 创建 Lambda RootNode
@@ -43,21 +62,60 @@ public final class LambdaRootNode extends RootNode {
       String name,
       int paramCount,
       int captureCount,
-      com.oracle.truffle.api.nodes.Node bodyNode,
+      AsterStatementNode bodyNode,
       CoreModel.Type[] paramTypes
+  ) {
+    this(language, frameDescriptor, name, paramCount, captureCount, bodyNode, paramTypes, false);
+  }
+
+  /**
+   * @param selfTailCalls 函数体是否含 {@link TailCallNode}（由 Loader 在构建期判定）
+   */
+  public LambdaRootNode(
+      AsterLanguage language,
+      FrameDescriptor frameDescriptor,
+      String name,
+      int paramCount,
+      int captureCount,
+      AsterStatementNode bodyNode,
+      CoreModel.Type[] paramTypes,
+      boolean selfTailCalls
   ) {
     super(language, frameDescriptor);
     this.name = name;
     this.paramCount = paramCount;
     this.captureCount = captureCount;
-    this.bodyNode = bodyNode;
     this.paramTypes = paramTypes == null ? new CoreModel.Type[0] : paramTypes.clone();
+    if (selfTailCalls) {
+      this.tailCallLoop = Truffle.getRuntime().createLoopNode(new TailCallLoopBody(bodyNode));
+    } else {
+      this.bodyNode = bodyNode;
+    }
   }
 
   @Override
   public Object execute(VirtualFrame frame) {
     Profiler.inc("lambda_execute");
 
+    if (memoizable && pure) {
+      MemoCache cache = MemoCache.current();
+      if (cache != null) {
+        Object key = cache.keyFor(this, frame.getArguments());
+        if (key != null) {
+          Object cached = cache.get(key);
+          if (cached != MemoCache.MISS) {
+            return cached;
+          }
+          Object result = executeBody(frame);
+          cache.put(key, result);
+          return result;
+        }
+      }
+    }
+    return executeBody(frame);
+  }
+
+  private Object executeBody(VirtualFrame frame) {
     Object[] args = frame.getArguments();
     if (AsterConfig.DEBUG) {
       System.err.println("DEBUG: lambda_execute name=" + name +
@@ -72,20 +130,30 @@ public final class LambdaRootNode extends RootNode {
       bindCaptures(frame, args);
     }
 
+    if (tailCallLoop != null) {
+      return tailCallLoop.execute(frame);
+    }
+
     try {
-      Object result = Exec.exec(bodyNode, frame);
+      Object result = resolveReturn(frame, bodyNode.executeGeneric(frame));
       if (AsterConfig.DEBUG) {
         System.err.println("DEBUG: lambda body returned=" + result);
       }
-      return aster.truffle.runtime.interop.AsterInteropAdapter.adapt(result);
+      return result;
     } catch (ReturnNode.ReturnException r) {
-      // 把返回的原生集合/结构（java.util.List/Map）归一为 guest 互操作值
-      // （AsterListValue/AsterMapValue），使其作为入口函数被宿主 Value.execute()
-      // 调用时能正确跨边界（否则裸 LinkedHashMap 会在 ToHostValue 处抛
-      // ClassCastException）；内部互调的下游消费点（asList/asMap、MatchNode、
-      // 各 Maybe/Result builtins）已统一识别这些包装类型。
-      return aster.truffle.runtime.interop.AsterInteropAdapter.adapt(r.value);
+      // 返回值原样交给调用方，不做互操作转换：内部调用（CallNode、List.map 等）直接消费
+      // guest 值；跨宿主边界的转换只在 AsterRootNode 与 LambdaValue 的 interop execute
+      // 处经 InteropValues.toInteropValue 进行
+      return r.value;
+    }
+  }
+
+  /** 函数体以 RETURNED 哨兵结束时，返回值在 returnSlot 中。 */
+  private Object resolveReturn(VirtualFrame frame, Object result) {
+    if (returnSlot >= 0 && result == ReturnNode.RETURNED) {
+      return frame.getObject(returnSlot);
     }
+    return result;
   }
 
   /**
@@ -132,6 +200,83 @@ public final class LambdaRootNode extends RootNode {
     }
   }
 
+  /**
+   * 尾调用循环体：执行一次函数体；遇到自尾调用则清空局部槽位（与新调用的 frame 一致）、
+   * 重绑参数并继续，否则以函数返回值结束循环。
+   */
+  private final class TailCallLoopBody extends Node implements RepeatingNode {
+    @Child private AsterStatementNode body;
+
+    TailCallLoopBody(AsterStatementNode body) {
+      this.body = body;
+    }
+
+    /** LoopNode 调用的是 {@link #executeRepeatingWithValue}；此处只报告是否继续，函数返回值随之丢弃。 */
+    @Override
+    public boolean executeRepeating(VirtualFrame frame) {
+      return executeRepeatingWithValue(frame) == CONTINUE_LOOP_STATUS;
+    }
+
+    @Override
+    public Object executeRepeatingWithValue(VirtualFrame frame) {
+      try {
+        return resolveReturn(frame, body.executeGeneric(frame));
+      } catch (ReturnNode.ReturnException r) {
+        return r.value;
+      } catch (TailCallNode.TailCallException t) {
+        Profiler.inc("tail_call_loop");
+        clearLocals(frame);
+        bindParameters(frame, t.arguments);
+        return CONTINUE_LOOP_STATUS;
+      }
+    }
+
+    @ExplodeLoop
+    private void clearLocals(VirtualFrame frame) {
+      int slots = frame.getFrameDescriptor().getNumberOfSlots();
+      for (int i = paramCount + captureCount; i < slots; i++) {
+        frame.clear(i);
+      }
+    }
+  }
+
+  /**
+   * 写入构建期的 effect 推断结果（见 {@link EffectInference}），须在 CallTarget 首次调用前完成。
+   *
+   * @param effects 推断出的 effect 集合（含声明的 effect）
+   * @param associativeOp 可结合运算的 canonical 名，无则为 null
+   */
+  public void setEffectSummary(java.util.Set<String> effects, String associativeOp) {
+    this.inferredEffects = java.util.Set.copyOf(effects);
+    this.pure = this.inferredEffects.isEmpty();
+    this.associativeOp = associativeOp;
+  }
+
+  /** 允许对本函数的调用做记忆化（见 {@link MemoCache}），须在 CallTarget 首次调用前设置。 */
+  public void setMemoizable(boolean memoizable) {
+    this.memoizable = memoizable;
+  }
+
+  /** 设置非尾位置 Return 的返回值槽位（由 Loader 在构建期分配），须在 CallTarget 首次调用前设置。 */
+  public void setReturnSlot(int returnSlot) {
+    this.returnSlot = returnSlot;
+  }
+
+  @Override
+  public java.util.Set<String> inferredEffects() {
+    return inferredEffects;
+  }
+
+  @Override
+  public boolean isPure() {
+    return pure;
+  }
+
+  @Override
+  public String associativeOp() {
+    return associativeOp;
+  }
+
   @Override
   public String getName() {
     return name;
@@ -1,17 +1,24 @@
 package aster.truffle.nodes;
 
+import aster.truffle.nodes.parallel.ParallelExecutor;
 import aster.truffle.purity.PurityAnalyzer;
 import aster.truffle.runtime.AsterConfig;
+import aster.truffle.runtime.interop.AsterListValue;
 import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.interop.ArityException;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Lambda 值，实现 Truffle InteropLibrary 使其可从 Polyglot 调用
@@ -23,6 +30,15 @@ public final class LambdaValue implements TruffleObject {
   private final Object[] capturedValues;
   private final CallTarget callTarget;
   private final java.util.Set<String> requiredEffects;  // Effect 元数据（如 ["IO", "Async"]）
+  /** 入口函数的实参绑定器（见 {@link InputBinder}），只在宿主经 interop 调用时使用；其余为 null。 */
+  private final InputBinder[] inputBinders;
+  /** 是否为 Loader 交给宿主的入口函数：只有入口函数导出 executeBatch 成员。 */
+  private final boolean entry;
+  /** 批量求值的循环 CallTarget（见 {@link BatchRootNode}），首次 executeBatch 时创建。 */
+  private volatile CallTarget batchTarget;
+
+  /** 宿主批量求值入口：{@code fn.invokeMember("executeBatch", records)}。 */
+  public static final String BATCH_MEMBER = "executeBatch";
 
   /**
    * 创建 LambdaValue (使用 CallTarget + 闭包捕获 + effects)
@@ -39,7 +55,18 @@ public final class LambdaValue implements TruffleObject {
     this.capturedValues = capturedValues != null ? capturedValues : new Object[0];
     this.callTarget = callTarget;
     this.requiredEffects = requiredEffects != null ? java.util.Set.copyOf(requiredEffects) : java.util.Set.of();
-    PurityAnalyzer.recordEffects(callTarget, this.requiredEffects);
+    this.inputBinders = null;
+    this.entry = false;
+  }
+
+  private LambdaValue(LambdaValue base, InputBinder[] inputBinders) {
+    this.params = base.params;
+    this.captureNames = base.captureNames;
+    this.capturedValues = base.capturedValues;
+    this.callTarget = base.callTarget;
+    this.requiredEffects = base.requiredEffects;
+    this.inputBinders = inputBinders;
+    this.entry = true;
   }
 
   /**
@@ -55,7 +82,16 @@ public final class LambdaValue implements TruffleObject {
     this.capturedValues = captures != null ? captures.values().toArray() : new Object[0];
     this.callTarget = callTarget;
     this.requiredEffects = java.util.Set.of();  // 默认无 effect 要求
-    PurityAnalyzer.recordEffects(callTarget, this.requiredEffects);
+    this.inputBinders = null;
+    this.entry = false;
+  }
+
+  /**
+   * 返回入口函数形态的副本（Loader 用于交给宿主的入口函数）：导出 executeBatch 成员，binders 非 null 时
+   * 宿主经 interop execute / executeBatch 调用先按声明类型一次性转换实参，guest 内部调用不受影响。
+   */
+  public LambdaValue asEntry(InputBinder[] binders) {
+    return new LambdaValue(this, binders);
   }
 
   public CallTarget getCallTarget() {
@@ -91,10 +127,169 @@ public final class LambdaValue implements TruffleObject {
    */
   @ExportMessage
   Object execute(Object[] args) throws ArityException, UnsupportedTypeException, UnsupportedMessageException {
-    // interop execute 是跨边界返回点：入口 lambda 返回 null 时须规整为 guest-null
-    // （否则裸 null 在宿主 ToHostValue/asGuestValue 处违反契约或 NPE）。内部 apply()
-    // 直调路径不经此，仍保留 raw null 供 List.map/Maybe.map 等下游按 == null 消费。
-    return aster.truffle.runtime.interop.InteropValues.toInteropValue(apply(args, null));
+    // interop execute 是跨边界返回点：入口 lambda 返回 null 时须规整为 guest-null，裸
+    // List/Map 包成互操作视图（否则在宿主 ToHostValue/asGuestValue 处违反契约或 NPE）。
+    // 内部 apply() 直调路径不经此，仍保留原值（含 raw null）供 List.map/Maybe.map 等下游消费。
+    Object[] bound = inputBinders != null ? InputBinder.bindAll(inputBinders, args) : args;
+    return aster.truffle.runtime.interop.InteropValues.toInteropValue(apply(bound, null));
+  }
+
+  /** 只有入口函数有成员；闭包与其余函数值对宿主仍只是可执行对象。 */
+  @ExportMessage
+  boolean hasMembers() {
+    return entry;
+  }
+
+  /** executeBatch 只可调用、不列出：宿主按成员遍历入口函数时看到的形态不变。 */
+  @ExportMessage
+  Object getMembers(boolean includeInternal) throws UnsupportedMessageException {
+    if (!entry) {
+      throw UnsupportedMessageException.create();
+    }
+    return new AsterListValue(List.of());
+  }
+
+  @ExportMessage
+  boolean isMemberInvocable(String member) {
+    return entry && BATCH_MEMBER.equals(member);
+  }
+
+  /**
+   * 批量求值：对 records 中每条记录调用本函数，返回按输入顺序排列的结果数组。
+   *
+   * <p>单参数函数的每条记录即实参；多参数函数的每条记录须是长度等于参数个数的数组。记录在调用线程上
+   * 一次性读取并绑定（与 {@link #execute} 相同的 {@link InputBinder}），随后由 {@link BatchRootNode}
+   * 的 guest 循环逐条调用，省去每条记录一次的 polyglot 进出与结果包装；结果元素在宿主读取时才转换。
+   * 函数为纯函数且批次够大时按块分给上下文的 {@link ParallelExecutor}，报告的错误与顺序执行相同。
+   * 记录需全部驻留内存，超大任务由调用方分段提交。
+   */
+  @ExportMessage
+  Object invokeMember(String member, Object[] arguments)
+      throws UnsupportedMessageException, UnknownIdentifierException, ArityException, UnsupportedTypeException {
+    if (!entry) {
+      throw UnsupportedMessageException.create();
+    }
+    if (!BATCH_MEMBER.equals(member)) {
+      throw UnknownIdentifierException.create(member);
+    }
+    if (arguments.length != 1) {
+      throw ArityException.create(1, 1, arguments.length);
+    }
+    return executeBatch(readRecords(arguments[0]));
+  }
+
+  @TruffleBoundary
+  private Object executeBatch(Object[][] records) {
+    Profiler.inc("lambda_execute_batch");
+    Object[] results = new Object[records.length];
+    CallTarget loop = batchTarget();
+    ParallelExecutor executor = ParallelExecutor.current();
+    if (executor.shouldParallelize(records.length, callTarget) && PurityAnalyzer.isPure(this)) {
+      executeChunked(executor, loop, records, results);
+    } else {
+      loop.call(records, results, 0, records.length);
+    }
+    return new AsterListValue(Arrays.asList(results));
+  }
+
+  /**
+   * 分块并行执行。块内顺序执行、遇错即停，错误按块记录而不立即抛出；编号大于已知最早失败块的块
+   * 不再开始。函数为纯函数，最早失败块之前的块都已成功完成，该块内的首个错误即是顺序执行时遇到的第一个
+   * 错误，因此直接报告它，无需按顺序重放整批——报告哪个错误与各块的完成先后无关。只有取消/中断
+   * 立即经 forEachChunk 重抛（ThreadDeath 等 Error 本就不在此捕获）。
+   */
+  private void executeChunked(ParallelExecutor executor, CallTarget loop, Object[][] records, Object[] results) {
+    int size = records.length;
+    int chunkSize = executor.chunkSize(size, callTarget);
+    RuntimeException[] failures = new RuntimeException[(size + chunkSize - 1) / chunkSize];
+    AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+    executor.forEachChunk(size, chunkSize, callTarget, (chunk, start, end) -> {
+      if (chunk > firstFailure.get()) {
+        return;
+      }
+      try {
+        loop.call(records, results, start, end);
+      } catch (RuntimeException e) {
+        if (isCancellation(e)) {
+          throw e;
+        }
+        failures[chunk] = e;
+        firstFailure.accumulateAndGet(chunk, Math::min);
+      }
+    });
+    int failed = firstFailure.get();
+    if (failed != Integer.MAX_VALUE) {
+      throw failures[failed];
+    }
+  }
+
+  /** 取消或中断：不属于任何一条记录的求值结果，不参与按块排序。 */
+  private static boolean isCancellation(RuntimeException e) {
+    return e instanceof CancellationException || e.getCause() instanceof InterruptedException;
+  }
+
+  private CallTarget batchTarget() {
+    CallTarget target = batchTarget;
+    if (target == null) {
+      synchronized (this) {
+        target = batchTarget;
+        if (target == null) {
+          target = BatchRootNode.create(callTarget);
+          batchTarget = target;
+        }
+      }
+    }
+    return target;
+  }
+
+  /** 读取宿主传入的记录（数组或可迭代对象），逐条绑定实参并打包为 {@code [args..., captures...]}。 */
+  @TruffleBoundary
+  private Object[][] readRecords(Object records) throws UnsupportedTypeException {
+    InteropLibrary interop = InteropLibrary.getUncached();
+    List<Object> raw = new ArrayList<>();
+    try {
+      if (interop.hasArrayElements(records)) {
+        long size = interop.getArraySize(records);
+        for (long i = 0; i < size; i++) {
+          raw.add(interop.readArrayElement(records, i));
+        }
+      } else if (interop.hasIterator(records)) {
+        Object iterator = interop.getIterator(records);
+        while (interop.hasIteratorNextElement(iterator)) {
+          raw.add(interop.getIteratorNextElement(iterator));
+        }
+      } else {
+        throw UnsupportedTypeException.create(new Object[] {records}, BATCH_MEMBER + " 需要数组或可迭代的记录");
+      }
+      Object[][] packed = new Object[raw.size()][];
+      for (int i = 0; i < packed.length; i++) {
+        Object[] args = argumentsOf(interop, raw.get(i));
+        if (inputBinders != null) {
+          args = InputBinder.bindAll(inputBinders, args);
+        }
+        Object[] callArgs = Arrays.copyOf(args, args.length + capturedValues.length);
+        System.arraycopy(capturedValues, 0, callArgs, args.length, capturedValues.length);
+        packed[i] = callArgs;
+      }
+      return packed;
+    } catch (InteropException e) {
+      throw UnsupportedTypeException.create(new Object[] {records}, BATCH_MEMBER + " 读取记录失败：" + e.getMessage());
+    }
+  }
+
+  private Object[] argumentsOf(InteropLibrary interop, Object record) throws InteropException {
+    int arity = params.size();
+    if (arity == 1) {
+      return new Object[] {record};
+    }
+    if (!interop.hasArrayElements(record) || interop.getArraySize(record) != arity) {
+      throw UnsupportedTypeException.create(new Object[] {record}, "每条记录须是长度为 " + arity + " 的实参数组");
+    }
+    Object[] args = new Object[arity];
+    for (int i = 0; i < arity; i++) {
+      args[i] = interop.readArrayElement(record, i);
+    }
+    return args;
   }
 
   // ==================== 内部 API ====================
@@ -1,17 +1,18 @@
 package aster.truffle.nodes;
 
+import aster.truffle.runtime.AsterList;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * 列表字面量节点（ADR 0024 C0）：{@code [a, b, c]}。
  *
- * 逐元素求值产出一个 {@link java.util.ArrayList}——与 List.* builtin 的运行时表示一致
- * （{@code List.empty} 返回 ArrayList、{@code asList} 接受 java.util.List），因此字面量
- * 构造的列表可被 List.length/get/map/filter/reduce 等直接消费。
+ * 逐元素求值产出一个 {@link AsterList}——与 List.* builtin 的运行时表示一致
+ * （{@code List.empty} 返回 AsterList、{@code asList} 接受 java.util.List），因此字面量
+ * 构造的列表可被 List.length/get/map/filter/reduce 等直接消费；元素全为 Int/Long/Double
+ * 时落在原始数组存储上。
  *
  * 取代旧的把 {@code [..]} 降成 {@code Construct("List",{0:..})} 伪 struct 的方案——后者在
  * {@link aster.truffle.Loader#buildConstruct} 查不到名为 "List" 的 Data 定义而运行时崩溃。
@@ -31,9 +32,9 @@ public final class ListLiteralNode extends AsterExpressionNode {
   @ExplodeLoop
   public Object executeGeneric(VirtualFrame frame) {
     Profiler.inc("listLit");
-    List<Object> out = new ArrayList<>(elementNodes.length);
+    List<Object> out = new AsterList(elementNodes.length);
     for (AsterExpressionNode el : elementNodes) {
-      out.add(Exec.exec(el, frame));
+      out.add(el.executeGeneric(frame));
     }
     return out;
   }
@@ -0,0 +1,276 @@
+package aster.truffle.nodes;
+
+import aster.truffle.nodes.parallel.ParallelListMapNode;
+import aster.truffle.purity.PurityAnalyzer;
+import aster.truffle.runtime.AsterList;
+import aster.truffle.runtime.Builtins;
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ControlFlowException;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.Node;
+import java.util.List;
+
+/**
+ * 链式 List.* builtin 的融合流水线，如 {@code List.sum(List.map(List.filter(xs, p), f))}。
+ *
+ * <p>由 Loader 在构建期识别：若干 List.map / List.filter 阶段（最内层在前），加一个终端
+ * （外层即 map/filter 时收集为列表，或 List.sum / List.count / List.reduce）。阶段函数与
+ * reduce 初值只在它们是 lambda 字面量、名字或字面量时才融合——提前求值它们不可观测；且各函数须经
+ * 构建期 effect 推断为纯，非纯链仍是原嵌套的 BuiltinCallNode（保留其 InvokeNode 调用点缓存）。
+ *
+ * <p>语义：
+ * <ul>
+ *   <li>全部 lambda 为纯函数（{@link PurityAnalyzer}）时单趟执行：每个元素依次过各阶段，
+ *       被 filter 丢弃的元素不再进入后续阶段——调用哪些元素与逐层执行完全相同，只是不再物化中间列表；
+ *       大列表上阶段部分经 {@link ParallelListMapNode#forEachChunk} 并行，终端按原顺序折叠；</li>
+ *   <li>运行期的 lambda 与构建期判断不符（{@link PurityAnalyzer} 判为非纯）、参数不是列表/lambda，
+ *       或融合执行中抛出异常时，按原嵌套调用逐层调用构建期解析的 builtin（纯函数重放无副作用），
+ *       错误与求值顺序与未融合时一致。</li>
+ * </ul>
+ */
+public abstract class ListPipelineNode extends AsterExpressionNode {
+
+  public enum Stage { MAP, FILTER }
+
+  public enum Terminal { COLLECT, SUM, COUNT, REDUCE }
+
+  /** 被 filter 丢弃的元素在并行结果数组中的占位。 */
+  private static final Object SKIPPED = new Object();
+
+  @Child private AsterExpressionNode source;
+  @Children private final AsterExpressionNode[] stageFns;
+  @CompilationFinal(dimensions = 1) private final Stage[] stages;
+  @CompilationFinal(dimensions = 1) private final Builtins.BuiltinDef[] stageDefs;
+  private final Terminal terminal;
+  /** 终端 builtin（COLLECT 时为 null）。 */
+  private final Builtins.BuiltinDef terminalDef;
+  /** List.reduce 的初值（仅 REDUCE）。 */
+  @Child private AsterExpressionNode init;
+  /** List.count 的谓词或 List.reduce 的归约函数。 */
+  @Child private AsterExpressionNode terminalFn;
+  @Child private ParallelListMapNode parallel = ParallelListMapNode.create();
+
+  protected ListPipelineNode(AsterExpressionNode source, Stage[] stages, Builtins.BuiltinDef[] stageDefs,
+                             AsterExpressionNode[] stageFns, Terminal terminal, Builtins.BuiltinDef terminalDef,
+                             AsterExpressionNode init, AsterExpressionNode terminalFn) {
+    this.source = source;
+    this.stages = stages;
+    this.stageDefs = stageDefs;
+    this.stageFns = stageFns;
+    this.terminal = terminal;
+    this.terminalDef = terminalDef;
+    this.init = init;
+    this.terminalFn = terminalFn;
+  }
+
+  public static ListPipelineNode create(AsterExpressionNode source, Stage[] stages, Builtins.BuiltinDef[] stageDefs,
+                                        AsterExpressionNode[] stageFns, Terminal terminal,
+                                        Builtins.BuiltinDef terminalDef, AsterExpressionNode init,
+                                        AsterExpressionNode terminalFn) {
+    return ListPipelineNodeGen.create(source, stages, stageDefs, stageFns, terminal, terminalDef, init, terminalFn);
+  }
+
+  @SuppressWarnings({"truffle-static-method", "truffle-unused", "truffle-sharing"})
+  @Specialization
+  protected Object doPipeline(
+      VirtualFrame frame,
+      @Bind("$node") Node node,
+      @Cached(inline = true) InvokeNode invokeNode) {
+    // 参数按原嵌套调用的先后求值：源列表、各阶段函数（由内向外）、终端初值与函数
+    Object listObj = source.executeGeneric(frame);
+    Object[] fns = evaluateStageFns(frame);
+    Object initValue = init != null ? init.executeGeneric(frame) : null;
+    Object termFn = terminalFn != null ? terminalFn.executeGeneric(frame) : null;
+
+    List<Object> list = Builtins.asList(listObj);
+    if (list == null || !allPure(fns, termFn)) {
+      return runStaged(listObj, fns, initValue, termFn);
+    }
+    try {
+      if (parallel.shouldParallelize(list.size())) {
+        return runParallel(list, fns, initValue, termFn);
+      }
+      return runFused(node, invokeNode, list, fns, initValue, termFn);
+    } catch (ControlFlowException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      // 纯函数重放无副作用：逐层执行给出与未融合时相同的错误（或结果）
+      Profiler.inc("list_pipeline_replay");
+      return runStaged(listObj, fns, initValue, termFn);
+    }
+  }
+
+  @ExplodeLoop
+  private Object[] evaluateStageFns(VirtualFrame frame) {
+    Object[] fns = new Object[stageFns.length];
+    for (int i = 0; i < stageFns.length; i++) {
+      fns[i] = stageFns[i].executeGeneric(frame);
+    }
+    return fns;
+  }
+
+  private boolean allPure(Object[] fns, Object termFn) {
+    for (Object fn : fns) {
+      if (!isPureLambda(fn)) {
+        return false;
+      }
+    }
+    return termFn == null || isPureLambda(termFn);
+  }
+
+  private static boolean isPureLambda(Object fn) {
+    return fn instanceof LambdaValue lambda && PurityAnalyzer.isPure(lambda);
+  }
+
+  private Object runFused(Node node, InvokeNode invokeNode, List<Object> list, Object[] fns,
+                          Object initValue, Object termFn) {
+    Profiler.inc("list_pipeline_fused");
+    int size = list.size();
+    AsterList collected = terminal == Terminal.COLLECT ? new AsterList() : null;
+    Object acc = terminal == Terminal.SUM ? (Object) 0 : initValue;
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      Object value = applyStages(node, invokeNode, fns, list.get(i));
+      if (value == SKIPPED) {
+        continue;
+      }
+      switch (terminal) {
+        case COLLECT:
+          collected.add(value);
+          break;
+        case SUM:
+          acc = Builtins.numericAdd(acc, value);
+          break;
+        case COUNT:
+          if (Boolean.TRUE.equals(call(node, invokeNode, (LambdaValue) termFn, value))) {
+            count++;
+          }
+          break;
+        case REDUCE:
+          acc = call2(node, invokeNode, (LambdaValue) termFn, acc, value);
+          break;
+        default:
+          throw new IllegalStateException("Unknown terminal: " + terminal);
+      }
+    }
+    return finish(collected, acc, count);
+  }
+
+  /** 元素依次过各阶段；被 filter 丢弃时返回 {@link #SKIPPED}，后续阶段不再调用。 */
+  @ExplodeLoop
+  private Object applyStages(Node node, InvokeNode invokeNode, Object[] fns, Object item) {
+    Object value = item;
+    for (int s = 0; s < stages.length; s++) {
+      Object result = call(node, invokeNode, (LambdaValue) fns[s], value);
+      if (stages[s] == Stage.MAP) {
+        value = result;
+      } else if (!Boolean.TRUE.equals(result)) {
+        return SKIPPED;
+      }
+    }
+    return value;
+  }
+
+  /** 阶段（及 count 谓词）并行计算到结果数组，终端按原顺序顺序折叠。 */
+  @TruffleBoundary
+  private Object runParallel(List<Object> list, Object[] fns, Object initValue, Object termFn) {
+    Profiler.inc("list_pipeline_parallel");
+    int size = list.size();
+    Object[] values = new Object[size];
+    CallTarget predicate = terminal == Terminal.COUNT ? ((LambdaValue) termFn).getCallTarget() : null;
+    parallel.forEachChunk(size, (start, end) -> {
+      for (int i = start; i < end; i++) {
+        Object value = list.get(i);
+        for (int s = 0; s < stages.length && value != SKIPPED; s++) {
+          Object result = callDirect((LambdaValue) fns[s], value);
+          value = stages[s] == Stage.MAP ? result : Boolean.TRUE.equals(result) ? value : SKIPPED;
+        }
+        if (predicate != null && value != SKIPPED) {
+          value = Boolean.TRUE.equals(callDirect((LambdaValue) termFn, value));
+        }
+        values[i] = value;
+      }
+    });
+    AsterList collected = terminal == Terminal.COLLECT ? new AsterList() : null;
+    Object acc = terminal == Terminal.SUM ? (Object) 0 : initValue;
+    int count = 0;
+    for (Object value : values) {
+      if (value == SKIPPED) {
+        continue;
+      }
+      switch (terminal) {
+        case COLLECT -> collected.add(value);
+        case SUM -> acc = Builtins.numericAdd(acc, value);
+        case COUNT -> count += (Boolean) value ? 1 : 0;
+        case REDUCE -> acc = callDirect2((LambdaValue) termFn, acc, value);
+      }
+    }
+    return finish(collected, acc, count);
+  }
+
+  private Object finish(AsterList collected, Object acc, int count) {
+    return switch (terminal) {
+      case COLLECT -> collected;
+      case COUNT -> count;
+      default -> acc;
+    };
+  }
+
+  /** 未融合路径：与原嵌套调用逐层等价。 */
+  @TruffleBoundary
+  private Object runStaged(Object listObj, Object[] fns, Object initValue, Object termFn) {
+    Profiler.inc("list_pipeline_staged");
+    Object current = listObj;
+    for (int s = 0; s < stageDefs.length; s++) {
+      current = stageDefs[s].invoke(new Object[]{current, fns[s]});
+    }
+    return switch (terminal) {
+      case COLLECT -> current;
+      case SUM -> terminalDef.invoke(new Object[]{current});
+      case COUNT -> terminalDef.invoke(new Object[]{current, termFn});
+      case REDUCE -> terminalDef.invoke(new Object[]{current, initValue, termFn});
+    };
+  }
+
+  // 参数打包顺序：[args..., ...captures]，与 CallNode / List.* builtin 一致
+
+  private static Object call(Node node, InvokeNode invokeNode, LambdaValue lambda, Object arg) {
+    Object[] captured = lambda.getCapturedValues();
+    Object[] packedArgs = new Object[1 + captured.length];
+    packedArgs[0] = arg;
+    System.arraycopy(captured, 0, packedArgs, 1, captured.length);
+    return invokeNode.execute(node, lambda.getCallTarget(), packedArgs);
+  }
+
+  private static Object call2(Node node, InvokeNode invokeNode, LambdaValue lambda, Object acc, Object arg) {
+    Object[] captured = lambda.getCapturedValues();
+    Object[] packedArgs = new Object[2 + captured.length];
+    packedArgs[0] = acc;
+    packedArgs[1] = arg;
+    System.arraycopy(captured, 0, packedArgs, 2, captured.length);
+    return invokeNode.execute(node, lambda.getCallTarget(), packedArgs);
+  }
+
+  private static Object callDirect(LambdaValue lambda, Object arg) {
+    Object[] captured = lambda.getCapturedValues();
+    Object[] packedArgs = new Object[1 + captured.length];
+    packedArgs[0] = arg;
+    System.arraycopy(captured, 0, packedArgs, 1, captured.length);
+    return lambda.getCallTarget().call(packedArgs);
+  }
+
+  private static Object callDirect2(LambdaValue lambda, Object acc, Object arg) {
+    Object[] captured = lambda.getCapturedValues();
+    Object[] packedArgs = new Object[2 + captured.length];
+    packedArgs[0] = acc;
+    packedArgs[1] = arg;
+    System.arraycopy(captured, 0, packedArgs, 2, captured.length);
+    return lambda.getCallTarget().call(packedArgs);
+  }
+}
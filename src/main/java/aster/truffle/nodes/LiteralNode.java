@@ -74,6 +74,11 @@ public abstract class LiteralNode extends AsterExpressionNode {
     return value;
   }
 
+  /** 字符串字面量的值，供构建期常量预计算（如 Text.split 的分隔符）；非字符串字面量返回 null。 */
+  public final String stringConstant() {
+    return kind == ValueKind.STRING ? (String) value : null;
+  }
+
   @Idempotent protected boolean isInt() { return kind == ValueKind.INT; }
   @Idempotent protected boolean isLong() { return kind == ValueKind.LONG; }
   @Idempotent protected boolean isDouble() { return kind == ValueKind.DOUBLE; }
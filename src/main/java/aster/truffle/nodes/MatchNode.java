@@ -1,59 +1,215 @@
 package aster.truffle.nodes;
 
 import aster.truffle.runtime.AsterConfig;
+import aster.truffle.runtime.AsterDataLayout;
 import aster.truffle.runtime.AsterDataValue;
 import aster.truffle.runtime.AsterEnumValue;
+import aster.truffle.runtime.AsterMaybe;
+import aster.truffle.runtime.AsterResult;
+import aster.truffle.runtime.AsterText;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Idempotent;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.Node;
 
+/**
+ * 模式匹配节点。模式绑定写入 Loader 为每个分支静态分配的 frame 槽位（slot &lt; 0 表示不绑定），
+ * 分支之间、递归调用之间互不可见，也不会泄漏到全局 Env。
+ *
+ * 分支在构造时编译为按被匹配值种类分派的决策表，运行期先按种类取候选分支序列，只尝试其中的分支：
+ * - 驻留枚举值：按变体序号查表（Loader 传入该 Match 针对的 Enum 变体族）
+ * - Data 值：按布局同一性查表
+ * - Integer：整数字面量分支的跳转表（值域稠密时直接下标，否则二分）
+ * - 字符串（枚举的字符串表示）：按名称查表
+ * - null：只有 {@code When null} 分支
+ * 其余值（Map、Result/Maybe、宿主对象等）退回按序尝试全部分支。
+ * 候选序列保持原分支顺序，并在第一个"对该键必然匹配"的分支处截断，因此首个匹配分支与逐一尝试一致。
+ */
 @NodeChild(value = "scrutineeNode", type = AsterExpressionNode.class)
 public abstract class MatchNode extends AsterExpressionNode {
-  private final Env env;
+  private static final Object NO_MATCH = new Object();
+  /** 整数分支值域不超过该宽度时使用直接下标跳转表。 */
+  private static final int DENSE_INT_RANGE = 256;
+
   @Children private final CaseNode[] cases;
 
-  protected MatchNode(Env env, java.util.List<CaseNode> cases) {
-    this.env = env;
+  @CompilationFinal(dimensions = 1) private final int[] allCases;
+  @CompilationFinal(dimensions = 1) private final int[] nullCases;
+  @CompilationFinal(dimensions = 1) private final int[] catchAllCases;
+  @CompilationFinal(dimensions = 1) private final AsterEnumValue[] enumFamily;
+  @CompilationFinal(dimensions = 2) private final int[][] enumCases;
+  @CompilationFinal(dimensions = 1) private final AsterDataLayout[] dataLayouts;
+  @CompilationFinal(dimensions = 2) private final int[][] dataCases;
+  @CompilationFinal(dimensions = 1) private final int[] intKeys;
+  @CompilationFinal(dimensions = 2) private final int[][] intCases;
+  private final int intBase;
+  @CompilationFinal(dimensions = 2) private final int[][] intTable;
+  private final java.util.Map<String, int[]> stringCases;
+
+  protected MatchNode(java.util.List<CaseNode> cases, AsterEnumValue[] enumFamily) {
     this.cases = cases.toArray(new CaseNode[0]);
+    int n = this.cases.length;
+    PatternNode[] pats = new PatternNode[n];
+    for (int i = 0; i < n; i++) pats[i] = this.cases[i].pat;
+
+    this.allCases = collect(pats, p -> true, p -> false);
+    this.nullCases = collect(pats, p -> p instanceof PatNullNode || isOpaque(p), p -> p instanceof PatNullNode);
+    this.catchAllCases = collect(pats, p -> isCatchAll(p) || isOpaque(p), p -> !isOpaque(p));
+
+    // 枚举：变体名或 Enum 名相同的命名/构造器模式、通配绑定都必然匹配
+    this.enumFamily = enumFamily;
+    if (enumFamily != null) {
+      this.enumCases = new int[enumFamily.length][];
+      for (AsterEnumValue value : enumFamily) {
+        String variant = value.getVariantName();
+        String enumName = value.getEnumName();
+        enumCases[value.getOrdinal()] = collect(pats,
+            p -> isCatchAll(p) || isOpaque(p) || variant.equals(keyName(p)) || enumName.equals(keyName(p)),
+            p -> !isOpaque(p));
+      }
+    } else {
+      this.enumCases = null;
+    }
+
+    // Data：只为构造器模式引用到的布局建表；构造器分支可能因嵌套模式失败，不截断
+    java.util.LinkedHashSet<AsterDataLayout> layouts = new java.util.LinkedHashSet<>();
+    for (PatternNode p : pats) {
+      if (p instanceof PatCtorNode ctor && ctor.layout != null) layouts.add(ctor.layout);
+    }
+    this.dataLayouts = layouts.toArray(new AsterDataLayout[0]);
+    this.dataCases = new int[dataLayouts.length][];
+    for (int i = 0; i < dataLayouts.length; i++) {
+      AsterDataLayout layout = dataLayouts[i];
+      String typeName = layout.getTypeName();
+      dataCases[i] = collect(pats,
+          p -> isCatchAll(p) || isOpaque(p)
+              || (p instanceof PatNameNode name && name.variant && name.name.equals(typeName))
+              || (p instanceof PatCtorNode ctor && (ctor.layout == layout || ctor.typeName.equals(typeName))),
+          p -> isCatchAll(p) || p instanceof PatNameNode);
+    }
+
+    // Integer：每个字面量值一个候选序列，未列出的值只剩通配分支
+    java.util.TreeSet<Integer> values = new java.util.TreeSet<>();
+    for (PatternNode p : pats) {
+      if (p instanceof PatIntNode pi) values.add(pi.value);
+    }
+    this.intKeys = new int[values.size()];
+    this.intCases = new int[values.size()][];
+    int k = 0;
+    for (int v : values) {
+      intKeys[k] = v;
+      intCases[k] = collect(pats, p -> isCatchAll(p) || isOpaque(p) || (p instanceof PatIntNode pi && pi.value == v), p -> !isOpaque(p));
+      k++;
+    }
+    if (!values.isEmpty() && (long) values.last() - values.first() < DENSE_INT_RANGE) {
+      this.intBase = values.first();
+      this.intTable = new int[values.last() - values.first() + 1][];
+      java.util.Arrays.fill(intTable, catchAllCases);
+      for (int i = 0; i < intKeys.length; i++) intTable[intKeys[i] - intBase] = intCases[i];
+    } else {
+      this.intBase = 0;
+      this.intTable = null;
+    }
+
+    // 字符串：枚举以字符串形式传入时按名称匹配
+    this.stringCases = new java.util.HashMap<>();
+    for (PatternNode p : pats) {
+      String key = keyName(p);
+      if (key != null && !stringCases.containsKey(key)) {
+        stringCases.put(key, collect(pats, q -> isCatchAll(q) || isOpaque(q) || key.equals(keyName(q)), q -> !isOpaque(q)));
+      }
+    }
+  }
+
+  public static MatchNode create(AsterExpressionNode scrutinee, java.util.List<CaseNode> cases) {
+    return create(scrutinee, cases, null);
   }
 
-  public static MatchNode create(Env env, AsterExpressionNode scrutinee, java.util.List<CaseNode> cases) {
-    return MatchNodeGen.create(env, cases, scrutinee);
+  public static MatchNode create(AsterExpressionNode scrutinee, java.util.List<CaseNode> cases, AsterEnumValue[] enumFamily) {
+    return MatchNodeGen.create(cases, enumFamily, scrutinee);
   }
 
   @Specialization(guards = "isNull(scrutinee)")
   protected Object matchNull(VirtualFrame frame, Object scrutinee) {
     Profiler.inc("match");
-    return executeCases(frame, scrutinee);
+    return executeCases(frame, scrutinee, nullCases);
+  }
+
+  @Specialization(guards = "inEnumFamily(scrutinee)")
+  protected Object matchEnum(VirtualFrame frame, AsterEnumValue scrutinee) {
+    Profiler.inc("match");
+    return executeCases(frame, scrutinee, enumCases[scrutinee.getOrdinal()]);
   }
 
   @Specialization(guards = "isMap(scrutinee)")
   protected Object matchMap(VirtualFrame frame, Object scrutinee) {
     Profiler.inc("match");
-    return executeCases(frame, scrutinee);
+    return executeCases(frame, scrutinee, allCases);
   }
 
-  @Specialization(replaces = {"matchNull", "matchMap"})
+  @Specialization(replaces = {"matchNull", "matchEnum", "matchMap"})
   protected Object matchGeneric(VirtualFrame frame, Object scrutinee) {
     Profiler.inc("match");
-    return executeCases(frame, scrutinee);
+    // 拼接产生的 rope 展平后再按字符串 case 选择与比较
+    Object value = AsterText.flatten(scrutinee);
+    return executeCases(frame, value, selectCases(value));
+  }
+
+  private int[] selectCases(Object scrutinee) {
+    if (scrutinee == null) return nullCases;
+    if (scrutinee instanceof AsterEnumValue enumValue) {
+      return enumValue.belongsTo(enumFamily) ? enumCases[enumValue.getOrdinal()] : allCases;
+    }
+    if (scrutinee instanceof AsterDataValue dataValue) return dataCasesFor(dataValue.getLayout());
+    if (scrutinee instanceof Integer i) return intCasesFor(i);
+    if (scrutinee instanceof String str) return stringCasesFor(str);
+    return allCases;
+  }
+
+  @ExplodeLoop
+  private int[] dataCasesFor(AsterDataLayout layout) {
+    for (int i = 0; i < dataLayouts.length; i++) {
+      if (dataLayouts[i] == layout) return dataCases[i];
+    }
+    // 未建表的布局（含旧构造方式的私有布局）仍需按类型名比较，全部尝试
+    return allCases;
+  }
+
+  private int[] intCasesFor(int value) {
+    if (intTable != null) {
+      long offset = (long) value - intBase;
+      return (offset >= 0 && offset < intTable.length) ? intTable[(int) offset] : catchAllCases;
+    }
+    int lo = 0;
+    int hi = intKeys.length - 1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      int key = intKeys[mid];
+      if (key < value) lo = mid + 1;
+      else if (key > value) hi = mid - 1;
+      else return intCases[mid];
+    }
+    return catchAllCases;
   }
 
-  private Object executeCases(VirtualFrame frame, Object scrutinee) {
+  @TruffleBoundary
+  private int[] stringCasesFor(String value) {
+    int[] found = stringCases.get(value);
+    return found != null ? found : catchAllCases;
+  }
+
+  private Object executeCases(VirtualFrame frame, Object scrutinee, int[] candidates) {
     if (AsterConfig.DEBUG) {
-      System.err.println("DEBUG: match scrutinee=" + scrutinee + " type=" + (scrutinee == null ? "null" : scrutinee.getClass().getName()) + " cases=" + cases.length);
+      System.err.println("DEBUG: match scrutinee=" + scrutinee + " type=" + (scrutinee == null ? "null" : scrutinee.getClass().getName()) + " candidates=" + candidates.length + "/" + cases.length);
     }
-    for (CaseNode c : cases) {
-      if (AsterConfig.DEBUG) {
-        System.err.println("DEBUG: trying case pat=" + c.pat.getClass().getSimpleName());
-      }
-      if (c.matchesAndBind(scrutinee, env)) {
-        if (AsterConfig.DEBUG) {
-          System.err.println("DEBUG: case matched");
-        }
-        return c.execute(frame);
+    for (int k = 0; k < candidates.length; k++) {
+      Object result = tryCase(frame, scrutinee, candidates[k]);
+      if (result != NO_MATCH) {
+        return result;
       }
     }
     if (AsterConfig.DEBUG) {
@@ -62,6 +218,22 @@ public abstract class MatchNode extends AsterExpressionNode {
     return null;
   }
 
+  /** 以常量下标展开分支，使每个 CaseNode 在编译后仍是单态调用。 */
+  @ExplodeLoop
+  private Object tryCase(VirtualFrame frame, Object scrutinee, int target) {
+    for (int i = 0; i < cases.length; i++) {
+      if (i == target) {
+        CaseNode c = cases[i];
+        return c.matchesAndBind(scrutinee, frame) ? c.execute(frame) : NO_MATCH;
+      }
+    }
+    return NO_MATCH;
+  }
+
+  protected boolean inEnumFamily(AsterEnumValue value) {
+    return value.belongsTo(enumFamily);
+  }
+
   @Idempotent protected boolean isNull(Object value) {
     return value == null;
   }
@@ -71,8 +243,38 @@ public abstract class MatchNode extends AsterExpressionNode {
     return value instanceof java.util.Map;
   }
 
+  /** 按原顺序收集可能匹配的分支，遇到第一个必然匹配的分支截断。 */
+  private static int[] collect(PatternNode[] pats, java.util.function.Predicate<PatternNode> candidate,
+                               java.util.function.Predicate<PatternNode> definite) {
+    int[] buffer = new int[pats.length];
+    int count = 0;
+    for (int i = 0; i < pats.length; i++) {
+      if (!candidate.test(pats[i])) continue;
+      buffer[count++] = i;
+      if (definite.test(pats[i])) break;
+    }
+    return java.util.Arrays.copyOf(buffer, count);
+  }
+
+  /** 小写名称：匹配任意非 null 值并绑定。 */
+  private static boolean isCatchAll(PatternNode p) {
+    return p instanceof PatNameNode name && !name.variant;
+  }
+
+  /** 按名称匹配的模式（大写命名模式、构造器模式）的名称；其余为 null。 */
+  private static String keyName(PatternNode p) {
+    if (p instanceof PatNameNode name) return name.variant ? name.name : null;
+    if (p instanceof PatCtorNode ctor) return ctor.typeName;
+    return null;
+  }
+
+  /** 决策表无法静态判断的模式：在每个候选序列中保留，且从不截断。 */
+  private static boolean isOpaque(PatternNode p) {
+    return !(p instanceof PatNullNode || p instanceof PatNameNode || p instanceof PatCtorNode || p instanceof PatIntNode);
+  }
+
   public static abstract class PatternNode extends Node {
-    public abstract boolean matchesAndBind(Object s, Env env);
+    public abstract boolean matchesAndBind(Object s, VirtualFrame frame);
   }
 
   /**
@@ -87,20 +289,22 @@ public abstract class MatchNode extends AsterExpressionNode {
   }
 
   public static final class PatNullNode extends PatternNode {
-    @Override public boolean matchesAndBind(Object s, Env env) { return isGuestNull(s); }
+    @Override public boolean matchesAndBind(Object s, VirtualFrame frame) { return isGuestNull(s); }
   }
 
   // ctor match: match Data 值或旧 Map，按字段顺序依次绑定
+  // layout 为同名 Data 定义的共享布局（枚举变体等非 Data 名为 null）：布局同一即类型相同，免去字符串比较
   public static final class PatCtorNode extends PatternNode {
     private final String typeName;
-    private final java.util.List<String> bindNames;
+    private final AsterDataLayout layout;
+    private final int[] bindSlots;
     private final java.util.List<PatternNode> args;
-    public PatCtorNode(String typeName, java.util.List<String> bindNames) { this(typeName, bindNames, java.util.List.of()); }
-    public PatCtorNode(String typeName, java.util.List<String> bindNames, java.util.List<PatternNode> args) { this.typeName = typeName; this.bindNames = bindNames; this.args = (args == null ? java.util.List.of() : args); }
-    @Override @SuppressWarnings("unchecked") public boolean matchesAndBind(Object s, Env env) {
+    public PatCtorNode(String typeName, int[] bindSlots) { this(typeName, null, bindSlots, java.util.List.of()); }
+    public PatCtorNode(String typeName, AsterDataLayout layout, int[] bindSlots, java.util.List<PatternNode> args) { this.typeName = typeName; this.layout = layout; this.bindSlots = (bindSlots == null ? new int[0] : bindSlots); this.args = (args == null ? java.util.List.of() : args); }
+    @Override @SuppressWarnings("unchecked") public boolean matchesAndBind(Object s, VirtualFrame frame) {
       if (s instanceof AsterDataValue dataValue) {
-        if (!typeName.equals(dataValue.getTypeName())) return false;
-        return matchOrderedFields(dataValue.fieldCount(), idx -> dataValue.fieldValue(idx), env);
+        if (dataValue.getLayout() != layout && !typeName.equals(dataValue.getTypeName())) return false;
+        return matchOrderedFields(dataValue.fieldCount(), idx -> dataValue.fieldValue(idx), frame);
       }
       if (s instanceof AsterEnumValue enumValue) {
         return typeName.equals(enumValue.getVariantName()) || typeName.equals(enumValue.getEnumName());
@@ -109,6 +313,15 @@ public abstract class MatchNode extends AsterExpressionNode {
       if (s instanceof String str) {
         return typeName.equals(str);
       }
+      // Result/Maybe 值类：按类取变体名，不查 `_type` 键；载荷（若有）是唯一的位置字段
+      if (s instanceof AsterResult result) {
+        if (!typeName.equals(result.variantName())) return false;
+        return matchOrderedFields(1, idx -> result.getValue(), frame);
+      }
+      if (s instanceof AsterMaybe maybe) {
+        if (!typeName.equals(maybe.variantName())) return false;
+        return matchOrderedFields(maybe.isSome() ? 1 : 0, idx -> maybe.getValue(), frame);
+      }
       if (!(s instanceof java.util.Map)) return false;
       var m = (java.util.Map<String,Object>) s;
       Object t = m.get("_type");
@@ -118,25 +331,24 @@ public abstract class MatchNode extends AsterExpressionNode {
         if ("_type".equals(e.getKey())) continue;
         values.add(e.getValue());
       }
-      return matchOrderedFields(values.size(), values::get, env);
+      return matchOrderedFields(values.size(), values::get, frame);
     }
 
-    private boolean matchOrderedFields(int fieldCount, java.util.function.IntFunction<Object> valueProvider, Env env) {
+    private boolean matchOrderedFields(int fieldCount, java.util.function.IntFunction<Object> valueProvider, VirtualFrame frame) {
       int idx = 0;
       for (int i = 0; i < fieldCount; i++) {
         Object value = valueProvider.apply(i);
         if (idx < args.size()) {
           PatternNode pn = args.get(idx);
           if (pn instanceof PatNameNode patName) {
-            if (!(patName.name == null || patName.name.isEmpty() || "_".equals(patName.name))) {
-              env.set(patName.name, value);
+            if (patName.slotIndex >= 0) {
+              frame.setObject(patName.slotIndex, value);
             }
-          } else if (!pn.matchesAndBind(value, env)) {
+          } else if (!pn.matchesAndBind(value, frame)) {
             return false;
           }
-        } else if (idx < (bindNames == null ? 0 : bindNames.size())) {
-          String bn = bindNames.get(idx);
-          if (bn != null && !bn.isEmpty() && !"_".equals(bn)) env.set(bn, value);
+        } else if (idx < bindSlots.length) {
+          if (bindSlots[idx] >= 0) frame.setObject(bindSlots[idx], value);
         }
         idx++;
       }
@@ -153,15 +365,19 @@ public abstract class MatchNode extends AsterExpressionNode {
   //     non-null value and binds it. (A `When null` arm is a separate PatNull.)
   public static final class PatNameNode extends PatternNode {
     private final String name;
-    public PatNameNode(String name) { this.name = name; }
-    private boolean isVariant() {
-      return name != null && !name.isEmpty() && Character.isUpperCase(name.charAt(0));
+    private final int slotIndex;
+    /** 大写开头即变体名（构造时判定一次）。 */
+    private final boolean variant;
+    public PatNameNode(String name, int slotIndex) {
+      this.name = name;
+      this.slotIndex = slotIndex;
+      this.variant = name != null && !name.isEmpty() && Character.isUpperCase(name.charAt(0));
     }
-    @Override @SuppressWarnings("unchecked") public boolean matchesAndBind(Object s, Env env) {
+    @Override @SuppressWarnings("unchecked") public boolean matchesAndBind(Object s, VirtualFrame frame) {
       if (AsterConfig.DEBUG) {
         System.err.println("DEBUG: PatNameNode name=" + name + " scrutinee=" + s + " type=" + (s == null ? "null" : s.getClass().getName()));
       }
-      if (isVariant()) {
+      if (variant) {
         if (s == null) return false;
         if (s instanceof String) return name.equals(s);
         if (s instanceof AsterEnumValue enumValue) {
@@ -170,6 +386,13 @@ public abstract class MatchNode extends AsterExpressionNode {
         if (s instanceof AsterDataValue dataValue) {
           return name.equals(dataValue.getTypeName());
         }
+        // 与下方 Map 分支同一语义（value 等于名称，或变体名等于名称），只是不经哈希查找
+        if (s instanceof AsterResult result) {
+          return name.equals(result.getValue()) || name.equals(result.variantName());
+        }
+        if (s instanceof AsterMaybe maybe) {
+          return name.equals(maybe.getValue()) || name.equals(maybe.variantName());
+        }
         if (s instanceof java.util.Map) {
           var m = (java.util.Map<String,Object>) s;
           Object v = m.get("value");
@@ -183,8 +406,8 @@ public abstract class MatchNode extends AsterExpressionNode {
       // host-injected null) must NOT match here — it belongs to the `When null`
       // arm, same as a Java null.
       if (isGuestNull(s)) return false;
-      if (!(name == null || name.isEmpty() || "_".equals(name))) {
-        env.set(name, s);
+      if (slotIndex >= 0) {
+        frame.setObject(slotIndex, s);
       }
       return true;
     }
@@ -194,7 +417,7 @@ public abstract class MatchNode extends AsterExpressionNode {
   public static final class PatIntNode extends PatternNode {
     private final int value;
     public PatIntNode(int value) { this.value = value; }
-    @Override public boolean matchesAndBind(Object s, Env env) {
+    @Override public boolean matchesAndBind(Object s, VirtualFrame frame) {
       if (s instanceof Integer i) return value == i.intValue();
       if (s instanceof Long l) return value == l.longValue();
       if (s instanceof Double d) return value == d.doubleValue();
@@ -204,9 +427,9 @@ public abstract class MatchNode extends AsterExpressionNode {
 
   public static final class CaseNode extends Node {
     @Child private PatternNode pat;
-    @Child private Node body;
-    public CaseNode(PatternNode pat, Node body) { this.pat = pat; this.body = body; }
-    public boolean matchesAndBind(Object s, Env env) { return pat.matchesAndBind(s, env); }
-    public Object execute(VirtualFrame frame) { return Exec.exec(body, frame); }
+    @Child private AsterStatementNode body;
+    public CaseNode(PatternNode pat, AsterStatementNode body) { this.pat = pat; this.body = body; }
+    public boolean matchesAndBind(Object s, VirtualFrame frame) { return pat.matchesAndBind(s, frame); }
+    public Object execute(VirtualFrame frame) { return body.executeGeneric(frame); }
   }
 }
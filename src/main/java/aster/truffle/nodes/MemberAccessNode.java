@@ -1,12 +1,20 @@
 package aster.truffle.nodes;
 
+import aster.truffle.runtime.AsterDataLayout;
 import aster.truffle.runtime.AsterDataValue;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Idempotent;
+import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnknownKeyException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.NodeInfo;
 
 import java.util.Map;
@@ -25,182 +33,271 @@ import java.util.Map;
  * {@code allowMapAccess/allowListAccess/allowPublicAccess}）。配置好后宿主
  * {@code Map} 暴露为 hash 条目、宿主 POJO 暴露为可读成员、宿主 {@code List}/数组
  * 暴露为数组元素——无需任何反射解包。
+ *
+ * <p>性能结构：{@code a.b.c} 折叠为一个节点——基表达式求值一次，随后逐段执行
+ * {@link MemberReadNode}（{@code @ExplodeLoop} 展开）。每段都是带多态内联缓存的 DSL 节点：
+ * <ul>
+ *   <li>AsterDataValue：按共享布局（{@link AsterDataLayout}）缓存字段索引，命中后只剩一次
+ *       引用比较 + 数组读取；</li>
+ *   <li>Map（含 AsterMapValue）：ASCII 别名（ü→ue 等）在构建期算好，反向别名（键含 umlaut）
+ *       首次扫描后缓存解析出的键；</li>
+ *   <li>其余 interop 对象：按接收者缓存 {@link InteropLibrary}，超限后退化为 uncached。</li>
+ * </ul>
  */
 @NodeInfo(shortName = "memberAccess")
 public final class MemberAccessNode extends AsterExpressionNode {
 
     @Child private AsterExpressionNode baseNode;
-    @Child private InteropLibrary interop;
-    private final String memberName;
+    @Children private final MemberReadNode[] steps;
 
     public MemberAccessNode(AsterExpressionNode baseNode, String memberName) {
+        this(baseNode, new String[]{memberName});
+    }
+
+    private MemberAccessNode(AsterExpressionNode baseNode, String[] path) {
         this.baseNode = baseNode;
-        this.memberName = memberName;
-        this.interop = InteropLibrary.getFactory().createDispatched(3);
+        this.steps = new MemberReadNode[path.length];
+        for (int i = 0; i < path.length; i++) {
+            steps[i] = MemberAccessNodeFactory.MemberReadNodeGen.create(path[i]);
+        }
     }
 
     @Override
+    @ExplodeLoop
     public Object executeGeneric(VirtualFrame frame) {
-        Object base = baseNode.executeGeneric(frame);
-        return accessMember(base, memberName);
+        Object value = baseNode.executeGeneric(frame);
+        for (MemberReadNode step : steps) {
+            value = step.executeRead(value);
+        }
+        return value;
     }
 
-    private Object accessMember(Object base, String member) {
-        if (base == null) {
-            throw new RuntimeException("无法访问 null 对象的成员：" + member);
+    /**
+     * 单段成员读取：{@code base.member}。
+     */
+    public abstract static class MemberReadNode extends Node {
+        static final int CACHE_LIMIT = 3;
+
+        protected final String memberName;
+        /** 成员名还原 umlaut 后的 ASCII 形式（无 umlaut 时与 memberName 相同），构建期计算一次。 */
+        protected final String asciiAlias;
+        /** Map 键含 umlaut、成员名是 ASCII 时，上次扫描解析出的键（只在边界内的 Map 读取中使用）。 */
+        private volatile String resolvedAliasKey;
+
+        protected MemberReadNode(String memberName) {
+            this.memberName = memberName;
+            this.asciiAlias = denormalizeUmlauts(memberName);
         }
 
-        // 处理 AsterDataValue
-        if (base instanceof AsterDataValue dataValue) {
-            if (dataValue.hasField(member)) {
-                return dataValue.getField(member);
-            }
-            throw new RuntimeException("类型 " + dataValue.getTypeName() + " 不存在字段：" + member);
+        public abstract Object executeRead(Object base);
+
+        @Specialization(guards = "base == null")
+        protected Object doNull(Object base) {
+            throw new RuntimeException("无法访问 null 对象的成员：" + memberName);
         }
 
-        // 处理 Map（用于 JSON 上下文参数）
-        if (base instanceof Map<?, ?> map) {
-            if (map.containsKey(member)) {
-                return map.get(member);
+        @Specialization(guards = "data.getLayout() == cachedLayout", limit = "CACHE_LIMIT")
+        protected Object doDataCached(AsterDataValue data,
+                                      @Cached("data.getLayout()") AsterDataLayout cachedLayout,
+                                      @Cached("cachedLayout.indexOf(memberName)") int cachedIndex) {
+            if (cachedIndex < 0) {
+                throw missingField(data);
             }
-            // 模糊匹配：编译后的字段名可能包含 umlaut（如 reqüstedLimit），
-            // 而 Map 键是原始形式（如 requestedLimit）
-            String denormalized = denormalizeUmlauts(member);
-            if (!denormalized.equals(member) && map.containsKey(denormalized)) {
-                return map.get(denormalized);
-            }
-            // 反向尝试：Map 键可能包含 umlaut，而成员名是 ASCII 形式
-            for (Object key : map.keySet()) {
-                if (key instanceof String keyStr && denormalizeUmlauts(keyStr).equals(denormalized)) {
-                    return map.get(key);
-                }
+            return data.fieldValue(cachedIndex);
+        }
+
+        @Specialization(replaces = "doDataCached")
+        protected Object doData(AsterDataValue data) {
+            int index = data.getLayout().indexOf(memberName);
+            if (index < 0) {
+                throw missingField(data);
             }
-            throw new RuntimeException("Map 中不存在键：" + member);
+            return data.fieldValue(index);
+        }
+
+        // 处理 Map（用于 JSON 上下文参数）
+        @Specialization
+        protected Object doMap(Map<?, ?> map) {
+            return readMapEntry(map);
         }
 
         // 优先使用 Polyglot InteropLibrary 处理 TruffleObject
         // 这是处理 Polyglot 包装的 Java 对象（如 HostObject 包装的 Map）的标准方式，
         // 比反射解包更可靠
-        try {
-            // 首先检查是否为 hash 类型（Map 在 Polyglot 中表现为 hash）
-            if (interop.hasHashEntries(base)) {
-                if (interop.isHashEntryExisting(base, member) && interop.isHashEntryReadable(base, member)) {
-                    Object value = interop.readHashValue(base, member);
-                    return unboxInteropValue(value);
-                }
-                // 模糊匹配：尝试 umlaut 还原后的键名
-                String denormalized = denormalizeUmlauts(member);
-                if (!denormalized.equals(member) && interop.isHashEntryExisting(base, denormalized) && interop.isHashEntryReadable(base, denormalized)) {
-                    Object value = interop.readHashValue(base, denormalized);
-                    return unboxInteropValue(value);
+        @Specialization(guards = {"base != null", "!isData(base)", "!isMap(base)"}, limit = "CACHE_LIMIT")
+        protected Object doInterop(Object base,
+                                   @CachedLibrary("base") InteropLibrary interop,
+                                   @CachedLibrary(limit = "CACHE_LIMIT") InteropLibrary values) {
+            String member = memberName;
+            try {
+                // 首先检查是否为 hash 类型（Map 在 Polyglot 中表现为 hash）
+                if (interop.hasHashEntries(base)) {
+                    if (interop.isHashEntryExisting(base, member) && interop.isHashEntryReadable(base, member)) {
+                        return unboxInteropValue(interop.readHashValue(base, member), values);
+                    }
+                    // 模糊匹配：尝试 umlaut 还原后的键名
+                    if (!asciiAlias.equals(member) && interop.isHashEntryExisting(base, asciiAlias) && interop.isHashEntryReadable(base, asciiAlias)) {
+                        return unboxInteropValue(interop.readHashValue(base, asciiAlias), values);
+                    }
                 }
-            }
 
-            // 然后尝试成员访问（用于普通对象属性）
-            if (interop.hasMembers(base)) {
-                if (interop.isMemberReadable(base, member)) {
-                    Object value = interop.readMember(base, member);
-                    return unboxInteropValue(value);
-                }
-                // 模糊匹配
-                String denormalized = denormalizeUmlauts(member);
-                if (!denormalized.equals(member) && interop.isMemberReadable(base, denormalized)) {
-                    Object value = interop.readMember(base, denormalized);
-                    return unboxInteropValue(value);
+                // 然后尝试成员访问（用于普通对象属性）
+                if (interop.hasMembers(base)) {
+                    if (interop.isMemberReadable(base, member)) {
+                        return unboxInteropValue(interop.readMember(base, member), values);
+                    }
+                    // 模糊匹配
+                    if (!asciiAlias.equals(member) && interop.isMemberReadable(base, asciiAlias)) {
+                        return unboxInteropValue(interop.readMember(base, asciiAlias), values);
+                    }
                 }
-            }
 
-            // 尝试通过数组索引访问（如果 member 是数字）
-            if (interop.hasArrayElements(base)) {
-                try {
-                    long index = Long.parseLong(member);
-                    if (interop.isArrayElementReadable(base, index)) {
+                // 尝试通过数组索引访问（如果 member 是数字）
+                if (interop.hasArrayElements(base)) {
+                    long index = parseIndex(member);
+                    if (index >= 0 && interop.isArrayElementReadable(base, index)) {
                         return interop.readArrayElement(base, index);
                     }
-                } catch (NumberFormatException ignored) {
-                    // member 不是数字，跳过
                 }
+            } catch (UnsupportedMessageException | UnknownIdentifierException | UnknownKeyException | InvalidArrayIndexException e) {
+                throw new RuntimeException("无法访问成员 " + member + "：" + e.getMessage(), e);
             }
-        } catch (UnsupportedMessageException | UnknownIdentifierException | UnknownKeyException | InvalidArrayIndexException e) {
-            throw new RuntimeException("无法访问成员 " + member + "：" + e.getMessage(), e);
+
+            throw unsupportedBase(base);
         }
 
-        throw new RuntimeException("无法访问成员：对象类型 " + base.getClass().getName()
-            + " 不支持成员访问，成员：" + member
-            + "（若为宿主对象，请确认 polyglot Context 配置了恰当的 HostAccess，"
-            + "使其成员/条目/元素可经 InteropLibrary 访问）");
-    }
+        @Idempotent
+        protected static boolean isData(Object value) {
+            return value instanceof AsterDataValue;
+        }
 
-    /**
-     * 将 Polyglot 互操作返回的值转换为 Java 原始类型
-     *
-     * InteropLibrary 的 readHashValue/readMember 返回的值可能是 Polyglot 包装的对象，
-     * 需要解包为 Java 原始类型（String、Integer 等），以便下游节点（如 PatNameNode）
-     * 能正确使用 instanceof 进行类型匹配。
-     */
-    private Object unboxInteropValue(Object value) {
-        if (value == null) return null;
-        // 已经是 Java 原始类型，直接返回
-        if (value instanceof String || value instanceof Number || value instanceof Boolean) {
-            return value;
+        @Idempotent
+        protected static boolean isMap(Object value) {
+            return value instanceof Map;
         }
-        // 尝试通过 InteropLibrary 解包
-        try {
-            // guest-null（如 AsterNullValue，或宿主注入的 isNull HostObject）解回 Java null，
-            // 与直接走 Map.get 的快路径一致——否则 toBool/String.valueOf/Objects.equals 对
-            // 包装对象与裸 null 行为不一致（成员经 interop 读到 null 值时尤甚）。
-            if (interop.isNull(value)) {
-                return null;
+
+        @TruffleBoundary
+        private Object readMapEntry(Map<?, ?> map) {
+            Object value = map.get(memberName);
+            if (value != null || map.containsKey(memberName)) {
+                return value;
             }
-            if (interop.isString(value)) {
-                return interop.asString(value);
+            // 模糊匹配：编译后的字段名可能包含 umlaut（如 reqüstedLimit），
+            // 而 Map 键是原始形式（如 requestedLimit）
+            if (!asciiAlias.equals(memberName)) {
+                value = map.get(asciiAlias);
+                if (value != null || map.containsKey(asciiAlias)) {
+                    return value;
+                }
+            }
+            // 反向尝试：Map 键可能包含 umlaut，而成员名是 ASCII 形式。
+            // 同一访问点面对的通常是同构请求载荷，先试上次解析出的键，未命中再线性扫描
+            String aliasKey = resolvedAliasKey;
+            if (aliasKey != null && map.containsKey(aliasKey)) {
+                return map.get(aliasKey);
+            }
+            for (Object key : map.keySet()) {
+                if (key instanceof String keyStr && denormalizeUmlauts(keyStr).equals(asciiAlias)) {
+                    resolvedAliasKey = keyStr;
+                    return map.get(key);
+                }
+            }
+            throw new RuntimeException("Map 中不存在键：" + memberName);
+        }
+
+        @TruffleBoundary
+        private RuntimeException missingField(AsterDataValue data) {
+            return new RuntimeException("类型 " + data.getTypeName() + " 不存在字段：" + memberName);
+        }
+
+        @TruffleBoundary
+        private RuntimeException unsupportedBase(Object base) {
+            return new RuntimeException("无法访问成员：对象类型 " + base.getClass().getName()
+                + " 不支持成员访问，成员：" + memberName
+                + "（若为宿主对象，请确认 polyglot Context 配置了恰当的 HostAccess，"
+                + "使其成员/条目/元素可经 InteropLibrary 访问）");
+        }
+
+        private static long parseIndex(String member) {
+            try {
+                return Long.parseLong(member);
+            } catch (NumberFormatException ignored) {
+                // member 不是数字，跳过
+                return -1;
             }
-            if (interop.isBoolean(value)) {
-                return interop.asBoolean(value);
+        }
+
+        /**
+         * 将 Polyglot 互操作返回的值转换为 Java 原始类型
+         *
+         * InteropLibrary 的 readHashValue/readMember 返回的值可能是 Polyglot 包装的对象，
+         * 需要解包为 Java 原始类型（String、Integer 等），以便下游节点（如 PatNameNode）
+         * 能正确使用 instanceof 进行类型匹配。
+         */
+        static Object unboxInteropValue(Object value, InteropLibrary interop) {
+            if (value == null) return null;
+            // 已经是 Java 原始类型，直接返回
+            if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+                return value;
             }
-            if (interop.isNumber(value)) {
-                if (interop.fitsInInt(value)) {
-                    return interop.asInt(value);
+            // 尝试通过 InteropLibrary 解包
+            try {
+                // guest-null（如 AsterNullValue，或宿主注入的 isNull HostObject）解回 Java null，
+                // 与直接走 Map.get 的快路径一致——否则 toBool/String.valueOf/Objects.equals 对
+                // 包装对象与裸 null 行为不一致（成员经 interop 读到 null 值时尤甚）。
+                if (interop.isNull(value)) {
+                    return null;
                 }
-                if (interop.fitsInLong(value)) {
-                    return interop.asLong(value);
+                if (interop.isString(value)) {
+                    return interop.asString(value);
                 }
-                if (interop.fitsInDouble(value)) {
-                    return interop.asDouble(value);
+                if (interop.isBoolean(value)) {
+                    return interop.asBoolean(value);
                 }
+                if (interop.isNumber(value)) {
+                    if (interop.fitsInInt(value)) {
+                        return interop.asInt(value);
+                    }
+                    if (interop.fitsInLong(value)) {
+                        return interop.asLong(value);
+                    }
+                    if (interop.fitsInDouble(value)) {
+                        return interop.asDouble(value);
+                    }
+                }
+            } catch (UnsupportedMessageException e) {
+                // 解包失败，返回原值
             }
-        } catch (UnsupportedMessageException e) {
-            // 解包失败，返回原值
+            return value;
         }
-        return value;
-    }
 
-    /**
-     * 将 umlaut 字符还原为 ASCII 等价形式
-     *
-     * 德语 canonicalization 将 ue→ü, oe→ö, ae→ä，
-     * 此方法反向还原，用于模糊匹配 Map 键。
-     */
-    private static String denormalizeUmlauts(String s) {
-        return s.replace("ü", "ue")
-                .replace("ö", "oe")
-                .replace("ä", "ae")
-                .replace("ß", "ss")
-                .replace("Ü", "Ue")
-                .replace("Ö", "Oe")
-                .replace("Ä", "Ae");
+        /**
+         * 将 umlaut 字符还原为 ASCII 等价形式
+         *
+         * 德语 canonicalization 将 ue→ü, oe→ö, ae→ä，
+         * 此方法反向还原，用于模糊匹配 Map 键。
+         */
+        static String denormalizeUmlauts(String s) {
+            return s.replace("ü", "ue")
+                    .replace("ö", "oe")
+                    .replace("ä", "ae")
+                    .replace("ß", "ss")
+                    .replace("Ü", "Ue")
+                    .replace("Ö", "Oe")
+                    .replace("Ä", "Ae");
+        }
     }
 
     /**
      * 创建成员访问链
      *
-     * 例如：buildChain(baseNode, ["a", "b", "c"]) 生成 baseNode.a.b.c
+     * 例如：buildChain(baseNode, ["a", "b", "c"]) 生成单个节点 baseNode.a.b.c，
+     * 基表达式只求值一次，各段共享同一个 ExplodeLoop 循环
      */
     public static AsterExpressionNode buildChain(AsterExpressionNode base, String[] members) {
-        AsterExpressionNode current = base;
-        for (String member : members) {
-            current = new MemberAccessNode(current, member);
+        if (members.length == 0) {
+            return base;
         }
-        return current;
+        return new MemberAccessNode(base, members.clone());
     }
 }
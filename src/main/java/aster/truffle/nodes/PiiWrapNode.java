@@ -22,7 +22,7 @@ public final class PiiWrapNode extends AsterExpressionNode {
 
   @Override
   public Object executeGeneric(VirtualFrame frame) {
-    Object raw = Exec.exec(valueNode, frame);
+    Object raw = valueNode.executeGeneric(frame);
     return PiiSupport.wrapValue(raw, declaredType);
   }
 }
@@ -1,8 +1,13 @@
 package aster.truffle.nodes;
 
+import aster.truffle.runtime.AsterMaybe;
+import aster.truffle.runtime.AsterResult;
 import com.oracle.truffle.api.frame.VirtualFrame;
-import com.oracle.truffle.api.nodes.Node;
 
+/**
+ * Ok/Err/Some/None 构造节点。产出不可变值类 {@link AsterResult} / {@link AsterMaybe}
+ * （None 为共享单例），取代逐次分配的 {@code LinkedHashMap{"_type", "value"}}。
+ */
 public final class ResultNodes {
   private ResultNodes() {}
 
@@ -12,8 +17,8 @@ public final class ResultNodes {
     @Override
     public Object executeGeneric(VirtualFrame frame) {
       Profiler.inc("ok");
-      Object value = Exec.exec(expr, frame);
-      return createResult("Ok", value);
+      Object value = expr.executeGeneric(frame);
+      return AsterResult.ok(value);
     }
   }
   public static final class ErrNode extends AsterExpressionNode {
@@ -22,8 +27,8 @@ public final class ResultNodes {
     @Override
     public Object executeGeneric(VirtualFrame frame) {
       Profiler.inc("err");
-      Object value = Exec.exec(expr, frame);
-      return createResult("Err", value);
+      Object value = expr.executeGeneric(frame);
+      return AsterResult.err(value);
     }
   }
 
@@ -33,28 +38,15 @@ public final class ResultNodes {
     @Override
     public Object executeGeneric(VirtualFrame frame) {
       Profiler.inc("some");
-      Object value = Exec.exec(expr, frame);
-      return createResult("Some", value);
+      Object value = expr.executeGeneric(frame);
+      return AsterMaybe.some(value);
     }
   }
   public static final class NoneNode extends AsterExpressionNode {
     @Override
     public Object executeGeneric(VirtualFrame frame) {
       Profiler.inc("none");
-      return createResult("None");
+      return AsterMaybe.NONE;
     }
   }
-
-  private static java.util.Map<String,Object> createResult(String type, Object value) {
-    java.util.LinkedHashMap<String,Object> map = new java.util.LinkedHashMap<>();
-    map.put("_type", type);
-    map.put("value", value);
-    return map;
-  }
-
-  private static java.util.Map<String,Object> createResult(String type) {
-    java.util.LinkedHashMap<String,Object> map = new java.util.LinkedHashMap<>();
-    map.put("_type", type);
-    return map;
-  }
 }
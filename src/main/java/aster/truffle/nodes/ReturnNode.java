@@ -1,17 +1,48 @@
 package aster.truffle.nodes;
 
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ControlFlowException;
-import com.oracle.truffle.api.nodes.Node;
 
-public final class ReturnNode extends Node {
+/**
+ * 非尾位置的 Return。
+ *
+ * 设计要点：
+ * - 函数/lambda 体内（Loader 分配了返回值槽位）：值写入槽位并返回 {@link #RETURNED} 哨兵，
+ *   BlockNode 见到哨兵即停止执行后续语句并原样传出，LambdaRootNode 从槽位取回返回值；不分配、不抛出
+ * - 其余位置（workflow 步骤体、旧加载路径）：抛出 {@link ReturnException}，由调用方捕获
+ */
+public final class ReturnNode extends AsterStatementNode {
+  /** 已执行 Return 的哨兵；只在语句节点之间传递，不会作为 guest 值出现。 */
+  public static final Object RETURNED = new Object() {
+    @Override
+    public String toString() {
+      return "RETURNED";
+    }
+  };
+
   public static final class ReturnException extends ControlFlowException {
     private static final long serialVersionUID = 1L;
     public final transient Object value;
     public ReturnException(Object v) { this.value = v; }
   }
-  @Child private Node expr;
-  public ReturnNode(Node expr) { this.expr = expr; }
-  public Object execute(VirtualFrame frame) { Object v = Exec.exec(expr, frame); throw new ReturnException(v); }
+  @Child private AsterExpressionNode expr;
+  @CompilationFinal private final int resultSlot;
+  public ReturnNode(AsterExpressionNode expr) { this(expr, -1); }
+
+  /** @param resultSlot 返回值槽位；小于 0 时经 ReturnException 返回 */
+  public ReturnNode(AsterExpressionNode expr, int resultSlot) {
+    this.expr = expr;
+    this.resultSlot = resultSlot;
+  }
+
+  @Override public Object executeGeneric(VirtualFrame frame) {
+    Object v = expr.executeGeneric(frame);
+    if (resultSlot >= 0) {
+      frame.setObject(resultSlot, v);
+      return RETURNED;
+    }
+    throw new ReturnException(v);
+  }
   @Override public String toString() { return "ReturnNode"; }
 }
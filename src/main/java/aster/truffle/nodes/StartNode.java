@@ -5,7 +5,6 @@ import aster.truffle.AsterContext;
 import aster.truffle.runtime.AsyncTaskRegistry;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.frame.MaterializedFrame;
-import com.oracle.truffle.api.nodes.Node;
 import java.util.Set;
 
 /**
@@ -16,19 +15,21 @@ import java.util.Set;
  * - 返回 task_id 字符串
  * - 校验 Async effect 权限
  * - 使用 MaterializedFrame 捕获当前 Frame 上下文
+ * - task_id 写入 Loader 静态解析的 frame slot（slotIndex < 0 表示不绑定）
  */
-public final class StartNode extends Node {
-  private final Env env;
+public final class StartNode extends AsterStatementNode {
   private final String name;
-  @Child private Node expr;
+  private final int slotIndex;
+  @Child private AsterExpressionNode expr;
 
-  public StartNode(Env env, String name, Node expr) {
-    this.env = env;
+  public StartNode(String name, int slotIndex, AsterExpressionNode expr) {
     this.name = name;
+    this.slotIndex = slotIndex;
     this.expr = expr;
   }
 
-  public Object execute(VirtualFrame frame) {
+  @Override
+  public Object executeGeneric(VirtualFrame frame) {
     Profiler.inc("start");
 
     // Effect 校验：start 需要 Async effect
@@ -56,7 +57,7 @@ public final class StartNode extends Node {
           // 恢复捕获的 effect 权限，使任务体能够执行需要特定 effect 的操作
           context.setAllowedEffects(capturedEffects);
           // 在 materializedFrame 上下文中执行子表达式并捕获结果
-          Object result = Exec.exec(expr, materializedFrame);
+          Object result = expr.executeGeneric(materializedFrame);
           // 存储任务结果
           AsyncTaskRegistry registryInTask = context.getAsyncRegistry();
           registryInTask.setResult(taskId, result);
@@ -73,9 +74,9 @@ public final class StartNode extends Node {
     // 注册任务
     registry.registerTask(taskId, task);
 
-    // 将 task_id 绑定到变量名
-    if (name != null) {
-      env.set(name, taskId);
+    // 将 task_id 绑定到变量槽位
+    if (slotIndex >= 0) {
+      frame.setObject(slotIndex, taskId);
     }
 
     return taskId;
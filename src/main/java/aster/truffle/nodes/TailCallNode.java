@@ -0,0 +1,39 @@
+package aster.truffle.nodes;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ControlFlowException;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+
+/**
+ * 自尾调用节点：替代 {@code Return f(args...)}，其中 f 为当前所在的顶层函数且实参个数与形参一致。
+ *
+ * 求值全部实参后抛出 {@link TailCallException}，由 LambdaRootNode 的尾调用循环捕获：
+ * 在同一 frame 内重绑参数槽位并重新执行函数体，不新建 Truffle frame、不占用 Java 栈，
+ * 循环经 LoopNode 执行，可被 OSR 编译。
+ */
+public final class TailCallNode extends AsterStatementNode {
+  public static final class TailCallException extends ControlFlowException {
+    private static final long serialVersionUID = 1L;
+    public final transient Object[] arguments;
+    public TailCallException(Object[] arguments) { this.arguments = arguments; }
+  }
+
+  @Children private final AsterExpressionNode[] args;
+
+  public TailCallNode(java.util.List<AsterExpressionNode> args) {
+    this.args = args.toArray(new AsterExpressionNode[0]);
+  }
+
+  @Override
+  @ExplodeLoop
+  public Object executeGeneric(VirtualFrame frame) {
+    Profiler.inc("tail_call");
+    Object[] values = new Object[args.length];
+    for (int i = 0; i < args.length; i++) {
+      values[i] = args[i].executeGeneric(frame);
+    }
+    throw new TailCallException(values);
+  }
+
+  @Override public String toString() { return "TailCallNode"; }
+}
@@ -0,0 +1,316 @@
+package aster.truffle.nodes;
+
+import aster.truffle.runtime.AsterText;
+import aster.truffle.runtime.Builtins;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Text.* builtin（concat/length/substring/indexOf/contains/split/replace）的类型特化节点。
+ *
+ * <p>与 {@link ComparisonNodes} 同构：操作数是 {@code @NodeChild}，String 操作数直接进入特化，
+ * 拼接产生的 rope（{@link TruffleString}，见 {@link AsterText}）由缓存的 ToJavaStringNode 展平
+ * （结果缓存在 rope 上）。concat 与 length 不展平 rope：拼接经 TruffleString.ConcatNode 惰性
+ * 连接，长度直接取自字节长度。
+ *
+ * <p>Text.split 的分隔符是字符串字面量时，在构建期预编译 {@link AsterText.Splitter}，运行期
+ * 不再求值分隔符。PII 包装值、非文本参数等其余组合回退到构建期解析的 {@link Builtins.BuiltinDef}。
+ */
+public final class TextNodes {
+  private TextNodes() {}
+
+  /**
+   * 为 Text.* builtin 创建特化节点。
+   *
+   * @param canonicalName 归一化后的 builtin 名（见 {@link Builtins#canonicalName}）
+   * @param args 已构建的参数节点；个数与 builtin 元数不符时返回 null
+   * @return 对应节点；非上述 Text builtin 返回 null，由调用方继续走 BuiltinCallNode
+   */
+  public static AsterExpressionNode create(String canonicalName, Builtins.BuiltinDef builtinDef,
+                                           java.util.List<AsterExpressionNode> args) {
+    switch (args.size()) {
+      case 1:
+        return "Text.length".equals(canonicalName) ? TextNodesFactory.LengthNodeGen.create(builtinDef, args.get(0)) : null;
+      case 2: {
+        AsterExpressionNode text = args.get(0);
+        AsterExpressionNode arg = args.get(1);
+        switch (canonicalName) {
+          case "Text.concat":
+            return TextNodesFactory.ConcatNodeGen.create(builtinDef, text, arg);
+          case "Text.indexOf":
+            return TextNodesFactory.IndexOfNodeGen.create(builtinDef, text, arg);
+          case "Text.contains":
+            return TextNodesFactory.ContainsNodeGen.create(builtinDef, text, arg);
+          case "Text.substring":
+            return TextNodesFactory.SubstringFromNodeGen.create(builtinDef, text, arg);
+          case "Text.split": {
+            String delimiter = arg instanceof LiteralNode literal ? literal.stringConstant() : null;
+            if (delimiter != null) {
+              return TextNodesFactory.SplitConstantNodeGen.create(builtinDef, new AsterText.Splitter(delimiter), text);
+            }
+            return TextNodesFactory.SplitNodeGen.create(builtinDef, text, arg);
+          }
+          default:
+            return null;
+        }
+      }
+      case 3:
+        switch (canonicalName) {
+          case "Text.substring":
+            return TextNodesFactory.SubstringNodeGen.create(builtinDef, args.get(0), args.get(1), args.get(2));
+          case "Text.replace":
+            return TextNodesFactory.ReplaceNodeGen.create(builtinDef, args.get(0), args.get(1), args.get(2));
+          default:
+            return null;
+        }
+      default:
+        return null;
+    }
+  }
+
+  /** 各 Text 节点的公共部分：构建期解析的 builtin 句柄与通用回退。 */
+  public abstract static class TextBuiltinNode extends AsterExpressionNode {
+    @CompilationFinal protected final Builtins.BuiltinDef builtinDef;
+
+    protected TextBuiltinNode(Builtins.BuiltinDef builtinDef) {
+      this.builtinDef = builtinDef;
+    }
+
+    /** 通用路径：已求值的操作数直接交给 builtin 实现，不重新执行子节点。 */
+    protected final Object callGeneric(Object... args) {
+      Profiler.inc("builtin_call_generic");
+      return builtinDef.invoke(args);
+    }
+  }
+
+  @NodeChild(value = "left", type = AsterExpressionNode.class)
+  @NodeChild(value = "right", type = AsterExpressionNode.class)
+  public abstract static class ConcatNode extends TextBuiltinNode {
+    protected ConcatNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization(guards = "isShort(a, b)")
+    protected String doShort(String a, String b) {
+      return (String) AsterText.concat(a, b);
+    }
+
+    @Specialization(guards = {"isText(a)", "isText(b)"}, replaces = "doShort")
+    protected Object doRope(Object a, Object b,
+                            @Cached TruffleString.FromJavaStringNode fromLeft,
+                            @Cached TruffleString.FromJavaStringNode fromRight,
+                            @Cached TruffleString.ConcatNode concat) {
+      if (a instanceof String left && b instanceof String right && isShort(left, right)) {
+        return AsterText.concat(left, right);
+      }
+      TruffleString l = a instanceof TruffleString ts ? ts : fromLeft.execute((String) a, AsterText.ENCODING);
+      TruffleString r = b instanceof TruffleString ts ? ts : fromRight.execute((String) b, AsterText.ENCODING);
+      return concat.execute(l, r, AsterText.ENCODING, true);
+    }
+
+    @Fallback
+    protected Object doGeneric(Object a, Object b) {
+      return callGeneric(a, b);
+    }
+
+    protected static boolean isShort(String a, String b) {
+      return a.length() + b.length() < AsterText.ROPE_THRESHOLD;
+    }
+
+    protected static boolean isText(Object value) {
+      return AsterText.isText(value);
+    }
+  }
+
+  @NodeChild(value = "text", type = AsterExpressionNode.class)
+  public abstract static class LengthNode extends TextBuiltinNode {
+    protected LengthNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected int doString(String text) {
+      return text.length();
+    }
+
+    @Specialization
+    protected int doRope(TruffleString text) {
+      return AsterText.length(text);
+    }
+
+    @Fallback
+    protected Object doGeneric(Object text) {
+      return callGeneric(text);
+    }
+  }
+
+  @NodeChild(value = "text", type = AsterExpressionNode.class)
+  @NodeChild(value = "needle", type = AsterExpressionNode.class)
+  public abstract static class IndexOfNode extends TextBuiltinNode {
+    protected IndexOfNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected int doString(String text, String needle) {
+      return AsterText.indexOf(text, needle);
+    }
+
+    @Specialization
+    protected int doRope(TruffleString text, String needle, @Cached TruffleString.ToJavaStringNode toJava) {
+      return AsterText.indexOf(toJava.execute(text), needle);
+    }
+
+    @Fallback
+    protected Object doGeneric(Object text, Object needle) {
+      return callGeneric(text, needle);
+    }
+  }
+
+  @NodeChild(value = "text", type = AsterExpressionNode.class)
+  @NodeChild(value = "needle", type = AsterExpressionNode.class)
+  public abstract static class ContainsNode extends TextBuiltinNode {
+    protected ContainsNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected boolean doString(String text, String needle) {
+      return AsterText.contains(text, needle);
+    }
+
+    @Specialization
+    protected boolean doRope(TruffleString text, String needle, @Cached TruffleString.ToJavaStringNode toJava) {
+      return AsterText.contains(toJava.execute(text), needle);
+    }
+
+    @Fallback
+    protected Object doGeneric(Object text, Object needle) {
+      return callGeneric(text, needle);
+    }
+  }
+
+  // substring 的负下标由通用路径报错（与 builtin 同一错误信息）
+
+  @NodeChild(value = "text", type = AsterExpressionNode.class)
+  @NodeChild(value = "start", type = AsterExpressionNode.class)
+  public abstract static class SubstringFromNode extends TextBuiltinNode {
+    protected SubstringFromNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization(guards = "start >= 0")
+    protected String doString(String text, int start) {
+      return AsterText.substring(text, start);
+    }
+
+    @Specialization(guards = "start >= 0")
+    protected String doRope(TruffleString text, int start, @Cached TruffleString.ToJavaStringNode toJava) {
+      return AsterText.substring(toJava.execute(text), start);
+    }
+
+    @Fallback
+    protected Object doGeneric(Object text, Object start) {
+      return callGeneric(text, start);
+    }
+  }
+
+  @NodeChild(value = "text", type = AsterExpressionNode.class)
+  @NodeChild(value = "start", type = AsterExpressionNode.class)
+  @NodeChild(value = "end", type = AsterExpressionNode.class)
+  public abstract static class SubstringNode extends TextBuiltinNode {
+    protected SubstringNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization(guards = {"start >= 0", "end >= 0"})
+    protected String doString(String text, int start, int end) {
+      return AsterText.substring(text, start, end);
+    }
+
+    @Specialization(guards = {"start >= 0", "end >= 0"})
+    protected String doRope(TruffleString text, int start, int end, @Cached TruffleString.ToJavaStringNode toJava) {
+      return AsterText.substring(toJava.execute(text), start, end);
+    }
+
+    @Fallback
+    protected Object doGeneric(Object text, Object start, Object end) {
+      return callGeneric(text, start, end);
+    }
+  }
+
+  @NodeChild(value = "text", type = AsterExpressionNode.class)
+  @NodeChild(value = "target", type = AsterExpressionNode.class)
+  @NodeChild(value = "replacement", type = AsterExpressionNode.class)
+  public abstract static class ReplaceNode extends TextBuiltinNode {
+    protected ReplaceNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected String doString(String text, String target, String replacement) {
+      return AsterText.replace(text, target, replacement);
+    }
+
+    @Specialization
+    protected String doRope(TruffleString text, String target, String replacement,
+                            @Cached TruffleString.ToJavaStringNode toJava) {
+      return AsterText.replace(toJava.execute(text), target, replacement);
+    }
+
+    @Fallback
+    protected Object doGeneric(Object text, Object target, Object replacement) {
+      return callGeneric(text, target, replacement);
+    }
+  }
+
+  @NodeChild(value = "text", type = AsterExpressionNode.class)
+  @NodeChild(value = "delimiter", type = AsterExpressionNode.class)
+  public abstract static class SplitNode extends TextBuiltinNode {
+    protected SplitNode(Builtins.BuiltinDef builtinDef) {
+      super(builtinDef);
+    }
+
+    @Specialization
+    protected Object doString(String text, String delimiter) {
+      return new AsterText.Splitter(delimiter).split(text);
+    }
+
+    @Fallback
+    protected Object doGeneric(Object text, Object delimiter) {
+      return callGeneric(text, delimiter);
+    }
+  }
+
+  /** 分隔符为字符串字面量：构建期预编译的切分器。 */
+  @NodeChild(value = "text", type = AsterExpressionNode.class)
+  public abstract static class SplitConstantNode extends TextBuiltinNode {
+    private final AsterText.Splitter splitter;
+    private final String delimiter;
+
+    protected SplitConstantNode(Builtins.BuiltinDef builtinDef, AsterText.Splitter splitter) {
+      super(builtinDef);
+      this.splitter = splitter;
+      this.delimiter = splitter.delimiter();
+    }
+
+    @Specialization
+    protected Object doString(String text) {
+      return splitter.split(text);
+    }
+
+    @Specialization
+    protected Object doRope(TruffleString text, @Cached TruffleString.ToJavaStringNode toJava) {
+      return splitter.split(toJava.execute(text));
+    }
+
+    @Fallback
+    protected Object doGeneric(Object text) {
+      return callGeneric(text, delimiter);
+    }
+  }
+}
@@ -6,32 +6,36 @@ import aster.truffle.runtime.AsyncTaskRegistry;
 import aster.truffle.runtime.AsyncTaskRegistry.TaskState;
 import aster.truffle.runtime.AsyncTaskRegistry.TaskStatus;
 import com.oracle.truffle.api.frame.VirtualFrame;
-import com.oracle.truffle.api.nodes.Node;
 
 /**
  * Wait节点 - 等待多个异步任务完成并返回结果
  *
  * Phase 1 实现：
  * - 接收多个 task_id 变量名作为输入
- * - 从 Env 读取这些变量的值（task_id）
+ * - 从 frame slot 读取这些变量的值（task_id）
  * - 轮询 AsyncTaskRegistry 直到所有任务完成
  * - 在轮询过程中调用 executeNext() 调度待执行任务
  * - 任何任务 FAILED 时抛出异常
  * - 所有任务完成后返回对应结果（单任务返回单值，多任务返回结果数组）
  *
  * 注意：此节点不使用 @Child 注解，因为它在构造时就确定了要等待的变量名列表。
- * 这些变量名会在运行时通过 Env 查找对应的 task_id 值。
+ * 变量名由 Loader 静态解析为 frame slot（与 taskIdNames 一一对应，-1 表示未声明），
+ * 运行时直接按槽位读取 task_id，完成后把结果写回同一槽位。
  */
-public final class WaitNode extends Node {
-  private final Env env;
+public final class WaitNode extends AsterStatementNode {
   private final String[] taskIdNames;
+  private final int[] slotIndices;
 
-  public WaitNode(Env env, String[] taskIdNames) {
-    this.env = env;
+  public WaitNode(String[] taskIdNames, int[] slotIndices) {
+    if (taskIdNames.length != slotIndices.length) {
+      throw new IllegalArgumentException("taskIdNames and slotIndices must have the same length");
+    }
     this.taskIdNames = taskIdNames;
+    this.slotIndices = slotIndices;
   }
 
-  public Object execute(VirtualFrame frame) {
+  @Override
+  public Object executeGeneric(VirtualFrame frame) {
     Profiler.inc("wait");
 
     // 如果没有任务需要等待，直接返回
@@ -43,11 +47,11 @@ public final class WaitNode extends Node {
     AsterContext context = AsterLanguage.getContext();
     AsyncTaskRegistry registry = context.getAsyncRegistry();
 
-    // 从 Env 中读取所有 task_id
+    // 从 frame slot 中读取所有 task_id
     // 注意：这些变量应该已经通过 Start 节点设置为 task_id 字符串
     String[] taskIds = new String[taskIdNames.length];
     for (int i = 0; i < taskIdNames.length; i++) {
-      Object taskIdObj = (env != null) ? env.get(taskIdNames[i]) : null;
+      Object taskIdObj = slotIndices[i] >= 0 ? frame.getValue(slotIndices[i]) : null;
       if (!(taskIdObj instanceof String)) {
         throw new RuntimeException("wait expects task_id (String) for variable '" + taskIdNames[i] +
             "', got: " + (taskIdObj == null ? "null" : taskIdObj.getClass().getName()));
@@ -86,9 +90,7 @@ public final class WaitNode extends Node {
         // 单任务场景直接返回对应结果，多任务保持 taskIdNames 顺序返回结果数组
         if (taskIds.length == 1) {
           Object result = registry.getResult(taskIds[0]);
-          if (env != null) {
-            env.set(taskIdNames[0], result);
-          }
+          frame.setObject(slotIndices[0], result);
           return result;
         }
 
@@ -96,9 +98,7 @@ public final class WaitNode extends Node {
         for (int i = 0; i < taskIds.length; i++) {
           Object result = registry.getResult(taskIds[i]);
           results[i] = result;
-          if (env != null) {
-            env.set(taskIdNames[i], result);
-          }
+          frame.setObject(slotIndices[i], result);
         }
         return results;
       }
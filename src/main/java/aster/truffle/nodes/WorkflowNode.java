@@ -6,7 +6,6 @@ import aster.truffle.runtime.AsyncTaskRegistry;
 import aster.truffle.runtime.WorkflowScheduler;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.frame.MaterializedFrame;
-import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -34,33 +33,33 @@ import aster.truffle.runtime.PostgresEventStore;
  * - 优化的依赖图序列化
  */
 @NodeInfo(shortName = "workflow", description = "工作流编排节点")
-public final class WorkflowNode extends Node {
+public final class WorkflowNode extends AsterStatementNode {
   private static final Logger logger = Logger.getLogger(WorkflowNode.class.getName());
-  private final Env env;
-  @Children private final Node[] taskExprs;  // 任务表达式
-  @Children private final Node[] compensateExprs;  // 补偿表达式（可为 null）
+  @Children private final AsterStatementNode[] taskExprs;  // 任务表达式
+  @Children private final AsterStatementNode[] compensateExprs;  // 补偿表达式（可为 null）
   private final String[] taskNames;
+  private final int[] taskSlots;  // 步骤名对应的 frame slot（-1 表示不绑定）
   private final Map<String, Set<String>> dependencies;  // name -> dep names
   private final long timeoutMs;
 
   /**
    * 构造工作流节点
    *
-   * @param env 环境对象（用于变量绑定）
    * @param taskExprs 任务表达式数组
    * @param compensateExprs 补偿表达式数组（可为 null，与 taskExprs 一一对应）
    * @param taskNames 任务名称数组（与 taskExprs 一一对应）
+   * @param taskSlots 步骤名绑定的 frame slot（与 taskExprs 一一对应，-1 表示不绑定）
    * @param dependencies 依赖关系映射（任务名 -> 依赖的任务名集合）
    * @param timeoutMs 工作流全局超时时间（毫秒）
    */
-  public WorkflowNode(Env env, Node[] taskExprs, Node[] compensateExprs, String[] taskNames,
+  public WorkflowNode(AsterStatementNode[] taskExprs, AsterStatementNode[] compensateExprs, String[] taskNames, int[] taskSlots,
                       Map<String, Set<String>> dependencies, long timeoutMs) {
-    if (taskExprs == null || taskNames == null) {
-      throw new IllegalArgumentException("taskExprs and taskNames cannot be null");
+    if (taskExprs == null || taskNames == null || taskSlots == null) {
+      throw new IllegalArgumentException("taskExprs, taskNames and taskSlots cannot be null");
     }
-    if (taskExprs.length != taskNames.length) {
+    if (taskExprs.length != taskNames.length || taskExprs.length != taskSlots.length) {
       throw new IllegalArgumentException(
-          "taskExprs and taskNames must have the same length"
+          "taskExprs, taskNames and taskSlots must have the same length"
       );
     }
     if (compensateExprs != null && compensateExprs.length != taskExprs.length) {
@@ -68,10 +67,10 @@ public final class WorkflowNode extends Node {
           "compensateExprs must have the same length as taskExprs"
       );
     }
-    this.env = env;
     this.taskExprs = taskExprs;
     this.compensateExprs = compensateExprs;
     this.taskNames = taskNames;
+    this.taskSlots = taskSlots;
     this.dependencies = (dependencies == null) ? Collections.emptyMap() : dependencies;
     this.timeoutMs = timeoutMs;
   }
@@ -88,7 +87,8 @@ public final class WorkflowNode extends Node {
    * @param frame 当前执行帧
    * @return 结果数组（按 taskNames 顺序）
    */
-  public Object execute(VirtualFrame frame) {
+  @Override
+  public Object executeGeneric(VirtualFrame frame) {
     Profiler.inc("workflow");
 
     AsterContext context = AsterLanguage.getContext();
@@ -122,8 +122,8 @@ public final class WorkflowNode extends Node {
         throw new IllegalArgumentException("Duplicate workflow step name: " + taskNames[i]);
       }
       nameToId.put(taskNames[i], taskId);
-      if (taskNames[i] != null) {
-        env.set(taskNames[i], taskId);
+      if (taskSlots[i] >= 0) {
+        frame.setObject(taskSlots[i], taskId);
       }
       capturedFrames[i] = materializedFrame;
       effectSnapshots[i] = capturedEffects;
@@ -131,7 +131,7 @@ public final class WorkflowNode extends Node {
 
     // 2. 注册任务并声明依赖关系
     for (int i = 0; i < taskExprs.length; i++) {
-      Node expr = taskExprs[i];
+      AsterStatementNode expr = taskExprs[i];
       String stepName = taskNames[i];
       String taskId = nameToId.get(stepName);
       MaterializedFrame materializedFrame = capturedFrames[i];
@@ -142,7 +142,7 @@ public final class WorkflowNode extends Node {
         Set<String> previousEffects = context.getAllowedEffects();
         try {
           context.setAllowedEffects(capturedEffects);
-          Object result = Exec.exec(expr, materializedFrame);
+          Object result = expr.executeGeneric(materializedFrame);
           synchronized (completedSteps) {
             completedSteps.add(stepIndex);
           }
@@ -200,10 +200,10 @@ public final class WorkflowNode extends Node {
         // 逆序补偿（最后完成的先补偿）
         java.util.Collections.reverse(stepsToCompensate);
         for (int idx : stepsToCompensate) {
-          Node compensate = compensateExprs[idx];
+          AsterStatementNode compensate = compensateExprs[idx];
           if (compensate != null) {
             try {
-              Exec.exec(compensate, capturedFrames[idx]);
+              compensate.executeGeneric(capturedFrames[idx]);
             } catch (Throwable t) {
               // 补偿失败记录日志但继续执行其他补偿
               logger.log(Level.WARNING,
@@ -0,0 +1,264 @@
+package aster.truffle.nodes.parallel;
+
+import aster.truffle.AsterContext;
+import aster.truffle.AsterLanguage;
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleSafepoint;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 并行 List 操作的执行器：由 {@link AsterContext} 持有独立的 fork/join 线程池，不再与宿主
+ * （如 Quarkus worker）共用 {@link ForkJoinPool#commonPool()}。
+ *
+ * <p>设计要点：
+ * <ul>
+ *   <li>线程数、触发并行的最小长度、每块目标耗时由语言选项配置（见 {@link AsterLanguage}），
+ *       上下文销毁时关闭线程池；</li>
+ *   <li>块大小自适应：按 CallTarget 记录并行执行时 worker 上实测的单元素耗时（指数滑动平均），块大小取
+ *       「目标块耗时 / 单元素耗时」；估计的总工作量不足两块时直接顺序执行。尚无实测时用默认块大小；</li>
+ *   <li>取消：worker 线程未进入上下文，无法在其上处理 safepoint。提交线程经
+ *       {@link TruffleSafepoint#setBlockedThreadInterruptible} 阻塞等待，上下文取消/关闭的
+ *       safepoint 动作抛出时标记本次执行取消，各 worker 在下一块开始前停止；</li>
+ *   <li>不在上下文中执行时（如直接调用 CallTarget 的单元测试）使用进程级共享的默认执行器。</li>
+ * </ul>
+ */
+public final class ParallelExecutor {
+  public static final int DEFAULT_MIN_PARALLEL_SIZE = 256;
+  public static final int DEFAULT_CHUNK_SIZE = 128;
+  public static final int DEFAULT_CHUNK_MICROS = 50;
+
+  /** 自适应块大小的下限，避免极重的 lambda 退化为单元素任务的调度开销。 */
+  private static final int MIN_CHUNK_SIZE = 4;
+  /** 新样本在滑动平均中的权重为 1/EWMA_WEIGHT。 */
+  private static final int EWMA_WEIGHT = 4;
+
+  private static final AtomicInteger POOL_SEQ = new AtomicInteger();
+
+  private final ForkJoinPool pool;
+  private final int parallelism;
+  private final int minParallelSize;
+  private final long targetChunkNanos;
+  /** CallTarget → 单元素耗时（纳秒）的滑动平均。 */
+  private final Map<CallTarget, Long> costNanos = new ConcurrentHashMap<>();
+  private volatile boolean closed;
+
+  /**
+   * @param threads 工作线程数；≤ 0 时取可用处理器数，1 表示关闭并行
+   * @param minParallelSize 触发并行的最小列表长度
+   * @param chunkMicros 每块的目标耗时（微秒）
+   */
+  public ParallelExecutor(int threads, int minParallelSize, int chunkMicros) {
+    this.parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    this.minParallelSize = Math.max(1, minParallelSize);
+    this.targetChunkNanos = Math.max(1, chunkMicros) * 1_000L;
+    this.pool = parallelism > 1 ? new ForkJoinPool(parallelism, workerFactory(), null, false) : null;
+  }
+
+  private static ForkJoinPool.ForkJoinWorkerThreadFactory workerFactory() {
+    int poolId = POOL_SEQ.incrementAndGet();
+    AtomicInteger threadSeq = new AtomicInteger();
+    return p -> {
+      ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+      // 守护线程：上下文未关闭时也不阻挡 JVM 退出
+      t.setDaemon(true);
+      t.setName("aster-parallel-" + poolId + "-" + threadSeq.incrementAndGet());
+      return t;
+    };
+  }
+
+  /** 当前上下文的执行器；不在上下文中时返回共享的默认执行器。 */
+  public static ParallelExecutor current() {
+    AsterContext context = currentContext();
+    return context != null ? context.getParallelExecutor() : DefaultHolder.INSTANCE;
+  }
+
+  /** 当前线程已进入的上下文；worker 线程与未进入上下文的线程为 null（见 {@link AsterLanguage#getContextOrNull}）。 */
+  private static AsterContext currentContext() {
+    return AsterLanguage.getContextOrNull();
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /** 列表够大、并行开启且执行器未关闭时值得并行（不考虑元素耗时）。 */
+  public boolean shouldParallelize(int size) {
+    return pool != null && !closed && size >= minParallelSize;
+  }
+
+  /** 在 {@link #shouldParallelize(int)} 基础上，按 target 的实测单元素耗时排除总工作量过小的列表。 */
+  public boolean shouldParallelize(int size, CallTarget target) {
+    if (!shouldParallelize(size)) {
+      return false;
+    }
+    Long cost = target != null ? costNanos.get(target) : null;
+    return cost == null || (double) size * cost >= 2.0 * targetChunkNanos;
+  }
+
+  /** 块大小：有实测耗时时使一块约耗 targetChunkNanos，并保证各线程都能分到块。 */
+  public int chunkSize(int size, CallTarget target) {
+    Long cost = target != null ? costNanos.get(target) : null;
+    if (cost == null) {
+      return DEFAULT_CHUNK_SIZE;
+    }
+    long bySize = Math.max(MIN_CHUNK_SIZE, targetChunkNanos / Math.max(1L, cost));
+    int perThread = Math.max(MIN_CHUNK_SIZE, size / parallelism);
+    return (int) Math.min(bySize, perThread);
+  }
+
+  /** 记录一次并行执行的单元素耗时（供测试与外部度量注入）。 */
+  public void recordCost(CallTarget target, long nanosPerElement) {
+    if (target == null) {
+      return;
+    }
+    long sample = Math.max(1L, nanosPerElement);
+    costNanos.merge(target, sample, (old, s) -> old + (s - old) / EWMA_WEIGHT);
+  }
+
+  /** 按块处理 [0, size)，块 i 覆盖 [i × chunkSize, min(size, (i + 1) × chunkSize))。 */
+  @FunctionalInterface
+  public interface ChunkBody {
+    void apply(int chunk, int start, int end);
+  }
+
+  /**
+   * 并行执行所有块，返回后全部块已完成。measured 非 null 时以本次实测更新其单元素耗时。
+   * 块内抛出的异常经 {@link ForkJoinTask#join} 重抛给调用方。
+   */
+  @TruffleBoundary
+  public void forEachChunk(int size, int chunkSize, CallTarget measured, ChunkBody body) {
+    int chunks = (size + chunkSize - 1) / chunkSize;
+    if (chunks == 0) {
+      return;
+    }
+    if (pool == null || closed) {
+      // 并行关闭（或执行器已关闭）：在当前线程按块顺序执行，结果布局不变
+      for (int c = 0; c < chunks; c++) {
+        body.apply(c, c * chunkSize, Math.min(size, (c + 1) * chunkSize));
+      }
+      return;
+    }
+    Run run = new Run(body, size, chunkSize);
+    await(pool.submit(new ChunkTask(run, 0, chunks)), run);
+    if (measured != null) {
+      recordCost(measured, run.busyNanos.sum() / size);
+    }
+  }
+
+  /** 在线程池中执行任意 fork/join 任务（如并行排序），等待方式同 {@link #forEachChunk}。 */
+  @TruffleBoundary
+  public void invoke(RecursiveAction task) {
+    if (pool == null || closed) {
+      task.invoke();
+      return;
+    }
+    await(pool.submit(task), null);
+  }
+
+  private void await(ForkJoinTask<?> task, Run run) {
+    boolean done = false;
+    try {
+      if (currentContext() != null) {
+        TruffleSafepoint.setBlockedThreadInterruptible(null, ParallelExecutor::awaitQuietly, task);
+      } else {
+        awaitQuietly(task);
+      }
+      done = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("parallel list operation interrupted");
+    } finally {
+      if (!done) {
+        // 上下文取消/关闭等经 safepoint 抛出：通知 worker 停止
+        if (run != null) {
+          run.cancelled = true;
+        }
+        task.cancel(true);
+      }
+    }
+    // 已完成：块内抛出的异常由 join 重抛
+    task.join();
+  }
+
+  private static void awaitQuietly(ForkJoinTask<?> task) throws InterruptedException {
+    try {
+      task.get();
+    } catch (ExecutionException | CancellationException e) {
+      // 由调用方 join 重抛
+    }
+  }
+
+  /** 上下文销毁时调用：停止接收新任务并中断正在执行的 worker。 */
+  public void close() {
+    closed = true;
+    if (pool != null) {
+      pool.shutdownNow();
+    }
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  private static final class Run {
+    final ChunkBody body;
+    final int size;
+    final int chunkSize;
+    /** 各块在 worker 上的累计耗时。 */
+    final LongAdder busyNanos = new LongAdder();
+    volatile boolean cancelled;
+
+    Run(ChunkBody body, int size, int chunkSize) {
+      this.body = body;
+      this.size = size;
+      this.chunkSize = chunkSize;
+    }
+  }
+
+  private final class ChunkTask extends RecursiveAction {
+    private final Run run;
+    private final int fromChunk;
+    private final int toChunk;
+
+    private ChunkTask(Run run, int fromChunk, int toChunk) {
+      this.run = run;
+      this.fromChunk = fromChunk;
+      this.toChunk = toChunk;
+    }
+
+    @Override
+    protected void compute() {
+      if (run.cancelled || closed) {
+        throw new CancellationException("parallel list operation cancelled");
+      }
+      if (toChunk - fromChunk == 1) {
+        int start = fromChunk * run.chunkSize;
+        long begin = System.nanoTime();
+        run.body.apply(fromChunk, start, Math.min(run.size, start + run.chunkSize));
+        run.busyNanos.add(System.nanoTime() - begin);
+        return;
+      }
+      int mid = (fromChunk + toChunk) >>> 1;
+      ChunkTask right = new ChunkTask(run, mid, toChunk);
+      right.fork();
+      new ChunkTask(run, fromChunk, mid).compute();
+      right.join();
+    }
+  }
+
+  /** 上下文之外使用的默认执行器，按默认选项惰性创建。 */
+  private static final class DefaultHolder {
+    static final ParallelExecutor INSTANCE =
+        new ParallelExecutor(0, DEFAULT_MIN_PARALLEL_SIZE, DEFAULT_CHUNK_MICROS);
+  }
+}
@@ -2,15 +2,13 @@ package aster.truffle.nodes.parallel;
 
 import aster.truffle.nodes.LambdaValue;
 import aster.truffle.nodes.Profiler;
+import aster.truffle.runtime.AsterList;
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.nodes.Node;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.RecursiveAction;
 
 /**
- * List.map 并行执行节点，使用 ForkJoinPool.commonPool() 调度任务。
+ * List.map 并行执行节点，在当前上下文的 {@link ParallelExecutor} 上调度任务。
  *
  * <p>设计要点：
  * <ul>
@@ -21,10 +19,6 @@ import java.util.concurrent.RecursiveAction;
  * </ul>
  */
 public final class ParallelListMapNode extends Node {
-  private static final ForkJoinPool POOL = ForkJoinPool.commonPool();
-  private static final int MIN_PARALLEL_SIZE = 256;
-  private static final int CHUNK_SIZE = 128;
-
   public static ParallelListMapNode create() {
     return new ParallelListMapNode();
   }
@@ -33,11 +27,7 @@ public final class ParallelListMapNode extends Node {
    * 判断给定列表是否值得并行化。
    */
   public boolean shouldParallelize(int size) {
-    if (size < MIN_PARALLEL_SIZE) {
-      return false;
-    }
-    // 当 commonPool 仍处于单线程配置时跳过并行路径
-    return POOL.getParallelism() > 1;
+    return ParallelListOps.shouldParallelize(size);
   }
 
   /**
@@ -49,7 +39,7 @@ public final class ParallelListMapNode extends Node {
    */
   public List<Object> execute(List<?> source, LambdaValue lambda) {
     if (source == null || source.isEmpty()) {
-      return new ArrayList<>();
+      return new AsterList();
     }
     CallTarget callTarget = lambda.getCallTarget();
     if (callTarget == null) {
@@ -58,24 +48,40 @@ public final class ParallelListMapNode extends Node {
     Object[] capturedValues = lambda.getCapturedValues();
     int size = source.size();
 
-    if (!shouldParallelize(size)) {
+    if (!ParallelListOps.shouldParallelize(size, lambda)) {
       return executeSequential(source, callTarget, capturedValues);
     }
 
     Profiler.inc("builtin_list_map_parallel");
-    Object[] results = new Object[size];
-    MapTask root = new MapTask(source, results, 0, size, callTarget, capturedValues);
-    POOL.invoke(root);
+    Object[] results = ParallelListOps.mapValues(source, lambda);
 
-    List<Object> output = new ArrayList<>(size);
+    List<Object> output = new AsterList(size);
     for (Object value : results) {
       output.add(value);
     }
     return output;
   }
 
+  /** 按块处理 [start, end) 下标区间；块内顺序执行，各块可能在不同线程上并发。 */
+  @FunctionalInterface
+  public interface ChunkBody {
+    void apply(int start, int end);
+  }
+
+  /**
+   * 以与 map 相同的分块策略并行执行 body，供融合的 List 流水线等复用。
+   * 调用方负责每块写入互不重叠的结果区间。
+   */
+  public void forEachChunk(int size, ChunkBody body) {
+    if (!shouldParallelize(size)) {
+      body.apply(0, size);
+      return;
+    }
+    ParallelListOps.forEachChunk(size, (chunk, start, end) -> body.apply(start, end));
+  }
+
   private List<Object> executeSequential(List<?> source, CallTarget target, Object[] capturedValues) {
-    List<Object> result = new ArrayList<>(source.size());
+    List<Object> result = new AsterList(source.size());
     Object[] packedArgs = new Object[1 + capturedValues.length];
     if (capturedValues.length > 0) {
       System.arraycopy(capturedValues, 0, packedArgs, 1, capturedValues.length);
@@ -86,54 +92,4 @@ public final class ParallelListMapNode extends Node {
     }
     return result;
   }
-
-  private static final class MapTask extends RecursiveAction {
-    private final List<?> source;
-    private final Object[] result;
-    private final int start;
-    private final int end;
-    private final CallTarget target;
-    private final Object[] capturedValues;
-
-    private MapTask(
-        List<?> source,
-        Object[] result,
-        int start,
-        int end,
-        CallTarget target,
-        Object[] capturedValues) {
-      this.source = source;
-      this.result = result;
-      this.start = start;
-      this.end = end;
-      this.target = target;
-      this.capturedValues = capturedValues;
-    }
-
-    @Override
-    protected void compute() {
-      int length = end - start;
-      if (length <= CHUNK_SIZE) {
-        applySequential();
-        return;
-      }
-      int mid = start + (length / 2);
-      MapTask left = new MapTask(source, result, start, mid, target, capturedValues);
-      MapTask right = new MapTask(source, result, mid, end, target, capturedValues);
-      right.fork();
-      left.compute();
-      right.join();
-    }
-
-    private void applySequential() {
-      Object[] packedArgs = new Object[1 + capturedValues.length];
-      if (capturedValues.length > 0) {
-        System.arraycopy(capturedValues, 0, packedArgs, 1, capturedValues.length);
-      }
-      for (int i = start; i < end; i++) {
-        packedArgs[0] = source.get(i);
-        result[i] = target.call(packedArgs);
-      }
-    }
-  }
 }
@@ -0,0 +1,259 @@
+package aster.truffle.nodes.parallel;
+
+import aster.truffle.nodes.LambdaValue;
+import aster.truffle.nodes.Profiler;
+import aster.truffle.runtime.AsterList;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 纯 lambda 驱动的 List 操作的 fork/join 实现（filter/count/sortBy/groupBy/minBy/maxBy/reduce）。
+ *
+ * <p>设计要点：
+ * <ul>
+ *   <li>在当前上下文的 {@link ParallelExecutor} 上执行（与 {@link ParallelListMapNode} 共用）；列表按块
+ *       切成连续区间，块大小随 lambda 的实测单元素耗时自适应，块内顺序执行，块的结果按块序合并，
+ *       输出顺序与顺序执行一致；</li>
+ *   <li>只负责调度：调用方先确认 lambda 为纯函数、列表够大（{@link #shouldParallelize}），
+ *       并在并行执行抛错时按顺序路径重放以得到确定的错误；</li>
+ *   <li>lambda 经 CallTarget.call() 调用，每块使用独立参数数组。</li>
+ * </ul>
+ */
+public final class ParallelListOps {
+  /** 归并排序中不再拆分的区间长度。 */
+  private static final int SORT_LEAF_SIZE = 1024;
+
+  private ParallelListOps() {}
+
+  /** 判断给定列表是否值得并行化（列表够大且当前执行器开启了并行）。 */
+  public static boolean shouldParallelize(int size) {
+    return ParallelExecutor.current().shouldParallelize(size);
+  }
+
+  /** 同 {@link #shouldParallelize(int)}，并按 fn 的实测单元素耗时排除总工作量过小的列表。 */
+  public static boolean shouldParallelize(int size, LambdaValue fn) {
+    return ParallelExecutor.current().shouldParallelize(size, fn.getCallTarget());
+  }
+
+  /** 按块处理区间；各块可能在不同线程上并发，调用方按块号写入互不重叠的结果。 */
+  @FunctionalInterface
+  public interface ChunkBody {
+    void apply(int chunk, int start, int end);
+  }
+
+  /** 以默认块大小并行执行所有块，返回后全部块已完成。 */
+  @TruffleBoundary
+  public static void forEachChunk(int size, ChunkBody body) {
+    ParallelExecutor.current().forEachChunk(size, ParallelExecutor.DEFAULT_CHUNK_SIZE, null, body::apply);
+  }
+
+  /** 对每个元素调用 fn，结果按下标存放。 */
+  @TruffleBoundary
+  public static Object[] mapValues(List<?> source, LambdaValue fn) {
+    Object[] results = new Object[source.size()];
+    forEachChunk(source.size(), fn, (chunk, start, end) -> {
+      Object[] packedArgs = packedArgs(fn, 1);
+      for (int i = start; i < end; i++) {
+        packedArgs[0] = source.get(i);
+        results[i] = fn.getCallTarget().call(packedArgs);
+      }
+    });
+    return results;
+  }
+
+  /** 并行标记（谓词为 Boolean.TRUE）后按块前缀和压缩，保留原顺序。 */
+  @TruffleBoundary
+  public static AsterList filter(List<?> source, LambdaValue predicate) {
+    Profiler.inc("builtin_list_filter_parallel");
+    int size = source.size();
+    boolean[] keep = new boolean[size];
+    ParallelExecutor executor = ParallelExecutor.current();
+    int chunkSize = executor.chunkSize(size, predicate.getCallTarget());
+    int[] kept = new int[chunkCount(size, chunkSize)];
+    executor.forEachChunk(size, chunkSize, predicate.getCallTarget(), (chunk, start, end) -> {
+      Object[] packedArgs = packedArgs(predicate, 1);
+      int n = 0;
+      for (int i = start; i < end; i++) {
+        packedArgs[0] = source.get(i);
+        if (Boolean.TRUE.equals(predicate.getCallTarget().call(packedArgs))) {
+          keep[i] = true;
+          n++;
+        }
+      }
+      kept[chunk] = n;
+    });
+    int[] offsets = new int[kept.length];
+    int total = 0;
+    for (int c = 0; c < kept.length; c++) {
+      offsets[c] = total;
+      total += kept[c];
+    }
+    Object[] out = new Object[total];
+    executor.forEachChunk(size, chunkSize, null, (chunk, start, end) -> {
+      int at = offsets[chunk];
+      for (int i = start; i < end; i++) {
+        if (keep[i]) {
+          out[at++] = source.get(i);
+        }
+      }
+    });
+    return AsterList.copyOf(java.util.Arrays.asList(out));
+  }
+
+  /** 满足谓词（Boolean.TRUE）的元素个数。 */
+  @TruffleBoundary
+  public static int count(List<?> source, LambdaValue predicate) {
+    Profiler.inc("builtin_list_count_parallel");
+    int size = source.size();
+    ParallelExecutor executor = ParallelExecutor.current();
+    int chunkSize = executor.chunkSize(size, predicate.getCallTarget());
+    int[] counts = new int[chunkCount(size, chunkSize)];
+    executor.forEachChunk(size, chunkSize, predicate.getCallTarget(), (chunk, start, end) -> {
+      Object[] packedArgs = packedArgs(predicate, 1);
+      int n = 0;
+      for (int i = start; i < end; i++) {
+        packedArgs[0] = source.get(i);
+        if (Boolean.TRUE.equals(predicate.getCallTarget().call(packedArgs))) {
+          n++;
+        }
+      }
+      counts[chunk] = n;
+    });
+    int total = 0;
+    for (int n : counts) {
+      total += n;
+    }
+    return total;
+  }
+
+  /**
+   * 按块归约后按块序合并：块 0 从 init 开始折叠，其余块从块首元素开始，再依次
+   * fn(左侧累计, 块结果)。仅在 fn 可结合时与顺序折叠结果一致，由调用方保证。
+   */
+  @TruffleBoundary
+  public static Object reduce(List<?> source, Object init, LambdaValue fn) {
+    Profiler.inc("builtin_list_reduce_parallel");
+    int size = source.size();
+    ParallelExecutor executor = ParallelExecutor.current();
+    int chunkSize = executor.chunkSize(size, fn.getCallTarget());
+    Object[] partials = new Object[chunkCount(size, chunkSize)];
+    executor.forEachChunk(size, chunkSize, fn.getCallTarget(), (chunk, start, end) -> {
+      Object[] packedArgs = packedArgs(fn, 2);
+      Object acc = chunk == 0 ? init : source.get(start);
+      for (int i = chunk == 0 ? start : start + 1; i < end; i++) {
+        packedArgs[0] = acc;
+        packedArgs[1] = source.get(i);
+        acc = fn.getCallTarget().call(packedArgs);
+      }
+      partials[chunk] = acc;
+    });
+    Object[] packedArgs = packedArgs(fn, 2);
+    Object acc = partials[0];
+    for (int c = 1; c < partials.length; c++) {
+      packedArgs[0] = acc;
+      packedArgs[1] = partials[c];
+      acc = fn.getCallTarget().call(packedArgs);
+    }
+    return acc;
+  }
+
+  /**
+   * 按键升序的稳定排序（并行归并排序），返回排序后的原下标。
+   * 键比较用 {@link Double#compare}，相等键保持原顺序，与 {@code List.sort} 稳定排序一致。
+   */
+  @TruffleBoundary
+  public static int[] stableOrder(double[] keys) {
+    int n = keys.length;
+    int[] order = new int[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    ParallelExecutor.current().invoke(new SortTask(order, new int[n], keys, 0, n));
+    return order;
+  }
+
+  /** 以 fn 的自适应块大小并行执行，并以本次实测更新 fn 的单元素耗时。 */
+  private static void forEachChunk(int size, LambdaValue fn, ChunkBody body) {
+    ParallelExecutor executor = ParallelExecutor.current();
+    executor.forEachChunk(size, executor.chunkSize(size, fn.getCallTarget()), fn.getCallTarget(), body::apply);
+  }
+
+  private static int chunkCount(int size, int chunkSize) {
+    return (size + chunkSize - 1) / chunkSize;
+  }
+
+  private static Object[] packedArgs(LambdaValue fn, int arity) {
+    Object[] captured = fn.getCapturedValues();
+    Object[] packedArgs = new Object[arity + captured.length];
+    System.arraycopy(captured, 0, packedArgs, arity, captured.length);
+    return packedArgs;
+  }
+
+  private static final class SortTask extends RecursiveAction {
+    private final int[] order;
+    private final int[] buffer;
+    private final double[] keys;
+    private final int lo;
+    private final int hi;
+
+    private SortTask(int[] order, int[] buffer, double[] keys, int lo, int hi) {
+      this.order = order;
+      this.buffer = buffer;
+      this.keys = keys;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= SORT_LEAF_SIZE) {
+        sortSequential(lo, hi);
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new SortTask(order, buffer, keys, lo, mid), new SortTask(order, buffer, keys, mid, hi));
+      merge(lo, mid, hi);
+    }
+
+    private void sortSequential(int from, int to) {
+      if (to - from <= 16) {
+        // 插入排序：只在严格小于时前移，保持稳定
+        for (int i = from + 1; i < to; i++) {
+          int v = order[i];
+          int j = i - 1;
+          while (j >= from && Double.compare(keys[order[j]], keys[v]) > 0) {
+            order[j + 1] = order[j];
+            j--;
+          }
+          order[j + 1] = v;
+        }
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      sortSequential(from, mid);
+      sortSequential(mid, to);
+      merge(from, mid, to);
+    }
+
+    /** 合并相邻有序区间；键相等时取左侧，保持稳定。 */
+    private void merge(int from, int mid, int to) {
+      if (Double.compare(keys[order[mid - 1]], keys[order[mid]]) <= 0) {
+        return;
+      }
+      System.arraycopy(order, from, buffer, from, to - from);
+      int i = from;
+      int j = mid;
+      int k = from;
+      while (i < mid && j < to) {
+        order[k++] = Double.compare(keys[buffer[j]], keys[buffer[i]]) < 0 ? buffer[j++] : buffer[i++];
+      }
+      while (i < mid) {
+        order[k++] = buffer[i++];
+      }
+      while (j < to) {
+        order[k++] = buffer[j++];
+      }
+    }
+  }
+}
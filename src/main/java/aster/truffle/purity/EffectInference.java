@@ -0,0 +1,229 @@
+package aster.truffle.purity;
+
+import aster.truffle.core.CoreModel;
+import aster.truffle.runtime.Builtins;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 构建期的静态 effect 推断：在 Core IR 上计算每个函数、每个 lambda 实际可能产生的 effect 集合。
+ *
+ * <p>规则：
+ * <ul>
+ *   <li>函数的 effect = 声明的 effect ∪ 函数体内所有调用的 effect，跨函数传递（含递归，
+ *       在调用图上迭代到不动点）；</li>
+ *   <li>builtin 调用取 {@link Builtins#getEffects}；会调用函数参数的 builtin
+ *       （{@link Builtins#callsFunctionArgs}，如 List.map）还计入被传入的 lambda / 函数的 effect；</li>
+ *   <li>start/wait/await 与 workflow 计为 Async（workflow 另计其 effectCaps）；</li>
+ *   <li>调用静态不可知的函数值（参数、局部变量、成员、未知名字）计为 {@link #UNKNOWN}，
+ *       即保守地视为非纯；</li>
+ *   <li>创建 lambda 本身无 effect，其函数体的 effect 只在被调用处计入。</li>
+ * </ul>
+ *
+ * <p>名字解析与 Loader 一致：未被用户函数遮蔽的 builtin 优先，其次是词法作用域内的局部名，最后是用户函数。
+ */
+public final class EffectInference {
+  /** 调用静态不可知的函数值时记录的 effect。 */
+  public static final String UNKNOWN = "Unknown";
+
+  private final Map<String, CoreModel.Func> funcs;
+  private final Map<String, Set<String>> functionEffects = new HashMap<>();
+
+  public EffectInference(Map<String, CoreModel.Func> funcs) {
+    this.funcs = funcs;
+    for (var e : funcs.entrySet()) {
+      functionEffects.put(e.getKey(), declared(e.getValue()));
+    }
+    // effect 集合只增不减且有限，迭代必然收敛
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (var e : funcs.entrySet()) {
+        CoreModel.Func fn = e.getValue();
+        Set<String> next = declared(fn);
+        next.addAll(new Walker(scopeOf(fn.params, null, fn.body)).block(fn.body));
+        if (!next.equals(functionEffects.get(e.getKey()))) {
+          functionEffects.put(e.getKey(), next);
+          changed = true;
+        }
+      }
+    }
+  }
+
+  /** 函数的 effect 集合；未知函数返回 {@link #UNKNOWN}。 */
+  public Set<String> functionEffects(String name) {
+    Set<String> effects = functionEffects.get(name);
+    return effects != null ? Set.copyOf(effects) : Set.of(UNKNOWN);
+  }
+
+  /** lambda 函数体被调用时的 effect 集合。 */
+  public Set<String> lambdaEffects(CoreModel.Lambda lam) {
+    return Set.copyOf(new Walker(scopeOf(lam.params, lam.captures, lam.body)).block(lam.body));
+  }
+
+  private static Set<String> declared(CoreModel.Func fn) {
+    return fn.effects != null ? new TreeSet<>(fn.effects) : new TreeSet<>();
+  }
+
+  /** 函数 / lambda 体内可见的局部名：参数、捕获变量与体内绑定的名字（不进入嵌套 lambda）。 */
+  private static Set<String> scopeOf(List<CoreModel.Param> params, List<String> captures, CoreModel.Block body) {
+    Set<String> locals = new HashSet<>();
+    if (params != null) for (var p : params) locals.add(p.name);
+    if (captures != null) locals.addAll(captures);
+    collectBindings(body, locals);
+    return locals;
+  }
+
+  private static void collectBindings(CoreModel.Block block, Set<String> out) {
+    if (block == null || block.statements == null) return;
+    for (var s : block.statements) collectBindings(s, out);
+  }
+
+  private static void collectBindings(CoreModel.Stmt s, Set<String> out) {
+    if (s instanceof CoreModel.Let let) {
+      out.add(let.name);
+    } else if (s instanceof CoreModel.Set set) {
+      out.add(set.name);
+    } else if (s instanceof CoreModel.Start start) {
+      out.add(start.name);
+    } else if (s instanceof CoreModel.If iff) {
+      collectBindings(iff.thenBlock, out);
+      collectBindings(iff.elseBlock, out);
+    } else if (s instanceof CoreModel.Scope sc) {
+      if (sc.statements != null) for (var inner : sc.statements) collectBindings(inner, out);
+    } else if (s instanceof CoreModel.Match m) {
+      if (m.cases != null) for (var c : m.cases) {
+        collectBindings(c.pattern, out);
+        if (c.body != null) collectBindings(c.body, out);
+      }
+    } else if (s instanceof CoreModel.Workflow wf) {
+      if (wf.steps != null) for (var step : wf.steps) {
+        collectBindings(step.body, out);
+        collectBindings(step.compensate, out);
+      }
+    }
+  }
+
+  private static void collectBindings(CoreModel.Pattern p, Set<String> out) {
+    if (p instanceof CoreModel.PatName pn) {
+      out.add(pn.name);
+    } else if (p instanceof CoreModel.PatCtor pc) {
+      if (pc.names != null) out.addAll(pc.names);
+      if (pc.args != null) for (var arg : pc.args) collectBindings(arg, out);
+    }
+  }
+
+  /** 在给定局部作用域内累计 effect。 */
+  private final class Walker {
+    private final Set<String> locals;
+    private final Set<String> out = new TreeSet<>();
+
+    Walker(Set<String> locals) {
+      this.locals = locals;
+    }
+
+    Set<String> block(CoreModel.Block b) {
+      if (b != null && b.statements != null) for (var s : b.statements) stmt(s);
+      return out;
+    }
+
+    private void stmt(CoreModel.Stmt s) {
+      if (s instanceof CoreModel.Return r) {
+        expr(r.expr);
+      } else if (s instanceof CoreModel.If iff) {
+        expr(iff.cond);
+        block(iff.thenBlock);
+        block(iff.elseBlock);
+      } else if (s instanceof CoreModel.Let let) {
+        expr(let.expr);
+      } else if (s instanceof CoreModel.Set set) {
+        expr(set.expr);
+      } else if (s instanceof CoreModel.Start start) {
+        out.add("Async");
+        expr(start.expr);
+      } else if (s instanceof CoreModel.Wait) {
+        out.add("Async");
+      } else if (s instanceof CoreModel.Match m) {
+        expr(m.expr);
+        if (m.cases != null) for (var c : m.cases) if (c.body != null) stmt(c.body);
+      } else if (s instanceof CoreModel.Scope sc) {
+        if (sc.statements != null) for (var inner : sc.statements) stmt(inner);
+      } else if (s instanceof CoreModel.Workflow wf) {
+        out.add("Async");
+        if (wf.effectCaps != null) out.addAll(wf.effectCaps);
+        if (wf.steps != null) for (var step : wf.steps) {
+          if (step.effectCaps != null) out.addAll(step.effectCaps);
+          block(step.body);
+          block(step.compensate);
+        }
+      }
+    }
+
+    private void expr(CoreModel.Expr e) {
+      if (e instanceof CoreModel.Call c) {
+        call(c);
+      } else if (e instanceof CoreModel.AwaitE aw) {
+        out.add("Async");
+        expr(aw.expr);
+      } else if (e instanceof CoreModel.Ok ok) {
+        expr(ok.expr);
+      } else if (e instanceof CoreModel.Err err) {
+        expr(err.expr);
+      } else if (e instanceof CoreModel.Some some) {
+        expr(some.expr);
+      } else if (e instanceof CoreModel.Construct ctor) {
+        if (ctor.fields != null) for (var f : ctor.fields) expr(f.expr);
+      } else if (e instanceof CoreModel.IfE ife) {
+        expr(ife.cond);
+        expr(ife.thenE);
+        expr(ife.elseE);
+      } else if (e instanceof CoreModel.ListE list) {
+        if (list.elements != null) for (var el : list.elements) expr(el);
+      }
+      // 字面量、名字读取与 lambda 创建无 effect
+    }
+
+    private void call(CoreModel.Call c) {
+      if (c.args != null) for (var arg : c.args) expr(arg);
+      if (!(c.target instanceof CoreModel.Name target)) {
+        expr(c.target);
+        out.add(UNKNOWN);
+        return;
+      }
+      String name = target.name;
+      Set<String> builtinEffects = funcs.containsKey(name) ? null : Builtins.getEffects(name);
+      if (builtinEffects != null) {
+        out.addAll(builtinEffects);
+        if (Builtins.callsFunctionArgs(name) && c.args != null && !c.args.isEmpty()) {
+          // 这些 builtin 的函数参数都在最后一位（List.map(xs, f)、List.reduce(xs, init, f) 等）
+          invoked(c.args.get(c.args.size() - 1));
+        }
+      } else {
+        callee(name);
+      }
+    }
+
+    /** 作为函数值被 builtin 调用的参数：lambda 字面量与用户函数名可知，其余（如调用结果）不可知。 */
+    private void invoked(CoreModel.Expr fn) {
+      if (fn instanceof CoreModel.Lambda lam) {
+        out.addAll(lambdaEffects(lam));
+      } else if (fn instanceof CoreModel.Name n) {
+        callee(n.name);
+      } else {
+        out.add(UNKNOWN);
+      }
+    }
+
+    private void callee(String name) {
+      if (locals.contains(name) || name.contains(".") || !funcs.containsKey(name)) {
+        out.add(UNKNOWN);
+      } else {
+        out.addAll(functionEffects.get(name));
+      }
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package aster.truffle.purity;
+
+import java.util.Set;
+
+/**
+ * 由构建期静态分析得出的函数 effect 摘要，由函数的 RootNode 持有（见 {@link EffectInference}）。
+ */
+public interface EffectSummary {
+
+  /** 推断出的 effect 集合（含声明的 effect）；空集表示纯函数。 */
+  Set<String> inferredEffects();
+
+  /** 是否为纯函数：无任何 effect，且不调用静态不可知的函数值。 */
+  boolean isPure();
+
+  /**
+   * 函数体恰为 {@code op(第一个参数, 第二个参数)} 且 op 是可结合 builtin 时的 canonical 名，否则 null。
+   */
+  String associativeOp();
+}
@@ -1,45 +1,56 @@
 package aster.truffle.purity;
 
+import aster.truffle.nodes.LambdaValue;
 import com.oracle.truffle.api.CallTarget;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import com.oracle.truffle.api.RootCallTarget;
 
 /**
- * 纯度分析器：根据 effect 元数据判定函数是否为纯函数。
+ * 纯度查询：读取函数 RootNode 上由 {@link EffectInference} 在构建期写入的 {@link EffectSummary}。
  *
- * <p>运行时在创建 LambdaValue 时调用 {@link #recordEffects} 注册纯度信息。</p>
+ * <p>摘要是 RootNode 的 {@code @CompilationFinal} 字段，CallTarget 为编译期常量时纯度判定随之折叠；
+ * 不再维护跨上下文共享的全局表。不带摘要的 RootNode（非 Loader 构建，如宿主直接创建的 CallTarget）
+ * 只能依据 {@link LambdaValue} 上声明的 effect 判定。
  */
 public final class PurityAnalyzer {
-  private static final Map<CallTarget, Boolean> CACHE = new ConcurrentHashMap<>();
-
   private PurityAnalyzer() {}
 
   /**
-   * 注册 CallTarget 与 effect 元数据。
+   * 判定目标函数是否为纯函数。
    *
-   * @param target 对应的 CallTarget
-   * @param requiredEffects 函数声明的 effect 列表（null 或空列表视为纯函数）
+   * @param target 需要检测的 CallTarget
+   * @return true 表示纯函数，可参与并行化；false 表示含副作用或未知，需走顺序路径
+   */
+  public static boolean isPure(CallTarget target) {
+    EffectSummary summary = summaryOf(target);
+    return summary != null && summary.isPure();
+  }
+
+  /**
+   * 判定 lambda 值是否为纯函数：优先使用静态推断的摘要，没有摘要时退回声明的 effect。
    */
-  public static void recordEffects(CallTarget target, Set<String> requiredEffects) {
+  public static boolean isPure(LambdaValue lambda) {
+    CallTarget target = lambda.getCallTarget();
     if (target == null) {
-      return;
+      return false;
     }
-    boolean pure = requiredEffects == null || requiredEffects.isEmpty();
-    CACHE.put(target, pure);
+    EffectSummary summary = summaryOf(target);
+    return summary != null ? summary.isPure() : lambda.getRequiredEffects().isEmpty();
   }
 
   /**
-   * 判定目标函数是否为纯函数。
+   * 查询 lambda 被证明的可结合运算。
    *
-   * @param target 需要检测的 CallTarget
-   * @return true 表示纯函数，可参与并行化；false 表示含副作用或未知，需走顺序路径
+   * @return canonical builtin 名；未识别为可结合时返回 null
    */
-  public static boolean isPure(CallTarget target) {
-    if (target == null) {
-      return false;
+  public static String associativeOp(CallTarget target) {
+    EffectSummary summary = summaryOf(target);
+    return summary != null ? summary.associativeOp() : null;
+  }
+
+  private static EffectSummary summaryOf(CallTarget target) {
+    if (target instanceof RootCallTarget rootTarget && rootTarget.getRootNode() instanceof EffectSummary summary) {
+      return summary;
     }
-    Boolean cached = CACHE.get(target);
-    return cached != null && cached;
+    return null;
   }
 }
@@ -0,0 +1,94 @@
+package aster.truffle.runtime;
+
+import aster.truffle.core.CoreModel;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Data 类型的共享布局（shape）：字段顺序与 名称 → 索引 表。
+ *
+ * 设计要点：
+ * - 每个 CoreModel.Data 定义在 Loader 中只构建一次，同类型的所有 AsterDataValue 共享同一实例
+ * - 实例本身只剩「布局引用 + 值数组」，构造时不再复制字段名、不再逐个建 LinkedHashMap
+ * - 布局按引用比较即可判定同构，MemberAccessNode / PatCtorNode 可以按布局缓存字段索引
+ */
+public final class AsterDataLayout {
+  private final String typeName;
+  private final String[] fieldNames;
+  private final Map<String, Integer> indexByName;
+  private final CoreModel.Data definition;
+
+  private AsterDataLayout(String typeName, String[] fieldNames, CoreModel.Data definition) {
+    this.typeName = typeName;
+    this.fieldNames = fieldNames;
+    this.definition = definition;
+    Map<String, Integer> index = new HashMap<>(fieldNames.length * 2);
+    for (int i = 0; i < fieldNames.length; i++) {
+      index.put(fieldNames[i], i);
+    }
+    this.indexByName = Collections.unmodifiableMap(index);
+  }
+
+  /**
+   * 按给定字段顺序创建布局（字段名数组会被复制）。
+   */
+  public static AsterDataLayout of(String typeName, String[] fieldNames, CoreModel.Data definition) {
+    if (fieldNames == null) {
+      throw new IllegalArgumentException("Data 布局字段名不能为空");
+    }
+    return new AsterDataLayout(typeName, Arrays.copyOf(fieldNames, fieldNames.length), definition);
+  }
+
+  /**
+   * 按 Data 定义的声明顺序创建布局（跳过无名字段、重名取首次出现位置，与 Loader 构造字段的排序规则一致）。
+   */
+  public static AsterDataLayout fromDefinition(CoreModel.Data definition) {
+    Set<String> names = new LinkedHashSet<>();
+    if (definition.fields != null) {
+      for (CoreModel.Field field : definition.fields) {
+        if (field != null && field.name != null) {
+          names.add(field.name);
+        }
+      }
+    }
+    return new AsterDataLayout(definition.name, names.toArray(new String[0]), definition);
+  }
+
+  public String getTypeName() {
+    return typeName;
+  }
+
+  public int fieldCount() {
+    return fieldNames.length;
+  }
+
+  public String fieldName(int index) {
+    return fieldNames[index];
+  }
+
+  /**
+   * @return 字段索引；不存在时返回 -1
+   */
+  public int indexOf(String name) {
+    Integer idx = indexByName.get(name);
+    return idx == null ? -1 : idx;
+  }
+
+  public CoreModel.Data getDefinition() {
+    return definition;
+  }
+
+  public List<String> getFieldNames() {
+    return List.of(fieldNames);
+  }
+
+  @Override
+  public String toString() {
+    return "AsterDataLayout(" + typeName + Arrays.toString(fieldNames) + ")";
+  }
+}
@@ -9,29 +9,43 @@ import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 运行时 Data 值对象，提供稳定的字段顺序与类型元数据。
  *
  * 设计要点：
- * - 通过字段索引缓存实现 O(1) 读取，避免 Map 包装带来的装箱与 rehash
- * - 保留 CoreModel.Data 定义，方便调试或未来的反射化特性
+ * - 字段顺序与 名称 → 索引 表存放在按 Data 定义共享的 {@link AsterDataLayout} 中，
+ *   实例只持有布局引用与值数组，构造时不再为每条记录复制字段名、重建索引 Map
+ * - 通过字段索引实现 O(1) 读取，避免 Map 包装带来的装箱与 rehash
+ * - 保留 CoreModel.Data 定义（经布局），方便调试或未来的反射化特性
  * - 与原有 `_type` 语义兼容，便于旧版模式匹配与 Polyglot 调用
  */
 @ExportLibrary(InteropLibrary.class)
 public final class AsterDataValue implements TruffleObject {
   private static final String META_TYPE = "_type";
 
-  private final String typeName;
-  private final String[] fieldNames;
+  private final AsterDataLayout layout;
   private final Object[] fieldValues;
-  private final Map<String, Integer> indexByName;
-  private final CoreModel.Data definition;
 
+  /**
+   * 以共享布局构造实例。值数组的所有权转移给实例，调用方不得再修改
+   * （ConstructNode 每次求值都新建数组，因此无需防御性复制）。
+   */
+  public AsterDataValue(AsterDataLayout layout, Object[] fieldValues) {
+    if (layout == null || fieldValues == null) {
+      throw new IllegalArgumentException("Data 值构造参数不能为空");
+    }
+    if (layout.fieldCount() != fieldValues.length) {
+      throw new IllegalArgumentException("字段名与字段值数量不一致: " + layout.getFieldNames());
+    }
+    this.layout = layout;
+    this.fieldValues = fieldValues;
+  }
+
+  /**
+   * 兼容构造：为单个实例临时建立布局并复制入参数组。热路径应使用共享布局的构造器。
+   */
   public AsterDataValue(String typeName, String[] fieldNames, Object[] fieldValues, CoreModel.Data definition) {
     if (fieldNames == null || fieldValues == null) {
       throw new IllegalArgumentException("Data 值构造参数不能为空");
@@ -39,27 +53,24 @@ public final class AsterDataValue implements TruffleObject {
     if (fieldNames.length != fieldValues.length) {
       throw new IllegalArgumentException("字段名与字段值数量不一致: " + Arrays.toString(fieldNames));
     }
-    this.typeName = typeName;
-    this.fieldNames = Arrays.copyOf(fieldNames, fieldNames.length);
+    this.layout = AsterDataLayout.of(typeName, fieldNames, definition);
     this.fieldValues = Arrays.copyOf(fieldValues, fieldValues.length);
-    this.definition = definition;
-    Map<String, Integer> index = new LinkedHashMap<>();
-    for (int i = 0; i < this.fieldNames.length; i++) {
-      index.put(this.fieldNames[i], i);
-    }
-    this.indexByName = Collections.unmodifiableMap(index);
+  }
+
+  public AsterDataLayout getLayout() {
+    return layout;
   }
 
   public String getTypeName() {
-    return typeName;
+    return layout.getTypeName();
   }
 
   public int fieldCount() {
-    return fieldNames.length;
+    return fieldValues.length;
   }
 
   public String fieldName(int index) {
-    return fieldNames[index];
+    return layout.fieldName(index);
   }
 
   public Object fieldValue(int index) {
@@ -67,20 +78,20 @@ public final class AsterDataValue implements TruffleObject {
   }
 
   public boolean hasField(String name) {
-    return indexByName.containsKey(name);
+    return layout.indexOf(name) >= 0;
   }
 
   public Object getField(String name) {
-    Integer idx = indexByName.get(name);
-    return idx == null ? null : fieldValues[idx];
+    int idx = layout.indexOf(name);
+    return idx < 0 ? null : fieldValues[idx];
   }
 
   public CoreModel.Data getDefinition() {
-    return definition;
+    return layout.getDefinition();
   }
 
   public List<String> getFieldNames() {
-    return List.copyOf(Arrays.asList(fieldNames));
+    return layout.getFieldNames();
   }
 
   @ExportMessage
@@ -90,24 +101,24 @@ public final class AsterDataValue implements TruffleObject {
 
   @ExportMessage
   Object getMembers(boolean includeInternal) {
-    ArrayList<Object> members = new ArrayList<>(fieldNames.length + 1);
+    ArrayList<Object> members = new ArrayList<>(fieldValues.length + 1);
     members.add(META_TYPE);
-    members.addAll(Arrays.asList(fieldNames));
+    members.addAll(layout.getFieldNames());
     return new AsterListValue(members);
   }
 
   @ExportMessage
   boolean isMemberReadable(String member) {
-    return META_TYPE.equals(member) || indexByName.containsKey(member);
+    return META_TYPE.equals(member) || layout.indexOf(member) >= 0;
   }
 
   @ExportMessage
   Object readMember(String member) throws UnknownIdentifierException {
     if (META_TYPE.equals(member)) {
-      return typeName;
+      return layout.getTypeName();
     }
-    Integer idx = indexByName.get(member);
-    if (idx == null) {
+    int idx = layout.indexOf(member);
+    if (idx < 0) {
       throw UnknownIdentifierException.create(member);
     }
     // interop 契约：字段值可为 null（Construct 字段表达式可求值为 null），
@@ -118,12 +129,13 @@ public final class AsterDataValue implements TruffleObject {
   @Override
   public String toString() {
     StringBuilder builder = new StringBuilder();
+    String typeName = layout.getTypeName();
     builder.append(typeName == null ? "<anonymous>" : typeName).append('{');
-    for (int i = 0; i < fieldNames.length; i++) {
+    for (int i = 0; i < fieldValues.length; i++) {
       if (i > 0) {
         builder.append(", ");
       }
-      builder.append(fieldNames[i]).append('=').append(fieldValues[i]);
+      builder.append(layout.fieldName(i)).append('=').append(fieldValues[i]);
     }
     return builder.append('}').toString();
   }
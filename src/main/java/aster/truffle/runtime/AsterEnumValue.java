@@ -14,6 +14,9 @@ import java.util.List;
  * Enum 运行时值，保留所属枚举名与变体名，并兼容旧版 `_enum`/`value` 字段访问方式。
  *
  * 目前 Core IR Enum 不携带参数，但预留 args 数组便于未来扩展。
+ *
+ * Loader 通过 {@link #internAll} 为每个 Enum 声明一次性创建全部变体单例：同一变体只有一个实例，
+ * 相等即同一；{@link #getOrdinal()} 给出声明顺序，MatchNode 据此按序号查表分派而不比较字符串。
  */
 @ExportLibrary(InteropLibrary.class)
 public final class AsterEnumValue implements TruffleObject {
@@ -25,6 +28,10 @@ public final class AsterEnumValue implements TruffleObject {
   private final String enumName;
   private final String variantName;
   private final Object[] args;
+  /** 变体在声明中的序号；非驻留实例为 -1。 */
+  private final int ordinal;
+  /** 同一 Enum 全部驻留变体（按序号）；非驻留实例为 null。 */
+  private final AsterEnumValue[] family;
 
   public AsterEnumValue(String enumName, String variantName) {
     this(enumName, variantName, null);
@@ -34,6 +41,37 @@ public final class AsterEnumValue implements TruffleObject {
     this.enumName = enumName;
     this.variantName = variantName;
     this.args = args == null ? new Object[0] : Arrays.copyOf(args, args.length);
+    this.ordinal = -1;
+    this.family = null;
+  }
+
+  private AsterEnumValue(String enumName, String variantName, int ordinal, AsterEnumValue[] family) {
+    this.enumName = enumName;
+    this.variantName = variantName;
+    this.args = new Object[0];
+    this.ordinal = ordinal;
+    this.family = family;
+  }
+
+  /**
+   * 为一个 Enum 声明创建全部变体单例，数组下标即序号；返回的数组同时作为该 Enum 的身份标识
+   * （见 {@link #belongsTo}），调用方不得修改。
+   */
+  public static AsterEnumValue[] internAll(String enumName, List<String> variantNames) {
+    AsterEnumValue[] values = new AsterEnumValue[variantNames.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = new AsterEnumValue(enumName, variantNames.get(i), i, values);
+    }
+    return values;
+  }
+
+  public int getOrdinal() {
+    return ordinal;
+  }
+
+  /** 是否为 {@code family}（{@link #internAll} 的返回值）中的驻留变体。 */
+  public boolean belongsTo(AsterEnumValue[] family) {
+    return family != null && this.family == family;
   }
 
   public String getEnumName() {
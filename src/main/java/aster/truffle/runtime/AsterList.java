@@ -0,0 +1,413 @@
+package aster.truffle.runtime;
+
+import aster.truffle.runtime.interop.InteropValues;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Guest 列表的运行时表示，按元素类型选择存储策略。
+ *
+ * 设计要点：
+ * - 元素全为 Int / Long / Double 时分别存于 {@code int[]} / {@code long[]} / {@code double[]}，
+ *   其余（含 null、字符串、混合类型）存于 {@code Object[]}；空列表的策略在首次写入时确定
+ * - 写入与当前策略不符的值时一次性泛化为 {@code Object[]}，此后不再回退。
+ *   不做 int → long → double 的数值泛化：Aster 区分 Int/Long/Double，读取须原样返回写入类型
+ * - 对外仍是 {@code java.util.List<Object>}：既有的 {@code instanceof List} 消费点、
+ *   相等比较与 toString 输出保持不变；get 返回装箱值
+ * - 本身导出只读 interop 数组：跨宿主边界时原样交出，元素在读取时才按需转换（见 InteropValues）
+ * - List.sum/min/max/sort 与 List.map/filter 经 {@link #storageKind()} 与原始数组访问器
+ *   直接在原始数组上循环，不逐元素装箱/拆箱
+ * - {@link #appended}/{@link #appendedAll} 是不可变追加：本列表位于共享数组的占用水位且容量
+ *   足够时，把新元素写在水位之后并返回共享同一数组的新版本（旧版本只看得到前 size 个元素），
+ *   否则按 1.5 倍余量复制。循环或 List.reduce 中逐个追加因此为均摊 O(1)，而非每次整表复制
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class AsterList extends AbstractList<Object> implements RandomAccess, TruffleObject {
+
+  /** 存储策略。 */
+  public enum StorageKind { EMPTY, INT, LONG, DOUBLE, OBJECT }
+
+  private static final int DEFAULT_CAPACITY = 8;
+
+  private StorageKind kind;
+  private Object store;
+  private int size;
+  /** EMPTY 策略下预留的容量，首次写入时按此分配原始数组。 */
+  private int reserved;
+  /**
+   * 与其他版本共享 store 时的占用水位（已写入的最大长度），由 {@link #appended} 创建。
+   * 非 null 表示 store 可能被共享：就地修改前须先复制。
+   */
+  private AtomicInteger claim;
+
+  public AsterList() {
+    this(0);
+  }
+
+  /** 预留容量；策略在首次写入时按元素类型确定。 */
+  public AsterList(int capacity) {
+    this.kind = StorageKind.EMPTY;
+    this.reserved = capacity;
+  }
+
+  private AsterList(StorageKind kind, Object store, int size) {
+    this.kind = kind;
+    this.store = store;
+    this.size = size;
+  }
+
+  /** 以 int 数组为存储（不复制，调用方转交所有权）。 */
+  public static AsterList ofInts(int[] values, int size) {
+    return new AsterList(size == 0 ? StorageKind.EMPTY : StorageKind.INT, values, size);
+  }
+
+  /** 以 long 数组为存储（不复制，调用方转交所有权）。 */
+  public static AsterList ofLongs(long[] values, int size) {
+    return new AsterList(size == 0 ? StorageKind.EMPTY : StorageKind.LONG, values, size);
+  }
+
+  /** 以 double 数组为存储（不复制，调用方转交所有权）。 */
+  public static AsterList ofDoubles(double[] values, int size) {
+    return new AsterList(size == 0 ? StorageKind.EMPTY : StorageKind.DOUBLE, values, size);
+  }
+
+  /**
+   * 复制任意集合。来源是 AsterList 时沿用其存储策略（直接复制原始数组），
+   * 否则逐元素写入并按元素类型选择策略。
+   */
+  public static AsterList copyOf(Collection<?> source) {
+    if (source instanceof AsterList other) {
+      return new AsterList(other.kind, other.copyStore(other.size), other.size);
+    }
+    AsterList out = new AsterList(source.size());
+    for (Object o : source) {
+      out.add(o);
+    }
+    return out;
+  }
+
+  /** 不可变追加的起点：来源已是 AsterList 时直接使用，否则复制一次。 */
+  public static AsterList persistent(Collection<?> source) {
+    return source instanceof AsterList l ? l : copyOf(source);
+  }
+
+  /** 复制 source[from, to)，沿用来源的存储策略。 */
+  public static AsterList copyOfRange(List<?> source, int from, int to) {
+    if (from < 0 || to > source.size() || from > to) {
+      throw new IndexOutOfBoundsException("fromIndex: " + from + ", toIndex: " + to + ", size: " + source.size());
+    }
+    if (source instanceof AsterList other) {
+      int n = to - from;
+      Object slice = switch (other.kind) {
+        case EMPTY -> null;
+        case INT -> Arrays.copyOfRange((int[]) other.store, from, to);
+        case LONG -> Arrays.copyOfRange((long[]) other.store, from, to);
+        case DOUBLE -> Arrays.copyOfRange((double[]) other.store, from, to);
+        case OBJECT -> Arrays.copyOfRange((Object[]) other.store, from, to);
+      };
+      return new AsterList(n == 0 ? StorageKind.EMPTY : other.kind, slice, n);
+    }
+    AsterList out = new AsterList(to - from);
+    for (int i = from; i < to; i++) {
+      out.add(source.get(i));
+    }
+    return out;
+  }
+
+  public StorageKind storageKind() {
+    return kind;
+  }
+
+  /** 返回末尾追加 value 后的新列表，本列表不变。 */
+  public AsterList appended(Object value) {
+    if (accepts(value) && claimTail(1)) {
+      AsterList view = new AsterList(kind, store, size + 1);
+      view.claim = claim;
+      view.write(size, value);
+      return view;
+    }
+    AsterList copy = copyWithHeadroom(size + 1);
+    copy.add(value);
+    return copy;
+  }
+
+  /** 返回末尾追加 values 全部元素后的新列表，本列表不变。 */
+  public AsterList appendedAll(Collection<?> values) {
+    int n = values.size();
+    if (n == 0) {
+      return this;
+    }
+    boolean sameKind = values instanceof AsterList other && other.kind == kind;
+    if ((sameKind || kind == StorageKind.OBJECT) && kind != StorageKind.EMPTY && claimTail(n)) {
+      AsterList view = new AsterList(kind, store, size + n);
+      view.claim = claim;
+      if (sameKind) {
+        System.arraycopy(((AsterList) values).store, 0, store, size, n);
+      } else {
+        Object[] objects = (Object[]) store;
+        int i = size;
+        for (Object v : values) {
+          objects[i++] = v;
+        }
+      }
+      return view;
+    }
+    AsterList copy = copyWithHeadroom(size + n);
+    copy.addAll(values);
+    return copy;
+  }
+
+  /** 在共享数组上占用 [size, size + n)：仅当本版本处于水位且容量足够时成功。 */
+  private boolean claimTail(int n) {
+    if (size + n > capacityOf()) {
+      return false;
+    }
+    AtomicInteger c = claim;
+    if (c == null) {
+      synchronized (this) {
+        if (claim == null) {
+          claim = new AtomicInteger(size);
+        }
+        c = claim;
+      }
+    }
+    return c.compareAndSet(size, size + n);
+  }
+
+  private AsterList copyWithHeadroom(int minCapacity) {
+    int capacity = Math.max(minCapacity, size + (size >> 1) + 1);
+    if (kind == StorageKind.EMPTY) {
+      return new AsterList(capacity);
+    }
+    AsterList copy = new AsterList(kind, copyStore(capacity), size);
+    copy.reserved = capacity;
+    return copy;
+  }
+
+  /** 当前（非空）策略能否原样存放 value。 */
+  private boolean accepts(Object value) {
+    return kind == StorageKind.OBJECT || (kind != StorageKind.EMPTY && kind == kindOf(value));
+  }
+
+  /** INT 策略下的底层数组（长度可能大于 size()，只读）。 */
+  public int[] intStore() {
+    return (int[]) store;
+  }
+
+  /** LONG 策略下的底层数组（长度可能大于 size()，只读）。 */
+  public long[] longStore() {
+    return (long[]) store;
+  }
+
+  /** DOUBLE 策略下的底层数组（长度可能大于 size()，只读）。 */
+  public double[] doubleStore() {
+    return (double[]) store;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Object get(int index) {
+    checkIndex(index, size);
+    return switch (kind) {
+      case INT -> ((int[]) store)[index];
+      case LONG -> ((long[]) store)[index];
+      case DOUBLE -> ((double[]) store)[index];
+      case OBJECT -> ((Object[]) store)[index];
+      case EMPTY -> throw new IndexOutOfBoundsException(outOfBounds(index));
+    };
+  }
+
+  @Override
+  public Object set(int index, Object value) {
+    checkIndex(index, size);
+    Object previous = get(index);
+    unshare();
+    ensureAccepts(value);
+    write(index, value);
+    return previous;
+  }
+
+  @Override
+  public boolean add(Object value) {
+    add(size, value);
+    return true;
+  }
+
+  @Override
+  public void add(int index, Object value) {
+    if (index < 0 || index > size) {
+      throw new IndexOutOfBoundsException(outOfBounds(index));
+    }
+    unshare();
+    ensureAccepts(value);
+    ensureCapacity(size + 1);
+    if (index < size) {
+      System.arraycopy(store, index, store, index + 1, size - index);
+    }
+    write(index, value);
+    size++;
+    modCount++;
+  }
+
+  @Override
+  public Object remove(int index) {
+    checkIndex(index, size);
+    Object previous = get(index);
+    unshare();
+    int tail = size - index - 1;
+    if (tail > 0) {
+      System.arraycopy(store, index + 1, store, index, tail);
+    }
+    size--;
+    if (kind == StorageKind.OBJECT) {
+      ((Object[]) store)[size] = null;
+    }
+    modCount++;
+    return previous;
+  }
+
+  @Override
+  public void clear() {
+    unshare();
+    if (kind == StorageKind.OBJECT) {
+      Arrays.fill((Object[]) store, 0, size, null);
+    }
+    size = 0;
+    modCount++;
+  }
+
+  @Override
+  public Object[] toArray() {
+    Object[] out = new Object[size];
+    for (int i = 0; i < size; i++) {
+      out[i] = get(i);
+    }
+    return out;
+  }
+
+  /** store 可能与其他版本共享时，复制为本列表独占的数组。 */
+  private void unshare() {
+    if (claim != null) {
+      store = copyStore(capacityOf());
+      claim = null;
+    }
+  }
+
+  /** 若当前策略容纳不了 value，泛化存储（空列表则按 value 选择初始策略）。 */
+  private void ensureAccepts(Object value) {
+    StorageKind needed = kindOf(value);
+    if (kind == needed || kind == StorageKind.OBJECT) {
+      return;
+    }
+    if (kind == StorageKind.EMPTY) {
+      int capacity = Math.max(reserved, DEFAULT_CAPACITY);
+      store = switch (needed) {
+        case INT -> new int[capacity];
+        case LONG -> new long[capacity];
+        case DOUBLE -> new double[capacity];
+        default -> new Object[capacity];
+      };
+      kind = needed;
+      return;
+    }
+    Object[] generalized = new Object[Math.max(capacityOf(), DEFAULT_CAPACITY)];
+    for (int i = 0; i < size; i++) {
+      generalized[i] = get(i);
+    }
+    store = generalized;
+    kind = StorageKind.OBJECT;
+  }
+
+  private void write(int index, Object value) {
+    switch (kind) {
+      case INT -> ((int[]) store)[index] = (Integer) value;
+      case LONG -> ((long[]) store)[index] = (Long) value;
+      case DOUBLE -> ((double[]) store)[index] = (Double) value;
+      default -> ((Object[]) store)[index] = value;
+    }
+  }
+
+  private void ensureCapacity(int minCapacity) {
+    int capacity = capacityOf();
+    if (minCapacity <= capacity) {
+      return;
+    }
+    int grown = Math.max(minCapacity, capacity + (capacity >> 1) + 1);
+    store = copyStore(grown);
+  }
+
+  private int capacityOf() {
+    return switch (kind) {
+      case EMPTY -> 0;
+      case INT -> ((int[]) store).length;
+      case LONG -> ((long[]) store).length;
+      case DOUBLE -> ((double[]) store).length;
+      case OBJECT -> ((Object[]) store).length;
+    };
+  }
+
+  // --- interop：作为只读数组直接跨宿主边界，无需复制为 AsterListValue ---
+
+  @ExportMessage
+  boolean hasArrayElements() {
+    return true;
+  }
+
+  @ExportMessage
+  long getArraySize() {
+    return size;
+  }
+
+  @ExportMessage
+  boolean isArrayElementReadable(long index) {
+    return index >= 0 && index < size;
+  }
+
+  @ExportMessage
+  Object readArrayElement(long index) throws InvalidArrayIndexException {
+    if (!isArrayElementReadable(index)) {
+      throw InvalidArrayIndexException.create(index);
+    }
+    return InteropValues.toInteropValue(get((int) index));
+  }
+
+  private Object copyStore(int length) {
+    return switch (kind) {
+      case EMPTY -> null;
+      case INT -> Arrays.copyOf((int[]) store, length);
+      case LONG -> Arrays.copyOf((long[]) store, length);
+      case DOUBLE -> Arrays.copyOf((double[]) store, length);
+      case OBJECT -> Arrays.copyOf((Object[]) store, length);
+    };
+  }
+
+  private static StorageKind kindOf(Object value) {
+    if (value instanceof Integer) return StorageKind.INT;
+    if (value instanceof Long) return StorageKind.LONG;
+    if (value instanceof Double) return StorageKind.DOUBLE;
+    return StorageKind.OBJECT;
+  }
+
+  private static void checkIndex(int index, int size) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  private String outOfBounds(int index) {
+    return "Index: " + index + ", Size: " + size;
+  }
+}
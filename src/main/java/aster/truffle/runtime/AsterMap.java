@@ -0,0 +1,448 @@
+package aster.truffle.runtime;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Guest 映射的持久化表示：插入有序的 HAMT（hash array mapped trie）。
+ *
+ * 设计要点：
+ * - 不可变：{@link #assoc}/{@link #without} 只复制根到叶的一条路径（O(log32 n)），
+ *   新旧版本共享其余节点。取代 Map.put/Map.remove 每次整表复制 LinkedHashMap
+ * - 插入序与 LinkedHashMap 一致（与 TS `{...m, [k]: v}` parity）：每个条目带递增序号，
+ *   覆盖已有键沿用原序号，删除后再插入取新序号；迭代时按序号排序一次并缓存在该版本上
+ * - 对外仍是只读 {@code java.util.Map}：既有的 {@code instanceof Map} 消费点、相等比较与
+ *   toString 输出保持不变；put/remove 等可变操作抛 UnsupportedOperationException
+ * - {@link Builder} 是独占的批量构建器：节点带构建器的 edit 令牌，同一构建器内就地修改，
+ *   build 后令牌失效，已发布的节点不再被改写
+ */
+public final class AsterMap extends AbstractMap<Object, Object> {
+  private static final AsterMap EMPTY = new AsterMap(null, 0, 0L);
+  private static final Comparator<Entry> BY_ORDINAL = Comparator.comparingLong(e -> e.ordinal);
+
+  private final HNode root;
+  private final int size;
+  private final long nextOrdinal;
+  /** 按插入序排列的条目，首次迭代时计算；内容由不可变的 root 决定，并发重复计算无害。 */
+  private volatile Entry[] ordered;
+
+  private AsterMap(HNode root, int size, long nextOrdinal) {
+    this.root = root;
+    this.size = size;
+    this.nextOrdinal = nextOrdinal;
+  }
+
+  public static AsterMap empty() {
+    return EMPTY;
+  }
+
+  /** 复制任意映射（按其迭代顺序）；来源已是 AsterMap 时直接返回。 */
+  public static AsterMap copyOf(Map<?, ?> source) {
+    if (source instanceof AsterMap m) {
+      return m;
+    }
+    Builder builder = new Builder();
+    for (Map.Entry<?, ?> e : source.entrySet()) {
+      builder.put(e.getKey(), e.getValue());
+    }
+    return builder.build();
+  }
+
+  /** 返回键 key 绑定为 value 的新映射；已有键保持原位置，新键追加末尾。 */
+  public AsterMap assoc(Object key, Object value) {
+    int hash = hash(key);
+    Entry existing = root == null ? null : root.find(0, hash, key);
+    if (existing != null && existing.value == value) {
+      return this;
+    }
+    long ordinal = existing != null ? existing.ordinal : nextOrdinal;
+    Entry entry = new Entry(hash, key, value, ordinal);
+    HNode newRoot = root == null ? BitmapNode.single(null, 0, entry) : root.assoc(null, 0, entry);
+    return existing != null
+        ? new AsterMap(newRoot, size, nextOrdinal)
+        : new AsterMap(newRoot, size + 1, nextOrdinal + 1);
+  }
+
+  /** 返回移除 key 后的新映射；key 不存在时返回自身。 */
+  public AsterMap without(Object key) {
+    int hash = hash(key);
+    if (root == null || root.find(0, hash, key) == null) {
+      return this;
+    }
+    return new AsterMap(root.without(null, 0, hash, key), size - 1, nextOrdinal);
+  }
+
+  @Override
+  public Object get(Object key) {
+    Entry e = root == null ? null : root.find(0, hash(key), key);
+    return e == null ? null : e.value;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return root != null && root.find(0, hash(key), key) != null;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Set<Map.Entry<Object, Object>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Map.Entry<Object, Object>> iterator() {
+        Entry[] entries = ordered();
+        return new Iterator<>() {
+          private int index;
+
+          @Override
+          public boolean hasNext() {
+            return index < entries.length;
+          }
+
+          @Override
+          public Map.Entry<Object, Object> next() {
+            if (index >= entries.length) {
+              throw new NoSuchElementException();
+            }
+            return entries[index++];
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  private Entry[] ordered() {
+    Entry[] result = ordered;
+    if (result == null) {
+      result = new Entry[size];
+      if (root != null) {
+        root.collect(result, 0);
+      }
+      Arrays.sort(result, BY_ORDINAL);
+      ordered = result;
+    }
+    return result;
+  }
+
+  private static int hash(Object key) {
+    int h = Objects.hashCode(key);
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * 独占的批量构建器。put 在构建器持有的节点上就地修改，避免逐次复制路径；
+   * 仅供运行时在能证明独占时使用（如从宿主 Map 转换、builtin 内部聚合）。
+   */
+  public static final class Builder {
+    private Object edit = new Object();
+    private HNode root;
+    private int size;
+    private long nextOrdinal;
+
+    public Builder put(Object key, Object value) {
+      if (edit == null) {
+        throw new IllegalStateException("AsterMap.Builder used after build()");
+      }
+      int hash = hash(key);
+      Entry existing = root == null ? null : root.find(0, hash, key);
+      long ordinal = existing != null ? existing.ordinal : nextOrdinal++;
+      Entry entry = new Entry(hash, key, value, ordinal);
+      root = root == null ? BitmapNode.single(edit, 0, entry) : root.assoc(edit, 0, entry);
+      if (existing == null) {
+        size++;
+      }
+      return this;
+    }
+
+    public AsterMap build() {
+      edit = null;
+      return size == 0 ? EMPTY : new AsterMap(root, size, nextOrdinal);
+    }
+  }
+
+  /** 叶子条目：不可变，同时作为 Map.Entry 对外暴露。 */
+  static final class Entry implements Map.Entry<Object, Object> {
+    final int hash;
+    final Object key;
+    final Object value;
+    final long ordinal;
+
+    Entry(int hash, Object key, Object value, long ordinal) {
+      this.hash = hash;
+      this.key = key;
+      this.value = value;
+      this.ordinal = ordinal;
+    }
+
+    @Override public Object getKey() { return key; }
+    @Override public Object getValue() { return value; }
+    @Override public Object setValue(Object v) { throw new UnsupportedOperationException(); }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Map.Entry<?, ?> e && Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(key) ^ Objects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+
+    boolean matches(int h, Object k) {
+      return hash == h && Objects.equals(key, k);
+    }
+  }
+
+  /** trie 节点。槽位内容为 {@link Entry}（叶子）或子 {@link HNode}。 */
+  abstract static class HNode {
+    /** 创建该节点的构建器令牌；null 表示已发布、不可就地修改。 */
+    final Object edit;
+
+    HNode(Object edit) {
+      this.edit = edit;
+    }
+
+    abstract Entry find(int shift, int hash, Object key);
+
+    abstract HNode assoc(Object edit, int shift, Entry entry);
+
+    /** 返回移除后的节点；节点变空时返回 null。调用方保证 key 存在。 */
+    abstract HNode without(Object edit, int shift, int hash, Object key);
+
+    abstract int collect(Entry[] out, int offset);
+
+    final boolean ownedBy(Object edit) {
+      return edit != null && this.edit == edit;
+    }
+  }
+
+  static final class BitmapNode extends HNode {
+    private int bitmap;
+    private Object[] slots;
+
+    BitmapNode(Object edit, int bitmap, Object[] slots) {
+      super(edit);
+      this.bitmap = bitmap;
+      this.slots = slots;
+    }
+
+    static BitmapNode single(Object edit, int shift, Entry entry) {
+      return new BitmapNode(edit, bit(entry.hash, shift), new Object[]{entry});
+    }
+
+    private static int bit(int hash, int shift) {
+      return 1 << ((hash >>> shift) & 31);
+    }
+
+    private int index(int bit) {
+      return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    @Override
+    Entry find(int shift, int hash, Object key) {
+      int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+      Object slot = slots[index(bit)];
+      if (slot instanceof HNode child) {
+        return child.find(shift + 5, hash, key);
+      }
+      Entry e = (Entry) slot;
+      return e.matches(hash, key) ? e : null;
+    }
+
+    @Override
+    HNode assoc(Object edit, int shift, Entry entry) {
+      int bit = bit(entry.hash, shift);
+      int idx = index(bit);
+      if ((bitmap & bit) == 0) {
+        Object[] grown = new Object[slots.length + 1];
+        System.arraycopy(slots, 0, grown, 0, idx);
+        grown[idx] = entry;
+        System.arraycopy(slots, idx, grown, idx + 1, slots.length - idx);
+        if (ownedBy(edit)) {
+          bitmap |= bit;
+          slots = grown;
+          return this;
+        }
+        return new BitmapNode(edit, bitmap | bit, grown);
+      }
+      Object slot = slots[idx];
+      Object replacement;
+      if (slot instanceof HNode child) {
+        HNode updated = child.assoc(edit, shift + 5, entry);
+        if (updated == child) {
+          return this;
+        }
+        replacement = updated;
+      } else {
+        Entry current = (Entry) slot;
+        replacement = current.matches(entry.hash, entry.key) ? entry : pair(edit, shift + 5, current, entry);
+      }
+      return withSlot(edit, idx, replacement);
+    }
+
+    @Override
+    HNode without(Object edit, int shift, int hash, Object key) {
+      int bit = bit(hash, shift);
+      int idx = index(bit);
+      Object slot = slots[idx];
+      if (slot instanceof HNode child) {
+        HNode updated = child.without(edit, shift + 5, hash, key);
+        if (updated != null) {
+          return withSlot(edit, idx, updated);
+        }
+      }
+      if (slots.length == 1) {
+        return null;
+      }
+      Object[] shrunk = new Object[slots.length - 1];
+      System.arraycopy(slots, 0, shrunk, 0, idx);
+      System.arraycopy(slots, idx + 1, shrunk, idx, slots.length - idx - 1);
+      if (ownedBy(edit)) {
+        bitmap &= ~bit;
+        slots = shrunk;
+        return this;
+      }
+      return new BitmapNode(edit, bitmap & ~bit, shrunk);
+    }
+
+    private HNode withSlot(Object edit, int idx, Object value) {
+      if (ownedBy(edit)) {
+        slots[idx] = value;
+        return this;
+      }
+      Object[] copy = slots.clone();
+      copy[idx] = value;
+      return new BitmapNode(edit, bitmap, copy);
+    }
+
+    @Override
+    int collect(Entry[] out, int offset) {
+      for (Object slot : slots) {
+        if (slot instanceof HNode child) {
+          offset = child.collect(out, offset);
+        } else {
+          out[offset++] = (Entry) slot;
+        }
+      }
+      return offset;
+    }
+
+    /** 两个哈希不同（或在更深层才分叉）的条目合成子节点；全哈希相同时用冲突节点。 */
+    private static HNode pair(Object edit, int shift, Entry a, Entry b) {
+      if (a.hash == b.hash || shift >= 32) {
+        return new CollisionNode(edit, a.hash, new Entry[]{a, b});
+      }
+      int bitA = bit(a.hash, shift);
+      int bitB = bit(b.hash, shift);
+      if (bitA == bitB) {
+        return new BitmapNode(edit, bitA, new Object[]{pair(edit, shift + 5, a, b)});
+      }
+      Object[] two = Integer.compareUnsigned(bitA, bitB) < 0 ? new Object[]{a, b} : new Object[]{b, a};
+      return new BitmapNode(edit, bitA | bitB, two);
+    }
+  }
+
+  /** 全哈希相同的条目，线性查找。 */
+  static final class CollisionNode extends HNode {
+    private final int hash;
+    private Entry[] entries;
+
+    CollisionNode(Object edit, int hash, Entry[] entries) {
+      super(edit);
+      this.hash = hash;
+      this.entries = entries;
+    }
+
+    private int indexOf(Object key) {
+      for (int i = 0; i < entries.length; i++) {
+        if (Objects.equals(entries[i].key, key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    Entry find(int shift, int h, Object key) {
+      if (h != hash) {
+        return null;
+      }
+      int i = indexOf(key);
+      return i < 0 ? null : entries[i];
+    }
+
+    @Override
+    HNode assoc(Object edit, int shift, Entry entry) {
+      if (entry.hash != hash) {
+        // 冲突节点位于较浅层时，新哈希在此分叉：包一层位图节点再插入
+        HNode wrapped = new BitmapNode(edit, 1 << ((hash >>> shift) & 31), new Object[]{this});
+        return wrapped.assoc(edit, shift, entry);
+      }
+      int i = indexOf(entry.key);
+      Entry[] updated;
+      if (i >= 0) {
+        if (ownedBy(edit)) {
+          entries[i] = entry;
+          return this;
+        }
+        updated = entries.clone();
+        updated[i] = entry;
+      } else {
+        updated = Arrays.copyOf(entries, entries.length + 1);
+        updated[entries.length] = entry;
+        if (ownedBy(edit)) {
+          entries = updated;
+          return this;
+        }
+      }
+      return new CollisionNode(edit, hash, updated);
+    }
+
+    @Override
+    HNode without(Object edit, int shift, int h, Object key) {
+      int i = indexOf(key);
+      if (entries.length == 1) {
+        return null;
+      }
+      Entry[] shrunk = new Entry[entries.length - 1];
+      System.arraycopy(entries, 0, shrunk, 0, i);
+      System.arraycopy(entries, i + 1, shrunk, i, entries.length - i - 1);
+      if (ownedBy(edit)) {
+        entries = shrunk;
+        return this;
+      }
+      return new CollisionNode(edit, hash, shrunk);
+    }
+
+    @Override
+    int collect(Entry[] out, int offset) {
+      for (Entry e : entries) {
+        out[offset++] = e;
+      }
+      return offset;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package aster.truffle.runtime;
+
+import aster.truffle.runtime.interop.AsterListValue;
+import aster.truffle.runtime.interop.InteropValues;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maybe / Option 运行时值（Some / None），不可变；None 为全局单例 {@link #NONE}。
+ *
+ * 与 {@link AsterResult} 相同：以只读 {@code Map<String,Object>} 视图保留
+ * {@code {"_type": "Some", "value": v}} / {@code {"_type": "None"}} 形态，
+ * 按类判定变体，interop 成员与旧 Map 形态一致。
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class AsterMaybe extends AbstractMap<String, Object> implements TruffleObject {
+  public static final String SOME = "Some";
+  public static final String NONE_NAME = "None";
+  private static final String META_TYPE = "_type";
+  private static final String MEMBER_VALUE = "value";
+
+  public static final AsterMaybe NONE = new AsterMaybe(false, null);
+
+  private final boolean present;
+  private final Object value;
+
+  private AsterMaybe(boolean present, Object value) {
+    this.present = present;
+    this.value = value;
+  }
+
+  public static AsterMaybe some(Object value) {
+    return new AsterMaybe(true, value);
+  }
+
+  public boolean isSome() {
+    return present;
+  }
+
+  public boolean isNone() {
+    return !present;
+  }
+
+  public String variantName() {
+    return present ? SOME : NONE_NAME;
+  }
+
+  public Object getValue() {
+    return value;
+  }
+
+  /** Some 替换载荷；None 原样返回。 */
+  public AsterMaybe withValue(Object newValue) {
+    return (!present || newValue == value) ? this : new AsterMaybe(true, newValue);
+  }
+
+  // --- 只读 Map 视图 ---
+
+  @Override
+  public Object get(Object key) {
+    if (META_TYPE.equals(key)) return variantName();
+    if (present && MEMBER_VALUE.equals(key)) return value;
+    return null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return META_TYPE.equals(key) || (present && MEMBER_VALUE.equals(key));
+  }
+
+  @Override
+  public int size() {
+    return present ? 2 : 1;
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    if (!present) {
+      return Collections.singleton(new SimpleImmutableEntry<>(META_TYPE, NONE_NAME));
+    }
+    return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+        new SimpleImmutableEntry<>(META_TYPE, SOME),
+        new SimpleImmutableEntry<>(MEMBER_VALUE, value))));
+  }
+
+  // --- interop ---
+
+  @ExportMessage
+  boolean hasMembers() {
+    return true;
+  }
+
+  @ExportMessage
+  Object getMembers(boolean includeInternal) {
+    return new AsterListValue(present ? List.of(META_TYPE, MEMBER_VALUE) : List.of(META_TYPE));
+  }
+
+  @ExportMessage
+  boolean isMemberReadable(String member) {
+    return containsKey(member);
+  }
+
+  @ExportMessage
+  Object readMember(String member) throws UnknownIdentifierException {
+    if (!containsKey(member)) {
+      throw UnknownIdentifierException.create(member);
+    }
+    return InteropValues.toInteropValue(get(member));
+  }
+
+  @ExportMessage
+  boolean isMemberModifiable(String member) {
+    return false;
+  }
+
+  @ExportMessage
+  boolean isMemberInsertable(String member) {
+    return false;
+  }
+
+  @ExportMessage
+  boolean isMemberRemovable(String member) {
+    return false;
+  }
+
+  @ExportMessage
+  void writeMember(String member, Object newValue) throws UnsupportedMessageException {
+    throw UnsupportedMessageException.create();
+  }
+
+  @ExportMessage
+  void removeMember(String member) throws UnsupportedMessageException {
+    throw UnsupportedMessageException.create();
+  }
+}
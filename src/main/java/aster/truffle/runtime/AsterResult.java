@@ -0,0 +1,148 @@
+package aster.truffle.runtime;
+
+import aster.truffle.runtime.interop.AsterListValue;
+import aster.truffle.runtime.interop.InteropValues;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Result 运行时值（Ok / Err），不可变。
+ *
+ * 设计要点：
+ * - 取代每次 Ok/Err 都新建的 {@code LinkedHashMap{"_type", "value"}}：一个对象两个字段，
+ *   builtins 与模式匹配按类判定变体，不再按字符串键查哈希表
+ * - 仍以只读 {@code Map<String,Object>} 视图呈现 {@code _type}/{@code value}（键序固定），
+ *   既有的 {@code instanceof Map} 消费点、相等比较与 toString 输出保持不变
+ * - interop 成员与旧 Map 经 AsterMapValue 暴露给宿主的形态一致（{@code _type}、{@code value}）
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class AsterResult extends AbstractMap<String, Object> implements TruffleObject {
+  public static final String OK = "Ok";
+  public static final String ERR = "Err";
+  private static final String META_TYPE = "_type";
+  private static final String MEMBER_VALUE = "value";
+
+  private final boolean ok;
+  private final Object value;
+
+  private AsterResult(boolean ok, Object value) {
+    this.ok = ok;
+    this.value = value;
+  }
+
+  public static AsterResult ok(Object value) {
+    return new AsterResult(true, value);
+  }
+
+  public static AsterResult err(Object value) {
+    return new AsterResult(false, value);
+  }
+
+  public boolean isOk() {
+    return ok;
+  }
+
+  public boolean isErr() {
+    return !ok;
+  }
+
+  public String variantName() {
+    return ok ? OK : ERR;
+  }
+
+  public Object getValue() {
+    return value;
+  }
+
+  /** 同变体、替换载荷（用于 PII 包装、interop 适配等逐值转换）。 */
+  public AsterResult withValue(Object newValue) {
+    return newValue == value ? this : new AsterResult(ok, newValue);
+  }
+
+  // --- 只读 Map 视图 ---
+
+  @Override
+  public Object get(Object key) {
+    if (META_TYPE.equals(key)) return variantName();
+    if (MEMBER_VALUE.equals(key)) return value;
+    return null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return META_TYPE.equals(key) || MEMBER_VALUE.equals(key);
+  }
+
+  @Override
+  public int size() {
+    return 2;
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+        new SimpleImmutableEntry<>(META_TYPE, variantName()),
+        new SimpleImmutableEntry<>(MEMBER_VALUE, value))));
+  }
+
+  // --- interop ---
+
+  @ExportMessage
+  boolean hasMembers() {
+    return true;
+  }
+
+  @ExportMessage
+  Object getMembers(boolean includeInternal) {
+    return new AsterListValue(List.of(META_TYPE, MEMBER_VALUE));
+  }
+
+  @ExportMessage
+  boolean isMemberReadable(String member) {
+    return containsKey(member);
+  }
+
+  @ExportMessage
+  Object readMember(String member) throws UnknownIdentifierException {
+    if (!containsKey(member)) {
+      throw UnknownIdentifierException.create(member);
+    }
+    // Err(null) 等内部 null 经 toInteropValue 规整为 guest-null
+    return InteropValues.toInteropValue(get(member));
+  }
+
+  @ExportMessage
+  boolean isMemberModifiable(String member) {
+    return false;
+  }
+
+  @ExportMessage
+  boolean isMemberInsertable(String member) {
+    return false;
+  }
+
+  @ExportMessage
+  boolean isMemberRemovable(String member) {
+    return false;
+  }
+
+  @ExportMessage
+  void writeMember(String member, Object newValue) throws UnsupportedMessageException {
+    throw UnsupportedMessageException.create();
+  }
+
+  @ExportMessage
+  void removeMember(String member) throws UnsupportedMessageException {
+    throw UnsupportedMessageException.create();
+  }
+}
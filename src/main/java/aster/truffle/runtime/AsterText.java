@@ -0,0 +1,184 @@
+package aster.truffle.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.TruffleString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Guest 文本值的运行时辅助：拼接产生的 rope 与 Text.* 的共享实现。
+ *
+ * 设计要点：
+ * - 平坦文本仍是 {@code java.lang.String}；只有拼接（{@code +} 的字符串分支、Text.concat）在结果
+ *   达到 {@link #ROPE_THRESHOLD} 或任一操作数已是 rope 时产生惰性拼接的 {@link TruffleString}。
+ *   循环/递归中逐段追加因此只在最终读取内容时整体展平一次，而非每次整串复制（原先为二次方）
+ * - rope 的长度无需展平即可得到；展平结果由 TruffleString 缓存，code range 与 hash 同样缓存，
+ *   且 hashCode 与等值 String 一致
+ * - 消费点经 {@link #flatten} 归一为 String：Builtins 的 unwrap 是统一入口，其余节点（match、
+ *   成员访问等）按需调用。TruffleString 本身是 interop 字符串，流出到宿主/CLI 时无需转换
+ * - Text.split 按字面分隔符切分（语义同 {@code String.split(Pattern.quote(d))}），不再每次编译正则
+ */
+public final class AsterText {
+  private AsterText() {}
+
+  /** rope 的编码：UTF-16，使长度/下标与 {@code java.lang.String} 的 char 单位一致。 */
+  public static final TruffleString.Encoding ENCODING = TruffleString.Encoding.UTF_16;
+
+  /** 两个 String 拼接结果短于此长度时直接拼成 String，避免短文本承担 rope 开销。 */
+  public static final int ROPE_THRESHOLD = 64;
+
+  public static boolean isText(Object value) {
+    return value instanceof String || value instanceof TruffleString;
+  }
+
+  /** rope → String（结果缓存于 rope）；其余值原样返回。 */
+  public static Object flatten(Object value) {
+    if (value instanceof TruffleString ts) {
+      return toJavaString(ts);
+    }
+    return value;
+  }
+
+  /**
+   * 结构相等，rope 与等值 String 视为相等（含 List / Map 内嵌套的文本）。TruffleString 与 String
+   * 互不 equals，容器的 equals 又逐元素委托，因此 eq/ne/List.contains 等值比较须经此处。
+   * 其余值（数值、Data、枚举等）沿用各自的 equals。
+   */
+  @TruffleBoundary
+  public static boolean valueEquals(Object a, Object b) {
+    a = flatten(a);
+    b = flatten(b);
+    if (a == b) {
+      return true;
+    }
+    if (a instanceof List<?> left && b instanceof List<?> right) {
+      int size = left.size();
+      if (size != right.size()) {
+        return false;
+      }
+      for (int i = 0; i < size; i++) {
+        if (!valueEquals(left.get(i), right.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (a instanceof Map<?, ?> left && b instanceof Map<?, ?> right) {
+      if (left.size() != right.size()) {
+        return false;
+      }
+      for (Map.Entry<?, ?> e : left.entrySet()) {
+        Object other = right.get(e.getKey());
+        if (other == null && !right.containsKey(e.getKey())) {
+          return false;
+        }
+        if (!valueEquals(e.getValue(), other)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return Objects.equals(a, b);
+  }
+
+  @TruffleBoundary
+  public static String toJavaString(TruffleString ts) {
+    return ts.toJavaStringUncached();
+  }
+
+  /** 文本长度（UTF-16 单位）；rope 不展平。 */
+  public static int length(Object text) {
+    if (text instanceof TruffleString ts) {
+      return ts.byteLength(ENCODING) >> 1;
+    }
+    return ((String) text).length();
+  }
+
+  /** 拼接两个文本值（String 或 rope）。 */
+  @TruffleBoundary
+  public static Object concat(Object a, Object b) {
+    if (a instanceof String left && b instanceof String right && left.length() + right.length() < ROPE_THRESHOLD) {
+      return left.concat(right);
+    }
+    return toRope(a).concatUncached(toRope(b), ENCODING, true);
+  }
+
+  private static TruffleString toRope(Object text) {
+    if (text instanceof TruffleString ts) {
+      return ts;
+    }
+    return TruffleString.fromJavaStringUncached((String) text, ENCODING);
+  }
+
+  @TruffleBoundary
+  public static int indexOf(String s, String needle) {
+    return s.indexOf(needle);
+  }
+
+  @TruffleBoundary
+  public static boolean contains(String s, String needle) {
+    return s.contains(needle);
+  }
+
+  @TruffleBoundary
+  public static String replace(String s, String target, String replacement) {
+    return s.replace(target, replacement);
+  }
+
+  @TruffleBoundary
+  public static String substring(String s, int start, int end) {
+    return s.substring(start, end);
+  }
+
+  @TruffleBoundary
+  public static String substring(String s, int start) {
+    return s.substring(start);
+  }
+
+  /** 按字面分隔符切分文本的预编译切分器；常量分隔符在构建期创建一次。 */
+  public static final class Splitter {
+    private final String delimiter;
+    /** 空分隔符按码点逐个切分，沿用正则语义。 */
+    private final Pattern emptyPattern;
+
+    public Splitter(String delimiter) {
+      this.delimiter = delimiter;
+      this.emptyPattern = delimiter.isEmpty() ? Pattern.compile(Pattern.quote(delimiter)) : null;
+    }
+
+    public String delimiter() {
+      return delimiter;
+    }
+
+    /** 语义同 {@code s.split(Pattern.quote(delimiter))}：保留前导空段，去除尾部空段。 */
+    @TruffleBoundary
+    public AsterList split(String s) {
+      if (emptyPattern != null) {
+        return AsterList.copyOf(List.of(emptyPattern.split(s)));
+      }
+      int next = s.indexOf(delimiter);
+      if (next < 0) {
+        AsterList single = new AsterList(1);
+        single.add(s);
+        return single;
+      }
+      List<Object> parts = new ArrayList<>();
+      int from = 0;
+      int step = delimiter.length();
+      while (next >= 0) {
+        parts.add(s.substring(from, next));
+        from = next + step;
+        next = s.indexOf(delimiter, from);
+      }
+      parts.add(s.substring(from));
+      int size = parts.size();
+      while (size > 0 && ((String) parts.get(size - 1)).isEmpty()) {
+        size--;
+      }
+      return AsterList.copyOf(parts.subList(0, size));
+    }
+  }
+}
@@ -1,6 +1,9 @@
 package aster.truffle.runtime;
 
 import aster.truffle.nodes.LambdaValue;
+import aster.truffle.nodes.Profiler;
+import aster.truffle.nodes.parallel.ParallelListOps;
+import aster.truffle.purity.PurityAnalyzer;
 import aster.truffle.runtime.interop.AsterDecimalValue;
 import aster.truffle.runtime.interop.AsterListValue;
 import aster.truffle.runtime.interop.AsterMapValue;
@@ -54,6 +57,14 @@ public final class Builtins {
     public BuiltinDef(BuiltinFunction impl) {
       this(impl, Set.of());
     }
+
+    /**
+     * 直接调用已解析的实现，跳过名称归一化与注册表查找。
+     * 供 AST 构建期已通过 {@link Builtins#lookup} 取得句柄的节点在热路径上使用。
+     */
+    public Object invoke(Object[] args) throws BuiltinException {
+      return impl.call(args);
+    }
   }
 
   private static final Map<String, BuiltinDef> REGISTRY = new HashMap<>();
@@ -74,10 +85,11 @@ public final class Builtins {
       // `+` 双语义，与 TS 解释器一致（interpreter.ts case '+'）：任一操作数
       // 是字符串 → 字符串拼接；否则数值相加。修复前强制 toInt 导致
       // "Hello, " + name 抛 NumberFormatException（双引擎 eval 分歧）。
-      Object a = unwrap(args[0]);
-      Object b = unwrap(args[1]);
-      if (a instanceof String || b instanceof String) {
-        return textValue(args[0]) + textValue(args[1]);
+      // 拼接可能产生 rope（见 AsterText），rope 操作数不展平。
+      Object a = AsterPiiValue.unwrap(args[0]);
+      Object b = AsterPiiValue.unwrap(args[1]);
+      if (AsterText.isText(a) || AsterText.isText(b)) {
+        return AsterText.concat(textOperand(args[0]), textOperand(args[1]));
       }
       // 数值相加须支持 int+double 提升：div 现为浮点，`subtotal(int) + tax(double)`
       // 若强制 toInt 会丢失小数且与 TS（统一 number）分歧。任一为浮点 → double。
@@ -140,6 +152,10 @@ public final class Builtins {
       if (isFractional(args[0]) || isFractional(args[1])) {
         return toDouble(args[0]) % toDouble(args[1]);
       }
+      // 含 Long 时按 long 取模，避免 toInt 截断大整数（结果绝对值不超过除数，不会溢出）。
+      if (isLong(args[0]) || isLong(args[1])) {
+        return toLong(args[0]) % toLong(args[1]);
+      }
       return toInt(args[0]) % toInt(args[1]);
     }));
 
@@ -154,14 +170,14 @@ public final class Builtins {
       checkArity("eq", args, 2);
       if (isDecimal(args[0]) || isDecimal(args[1])) return toDecimal(args[0]).compareTo(toDecimal(args[1])) == 0;
       if (isNumber(args[0]) && isNumber(args[1])) return toDouble(args[0]) == toDouble(args[1]);
-      return Objects.equals(unwrap(args[0]), unwrap(args[1]));
+      return AsterText.valueEquals(unwrap(args[0]), unwrap(args[1]));
     }));
 
     register("ne", new BuiltinDef(args -> {
       checkArity("ne", args, 2);
       if (isDecimal(args[0]) || isDecimal(args[1])) return toDecimal(args[0]).compareTo(toDecimal(args[1])) != 0;
       if (isNumber(args[0]) && isNumber(args[1])) return toDouble(args[0]) != toDouble(args[1]);
-      return !Objects.equals(unwrap(args[0]), unwrap(args[1]));
+      return !AsterText.valueEquals(unwrap(args[0]), unwrap(args[1]));
     }));
 
     register("lt", new BuiltinDef(args -> {
@@ -207,7 +223,7 @@ public final class Builtins {
     // === Text Operations (纯函数) ===
     register("Text.concat", new BuiltinDef(args -> {
       checkArity("Text.concat", args, 2);
-      return textValue(args[0]) + textValue(args[1]);
+      return AsterText.concat(textOperand(args[0]), textOperand(args[1]));
     }));
 
     register("Text.toUpper", new BuiltinDef(args -> {
@@ -227,12 +243,12 @@ public final class Builtins {
 
     register("Text.indexOf", new BuiltinDef(args -> {
       checkArity("Text.indexOf", args, 2);
-      return textValue(args[0]).indexOf(textValue(args[1]));
+      return AsterText.indexOf(textValue(args[0]), textValue(args[1]));
     }));
 
     register("Text.length", new BuiltinDef(args -> {
       checkArity("Text.length", args, 1);
-      return textValue(args[0]).length();
+      return AsterText.length(textOperand(args[0]));
     }));
 
     register("Text.substring", new BuiltinDef(args -> {
@@ -247,9 +263,9 @@ public final class Builtins {
         if (end < 0) {
           throw new BuiltinException(ErrorMessages.stringIndexNegative(end));
         }
-        return s.substring(start, end);
+        return AsterText.substring(s, start, end);
       }
-      return s.substring(start);
+      return AsterText.substring(s, start);
     }));
 
     register("Text.trim", new BuiltinDef(args -> {
@@ -261,7 +277,7 @@ public final class Builtins {
       checkArity("Text.split", args, 2);
       String s = textValue(args[0]);
       String delimiter = textValue(args[1]);
-      return Arrays.asList(s.split(java.util.regex.Pattern.quote(delimiter)));
+      return new AsterText.Splitter(delimiter).split(s);
     }));
 
     register("Text.replace", new BuiltinDef(args -> {
@@ -269,14 +285,14 @@ public final class Builtins {
       String s = textValue(args[0]);
       String target = textValue(args[1]);
       String replacement = textValue(args[2]);
-      return s.replace(target, replacement);
+      return AsterText.replace(s, target, replacement);
     }));
 
     register("Text.contains", new BuiltinDef(args -> {
       checkArity("Text.contains", args, 2);
       String haystack = textValue(args[0]);
       String needle = textValue(args[1]);
-      return haystack.contains(needle);
+      return AsterText.contains(haystack, needle);
     }));
 
     register("Text.redact", new BuiltinDef(args -> {
@@ -297,7 +313,7 @@ public final class Builtins {
     // === List Operations (纯函数) ===
     register("List.empty", new BuiltinDef(args -> {
       checkArity("List.empty", args, 0);
-      return new ArrayList<>();
+      return new AsterList();
     }));
 
     register("List.length", new BuiltinDef(args -> {
@@ -321,10 +337,7 @@ public final class Builtins {
     register("List.append", new BuiltinDef(args -> {
       checkArity("List.append", args, 2);
       if (args[0] instanceof List<?> l) {
-        @SuppressWarnings("unchecked")
-        List<Object> mutable = new ArrayList<>((List<Object>)l);
-        mutable.add(args[1]);
-        return mutable;
+        return AsterList.persistent(l).appended(args[1]);
       }
       throw new BuiltinException(ErrorMessages.operationExpectedType("List.append", "List", typeName(args[0])));
     }));
@@ -332,12 +345,7 @@ public final class Builtins {
     register("List.concat", new BuiltinDef(args -> {
       checkArity("List.concat", args, 2);
       if (args[0] instanceof List<?> l1 && args[1] instanceof List<?> l2) {
-        @SuppressWarnings("unchecked")
-        List<Object> result = new ArrayList<>((List<Object>)l1);
-        @SuppressWarnings("unchecked")
-        List<Object> l2Cast = (List<Object>)l2;
-        result.addAll(l2Cast);
-        return result;
+        return AsterList.persistent(l1).appendedAll(l2);
       }
       throw new BuiltinException(ErrorMessages.operationExpectedType("List.concat", "List, List", typeName(args[0]) + ", " + typeName(args[1])));
     }));
@@ -346,7 +354,11 @@ public final class Builtins {
       checkArity("List.contains", args, 2);
       List<Object> l = asList(args[0]);
       if (l != null) {
-        return l.contains(args[1]);
+        Object needle = AsterText.flatten(args[1]);
+        for (Object item : l) {
+          if (AsterText.valueEquals(item, needle)) return true;
+        }
+        return false;
       }
       throw new BuiltinException(ErrorMessages.operationExpectedType("List.contains", "List", typeName(args[0])));
     }));
@@ -365,7 +377,7 @@ public final class Builtins {
         int end = args.length == 3 ? toInt(args[2]) : l.size();
         @SuppressWarnings("unchecked")
         List<Object> lCast = (List<Object>)l;
-        return new ArrayList<>(lCast.subList(start, end));
+        return AsterList.copyOfRange(lCast, start, end);
       }
       throw new BuiltinException(ErrorMessages.operationExpectedType("List.slice", "List", typeName(args[0])));
     }));
@@ -385,7 +397,7 @@ public final class Builtins {
         throw new BuiltinException(ErrorMessages.lambdaMissingCallTarget("List.map"));
       }
 
-      List<Object> result = new ArrayList<>();
+      List<Object> result = new AsterList(l.size());
       for (Object item : l) {
         // Prepare arguments: [item, ...captures]
         Object[] capturedValues = lambda.getCapturedValues();
@@ -413,20 +425,22 @@ public final class Builtins {
         throw new BuiltinException(ErrorMessages.lambdaMissingCallTarget("List.filter"));
       }
 
-      List<Object> result = new ArrayList<>();
-      for (Object item : l) {
-        // Prepare arguments: [item, ...captures]
-        Object[] capturedValues = lambda.getCapturedValues();
-        Object[] callArgs = new Object[1 + capturedValues.length];
-        callArgs[0] = item;
-        System.arraycopy(capturedValues, 0, callArgs, 1, capturedValues.length);
+      return parallelOrSequential(lambda, l.size(), () -> ParallelListOps.filter(l, lambda), () -> {
+        List<Object> result = new AsterList();
+        for (Object item : l) {
+          // Prepare arguments: [item, ...captures]
+          Object[] capturedValues = lambda.getCapturedValues();
+          Object[] callArgs = new Object[1 + capturedValues.length];
+          callArgs[0] = item;
+          System.arraycopy(capturedValues, 0, callArgs, 1, capturedValues.length);
 
-        Object predicate = callTarget.call(callArgs);
-        if (Boolean.TRUE.equals(predicate)) {
-          result.add(item);
+          Object predicate = callTarget.call(callArgs);
+          if (Boolean.TRUE.equals(predicate)) {
+            result.add(item);
+          }
         }
-      }
-      return result;
+        return result;
+      });
     }));
 
     register("List.reduce", new BuiltinDef(args -> {
@@ -445,17 +459,12 @@ public final class Builtins {
         throw new BuiltinException(ErrorMessages.lambdaMissingCallTarget("List.reduce"));
       }
 
-      for (Object item : l) {
-        // Prepare arguments: [accumulator, item, ...captures]
-        Object[] capturedValues = lambda.getCapturedValues();
-        Object[] callArgs = new Object[2 + capturedValues.length];
-        callArgs[0] = accumulator;
-        callArgs[1] = item;
-        System.arraycopy(capturedValues, 0, callArgs, 2, capturedValues.length);
-
-        accumulator = callTarget.call(callArgs);
+      Object init = accumulator;
+      if (!isClosedUnder(PurityAnalyzer.associativeOp(callTarget), init, l)) {
+        return reduceSequential(l, init, lambda);
       }
-      return accumulator;
+      return parallelOrSequential(lambda, l.size(),
+          () -> ParallelListOps.reduce(l, init, lambda), () -> reduceSequential(l, init, lambda));
     }));
 
     // === 通用集合 stdlib（ADR 0024 受控扩展：调现成强函数，不在 CNL 手写算法）===
@@ -466,6 +475,14 @@ public final class Builtins {
     register("List.sum", new BuiltinDef(args -> {
       checkArity("List.sum", args, 1);
       List<Object> l = requireList("List.sum", args[0]);
+      if (l instanceof AsterList al && al.size() > 0) {
+        switch (al.storageKind()) {
+          case INT: return sumInts(al.intStore(), al.size());
+          case LONG: return sumLongs(al.longStore(), al.size());
+          case DOUBLE: return sumDoubles(al.doubleStore(), al.size());
+          default: break;
+        }
+      }
       Object acc = 0;
       for (Object x : l) acc = numericAdd(acc, x);
       return acc;
@@ -475,6 +492,9 @@ public final class Builtins {
     register("List.min", new BuiltinDef(args -> {
       checkArity("List.min", args, 1);
       List<Object> l = requireNonEmpty("List.min", args[0]);
+      if (l instanceof AsterList al && al.storageKind() != AsterList.StorageKind.OBJECT) {
+        return extremum(al, false);
+      }
       Object best = l.get(0);
       for (Object x : l) if (toDouble(x) < toDouble(best)) best = x;
       return best;
@@ -482,6 +502,9 @@ public final class Builtins {
     register("List.max", new BuiltinDef(args -> {
       checkArity("List.max", args, 1);
       List<Object> l = requireNonEmpty("List.max", args[0]);
+      if (l instanceof AsterList al && al.storageKind() != AsterList.StorageKind.OBJECT) {
+        return extremum(al, true);
+      }
       Object best = l.get(0);
       for (Object x : l) if (toDouble(x) > toDouble(best)) best = x;
       return best;
@@ -491,10 +514,10 @@ public final class Builtins {
     register("List.distinct", new BuiltinDef(args -> {
       checkArity("List.distinct", args, 1);
       List<Object> l = requireList("List.distinct", args[0]);
-      List<Object> out = new ArrayList<>();
+      List<Object> out = new AsterList();
       for (Object x : l) {
         boolean seen = false;
-        for (Object y : out) if (java.util.Objects.equals(unwrap(x), unwrap(y))) { seen = true; break; }
+        for (Object y : out) if (AsterText.valueEquals(unwrap(x), unwrap(y))) { seen = true; break; }
         if (!seen) out.add(x);
       }
       return out;
@@ -511,9 +534,10 @@ public final class Builtins {
       if (size > MAX_RANGE_SIZE) {
         throw new RuntimeException("List.range: 长度过大（" + size + " > " + MAX_RANGE_SIZE + "），拒绝以防内存耗尽 DoS");
       }
-      List<Object> out = new ArrayList<>(size > 0 ? (int) size : 0);
-      for (int i = start; i < end; i++) out.add(i);
-      return out;
+      int n = size > 0 ? (int) size : 0;
+      int[] values = new int[n];
+      for (int i = 0; i < n; i++) values[i] = start + i;
+      return AsterList.ofInts(values, n);
     }));
 
     // Date.* 合规原语（Stable v1，与 ts interpreter 逐位一致）：内部 epoch-day Int，纯整数
@@ -541,19 +565,19 @@ public final class Builtins {
     // 与 TS decimal.js toDecimalPlaces/dividedBy 逐位一致（含 2.5→2 银行家舍入 + canonical 去尾零）。
     register("Decimal.round", new BuiltinDef(args -> {
       checkArity("Decimal.round", args, 3);
-      java.math.BigDecimal x = toDecimal(args[0]);
+      AsterDecimalValue x = toDecimal(args[0]);
       int scale = decimalScale(args[1]);
       java.math.RoundingMode mode = decimalRoundingMode(args[2]);
-      return wrapDecimal(x.setScale(scale, mode));
+      return x.setScale(scale, mode);
     }));
     register("Decimal.divide", new BuiltinDef(args -> {
       checkArity("Decimal.divide", args, 4);
-      java.math.BigDecimal x = toDecimal(args[0]);
-      java.math.BigDecimal y = toDecimal(args[1]);
+      AsterDecimalValue x = toDecimal(args[0]);
+      AsterDecimalValue y = toDecimal(args[1]);
       if (y.signum() == 0) throw new BuiltinException("Decimal.divide: division by zero.");
       int scale = decimalScale(args[2]);
       java.math.RoundingMode mode = decimalRoundingMode(args[3]);
-      return wrapDecimal(x.divide(y, scale, mode));
+      return x.divide(y, scale, mode);
     }));
 
     // List.combinations(list, k)：list 的所有 k 元素子集，确定性递增索引字典序
@@ -596,7 +620,21 @@ public final class Builtins {
     register("List.sort", new BuiltinDef(args -> {
       checkArity("List.sort", args, 1);
       List<Object> l = requireList("List.sort", args[0]);
-      List<Object> out = new ArrayList<>(l);
+      // int/double 存储直接排原始数组：数值相等的元素不可区分，结果与稳定排序一致。
+      // long 按 toDouble 比较会把相邻大整数视为相等，原始排序会改变其相对次序，故走通用路径。
+      if (l instanceof AsterList al) {
+        if (al.storageKind() == AsterList.StorageKind.INT) {
+          int[] sorted = Arrays.copyOf(al.intStore(), al.size());
+          Arrays.sort(sorted);
+          return AsterList.ofInts(sorted, sorted.length);
+        }
+        if (al.storageKind() == AsterList.StorageKind.DOUBLE) {
+          double[] sorted = Arrays.copyOf(al.doubleStore(), al.size());
+          Arrays.sort(sorted);
+          return AsterList.ofDoubles(sorted, sorted.length);
+        }
+      }
+      List<Object> out = AsterList.copyOf(l);
       out.sort((x, y) -> Double.compare(toDouble(x), toDouble(y)));
       return out;
     }));
@@ -606,9 +644,11 @@ public final class Builtins {
       checkArity("List.count", args, 2);
       List<Object> l = requireList("List.count", args[0]);
       LambdaValue pred = requireLambda("List.count", args[1]);
-      int n = 0;
-      for (Object item : l) if (Boolean.TRUE.equals(callLambda1(pred, item))) n++;
-      return n;
+      return parallelOrSequential(pred, l.size(), () -> ParallelListOps.count(l, pred), () -> {
+        int n = 0;
+        for (Object item : l) if (Boolean.TRUE.equals(callLambda1(pred, item))) n++;
+        return n;
+      });
     }));
 
     // List.sortBy(list, keyFn)：按 keyFn(item) 的数值键升序、稳定。
@@ -616,9 +656,20 @@ public final class Builtins {
       checkArity("List.sortBy", args, 2);
       List<Object> l = requireList("List.sortBy", args[0]);
       LambdaValue keyFn = requireLambda("List.sortBy", args[1]);
-      List<Object> out = new ArrayList<>(l);
-      out.sort((x, y) -> Double.compare(toDouble(callLambda1(keyFn, x)), toDouble(callLambda1(keyFn, y))));
-      return out;
+      return parallelOrSequential(keyFn, l.size(), () -> {
+        // 键只算一次（并行），再按键做稳定归并排序；相等键保持原顺序，与 List.sort 一致
+        Object[] keys = ParallelListOps.mapValues(l, keyFn);
+        double[] numeric = new double[keys.length];
+        for (int i = 0; i < keys.length; i++) numeric[i] = toDouble(keys[i]);
+        int[] order = ParallelListOps.stableOrder(numeric);
+        List<Object> out = new ArrayList<>(order.length);
+        for (int index : order) out.add(l.get(index));
+        return out;
+      }, () -> {
+        List<Object> out = new ArrayList<>(l);
+        out.sort((x, y) -> Double.compare(toDouble(callLambda1(keyFn, x)), toDouble(callLambda1(keyFn, y))));
+        return out;
+      });
     }));
 
     // List.minBy / List.maxBy(list, keyFn)：按 keyFn(item) 数值键取极值元素（空列表抛错）。
@@ -626,17 +677,21 @@ public final class Builtins {
       checkArity("List.minBy", args, 2);
       List<Object> l = requireNonEmpty("List.minBy", args[0]);
       LambdaValue keyFn = requireLambda("List.minBy", args[1]);
-      Object best = l.get(0); double bestK = toDouble(callLambda1(keyFn, best));
-      for (Object x : l) { double k = toDouble(callLambda1(keyFn, x)); if (k < bestK) { best = x; bestK = k; } }
-      return best;
+      return parallelOrSequential(keyFn, l.size(), () -> extremeBy(l, ParallelListOps.mapValues(l, keyFn), -1), () -> {
+        Object best = l.get(0); double bestK = toDouble(callLambda1(keyFn, best));
+        for (Object x : l) { double k = toDouble(callLambda1(keyFn, x)); if (k < bestK) { best = x; bestK = k; } }
+        return best;
+      });
     }));
     register("List.maxBy", new BuiltinDef(args -> {
       checkArity("List.maxBy", args, 2);
       List<Object> l = requireNonEmpty("List.maxBy", args[0]);
       LambdaValue keyFn = requireLambda("List.maxBy", args[1]);
-      Object best = l.get(0); double bestK = toDouble(callLambda1(keyFn, best));
-      for (Object x : l) { double k = toDouble(callLambda1(keyFn, x)); if (k > bestK) { best = x; bestK = k; } }
-      return best;
+      return parallelOrSequential(keyFn, l.size(), () -> extremeBy(l, ParallelListOps.mapValues(l, keyFn), 1), () -> {
+        Object best = l.get(0); double bestK = toDouble(callLambda1(keyFn, best));
+        for (Object x : l) { double k = toDouble(callLambda1(keyFn, x)); if (k > bestK) { best = x; bestK = k; } }
+        return best;
+      });
     }));
 
     // List.groupBy(list, keyFn)：按 keyFn(item) 分组 → Map<key文本, List<item>>。
@@ -645,23 +700,36 @@ public final class Builtins {
       checkArity("List.groupBy", args, 2);
       List<Object> l = requireList("List.groupBy", args[0]);
       LambdaValue keyFn = requireLambda("List.groupBy", args[1]);
-      java.util.LinkedHashMap<String, Object> groups = new java.util.LinkedHashMap<>();
-      for (Object item : l) {
-        String key = textValue(callLambda1(keyFn, item));
-        @SuppressWarnings("unchecked")
-        List<Object> bucket = (List<Object>) groups.computeIfAbsent(key, k -> new ArrayList<>());
-        bucket.add(item);
-      }
-      return groups;
+      return parallelOrSequential(keyFn, l.size(), () -> {
+        // 键并行计算，分组按原顺序顺序完成：组的首次出现顺序与组内顺序都与顺序执行一致
+        Object[] keys = ParallelListOps.mapValues(l, keyFn);
+        java.util.LinkedHashMap<String, Object> groups = new java.util.LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+          @SuppressWarnings("unchecked")
+          List<Object> bucket = (List<Object>) groups.computeIfAbsent(textValue(keys[i]), k -> new ArrayList<>());
+          bucket.add(l.get(i));
+        }
+        return groups;
+      }, () -> {
+        java.util.LinkedHashMap<String, Object> groups = new java.util.LinkedHashMap<>();
+        for (Object item : l) {
+          String key = textValue(callLambda1(keyFn, item));
+          @SuppressWarnings("unchecked")
+          List<Object> bucket = (List<Object>) groups.computeIfAbsent(key, k -> new ArrayList<>());
+          bucket.add(item);
+        }
+        return groups;
+      });
     }));
 
     // === Map Operations (纯函数) ===
-    // 红队 P2-I：Map 全链用 LinkedHashMap（插入序），使 Map.keys/values 顺序确定且与 TS
+    // 红队 P2-I：Map 全链保持插入序，使 Map.keys/values 顺序确定且与 TS
     // 引擎逐字节一致（TS 用 JS object，Object.keys/values 返回插入序）。HashMap 是哈希序、
     // 非确定，破坏双引擎 parity 与可复现（Aster 决策必须可回放）。
+    // 表示为插入有序的持久化 HAMT（AsterMap）：put/remove 只复制一条路径，不再整表复制。
     register("Map.empty", new BuiltinDef(args -> {
       checkArity("Map.empty", args, 0);
-      return new java.util.LinkedHashMap<>();
+      return AsterMap.empty();
     }));
 
     register("Map.get", new BuiltinDef(args -> {
@@ -676,11 +744,8 @@ public final class Builtins {
     register("Map.put", new BuiltinDef(args -> {
       checkArity("Map.put", args, 3);
       if (args[0] instanceof Map<?,?> m) {
-        // LinkedHashMap 拷贝保插入序；新键追加末尾（与 TS `{...m, [k]:v}` 一致）。
-        @SuppressWarnings("unchecked")
-        Map<Object,Object> mutable = new java.util.LinkedHashMap<>((Map<Object,Object>)m);
-        mutable.put(args[1], args[2]);
-        return mutable;
+        // 已有键保持原位，新键追加末尾（与 TS `{...m, [k]:v}` 一致）。
+        return AsterMap.copyOf(m).assoc(AsterText.flatten(args[1]), args[2]);
       }
       throw new BuiltinException(ErrorMessages.operationExpectedType("Map.put", "Map", typeName(args[0])));
     }));
@@ -688,10 +753,7 @@ public final class Builtins {
     register("Map.remove", new BuiltinDef(args -> {
       checkArity("Map.remove", args, 2);
       if (args[0] instanceof Map<?,?> m) {
-        @SuppressWarnings("unchecked")
-        Map<Object,Object> mutable = new java.util.LinkedHashMap<>((Map<Object,Object>)m);
-        mutable.remove(args[1]);
-        return mutable;
+        return AsterMap.copyOf(m).without(AsterText.flatten(args[1]));
       }
       throw new BuiltinException(ErrorMessages.operationExpectedType("Map.remove", "Map", typeName(args[0])));
     }));
@@ -708,7 +770,7 @@ public final class Builtins {
     register("Map.keys", new BuiltinDef(args -> {
       checkArity("Map.keys", args, 1);
       if (args[0] instanceof Map<?,?> m) {
-        return new ArrayList<>(m.keySet());
+        return AsterList.copyOf(m.keySet());
       }
       throw new BuiltinException(ErrorMessages.operationExpectedType("Map.keys", "Map", typeName(args[0])));
     }));
@@ -716,7 +778,7 @@ public final class Builtins {
     register("Map.values", new BuiltinDef(args -> {
       checkArity("Map.values", args, 1);
       if (args[0] instanceof Map<?,?> m) {
-        return new ArrayList<>(m.values());
+        return AsterList.copyOf(m.values());
       }
       throw new BuiltinException(ErrorMessages.operationExpectedType("Map.values", "Map", typeName(args[0])));
     }));
@@ -732,36 +794,30 @@ public final class Builtins {
     // === Result Operations (纯函数) ===
     register("Result.isOk", new BuiltinDef(args -> {
       checkArity("Result.isOk", args, 1);
-      // Check for Map-based Ok
-      if (args[0] instanceof Map<?,?> m) {
-        return "Ok".equals(m.get("_type"));
-      }
-      return false;
+      // Check for Ok
+      return "Ok".equals(variantOf(args[0]));
     }));
 
     register("Result.isErr", new BuiltinDef(args -> {
       checkArity("Result.isErr", args, 1);
-      // Check for Map-based Err
-      if (args[0] instanceof Map<?,?> m) {
-        return "Err".equals(m.get("_type"));
-      }
-      return false;
+      // Check for Err
+      return "Err".equals(variantOf(args[0]));
     }));
 
     register("Result.unwrap", new BuiltinDef(args -> {
       checkArity("Result.unwrap", args, 1);
-      // Check for Map-based Ok
-      if (args[0] instanceof Map<?,?> m && "Ok".equals(m.get("_type"))) {
-        return m.get("value");
+      // Check for Ok
+      if ("Ok".equals(variantOf(args[0]))) {
+        return variantPayload(args[0]);
       }
       throw new BuiltinException(ErrorMessages.unwrapOnUnexpectedVariant("Result.unwrap", "Err"));
     }));
 
     register("Result.unwrapErr", new BuiltinDef(args -> {
       checkArity("Result.unwrapErr", args, 1);
-      // Check for Map-based Err
-      if (args[0] instanceof Map<?,?> m && "Err".equals(m.get("_type"))) {
-        return m.get("value");
+      // Check for Err
+      if ("Err".equals(variantOf(args[0]))) {
+        return variantPayload(args[0]);
       }
       throw new BuiltinException(ErrorMessages.unwrapOnUnexpectedVariant("Result.unwrapErr", "Ok"));
     }));
@@ -769,67 +825,55 @@ public final class Builtins {
     // === Maybe Operations (纯函数) ===
     register("Maybe.isSome", new BuiltinDef(args -> {
       checkArity("Maybe.isSome", args, 1);
-      if (args[0] instanceof Map<?,?> m) {
-        return "Some".equals(m.get("_type"));
-      }
-      return false;
+      return "Some".equals(variantOf(args[0]));
     }));
 
     register("Maybe.isNone", new BuiltinDef(args -> {
       checkArity("Maybe.isNone", args, 1);
-      // Check for Map-based None
-      if (args[0] instanceof Map<?,?> m) {
-        return "None".equals(m.get("_type"));
-      }
-      return false;
+      // Check for None
+      return "None".equals(variantOf(args[0]));
     }));
 
     // === Option Operations (alias for Maybe) ===
     register("Option.isSome", new BuiltinDef(args -> {
       checkArity("Option.isSome", args, 1);
-      if (args[0] instanceof Map<?,?> m) {
-        return "Some".equals(m.get("_type"));
-      }
-      return false;
+      return "Some".equals(variantOf(args[0]));
     }));
 
     register("Option.isNone", new BuiltinDef(args -> {
       checkArity("Option.isNone", args, 1);
-      // Check for Map-based None
-      if (args[0] instanceof Map<?,?> m) {
-        return "None".equals(m.get("_type"));
-      }
-      return false;
+      // Check for None
+      return "None".equals(variantOf(args[0]));
     }));
 
     register("Option.unwrap", new BuiltinDef(args -> {
       checkArity("Option.unwrap", args, 1);
-      if (args[0] instanceof Map<?,?> m && "Some".equals(m.get("_type"))) {
-        return m.get("value");
+      if ("Some".equals(variantOf(args[0]))) {
+        return variantPayload(args[0]);
       }
       throw new BuiltinException(ErrorMessages.unwrapOnUnexpectedVariant("Option.unwrap", "None"));
     }));
 
     register("Option.unwrapOr", new BuiltinDef(args -> {
       checkArity("Option.unwrapOr", args, 2);
-      if (args[0] instanceof Map<?,?> m && "Some".equals(m.get("_type"))) {
-        return m.get("value");
+      if ("Some".equals(variantOf(args[0]))) {
+        return variantPayload(args[0]);
       }
       return args[1]; // default value
     }));
 
     register("Maybe.unwrap", new BuiltinDef(args -> {
       checkArity("Maybe.unwrap", args, 1);
-      if (args[0] instanceof Map<?,?> m && "Some".equals(m.get("_type"))) {
-        return m.get("value");
+      if ("Some".equals(variantOf(args[0]))) {
+        return variantPayload(args[0]);
       }
       throw new BuiltinException(ErrorMessages.unwrapOnUnexpectedVariant("Maybe.unwrap", "None"));
     }));
 
     register("Maybe.unwrapOr", new BuiltinDef(args -> {
       checkArity("Maybe.unwrapOr", args, 2);
-      if (args[0] instanceof Map<?,?> m && "Some".equals(m.get("_type"))) {
-        return m.get("value");
+      if ("Some".equals(variantOf(args[0]))) {
+        return variantPayload(args[0]);
       }
       return args[1]; // default value
     }));
@@ -837,9 +881,9 @@ public final class Builtins {
     // Alias for unwrapOr
     register("Maybe.withDefault", new BuiltinDef(args -> {
       checkArity("Maybe.withDefault", args, 2);
-      // Check for Map-based Some
-      if (args[0] instanceof Map<?,?> m && "Some".equals(m.get("_type"))) {
-        return m.get("value");
+      // Check for Some
+      if ("Some".equals(variantOf(args[0]))) {
+        return variantPayload(args[0]);
       }
       return args[1]; // default value
     }));
@@ -848,12 +892,12 @@ public final class Builtins {
       checkArity("Maybe.map", args, 2);
 
       // If None, return None
-      if (args[0] instanceof Map<?,?> m && "None".equals(m.get("_type"))) {
-        return java.util.Map.of("_type", "None");
+      if ("None".equals(variantOf(args[0]))) {
+        return AsterMaybe.NONE;
       }
 
       // If Some, apply function
-      if (args[0] instanceof Map<?,?> m && "Some".equals(m.get("_type"))) {
+      if ("Some".equals(variantOf(args[0]))) {
         if (!(args[1] instanceof LambdaValue lambda)) {
           throw new BuiltinException(ErrorMessages.operationExpectedType("Maybe.map", "Lambda", typeName(args[1])));
         }
@@ -863,7 +907,7 @@ public final class Builtins {
           throw new BuiltinException(ErrorMessages.lambdaMissingCallTarget("Maybe.map"));
         }
 
-        Object value = m.get("value");
+        Object value = variantPayload(args[0]);
         Object[] capturedValues = lambda.getCapturedValues();
         Object[] callArgs = new Object[1 + capturedValues.length];
         callArgs[0] = value;
@@ -871,12 +915,9 @@ public final class Builtins {
 
         Object mapped = callTarget.call(callArgs);
 
-        // Return Some(mapped)。红队 P2-I：LinkedHashMap 固定 _type→value 插入序，
-        // 防 HashMap 键序不定破坏 Map.keys 可复现 / 双引擎 parity。
-        Map<String, Object> result = new java.util.LinkedHashMap<>();
-        result.put("_type", "Some");
-        result.put("value", mapped);
-        return result;
+        // Return Some(mapped)。红队 P2-I：AsterMaybe 的 Map 视图固定 _type→value 键序，
+        // 防键序不定破坏 Map.keys 可复现 / 双引擎 parity。
+        return AsterMaybe.some(mapped);
       }
 
       throw new BuiltinException(ErrorMessages.operationExpectedType("Maybe.map", "Maybe (Some or None)", typeName(args[0])));
@@ -885,8 +926,8 @@ public final class Builtins {
     register("Result.mapOk", new BuiltinDef(args -> {
       checkArity("Result.mapOk", args, 2);
 
-      // Check for Map-based Err - return unchanged
-      if (args[0] instanceof Map<?,?> m && "Err".equals(m.get("_type"))) {
+      // Check for Err - return unchanged
+      if ("Err".equals(variantOf(args[0]))) {
         return args[0];
       }
 
@@ -901,8 +942,8 @@ public final class Builtins {
       }
 
       Object value;
-      if (args[0] instanceof Map<?,?> m && "Ok".equals(m.get("_type"))) {
-        value = m.get("value");
+      if ("Ok".equals(variantOf(args[0]))) {
+        value = variantPayload(args[0]);
       } else {
         throw new BuiltinException(ErrorMessages.operationExpectedType("Result.mapOk", "Result (Ok or Err)", typeName(args[0])));
       }
@@ -914,18 +955,15 @@ public final class Builtins {
 
       Object mapped = callTarget.call(callArgs);
 
-      // Return Ok(mapped)。红队 P2-I：LinkedHashMap 固定键序（可复现 / parity）。
-      Map<String, Object> result = new java.util.LinkedHashMap<>();
-      result.put("_type", "Ok");
-      result.put("value", mapped);
-      return result;
+      // Return Ok(mapped)。红队 P2-I：固定键序（可复现 / parity），由值类的 Map 视图保证。
+      return AsterResult.ok(mapped);
     }));
 
     register("Result.mapErr", new BuiltinDef(args -> {
       checkArity("Result.mapErr", args, 2);
 
-      // Check for Map-based Ok - return unchanged
-      if (args[0] instanceof Map<?,?> m && "Ok".equals(m.get("_type"))) {
+      // Check for Ok - return unchanged
+      if ("Ok".equals(variantOf(args[0]))) {
         return args[0];
       }
 
@@ -940,8 +978,8 @@ public final class Builtins {
       }
 
       Object value;
-      if (args[0] instanceof Map<?,?> m && "Err".equals(m.get("_type"))) {
-        value = m.get("value");
+      if ("Err".equals(variantOf(args[0]))) {
+        value = variantPayload(args[0]);
       } else {
         throw new BuiltinException(ErrorMessages.operationExpectedType("Result.mapErr", "Result (Ok or Err)", typeName(args[0])));
       }
@@ -953,18 +991,15 @@ public final class Builtins {
 
       Object mapped = callTarget.call(callArgs);
 
-      // Return Err(mapped)。红队 P2-I：LinkedHashMap 固定键序（可复现 / parity）。
-      Map<String, Object> result = new java.util.LinkedHashMap<>();
-      result.put("_type", "Err");
-      result.put("value", mapped);
-      return result;
+      // Return Err(mapped)。红队 P2-I：固定键序（可复现 / parity），由值类的 Map 视图保证。
+      return AsterResult.err(mapped);
     }));
 
     register("Result.tapError", new BuiltinDef(args -> {
       checkArity("Result.tapError", args, 2);
 
-      // Check for Map-based Ok - return unchanged
-      if (args[0] instanceof Map<?,?> m && "Ok".equals(m.get("_type"))) {
+      // Check for Ok - return unchanged
+      if ("Ok".equals(variantOf(args[0]))) {
         return args[0];
       }
 
@@ -979,8 +1014,8 @@ public final class Builtins {
       }
 
       Object value;
-      if (args[0] instanceof Map<?,?> m && "Err".equals(m.get("_type"))) {
-        value = m.get("value");
+      if ("Err".equals(variantOf(args[0]))) {
+        value = variantPayload(args[0]);
       } else {
         throw new BuiltinException(ErrorMessages.operationExpectedType("Result.tapError", "Result (Ok or Err)", typeName(args[0])));
       }
@@ -1048,7 +1083,7 @@ public final class Builtins {
    * @return 返回值，如果不存在返回null
    */
   public static Object call(String name, Object[] args) throws BuiltinException {
-    BuiltinDef def = REGISTRY.get(canonicalName(name));
+    BuiltinDef def = lookup(name);
     if (def == null) return null;
     return def.impl.call(args);
   }
@@ -1057,7 +1092,21 @@ public final class Builtins {
    * 检查builtin是否存在
    */
   public static boolean has(String name) {
-    return REGISTRY.containsKey(canonicalName(name));
+    return lookup(name) != null;
+  }
+
+  /**
+   * 解析 builtin 句柄（含运算符拼写归一化）。
+   *
+   * <p>canonicalName 每次都要 toLowerCase + 正则归一化空白再查表，放在每次调用的
+   * 热路径上代价明显（规则里每个 `+`/`<` 都会触发一次）。节点应在构建期调用本方法
+   * 解析一次并缓存返回的 {@link BuiltinDef}，之后经 {@link BuiltinDef#invoke} 直接调用。
+   *
+   * @return 对应的定义；未注册时返回 null
+   */
+  public static BuiltinDef lookup(String name) {
+    if (name == null) return null;
+    return REGISTRY.get(canonicalName(name));
   }
 
   /**
@@ -1066,10 +1115,22 @@ public final class Builtins {
    * @return effects集合，如果不存在返回null
    */
   public static Set<String> getEffects(String name) {
-    BuiltinDef def = REGISTRY.get(canonicalName(name));
+    BuiltinDef def = lookup(name);
     return def != null ? def.requiredEffects : null;
   }
 
+  /** 会调用函数型参数的 builtin（canonical 名）：调用它们的 effect 还包括被调函数的 effect。 */
+  private static final Set<String> FUNCTION_ARG_BUILTINS = Set.of(
+      "List.map", "List.filter", "List.reduce", "List.count", "List.sortBy", "List.minBy", "List.maxBy",
+      "List.groupBy", "Maybe.map", "Result.mapOk", "Result.mapErr", "Result.tapError");
+
+  /**
+   * builtin 是否会调用作为参数传入的函数（供静态 effect 推断，见 EffectInference）。
+   */
+  public static boolean callsFunctionArgs(String name) {
+    return name != null && FUNCTION_ARG_BUILTINS.contains(canonicalName(name));
+  }
+
   /**
    * 把 parser / Core IR 里的运算符拼写归一化为 runtime builtin 名。
    *
@@ -1102,11 +1163,6 @@ public final class Builtins {
     };
   }
 
-  /** guard 辅助：name 归一化后是否等于给定 canonical builtin 名。 */
-  public static boolean isCanonicalName(String name, String canonical) {
-    return canonical.equals(canonicalName(name));
-  }
-
   // ===  辅助方法 ===
 
   private static void checkArity(String name, Object[] args, int expected) {
@@ -1236,6 +1292,71 @@ public final class Builtins {
     throw new BuiltinException(ErrorMessages.operationExpectedType(op, "Lambda", typeName(o)));
   }
 
+  /**
+   * lambda 为纯函数、列表够大且按实测耗时值得并行时走 fork/join 实现（{@link ParallelListOps}），否则顺序执行。
+   * 并行执行抛错时按顺序实现重放：纯函数重放无副作用，错误（首个出错元素）与顺序执行一致。
+   */
+  private static Object parallelOrSequential(LambdaValue fn, int size,
+                                             java.util.function.Supplier<Object> parallel,
+                                             java.util.function.Supplier<Object> sequential) {
+    if (fn.getCallTarget() == null || !ParallelListOps.shouldParallelize(size, fn)
+        || !PurityAnalyzer.isPure(fn)) {
+      return sequential.get();
+    }
+    try {
+      return parallel.get();
+    } catch (RuntimeException e) {
+      Profiler.inc("builtin_list_parallel_replay");
+      return sequential.get();
+    }
+  }
+
+  /** List.reduce 的顺序折叠：[accumulator, item, ...captures]。 */
+  private static Object reduceSequential(List<Object> l, Object accumulator, LambdaValue lambda) {
+    CallTarget callTarget = lambda.getCallTarget();
+    for (Object item : l) {
+      Object[] capturedValues = lambda.getCapturedValues();
+      Object[] callArgs = new Object[2 + capturedValues.length];
+      callArgs[0] = accumulator;
+      callArgs[1] = item;
+      System.arraycopy(capturedValues, 0, callArgs, 2, capturedValues.length);
+
+      accumulator = callTarget.call(callArgs);
+    }
+    return accumulator;
+  }
+
+  /**
+   * 归约函数可结合（{@link PurityAnalyzer#associativeOp}）且初值与元素都落在该运算封闭、
+   * 结果与分组无关的类型上时才可分块归约：add/mul 限 Decimal（精确），add/Text.concat 限文本，
+   * and/or 限 Bool。Int/Long 的 add 会在溢出时拓宽，结果类型依赖求值顺序，保持顺序折叠。
+   */
+  private static boolean isClosedUnder(String op, Object init, List<Object> l) {
+    if (op == null) return false;
+    java.util.function.Predicate<Object> closed = switch (op) {
+      case "add" -> init instanceof AsterDecimalValue
+          ? v -> v instanceof AsterDecimalValue
+          : AsterText::isText;
+      case "mul" -> v -> v instanceof AsterDecimalValue;
+      case "and", "or" -> v -> v instanceof Boolean;
+      case "Text.concat" -> AsterText::isText;
+      default -> v -> false;
+    };
+    if (!closed.test(init)) return false;
+    for (Object item : l) if (!closed.test(item)) return false;
+    return true;
+  }
+
+  /** 按已算好的键取极值元素（sign = -1 取最小、1 取最大）；键相等时保留靠前者，与顺序扫描一致。 */
+  private static Object extremeBy(List<Object> l, Object[] keys, int sign) {
+    Object best = l.get(0); double bestK = toDouble(keys[0]);
+    for (int i = 1; i < keys.length; i++) {
+      double k = toDouble(keys[i]);
+      if (sign < 0 ? k < bestK : k > bestK) { best = l.get(i); bestK = k; }
+    }
+    return best;
+  }
+
   /** 以单参调用 lambda（拼接 captures），返回结果。复用既有 captures 调用约定。 */
   private static Object callLambda1(LambdaValue lambda, Object arg) {
     com.oracle.truffle.api.CallTarget callTarget = lambda.getCallTarget();
@@ -1270,6 +1391,10 @@ public final class Builtins {
     return value instanceof Double || value instanceof Float;
   }
 
+  private static boolean isLong(Object o) {
+    return unwrap(o) instanceof Long;
+  }
+
   private static boolean isNumber(Object o) {
     return unwrap(o) instanceof Number;
   }
@@ -1283,29 +1408,22 @@ public final class Builtins {
   }
 
   /**
-   * 把操作数转成 BigDecimal 用于精确运算。AsterDecimalValue → 解包；Int/Long → 精确提升
-   * （BigDecimal.valueOf）；Double/Float → 禁止混算（ADR 0025：Double 是二进制浮点，与
+   * 把操作数转成 Decimal 用于精确运算。AsterDecimalValue → 原样；Int/Long → 精确提升
+   * （compact 表示，不分配 BigDecimal）；Double/Float → 禁止混算（ADR 0025：Double 是二进制浮点，与
    * Decimal 混算会引入误差，破坏可证明性），抛 deterministic error。与 TS interpreter 的
    * toDec 行为逐位一致（TS 用 Number.isInteger 判定）。
    */
-  private static java.math.BigDecimal toDecimal(Object o) {
+  private static AsterDecimalValue toDecimal(Object o) {
     Object v = unwrap(o);
-    if (v instanceof AsterDecimalValue d) return d.decimal();
-    if (v instanceof Integer i) return java.math.BigDecimal.valueOf(i.longValue());
-    if (v instanceof Long l) return java.math.BigDecimal.valueOf(l);
+    if (v instanceof AsterDecimalValue d) return d;
+    if (v instanceof Integer i) return AsterDecimalValue.valueOf(i.longValue());
+    if (v instanceof Long l) return AsterDecimalValue.valueOf(l);
     if (v instanceof Double || v instanceof Float) {
       throw new BuiltinException("Cannot combine Decimal and Double; convert explicitly (ADR 0025)");
     }
     throw new BuiltinException(ErrorMessages.typeExpectedGot("Decimal", typeName(o)));
   }
 
-  /**
-   * 精确运算结果 BigDecimal → guest AsterDecimalValue（canonical 化：去尾零、零归 ZERO，
-   * 避免 "-0"/指数）。保证 `1.20m × 1.080m` 两引擎都得 "1.296"，序列化 toPlainString 相同。
-   */
-  private static AsterDecimalValue wrapDecimal(java.math.BigDecimal d) {
-    return AsterDecimalValue.of(d);
-  }
 
   /**
    * 舍入模式字符串 → BigDecimal RoundingMode（ADR 0025 M2）。HALF_UP（远离零）/
@@ -1332,27 +1450,91 @@ public final class Builtins {
     return n;
   }
 
-  // 数值算术：任一操作数为浮点 → double 结果；否则 int。结果若为整数值，
-  // 由调用方序列化层（CoreIrEvalCli.valueToJson 的 fitsInInt）收敛回 int，
-  // 与 TS 的 JSON 序列化逐位一致。
+  // === AsterList 原始存储上的聚合（结果与逐元素 numericAdd / toDouble 比较逐位一致）===
+
+  /** Int 求和：沿 numericAdd 的宽化路径，前缀和一旦超出 Int 即以 Long 返回。 */
+  private static Object sumInts(int[] values, int size) {
+    long acc = 0;
+    boolean widened = false;
+    for (int i = 0; i < size; i++) {
+      acc += values[i];
+      if (acc != (int) acc) widened = true;
+    }
+    return widened ? (Object) acc : (Object) (int) acc;
+  }
+
+  /** Long 求和：溢出后与 IntegerArithmetic.add 一样转入 double 累加。 */
+  private static Object sumLongs(long[] values, int size) {
+    long acc = 0;
+    int i = 0;
+    for (; i < size; i++) {
+      long next = acc + values[i];
+      if (((acc ^ next) & (values[i] ^ next)) < 0) break;
+      acc = next;
+    }
+    if (i == size) return acc;
+    double dacc = (double) acc + (double) values[i];
+    for (i++; i < size; i++) dacc += (double) values[i];
+    return dacc;
+  }
+
+  private static Object sumDoubles(double[] values, int size) {
+    double acc = 0.0;
+    for (int i = 0; i < size; i++) acc += values[i];
+    return acc;
+  }
+
+  /** 非空 Int/Long/Double 存储的极值：严格更优才替换，与通用路径一样保留首个极值元素。 */
+  private static Object extremum(AsterList l, boolean max) {
+    int n = l.size();
+    switch (l.storageKind()) {
+      case INT: {
+        int[] v = l.intStore();
+        int best = v[0];
+        for (int i = 1; i < n; i++) if (max ? v[i] > best : v[i] < best) best = v[i];
+        return best;
+      }
+      case LONG: {
+        long[] v = l.longStore();
+        long best = v[0];
+        for (int i = 1; i < n; i++) if (max ? (double) v[i] > (double) best : (double) v[i] < (double) best) best = v[i];
+        return best;
+      }
+      default: {
+        double[] v = l.doubleStore();
+        double best = v[0];
+        for (int i = 1; i < n; i++) if (max ? v[i] > best : v[i] < best) best = v[i];
+        return best;
+      }
+    }
+  }
+
+  // 数值算术：任一操作数为浮点 → double 结果；否则整数（Int → Long → Double 宽化，
+  // 见 IntegerArithmetic）。结果若为整数值，由调用方序列化层（CoreIrEvalCli.valueToJson
+  // 的 fitsInInt）收敛回 int，与 TS 的 JSON 序列化逐位一致。
   // Decimal（ADR 0025）：任一操作数是 Decimal → 精确加减乘（不舍入），结果包回
   // AsterDecimalValue。除法/取模对 Decimal 禁用（走 Decimal.divide builtin=M2）。
-  private static Object numericAdd(Object a, Object b) {
-    if (isDecimal(a) || isDecimal(b)) return wrapDecimal(toDecimal(a).add(toDecimal(b)));
+  // ArithmeticNodes 的类型特化与这里逐位一致，类型不匹配时回退到本路径。
+  // numericAdd 公开给 ListPipelineNode：融合的 List.sum 逐元素累加须与本 builtin 逐位一致。
+  public static Object numericAdd(Object a, Object b) {
+    if (isDecimal(a) || isDecimal(b)) return toDecimal(a).add(toDecimal(b));
     if (isFractional(a) || isFractional(b)) return toDouble(a) + toDouble(b);
-    return toInt(a) + toInt(b);
+    if (isLong(a) || isLong(b)) return IntegerArithmetic.add(toLong(a), toLong(b));
+    return IntegerArithmetic.add(toInt(a), toInt(b));
   }
 
   private static Object numericSub(Object a, Object b) {
-    if (isDecimal(a) || isDecimal(b)) return wrapDecimal(toDecimal(a).subtract(toDecimal(b)));
+    if (isDecimal(a) || isDecimal(b)) return toDecimal(a).subtract(toDecimal(b));
     if (isFractional(a) || isFractional(b)) return toDouble(a) - toDouble(b);
-    return toInt(a) - toInt(b);
+    if (isLong(a) || isLong(b)) return IntegerArithmetic.sub(toLong(a), toLong(b));
+    return IntegerArithmetic.sub(toInt(a), toInt(b));
   }
 
   private static Object numericMul(Object a, Object b) {
-    if (isDecimal(a) || isDecimal(b)) return wrapDecimal(toDecimal(a).multiply(toDecimal(b)));
+    if (isDecimal(a) || isDecimal(b)) return toDecimal(a).multiply(toDecimal(b));
     if (isFractional(a) || isFractional(b)) return toDouble(a) * toDouble(b);
-    return toInt(a) * toInt(b);
+    if (isLong(a) || isLong(b)) return IntegerArithmetic.mul(toLong(a), toLong(b));
+    return IntegerArithmetic.mul(toInt(a), toInt(b));
   }
 
   private static String textValue(Object value) {
@@ -1360,8 +1542,15 @@ public final class Builtins {
     return String.valueOf(inner);
   }
 
+  /** 拼接/取长度的操作数：rope 原样保留，其余值按 textValue 转成 String。 */
+  private static Object textOperand(Object value) {
+    Object inner = AsterPiiValue.unwrap(value);
+    return inner instanceof com.oracle.truffle.api.strings.TruffleString ? inner : String.valueOf(inner);
+  }
+
+  /** 解开 PII 包装并把 rope 展平为 String，builtin 内部只需面对平坦文本。 */
   private static Object unwrap(Object value) {
-    return AsterPiiValue.unwrap(value);
+    return AsterText.flatten(AsterPiiValue.unwrap(value));
   }
 
   /**
@@ -1399,6 +1588,27 @@ public final class Builtins {
     return null;
   }
 
+  /**
+   * Result/Maybe 的变体名（"Ok"/"Err"/"Some"/"None"）。
+   * 专用值类（AsterResult/AsterMaybe）按类判定；宿主传入的旧 Map 形态按 {@code _type} 键回退。
+   *
+   * @return 变体名；不是 Result/Maybe 时返回 null
+   */
+  static String variantOf(Object o) {
+    if (o instanceof AsterResult r) return r.variantName();
+    if (o instanceof AsterMaybe m) return m.variantName();
+    if (o instanceof Map<?,?> m && m.get("_type") instanceof String s) return s;
+    return null;
+  }
+
+  /** Result/Maybe 的载荷（Ok/Err/Some 的 value），旧 Map 形态读 {@code value} 键。 */
+  static Object variantPayload(Object o) {
+    if (o instanceof AsterResult r) return r.getValue();
+    if (o instanceof AsterMaybe m) return m.getValue();
+    if (o instanceof Map<?,?> m) return m.get("value");
+    return null;
+  }
+
   /**
    * 获取对象的类型名称，用于错误消息生成
    *
@@ -1408,6 +1618,7 @@ public final class Builtins {
   public static String typeName(Object o) {
     if (o == null) return "null";
     if (o instanceof AsterPiiValue) return "PII";
+    if (AsterText.isText(o)) return "String";
     if (o instanceof AsterDataValue dataValue) return dataValue.getTypeName();
     if (o instanceof AsterEnumValue enumValue) return enumValue.getQualifiedName();
     if (o instanceof Map<?,?> m) {
@@ -52,6 +52,20 @@ public final class FrameSlotBuilder {
     variableToSlot.put(name, slotIndex);
   }
 
+  /**
+   * 为词法块内的绑定分配独立槽位（Scope 内 Let、match 分支绑定、workflow 步骤名等）。
+   *
+   * 与 {@link #addLocal} 不同，同名变量允许重复分配：内层绑定遮蔽外层时需要各自的槽位，
+   * 名称到槽位的解析由 Loader 的词法作用域链负责，因此不写入函数级符号表。
+   *
+   * @return 新槽位索引
+   */
+  public int addScopedLocal(String name) {
+    int slotIndex = nextSlotIndex++;
+    descriptorBuilder.addSlot(FrameSlotKind.Object, name, null);
+    return slotIndex;
+  }
+
   /**
    * 获取变量的槽位索引
    */
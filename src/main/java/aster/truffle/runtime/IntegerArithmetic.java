@@ -0,0 +1,62 @@
+package aster.truffle.runtime;
+
+/**
+ * 整数算术的溢出语义（Builtins 通用路径与 ArithmeticNodes 特化路径共用）。
+ *
+ * <p>TS 解释器只有统一 number：整数运算超出 32 位后按更宽的值继续，不会回绕。
+ * Java 这边区分 Int/Long，因此约定提升链 Int → Long → Double：
+ * <ul>
+ *   <li>两侧 Int：按 long 精确计算，结果能放回 int 则仍是 Int，否则提升为 Long；</li>
+ *   <li>含 Long：按 long 精确计算（Math.*Exact），溢出时退化为 double，与 TS 超出
+ *       安全整数后的浮点行为一致。</li>
+ * </ul>
+ * 修复前 Int 溢出静默回绕、Long 操作数经 toInt 被截断，两者都与 TS 分歧。
+ * 特化节点的 int/long 快速路径在溢出时 rewrite 到这里的宽化实现，保证两条路径逐位一致。
+ */
+public final class IntegerArithmetic {
+  private IntegerArithmetic() {}
+
+  public static Object add(int a, int b) {
+    return narrow((long) a + (long) b);
+  }
+
+  public static Object sub(int a, int b) {
+    return narrow((long) a - (long) b);
+  }
+
+  public static Object mul(int a, int b) {
+    return narrow((long) a * (long) b);
+  }
+
+  public static Object add(long a, long b) {
+    try {
+      return Math.addExact(a, b);
+    } catch (ArithmeticException e) {
+      return (double) a + (double) b;
+    }
+  }
+
+  public static Object sub(long a, long b) {
+    try {
+      return Math.subtractExact(a, b);
+    } catch (ArithmeticException e) {
+      return (double) a - (double) b;
+    }
+  }
+
+  public static Object mul(long a, long b) {
+    try {
+      return Math.multiplyExact(a, b);
+    } catch (ArithmeticException e) {
+      return (double) a * (double) b;
+    }
+  }
+
+  /** long 结果能放回 int 时保持 Int（避免 3 与 3L 在 Map key / distinct 中被视为不同值）。 */
+  private static Object narrow(long value) {
+    if ((int) value == value) {
+      return (int) value;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,199 @@
+package aster.truffle.runtime;
+
+import aster.truffle.AsterContext;
+import aster.truffle.AsterLanguage;
+import aster.truffle.nodes.Profiler;
+import aster.truffle.runtime.interop.AsterDecimalValue;
+import aster.truffle.runtime.interop.AsterListValue;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.TruffleString;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 纯函数调用的记忆化缓存：每个上下文一个，按 LRU 淘汰，容量有界。
+ *
+ * 设计要点：
+ * - 键 = 被调函数的 RootNode 身份 + 实参的结构化规范形式。支持 null、数值（Int/Long/Double/
+ *   BigInteger/Decimal）、Boolean、文本（rope 展平为 String）、{@link AsterEnumValue}、
+ *   {@link AsterDataValue} 与列表，按结构比较而非引用；Int 与 Long 视为不同的键
+ * - 实参含其他值（函数值、Map、PII 值等）或规模超过 {@link #MAX_KEY_NODES} 个节点时不缓存，
+ *   直接执行，避免为大列表逐元素求 hash 的开销超过调用本身
+ * - 只缓存正常返回的结果；抛出的错误每次都重新执行
+ * - 命中/未命中/淘汰次数可经 getter 读取，profiler 开启时另计 memo_hit / memo_miss 计数器
+ * - 由语言选项 {@code aster.Memoize} 显式开启（默认关闭），容量由 {@code aster.MemoCacheSize} 指定
+ */
+public final class MemoCache {
+  public static final int DEFAULT_CAPACITY = 4096;
+
+  /** 单个键允许的最大结构节点数（实参本身与其嵌套的元素/字段）。 */
+  static final int MAX_KEY_NODES = 1024;
+
+  /** {@link #get} 未命中时的返回值（缓存的结果本身可能为 null）。 */
+  public static final Object MISS = new Object();
+
+  private static final Object UNSUPPORTED = new Object();
+
+  private final int capacity;
+  private final LinkedHashMap<Key, Object> entries;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public MemoCache(int capacity) {
+    this.capacity = Math.max(1, capacity);
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+        if (size() > MemoCache.this.capacity) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /** 当前上下文的缓存；未开启记忆化或不在上下文中（如并行 worker 线程）时返回 null。 */
+  @TruffleBoundary
+  public static MemoCache current() {
+    AsterContext context = AsterLanguage.getContextOrNull();
+    return context != null ? context.getMemoCache() : null;
+  }
+
+  /** 构造缓存键；实参不可结构化比较时返回 null，表示本次调用不缓存。 */
+  @TruffleBoundary
+  public Object keyFor(Object function, Object[] args) {
+    int[] budget = {MAX_KEY_NODES};
+    Object[] canonical = new Object[args.length];
+    for (int i = 0; i < args.length; i++) {
+      canonical[i] = canonical(args[i], budget);
+      if (canonical[i] == UNSUPPORTED) {
+        return null;
+      }
+    }
+    return new Key(function, Arrays.asList(canonical));
+  }
+
+  /** 查找缓存结果，未命中返回 {@link #MISS}。 */
+  @TruffleBoundary
+  public Object get(Object key) {
+    Object value;
+    synchronized (entries) {
+      value = entries.getOrDefault((Key) key, MISS);
+    }
+    if (value == MISS) {
+      misses.increment();
+      Profiler.inc("memo_miss");
+    } else {
+      hits.increment();
+      Profiler.inc("memo_hit");
+    }
+    return value;
+  }
+
+  @TruffleBoundary
+  public void put(Object key, Object value) {
+    synchronized (entries) {
+      entries.put((Key) key, value);
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  private static Object canonical(Object v, int[] budget) {
+    if (--budget[0] < 0) {
+      return UNSUPPORTED;
+    }
+    if (v == null || v instanceof Integer || v instanceof Long || v instanceof Double || v instanceof Boolean
+        || v instanceof String || v instanceof AsterDecimalValue || v instanceof BigInteger || v instanceof BigDecimal) {
+      return v;
+    }
+    if (v instanceof TruffleString ts) {
+      return AsterText.toJavaString(ts);
+    }
+    if (v instanceof AsterEnumValue ev) {
+      List<Object> args = canonicalAll(Arrays.asList(ev.getArgs()), budget);
+      return args == null ? UNSUPPORTED : new EnumKey(ev.getEnumName(), ev.getVariantName(), args);
+    }
+    if (v instanceof AsterDataValue dv) {
+      Object[] values = new Object[dv.fieldCount()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = dv.fieldValue(i);
+      }
+      List<Object> fields = canonicalAll(Arrays.asList(values), budget);
+      return fields == null ? UNSUPPORTED : new DataKey(dv.getTypeName(), dv.getFieldNames(), fields);
+    }
+    if (v instanceof AsterListValue lv) {
+      return canonicalList(lv.elements(), budget);
+    }
+    if (v instanceof List<?> list) {
+      return canonicalList(list, budget);
+    }
+    return UNSUPPORTED;
+  }
+
+  private static Object canonicalList(List<?> list, int[] budget) {
+    if (list.size() > budget[0]) {
+      return UNSUPPORTED;
+    }
+    List<Object> elements = canonicalAll(list, budget);
+    return elements == null ? UNSUPPORTED : new ListKey(elements);
+  }
+
+  private static List<Object> canonicalAll(List<?> values, int[] budget) {
+    List<Object> out = new ArrayList<>(values.size());
+    for (Object value : values) {
+      Object c = canonical(value, budget);
+      if (c == UNSUPPORTED) {
+        return null;
+      }
+      out.add(c);
+    }
+    return out;
+  }
+
+  private record Key(Object function, List<Object> args) {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key k && function == k.function && args.equals(k.args);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(function) + args.hashCode();
+    }
+  }
+
+  private record EnumKey(String enumName, String variantName, List<Object> args) {}
+
+  private record DataKey(String typeName, List<String> fieldNames, List<Object> fields) {}
+
+  private record ListKey(List<Object> elements) {}
+}
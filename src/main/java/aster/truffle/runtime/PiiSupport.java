@@ -118,6 +118,9 @@ public final class PiiSupport {
 
   @SuppressWarnings("unchecked")
   private static Map<String,Object> wrapResult(Map<?,?> input, CoreModel.Result res) {
+    if (input instanceof AsterResult result) {
+      return result.withValue(wrapValue(result.getValue(), result.isOk() ? res.ok : res.err));
+    }
     Map<String,Object> copy = copyMap(input);
     Object variant = copy.get("_type");
     if (!(variant instanceof String name)) {
@@ -132,6 +135,9 @@ public final class PiiSupport {
   }
 
   private static Map<String,Object> wrapOptional(Map<?,?> input, CoreModel.Type innerType) {
+    if (input instanceof AsterMaybe maybe) {
+      return maybe.withValue(wrapValue(maybe.getValue(), innerType));
+    }
     Map<String,Object> copy = copyMap(input);
     Object variant = copy.get("_type");
     if (Objects.equals(variant, "Some")) {
@@ -6,9 +6,10 @@ import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 /**
- * Decimal 一等公民（ADR 0025）的 guest 运行时值：包装精确 {@link BigDecimal}。
+ * Decimal 一等公民（ADR 0025）的 guest 运行时值：精确十进制数。
  *
  * <p>为何要包装而非裸 BigDecimal：Truffle 沙箱（无 host access）下，guest 值必须是
  * 基本类型或 {@link TruffleObject}；裸 BigDecimal 是 host 对象，流到 interop 边界会抛
@@ -18,31 +19,260 @@ import java.math.BigDecimal;
  * （toPlainString，去尾零）。这样 CoreIrEvalCli.valueToJson 走 isString 分支输出 JSON
  * **字符串**（如 "107.9"），与 TS decimal.js 的 JSON.stringify（toJSON→字符串）逐位一致
  * ——避免裸 BigDecimal 被当 number 输出导致精度丢失 + 双引擎分歧。NOT 暴露 isNumber()，
- * 正是为了走字符串路径。算术由 Builtins 解包 BigDecimal 后做精确运算再重新包装。
+ * 正是为了走字符串路径。
+ *
+ * <p>双表示：canonical 值（去尾零、零归 0）的非标度值放得进 long 时，以 {@code unscaled × 10^-scale}
+ * 存放，加减乘、比较、舍入与定标除法直接在 long 上做溢出检查运算；溢出或超出快速路径范围时
+ * 提升为 BigDecimal 计算。两条路径的结果都经同一 canonical 化，逐位一致；BigDecimal 只在
+ * 需要时（{@link #decimal()}）惰性构造。
  */
 @ExportLibrary(InteropLibrary.class)
 public final class AsterDecimalValue implements TruffleObject {
-  private final BigDecimal value;
+  /** 10^0 .. 10^18，long 可精确表示的 10 的幂。 */
+  private static final long[] POW10 = new long[19];
+  static {
+    POW10[0] = 1;
+    for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10;
+  }
+
+  private static final AsterDecimalValue ZERO = new AsterDecimalValue(0L, 0, null);
+
+  /** compact 表示的非标度值（canonical 非标度值放得进 long 时即用 compact，表示唯一）。 */
+  private final long unscaled;
+  private final int scale;
+  private final boolean compact;
+  /** 非 compact 时为 canonical BigDecimal；compact 时为惰性构造的缓存。 */
+  private BigDecimal big;
 
-  private AsterDecimalValue(BigDecimal value) {
-    this.value = value;
+  private AsterDecimalValue(long unscaled, int scale, BigDecimal big) {
+    this.unscaled = unscaled;
+    this.scale = scale;
+    this.compact = big == null;
+    this.big = big;
   }
 
-  /** 用 canonical 化（去尾零、零归 ZERO）后的 BigDecimal 构造，保证值语义稳定。 */
+  /** 用 canonical 化（去尾零、零归 ZERO）后的值构造，保证值语义稳定。 */
   public static AsterDecimalValue of(BigDecimal raw) {
     BigDecimal stripped = raw.stripTrailingZeros();
-    if (stripped.signum() == 0) stripped = BigDecimal.ZERO;
-    return new AsterDecimalValue(stripped);
+    if (stripped.signum() == 0) return ZERO;
+    if (stripped.unscaledValue().bitLength() < 64) {
+      return new AsterDecimalValue(stripped.unscaledValue().longValue(), stripped.scale(), null);
+    }
+    return new AsterDecimalValue(0L, 0, stripped);
+  }
+
+  /** {@code unscaled × 10^-scale}，canonical 化后构造。 */
+  public static AsterDecimalValue of(long unscaled, int scale) {
+    if (unscaled == 0) return ZERO;
+    while (unscaled % 10 == 0) {
+      unscaled /= 10;
+      scale--;
+    }
+    return new AsterDecimalValue(unscaled, scale, null);
+  }
+
+  /** Int/Long 的精确提升。 */
+  public static AsterDecimalValue valueOf(long value) {
+    return of(value, 0);
   }
 
-  /** 暴露底层精确值，供算术/比较 builtin 消费。 */
+  /** 解析十进制字面量（如 "107.90"、"-0.05"）；指数形式或超过 18 位数字时交给 BigDecimal 解析。 */
+  public static AsterDecimalValue parse(String text) {
+    int n = text.length();
+    int i = 0;
+    boolean negative = false;
+    if (n > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+      negative = text.charAt(0) == '-';
+      i = 1;
+    }
+    long value = 0;
+    int scale = 0;
+    int digits = 0;
+    boolean point = false;
+    for (; i < n; i++) {
+      char c = text.charAt(i);
+      if (c == '.' && !point) {
+        point = true;
+      } else if (c >= '0' && c <= '9') {
+        if (++digits > 18) return of(new BigDecimal(text));
+        value = value * 10 + (c - '0');
+        if (point) scale++;
+      } else {
+        return of(new BigDecimal(text));
+      }
+    }
+    if (digits == 0) {
+      // 空串、"-"、"." 等：与 BigDecimal 一样抛 NumberFormatException
+      return of(new BigDecimal(text));
+    }
+    return of(negative ? -value : value, scale);
+  }
+
+  /** 暴露精确值（compact 表示时惰性构造并缓存）。 */
   public BigDecimal decimal() {
-    return value;
+    BigDecimal b = big;
+    if (b == null) {
+      b = BigDecimal.valueOf(unscaled, scale);
+      big = b;
+    }
+    return b;
+  }
+
+  public int signum() {
+    return compact ? Long.signum(unscaled) : big.signum();
+  }
+
+  public AsterDecimalValue add(AsterDecimalValue other) {
+    if (compact && other.compact) {
+      int s = Math.max(scale, other.scale);
+      long a = rescale(unscaled, s - scale);
+      long b = rescale(other.unscaled, s - other.scale);
+      if (a != OVERFLOW && b != OVERFLOW) {
+        long r = a + b;
+        if (((a ^ r) & (b ^ r)) >= 0) return of(r, s);
+      }
+    }
+    return of(decimal().add(other.decimal()));
+  }
+
+  public AsterDecimalValue subtract(AsterDecimalValue other) {
+    if (compact && other.compact) {
+      int s = Math.max(scale, other.scale);
+      long a = rescale(unscaled, s - scale);
+      long b = rescale(other.unscaled, s - other.scale);
+      if (a != OVERFLOW && b != OVERFLOW) {
+        long r = a - b;
+        if (((a ^ b) & (a ^ r)) >= 0) return of(r, s);
+      }
+    }
+    return of(decimal().subtract(other.decimal()));
+  }
+
+  public AsterDecimalValue multiply(AsterDecimalValue other) {
+    if (compact && other.compact) {
+      long hi = Math.multiplyHigh(unscaled, other.unscaled);
+      long lo = unscaled * other.unscaled;
+      if ((hi == 0 && lo >= 0) || (hi == -1 && lo < 0)) return of(lo, scale + other.scale);
+    }
+    return of(decimal().multiply(other.decimal()));
+  }
+
+  public int compareTo(AsterDecimalValue other) {
+    if (compact && other.compact) {
+      int s = Math.max(scale, other.scale);
+      long a = rescale(unscaled, s - scale);
+      long b = rescale(other.unscaled, s - other.scale);
+      if (a != OVERFLOW && b != OVERFLOW) return Long.compare(a, b);
+    }
+    return decimal().compareTo(other.decimal());
+  }
+
+  /** 舍入到 newScale 位小数（BigDecimal.setScale 语义 + canonical 化）。 */
+  public AsterDecimalValue setScale(int newScale, RoundingMode mode) {
+    if (compact) {
+      if (newScale >= scale) return this;
+      int drop = scale - newScale;
+      if (drop < POW10.length) {
+        long d = POW10[drop];
+        return of(roundQuotient(unscaled / d, unscaled % d, d, mode), newScale);
+      }
+    }
+    return of(decimal().setScale(newScale, mode));
+  }
+
+  /** 定标除法 this / divisor，结果保留 newScale 位小数（BigDecimal.divide(d, scale, mode) 语义）。 */
+  public AsterDecimalValue divide(AsterDecimalValue divisor, int newScale, RoundingMode mode) {
+    if (compact && divisor.compact && divisor.unscaled != 0) {
+      // this / divisor = (u1 × 10^-s1) / (u2 × 10^-s2)；结果非标度值 = u1 × 10^(newScale - s1 + s2) / u2
+      int shift = newScale - scale + divisor.scale;
+      long num = unscaled;
+      long den = divisor.unscaled;
+      if (shift >= 0) {
+        num = rescale(num, shift);
+      } else {
+        den = rescale(den, -shift);
+      }
+      if (num != OVERFLOW && den != OVERFLOW && num != Long.MIN_VALUE && den != Long.MIN_VALUE) {
+        return of(roundQuotient(num / den, num % den, den, mode), newScale);
+      }
+    }
+    return of(decimal().divide(divisor.decimal(), newScale, mode));
+  }
+
+  /** 溢出哨兵。compact 值恰为 Long.MIN_VALUE 时也按溢出处理，走 BigDecimal 路径，结果不变。 */
+  private static final long OVERFLOW = Long.MIN_VALUE;
+
+  /** value × 10^k（k ≥ 0），溢出返回 {@link #OVERFLOW}。 */
+  private static long rescale(long value, int k) {
+    if (k == 0) return value;
+    if (k >= POW10.length) return OVERFLOW;
+    long hi = Math.multiplyHigh(value, POW10[k]);
+    long lo = value * POW10[k];
+    if ((hi == 0 && lo >= 0) || (hi == -1 && lo < 0)) return lo == OVERFLOW ? OVERFLOW : lo;
+    return OVERFLOW;
+  }
+
+  /** 按舍入模式修正截断商 q（余数 r 与 q 同号或为 0，除数 d ≠ 0）。 */
+  private static long roundQuotient(long q, long r, long d, RoundingMode mode) {
+    if (r == 0) return q;
+    int sign = (r < 0) == (d < 0) ? 1 : -1;
+    long absR = Math.abs(r);
+    long absD = Math.abs(d);
+    boolean up;
+    switch (mode) {
+      case DOWN:
+        up = false;
+        break;
+      case UP:
+        up = true;
+        break;
+      case HALF_UP:
+        up = absR >= absD - absR;
+        break;
+      case HALF_DOWN:
+        up = absR > absD - absR;
+        break;
+      case HALF_EVEN: {
+        long rest = absD - absR;
+        up = absR > rest || (absR == rest && (q & 1) != 0);
+        break;
+      }
+      case CEILING:
+        up = sign > 0;
+        break;
+      case FLOOR:
+        up = sign < 0;
+        break;
+      default:
+        throw new ArithmeticException("Rounding necessary");
+    }
+    return up ? q + sign : q;
   }
 
   /** canonical 十进制字符串（无指数），序列化与 TS decimal.js 对齐。 */
   public String canonicalString() {
-    return value.toPlainString();
+    return compact ? plainString(unscaled, scale) : big.toPlainString();
+  }
+
+  private static String plainString(long unscaled, int scale) {
+    if (scale <= 0) {
+      StringBuilder sb = new StringBuilder().append(unscaled);
+      for (int i = 0; i < -scale; i++) sb.append('0');
+      return sb.toString();
+    }
+    String digits = Long.toString(unscaled);
+    if (unscaled < 0) digits = digits.substring(1); // 不用 Math.abs：Long.MIN_VALUE 取负仍为负
+    StringBuilder sb = new StringBuilder(digits.length() + scale + 3);
+    if (unscaled < 0) sb.append('-');
+    if (digits.length() <= scale) {
+      sb.append("0.");
+      for (int i = digits.length(); i < scale; i++) sb.append('0');
+      sb.append(digits);
+    } else {
+      int point = digits.length() - scale;
+      sb.append(digits, 0, point).append('.').append(digits, point, digits.length());
+    }
+    return sb.toString();
   }
 
   @ExportMessage
@@ -52,21 +282,24 @@ public final class AsterDecimalValue implements TruffleObject {
 
   @ExportMessage
   String asString() {
-    return value.toPlainString();
+    return canonicalString();
   }
 
   @Override
   public String toString() {
-    return value.toPlainString();
+    return canonicalString();
   }
 
   @Override
   public boolean equals(Object o) {
-    return o instanceof AsterDecimalValue other && value.compareTo(other.value) == 0;
+    if (!(o instanceof AsterDecimalValue other)) return false;
+    // 两种表示都已 canonical：同值必同表示
+    if (compact && other.compact) return unscaled == other.unscaled && scale == other.scale;
+    return compact == other.compact && big.compareTo(other.big) == 0;
   }
 
   @Override
   public int hashCode() {
-    return value.stripTrailingZeros().hashCode();
+    return compact ? 31 * Long.hashCode(unscaled) + scale : big.hashCode();
   }
 }
@@ -1,38 +1,35 @@
 package aster.truffle.runtime.interop;
 
-import java.util.ArrayList;
+import com.oracle.truffle.api.interop.TruffleObject;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * 将运行时产生的 Java 对象转换为 Truffle 可互操作的值。
+ *
+ * <p>只在宿主边界使用（经 {@link InteropValues#toInteropValue}），且只转换最外一层：
+ * 本身即 interop 对象的值（AsterList、Result/Maybe、Data 等）原样返回；裸 {@code List} 包成
+ * 不复制的 {@link AsterListValue} 视图，{@code Map} 按字符串键浅复制为 {@link AsterMapValue}。
+ * 嵌套元素/字段在宿主读取时由各导出点再按需转换，因此任意深的结构都不会被整体复制。
  */
 public final class AsterInteropAdapter {
   private AsterInteropAdapter() {}
 
+  @SuppressWarnings("unchecked")
   public static Object adapt(Object value) {
-    if (value == null) {
-      return null;
-    }
-
-    if (value instanceof AsterListValue || value instanceof AsterMapValue) {
+    if (value == null || value instanceof TruffleObject) {
       return value;
     }
 
     if (value instanceof List<?> list) {
-      List<Object> adapted = new ArrayList<>(list.size());
-      for (Object element : list) {
-        adapted.add(adapt(element));
-      }
-      return new AsterListValue(adapted);
+      return new AsterListValue((List<Object>) list);
     }
 
     if (value instanceof Map<?, ?> map) {
       Map<String, Object> adapted = new LinkedHashMap<>();
       for (Map.Entry<?, ?> entry : map.entrySet()) {
-        String key = String.valueOf(entry.getKey());
-        adapted.put(key, adapt(entry.getValue()));
+        adapted.put(String.valueOf(entry.getKey()), entry.getValue());
       }
       return new AsterMapValue(adapted);
     }
@@ -0,0 +1,283 @@
+package aster.truffle.runtime.interop;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 以 JSON 字节直接作为策略输入：惰性解析的 guest 对象（{@link AsterJsonObject} / {@link AsterJsonArray}）。
+ *
+ * 设计要点：
+ * - {@link #parse} 只检查最外层的起始字符，不扫描内容；对象在首次成员访问时扫描一遍顶层键、
+ *   记录各值的字节偏移，同一键序列的对象共享键 → 槽位表（见 {@link AsterJsonObject}）
+ * - 值在首次读取时才解码并缓存：嵌套对象/数组只是同一字节缓冲上的新视图，策略未触及的
+ *   子树从不解析。策略只读 500 个字段中的 10 个时，其余字段只被跳过一次
+ * - 视图同时是 {@code Map<String,Object>} / {@code List<Object>} 与 interop 对象：既可作为
+ *   {@code Value.execute} 的实参传入，也可直接交给 CallTarget；MemberAccessNode 与各 builtin
+ *   按 Map/List 的快路径读取
+ * - 数值按 Int → Long → Double 取最窄表示（与 IntegerArithmetic 的提升链一致），小数为 Double
+ * - 布局提示与布局驻留表属于解析器实例：同一调用方（如一条策略的请求流）复用同一个
+ *   {@code AsterJson}，不同调用方互不覆盖提示，驻留表随解析器回收
+ * - 字节按 UTF-8 解码；格式错误以 {@link AsterJsonException}（guest 异常，带字节偏移）报告
+ */
+public final class AsterJson {
+  /** 每个解析器最多驻留的布局数，超出后新布局不再驻留（仍可正常使用）。 */
+  static final int MAX_SHAPES = 1024;
+
+  /** 顶层值的布局提示：同一调用方反复传入的请求通常结构相同。 */
+  private final JsonShape.Slot root = new JsonShape.Slot();
+  /** 键序列 → 布局；同一键序列的对象共享同一实例。 */
+  private final Map<List<String>, JsonShape> shapes = new ConcurrentHashMap<>();
+
+  /**
+   * 解析 UTF-8 JSON 字节；调用方此后不得修改该数组。
+   *
+   * <p>校验是延迟的：此处只检查最外层的起始字符（标量值除外，标量会完整校验），对象/数组内部的
+   * 格式错误在策略首次读到出错位置时才以 {@link AsterJsonException} 抛出，未被读取的子树中的错误
+   * 不会报告。需要预先完整校验的调用方应在传入前自行校验。
+   */
+  public Object parse(byte[] bytes) {
+    return parse(bytes, 0, bytes.length);
+  }
+
+  /** 解析 bytes[offset, offset + length) 内的 JSON 值，校验时机同 {@link #parse(byte[])}。 */
+  public Object parse(byte[] bytes, int offset, int length) {
+    if (offset < 0 || length < 0 || offset + length > bytes.length) {
+      throw new IndexOutOfBoundsException("JSON 范围越界：offset=" + offset + ", length=" + length);
+    }
+    int end = offset + length;
+    int pos = skipWhitespace(bytes, offset, end);
+    if (pos >= end) {
+      throw error(pos, "输入为空");
+    }
+    if (bytes[pos] == '{' || bytes[pos] == '[') {
+      // 不预先扫描：内容在首次访问时才检查
+      return readValue(bytes, pos, end, root);
+    }
+    int valueEnd = skipValue(bytes, pos, end);
+    if (skipWhitespace(bytes, valueEnd, end) != end) {
+      throw error(valueEnd, "值之后存在多余内容");
+    }
+    return readValue(bytes, pos, end, root);
+  }
+
+  public Object parse(String json) {
+    return parse(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** 驻留键序列对应的布局（见 {@link JsonShape}）。 */
+  JsonShape shape(String[] keys, byte[][] rawKeys) {
+    if (keys.length == 0) {
+      return JsonShape.EMPTY;
+    }
+    List<String> signature = Arrays.asList(keys);
+    JsonShape existing = shapes.get(signature);
+    if (existing != null) {
+      return existing;
+    }
+    JsonShape created = new JsonShape(keys, rawKeys);
+    if (shapes.size() >= MAX_SHAPES) {
+      return created;
+    }
+    existing = shapes.putIfAbsent(signature, created);
+    return existing != null ? existing : created;
+  }
+
+  // --- 扫描器（供两种视图共用） ---
+
+  static int skipWhitespace(byte[] b, int pos, int end) {
+    while (pos < end) {
+      byte c = b[pos];
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+        break;
+      }
+      pos++;
+    }
+    return pos;
+  }
+
+  /** 跳过 pos 处的一个值（不解码），返回其后的位置。 */
+  static int skipValue(byte[] b, int pos, int end) {
+    if (pos >= end) {
+      throw error(pos, "缺少值");
+    }
+    byte c = b[pos];
+    switch (c) {
+      case '"':
+        return skipString(b, pos, end);
+      case '{':
+      case '[': {
+        int depth = 0;
+        while (pos < end) {
+          byte d = b[pos];
+          if (d == '"') {
+            pos = skipString(b, pos, end);
+            continue;
+          }
+          if (d == '{' || d == '[') {
+            depth++;
+          } else if (d == '}' || d == ']') {
+            if (--depth == 0) {
+              return pos + 1;
+            }
+          }
+          pos++;
+        }
+        throw error(pos, "对象或数组未闭合");
+      }
+      case 't':
+        return expectLiteral(b, pos, end, "true");
+      case 'f':
+        return expectLiteral(b, pos, end, "false");
+      case 'n':
+        return expectLiteral(b, pos, end, "null");
+      default: {
+        int start = pos;
+        while (pos < end && isNumberChar(b[pos])) {
+          pos++;
+        }
+        if (pos == start) {
+          throw error(pos, "无法识别的字符 '" + (char) c + "'");
+        }
+        return pos;
+      }
+    }
+  }
+
+  /** 解码 pos 处的值：标量直接转换，对象/数组返回惰性视图（slot 为其布局提示）。 */
+  Object readValue(byte[] b, int pos, int end, JsonShape.Slot slot) {
+    byte c = b[pos];
+    switch (c) {
+      case '{':
+        return new AsterJsonObject(this, b, pos, end, slot);
+      case '[':
+        return new AsterJsonArray(this, b, pos, end, slot.elements());
+      case '"':
+        return readString(b, pos, end);
+      case 't':
+        return Boolean.TRUE;
+      case 'f':
+        return Boolean.FALSE;
+      case 'n':
+        return null;
+      default:
+        return readNumber(b, pos, skipValue(b, pos, end));
+    }
+  }
+
+  /** 期望 pos 处为 expected 字符后跳过空白，返回下一个位置。 */
+  static int expect(byte[] b, int pos, int end, char expected) {
+    if (pos >= end || b[pos] != expected) {
+      throw error(pos, "此处应为 '" + expected + "'");
+    }
+    return skipWhitespace(b, pos + 1, end);
+  }
+
+  static int skipString(byte[] b, int pos, int end) {
+    pos++;
+    while (pos < end) {
+      byte c = b[pos];
+      if (c == '"') {
+        return pos + 1;
+      }
+      pos += c == '\\' ? 2 : 1;
+    }
+    throw error(pos, "字符串未闭合");
+  }
+
+  static String readString(byte[] b, int pos, int end) {
+    int close = skipString(b, pos, end) - 1;
+    int start = pos + 1;
+    int escape = -1;
+    for (int i = start; i < close; i++) {
+      if (b[i] == '\\') {
+        escape = i;
+        break;
+      }
+    }
+    if (escape < 0) {
+      return new String(b, start, close - start, StandardCharsets.UTF_8);
+    }
+    StringBuilder sb = new StringBuilder(close - start);
+    int run = start;
+    int i = escape;
+    while (i < close) {
+      if (b[i] != '\\') {
+        i++;
+        continue;
+      }
+      sb.append(new String(b, run, i - run, StandardCharsets.UTF_8));
+      byte e = b[i + 1];
+      switch (e) {
+        case '"', '\\', '/' -> sb.append((char) e);
+        case 'b' -> sb.append('\b');
+        case 'f' -> sb.append('\f');
+        case 'n' -> sb.append('\n');
+        case 'r' -> sb.append('\r');
+        case 't' -> sb.append('\t');
+        case 'u' -> {
+          if (i + 6 > close) {
+            throw error(i, "\\u 转义不完整");
+          }
+          sb.append((char) Integer.parseInt(new String(b, i + 2, 4, StandardCharsets.US_ASCII), 16));
+          i += 4;
+        }
+        default -> throw error(i, "非法转义 \\" + (char) e);
+      }
+      i += 2;
+      run = i;
+    }
+    sb.append(new String(b, run, close - run, StandardCharsets.UTF_8));
+    return sb.toString();
+  }
+
+  private static Object readNumber(byte[] b, int start, int end) {
+    String text = new String(b, start, end - start, StandardCharsets.US_ASCII);
+    try {
+      boolean integral = true;
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        if (c == '.' || c == 'e' || c == 'E') {
+          integral = false;
+          break;
+        }
+      }
+      if (integral) {
+        try {
+          long value = Long.parseLong(text);
+          if (value == (int) value) {
+            return (int) value;
+          }
+          return value;
+        } catch (NumberFormatException overflow) {
+          // 超出 Long：按 Double 继续
+        }
+      }
+      return Double.parseDouble(text);
+    } catch (NumberFormatException e) {
+      throw error(start, "非法数值 " + text);
+    }
+  }
+
+  private static int expectLiteral(byte[] b, int pos, int end, String literal) {
+    if (pos + literal.length() > end) {
+      throw error(pos, "无法识别的字面量");
+    }
+    for (int i = 0; i < literal.length(); i++) {
+      if (b[pos + i] != literal.charAt(i)) {
+        throw error(pos, "无法识别的字面量");
+      }
+    }
+    return pos + literal.length();
+  }
+
+  private static boolean isNumberChar(byte c) {
+    return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+  }
+
+  static AsterJsonException error(int pos, String message) {
+    return new AsterJsonException(pos, message);
+  }
+}
@@ -0,0 +1,132 @@
+package aster.truffle.runtime.interop;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * JSON 数组的惰性视图（见 {@link AsterJson}）：首次访问时记录各元素的字节偏移，元素在首次读取时
+ * 才解码并缓存；对象元素共享同一个布局提示。
+ *
+ * <p>与 AsterList 一样同时是只读 {@code List<Object>} 与 interop 数组，List.* builtins 直接消费。
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class AsterJsonArray extends AbstractList<Object> implements RandomAccess, TruffleObject {
+  private static final Object UNREAD = new Object();
+
+  private final AsterJson parser;
+  private final byte[] bytes;
+  private final int start;
+  private final int limit;
+  private final JsonShape.Slot elementHint;
+  private volatile Index index;
+
+  AsterJsonArray(AsterJson parser, byte[] bytes, int start, int limit, JsonShape.Slot elementHint) {
+    this.parser = parser;
+    this.bytes = bytes;
+    this.start = start;
+    this.limit = limit;
+    this.elementHint = elementHint;
+  }
+
+  private static final class Index {
+    final int[] offsets;
+    final Object[] values;
+
+    Index(int[] offsets) {
+      this.offsets = offsets;
+      this.values = new Object[offsets.length];
+      Arrays.fill(values, UNREAD);
+    }
+  }
+
+  private Index index() {
+    Index idx = index;
+    if (idx == null) {
+      synchronized (this) {
+        idx = index;
+        if (idx == null) {
+          idx = buildIndex();
+          index = idx;
+        }
+      }
+    }
+    return idx;
+  }
+
+  @TruffleBoundary
+  private Index buildIndex() {
+    byte[] b = bytes;
+    int pos = AsterJson.expect(b, start, limit, '[');
+    if (pos < limit && b[pos] == ']') {
+      return new Index(new int[0]);
+    }
+    int[] offsets = new int[8];
+    int n = 0;
+    while (true) {
+      if (n == offsets.length) {
+        offsets = Arrays.copyOf(offsets, n * 2);
+      }
+      offsets[n++] = pos;
+      pos = AsterJson.skipWhitespace(b, AsterJson.skipValue(b, pos, limit), limit);
+      if (pos < limit && b[pos] == ',') {
+        pos = AsterJson.skipWhitespace(b, pos + 1, limit);
+        continue;
+      }
+      AsterJson.expect(b, pos, limit, ']');
+      break;
+    }
+    return new Index(Arrays.copyOf(offsets, n));
+  }
+
+  @Override
+  @TruffleBoundary
+  public Object get(int i) {
+    Index idx = index();
+    if (i < 0 || i >= idx.offsets.length) {
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + idx.offsets.length);
+    }
+    Object v = idx.values[i];
+    if (v == UNREAD) {
+      v = parser.readValue(bytes, idx.offsets[i], limit, elementHint);
+      idx.values[i] = v;
+    }
+    return v;
+  }
+
+  @Override
+  public int size() {
+    return index().offsets.length;
+  }
+
+  // --- interop：只读数组 ---
+
+  @ExportMessage
+  boolean hasArrayElements() {
+    return true;
+  }
+
+  @ExportMessage
+  long getArraySize() {
+    return size();
+  }
+
+  @ExportMessage
+  boolean isArrayElementReadable(long i) {
+    return i >= 0 && i < size();
+  }
+
+  @ExportMessage
+  Object readArrayElement(long i) throws InvalidArrayIndexException {
+    if (!isArrayElementReadable(i)) {
+      throw InvalidArrayIndexException.create(i);
+    }
+    return InteropValues.toInteropValue(get((int) i));
+  }
+}
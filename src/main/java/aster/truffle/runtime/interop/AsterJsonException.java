@@ -0,0 +1,25 @@
+package aster.truffle.runtime.interop;
+
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+
+/**
+ * JSON 输入格式错误（见 {@link AsterJson}）。
+ *
+ * <p>校验是延迟的，错误可能在策略执行中途首次读到出错位置时才抛出，因此是 guest 异常：宿主看到的是
+ * {@code PolyglotException.isGuestException()}，而非运行时内部错误。
+ */
+public final class AsterJsonException extends AbstractTruffleException {
+  private static final long serialVersionUID = 1L;
+
+  private final int offset;
+
+  AsterJsonException(int offset, String message) {
+    super("JSON 格式错误（字节偏移 " + offset + "）：" + message);
+    this.offset = offset;
+  }
+
+  /** 出错位置在输入字节数组中的偏移。 */
+  public int getOffset() {
+    return offset;
+  }
+}
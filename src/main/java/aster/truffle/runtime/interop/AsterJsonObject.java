@@ -0,0 +1,248 @@
+package aster.truffle.runtime.interop;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * JSON 对象的惰性视图（见 {@link AsterJson}）：首次访问时扫描一遍顶层键、记录各值的字节偏移，
+ * 值在首次读取时才解码并缓存。
+ *
+ * <p>与 {@link AsterMapValue} 一样同时是 {@code Map<String,Object>} 与 interop 成员对象：
+ * MemberAccessNode 的 Map 快路径、Map.* / Maybe 等 builtins 无需特判即可读取。视图只读。
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class AsterJsonObject extends AbstractMap<String, Object> implements TruffleObject {
+  private static final Object UNREAD = new Object();
+
+  private final AsterJson parser;
+  private final byte[] bytes;
+  private final int start;
+  private final int limit;
+  private final JsonShape.Slot hint;
+  private volatile Index index;
+
+  AsterJsonObject(AsterJson parser, byte[] bytes, int start, int limit, JsonShape.Slot hint) {
+    this.parser = parser;
+    this.bytes = bytes;
+    this.start = start;
+    this.limit = limit;
+    this.hint = hint;
+  }
+
+  /** 布局 + 本文档各值的偏移与已解码值。 */
+  private static final class Index {
+    final JsonShape shape;
+    final int[] offsets;
+    final Object[] values;
+
+    Index(JsonShape shape, int[] offsets) {
+      this.shape = shape;
+      this.offsets = offsets;
+      this.values = new Object[offsets.length];
+      Arrays.fill(values, UNREAD);
+    }
+  }
+
+  private Index index() {
+    Index idx = index;
+    if (idx == null) {
+      synchronized (this) {
+        idx = index;
+        if (idx == null) {
+          idx = buildIndex();
+          index = idx;
+        }
+      }
+    }
+    return idx;
+  }
+
+  @TruffleBoundary
+  private Index buildIndex() {
+    byte[] b = bytes;
+    int pos = AsterJson.expect(b, start, limit, '{');
+    if (pos < limit && b[pos] == '}') {
+      return new Index(JsonShape.EMPTY, new int[0]);
+    }
+    JsonShape expected = hint.shape;
+    int[] offsets = new int[expected != null ? Math.max(1, expected.size()) : 8];
+    int[] keyRanges = new int[offsets.length * 2];
+    // 与提示布局逐键一致时不解码键；首个不一致处起改为解码
+    List<String> decoded = null;
+    int n = 0;
+    while (true) {
+      if (pos >= limit || b[pos] != '"') {
+        throw AsterJson.error(pos, "此处应为对象键");
+      }
+      int keyEnd = AsterJson.skipString(b, pos, limit);
+      if (n == offsets.length) {
+        offsets = Arrays.copyOf(offsets, n * 2);
+        keyRanges = Arrays.copyOf(keyRanges, n * 4);
+      }
+      keyRanges[2 * n] = pos + 1;
+      keyRanges[2 * n + 1] = keyEnd - 1;
+      if (decoded == null && !(expected != null && n < expected.size()
+          && expected.rawKeyMatches(n, b, pos + 1, keyEnd - 1))) {
+        decoded = new ArrayList<>();
+        for (int k = 0; k < n; k++) {
+          decoded.add(expected.keys[k]);
+        }
+      }
+      if (decoded != null) {
+        decoded.add(AsterJson.readString(b, pos, limit));
+      }
+      pos = AsterJson.expect(b, AsterJson.skipWhitespace(b, keyEnd, limit), limit, ':');
+      offsets[n++] = pos;
+      pos = AsterJson.skipWhitespace(b, AsterJson.skipValue(b, pos, limit), limit);
+      if (pos < limit && b[pos] == ',') {
+        pos = AsterJson.skipWhitespace(b, pos + 1, limit);
+        continue;
+      }
+      AsterJson.expect(b, pos, limit, '}');
+      break;
+    }
+    if (decoded == null && expected != null && n == expected.size()) {
+      return new Index(expected, offsets.length == n ? offsets : Arrays.copyOf(offsets, n));
+    }
+    if (decoded == null) {
+      // 键是提示布局的真前缀
+      decoded = new ArrayList<>(Arrays.asList(expected.keys).subList(0, n));
+    }
+    byte[][] rawKeys = new byte[n][];
+    for (int k = 0; k < n; k++) {
+      rawKeys[k] = Arrays.copyOfRange(b, keyRanges[2 * k], keyRanges[2 * k + 1]);
+    }
+    JsonShape shape = parser.shape(decoded.toArray(new String[0]), rawKeys);
+    hint.shape = shape;
+    return new Index(shape, Arrays.copyOf(offsets, n));
+  }
+
+  private Object value(Index idx, int slot) {
+    Object v = idx.values[slot];
+    if (v == UNREAD) {
+      v = parser.readValue(bytes, idx.offsets[slot], limit, idx.shape.children[slot]);
+      idx.values[slot] = v;
+    }
+    return v;
+  }
+
+  // --- Map<String,Object>（只读） ---
+
+  @Override
+  @TruffleBoundary
+  public Object get(Object key) {
+    Index idx = index();
+    int slot = idx.shape.slotOf(key);
+    return slot < 0 ? null : value(idx, slot);
+  }
+
+  @Override
+  @TruffleBoundary
+  public boolean containsKey(Object key) {
+    return index().shape.slotOf(key) >= 0;
+  }
+
+  @Override
+  public int size() {
+    return index().shape.entrySlots.length;
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    Index idx = index();
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Map.Entry<String, Object>> iterator() {
+        return new Iterator<>() {
+          private int next;
+
+          @Override
+          public boolean hasNext() {
+            return next < idx.shape.entrySlots.length;
+          }
+
+          @Override
+          public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            int slot = idx.shape.entrySlots[next++];
+            return new SimpleImmutableEntry<>(idx.shape.keys[slot], value(idx, slot));
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return idx.shape.entrySlots.length;
+      }
+    };
+  }
+
+  // --- interop：与 AsterMapValue 相同的只读成员形态 ---
+
+  @ExportMessage
+  boolean hasMembers() {
+    return true;
+  }
+
+  @ExportMessage
+  @TruffleBoundary
+  Object getMembers(boolean includeInternal) {
+    return new AsterListValue(new ArrayList<>(keySet()));
+  }
+
+  @ExportMessage
+  @TruffleBoundary
+  boolean isMemberReadable(String member) {
+    return containsKey(member);
+  }
+
+  @ExportMessage
+  @TruffleBoundary
+  Object readMember(String member) throws UnknownIdentifierException {
+    if (!containsKey(member)) {
+      throw UnknownIdentifierException.create(member);
+    }
+    return InteropValues.toInteropValue(get(member));
+  }
+
+  @ExportMessage
+  boolean isMemberModifiable(String member) {
+    return false;
+  }
+
+  @ExportMessage
+  boolean isMemberInsertable(String member) {
+    return false;
+  }
+
+  @ExportMessage
+  boolean isMemberRemovable(String member) {
+    return false;
+  }
+
+  @ExportMessage
+  void writeMember(String member, Object value) throws UnsupportedMessageException {
+    throw UnsupportedMessageException.create();
+  }
+
+  @ExportMessage
+  void removeMember(String member) throws UnsupportedMessageException {
+    throw UnsupportedMessageException.create();
+  }
+}
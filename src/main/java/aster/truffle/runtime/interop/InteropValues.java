@@ -16,9 +16,13 @@ public final class InteropValues {
   private InteropValues() {}
 
   /**
-   * 把内部值规整为合法 interop 返回值：Java {@code null} → guest-null 单例，其余原样。
+   * 把内部值规整为合法 interop 返回值：Java {@code null} → guest-null 单例，裸 List/Map 经
+   * {@link AsterInteropAdapter#adapt} 包成互操作视图（只转换最外一层），其余原样。
+   *
+   * <p>这也是内部值向宿主的唯一转换点：各导出点读取时逐层按需转换，guest 内部的调用
+   * （函数返回、List.map 等）始终传递原值而不做任何复制。
    */
   public static Object toInteropValue(Object value) {
-    return value == null ? AsterNullValue.INSTANCE : value;
+    return value == null ? AsterNullValue.INSTANCE : AsterInteropAdapter.adapt(value);
   }
 }
@@ -0,0 +1,83 @@
+package aster.truffle.runtime.interop;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JSON 对象的键布局：键序列 → 槽位表，同一解析器（{@link AsterJson}）内同一键序列的对象共享同一实例。
+ *
+ * <p>每个布局还为各槽位记录子值的布局提示（{@link Slot}）：同一请求模式下 {@code applicant.address}
+ * 等嵌套对象的键序列通常不变，下一份文档建索引时逐键比较原始字节即可确认布局，无需解码键、
+ * 查询驻留表。提示只用于加速，比较失败时按常规解码键并驻留。
+ */
+final class JsonShape {
+  static final JsonShape EMPTY = new JsonShape(new String[0], new byte[0][]);
+
+  /** 文档顺序的键（重复键各占一个槽位）。 */
+  final String[] keys;
+  /** 各键在 JSON 中的原始字节（引号之间、未反转义），用于提示比较。 */
+  private final byte[][] rawKeys;
+  /** 键 → 槽位；重复键取最后一次出现（与 Jackson 默认一致）。 */
+  private final Map<String, Integer> slots;
+  /** 按首次出现顺序、每个键一个的有效槽位，供 Map 遍历。 */
+  final int[] entrySlots;
+  /** 各槽位子值的布局提示。 */
+  final Slot[] children;
+
+  JsonShape(String[] keys, byte[][] rawKeys) {
+    this.keys = keys;
+    this.rawKeys = rawKeys;
+    this.slots = new HashMap<>(keys.length * 2);
+    for (int i = 0; i < keys.length; i++) {
+      slots.put(keys[i], i);
+    }
+    int[] entries = new int[slots.size()];
+    int n = 0;
+    for (int i = 0; i < keys.length; i++) {
+      if (slots.get(keys[i]) == i) {
+        entries[n++] = i;
+      }
+    }
+    this.entrySlots = entries;
+    this.children = new Slot[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      children[i] = new Slot();
+    }
+  }
+
+  int size() {
+    return keys.length;
+  }
+
+  /** 槽位号；不存在返回 -1。 */
+  int slotOf(Object key) {
+    Integer slot = slots.get(key);
+    return slot == null ? -1 : slot;
+  }
+
+  /** 第 i 个键的原始字节是否等于 b[from, to)。 */
+  boolean rawKeyMatches(int i, byte[] b, int from, int to) {
+    return Arrays.equals(rawKeys[i], 0, rawKeys[i].length, b, from, to);
+  }
+
+  /** 值位置上的布局提示：对象值用 {@link #shape}，数组值的元素用 {@link #elements()}。 */
+  static final class Slot {
+    volatile JsonShape shape;
+    private volatile Slot elements;
+
+    Slot elements() {
+      Slot e = elements;
+      if (e == null) {
+        synchronized (this) {
+          e = elements;
+          if (e == null) {
+            e = new Slot();
+            elements = e;
+          }
+        }
+      }
+      return e;
+    }
+  }
+}
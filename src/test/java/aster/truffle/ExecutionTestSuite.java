@@ -1266,6 +1266,246 @@ public class ExecutionTestSuite {
     }
   }
 
+  @Test
+  public void testMatchBindingShadowsParameter() throws Exception {
+    // 分支绑定 n 与参数 n 同名：分支内读取的必须是绑定值（n + 1），而不是参数槽位
+    String json = """
+        {
+          "name": "test.match.shadowing",
+          "decls": [
+            {
+              "kind": "Func",
+              "name": "inc",
+              "params": [{ "name": "n", "type": { "kind": "TypeName", "name": "Int" } }],
+              "ret": { "kind": "TypeName", "name": "Int" },
+              "effects": [],
+              "body": {
+                "kind": "Block",
+                "statements": [
+                  {
+                    "kind": "Match",
+                    "expr": {
+                      "kind": "Call",
+                      "target": { "kind": "Name", "name": "add" },
+                      "args": [{ "kind": "Name", "name": "n" }, { "kind": "Int", "value": 1 }]
+                    },
+                    "cases": [
+                      {
+                        "pattern": { "kind": "PatName", "name": "n" },
+                        "body": { "kind": "Return", "expr": { "kind": "Name", "name": "n" } }
+                      }
+                    ]
+                  }
+                ]
+              }
+            },
+            {
+              "kind": "Func",
+              "name": "main",
+              "params": [],
+              "ret": { "kind": "TypeName", "name": "Int" },
+              "effects": [],
+              "body": {
+                "kind": "Block",
+                "statements": [
+                  {
+                    "kind": "Return",
+                    "expr": {
+                      "kind": "Call",
+                      "target": { "kind": "Name", "name": "inc" },
+                      "args": [{ "kind": "Int", "value": 5 }]
+                    }
+                  }
+                ]
+              }
+            }
+          ]
+        }
+        """;
+
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true).build()) {
+      Source source = Source.newBuilder("aster", json, "test.json").build();
+      Value result = context.eval(source);
+      assertEquals(6, result.asInt(), "Match binding should shadow the parameter of the same name");
+    }
+  }
+
+  @Test
+  public void testMatchBindingIsFrameLocalAcrossRecursion() throws Exception {
+    // sum(n) = n + sum(n - 1)：分支绑定 k 在递归返回后必须仍是本层的值。
+    // 绑定若写入共享 Env，内层调用会覆盖外层的 k，结果变成 3 而不是 6。
+    String json = """
+        {
+          "name": "test.match.recursion",
+          "decls": [
+            {
+              "kind": "Func",
+              "name": "sum",
+              "params": [{ "name": "n", "type": { "kind": "TypeName", "name": "Int" } }],
+              "ret": { "kind": "TypeName", "name": "Int" },
+              "effects": [],
+              "body": {
+                "kind": "Block",
+                "statements": [
+                  {
+                    "kind": "Match",
+                    "expr": { "kind": "Name", "name": "n" },
+                    "cases": [
+                      {
+                        "pattern": { "kind": "PatInt", "value": 0 },
+                        "body": { "kind": "Return", "expr": { "kind": "Int", "value": 0 } }
+                      },
+                      {
+                        "pattern": { "kind": "PatName", "name": "k" },
+                        "body": {
+                          "kind": "Scope",
+                          "statements": [
+                            {
+                              "kind": "Let",
+                              "name": "rest",
+                              "expr": {
+                                "kind": "Call",
+                                "target": { "kind": "Name", "name": "sum" },
+                                "args": [{
+                                  "kind": "Call",
+                                  "target": { "kind": "Name", "name": "sub" },
+                                  "args": [{ "kind": "Name", "name": "k" }, { "kind": "Int", "value": 1 }]
+                                }]
+                              }
+                            },
+                            {
+                              "kind": "Return",
+                              "expr": {
+                                "kind": "Call",
+                                "target": { "kind": "Name", "name": "add" },
+                                "args": [{ "kind": "Name", "name": "k" }, { "kind": "Name", "name": "rest" }]
+                              }
+                            }
+                          ]
+                        }
+                      }
+                    ]
+                  }
+                ]
+              }
+            },
+            {
+              "kind": "Func",
+              "name": "main",
+              "params": [],
+              "ret": { "kind": "TypeName", "name": "Int" },
+              "effects": [],
+              "body": {
+                "kind": "Block",
+                "statements": [
+                  {
+                    "kind": "Return",
+                    "expr": {
+                      "kind": "Call",
+                      "target": { "kind": "Name", "name": "sum" },
+                      "args": [{ "kind": "Int", "value": 3 }]
+                    }
+                  }
+                ]
+              }
+            }
+          ]
+        }
+        """;
+
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true).build()) {
+      Source source = Source.newBuilder("aster", json, "test.json").build();
+      Value result = context.eval(source);
+      assertEquals(6, result.asInt(), "Match bindings must live in the caller's own frame");
+    }
+  }
+
+  @Test
+  public void testSelfTailCallRunsInConstantStack() throws Exception {
+    // sumTo(n, acc) 的递归分支是自尾调用：100 万层递归若逐层压栈必然栈溢出，
+    // 转为尾调用循环后在同一 frame 内迭代；分支绑定 k 每轮重新绑定
+    String json = """
+        {
+          "name": "test.tailcall",
+          "decls": [
+            {
+              "kind": "Func",
+              "name": "sumTo",
+              "params": [
+                { "name": "n", "type": { "kind": "TypeName", "name": "Int" } },
+                { "name": "acc", "type": { "kind": "TypeName", "name": "Long" } }
+              ],
+              "ret": { "kind": "TypeName", "name": "Long" },
+              "effects": [],
+              "body": {
+                "kind": "Block",
+                "statements": [
+                  {
+                    "kind": "Match",
+                    "expr": { "kind": "Name", "name": "n" },
+                    "cases": [
+                      {
+                        "pattern": { "kind": "PatInt", "value": 0 },
+                        "body": { "kind": "Return", "expr": { "kind": "Name", "name": "acc" } }
+                      },
+                      {
+                        "pattern": { "kind": "PatName", "name": "k" },
+                        "body": {
+                          "kind": "Return",
+                          "expr": {
+                            "kind": "Call",
+                            "target": { "kind": "Name", "name": "sumTo" },
+                            "args": [
+                              {
+                                "kind": "Call",
+                                "target": { "kind": "Name", "name": "sub" },
+                                "args": [{ "kind": "Name", "name": "k" }, { "kind": "Int", "value": 1 }]
+                              },
+                              {
+                                "kind": "Call",
+                                "target": { "kind": "Name", "name": "add" },
+                                "args": [{ "kind": "Name", "name": "acc" }, { "kind": "Name", "name": "k" }]
+                              }
+                            ]
+                          }
+                        }
+                      }
+                    ]
+                  }
+                ]
+              }
+            },
+            {
+              "kind": "Func",
+              "name": "main",
+              "params": [],
+              "ret": { "kind": "TypeName", "name": "Long" },
+              "effects": [],
+              "body": {
+                "kind": "Block",
+                "statements": [
+                  {
+                    "kind": "Return",
+                    "expr": {
+                      "kind": "Call",
+                      "target": { "kind": "Name", "name": "sumTo" },
+                      "args": [{ "kind": "Int", "value": 1000000 }, { "kind": "Int", "value": 0 }]
+                    }
+                  }
+                ]
+              }
+            }
+          ]
+        }
+        """;
+
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true).build()) {
+      Source source = Source.newBuilder("aster", json, "test.json").build();
+      Value result = context.eval(source);
+      assertEquals(500000500000L, result.asLong(), "Self tail calls should iterate instead of recursing");
+    }
+  }
+
   // ==================== Effect Violations ====================
 
   @Test
@@ -45,7 +45,7 @@ public class FrameIntegrationTest {
    * 测试1: LetNode Env 存储
    *
    * 场景: func main() -> Int { let x = 42; return x; }
-   * 验证: let 声明的变量使用 LetNodeEnv
+   * 验证: let 声明的变量写入静态解析的 frame 槽位
    */
   @Test
   public void testLetNodeEnvStorage() {
@@ -86,7 +86,7 @@ public class FrameIntegrationTest {
    * 测试2: SetNode Env 更新
    *
    * 场景: func main() -> Int { let x = 10; set x = 100; return x; }
-   * 验证: set 更新变量使用 SetNodeEnv
+   * 验证: set 更新同一 frame 槽位
    */
   @Test
   public void testSetNodeEnvUpdate() {
@@ -13,6 +13,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -498,6 +499,162 @@ public class GraalVMJitBenchmark {
       200    // 降低稳定化次数（原 5000）
   );
 
+  /**
+   * 提前返回密集的规则：grade(n) 按阈值分档，驱动函数 loop 对 1..1000 的 grade(i mod 100) 求和（期望 3600）。
+   * 两个变体逻辑相同：EARLY_RETURN 用 "If 命中则 Return" 的平铺写法，前四个 Return 不在尾位置，经 ReturnException
+   * 传出；TAIL_RETURN 用 If/else 链，所有 Return 都在尾位置，被 Loader 降为普通返回值。两者之差即异常式返回的开销。
+   */
+  private static String gradeRuleJson(String moduleName, String gradeStatements) {
+    return """
+        {
+          "name": "%s",
+          "decls": [
+            {
+              "kind": "Func",
+              "name": "grade",
+              "params": [{"name": "n", "type": {"kind": "TypeName", "name": "Int"}}],
+              "ret": {"kind": "TypeName", "name": "Int"},
+              "effects": [],
+              "body": {"kind": "Block", "statements": [%s]}
+            },
+            {
+              "kind": "Func",
+              "name": "loop",
+              "params": [
+                {"name": "i", "type": {"kind": "TypeName", "name": "Int"}},
+                {"name": "acc", "type": {"kind": "TypeName", "name": "Int"}}
+              ],
+              "ret": {"kind": "TypeName", "name": "Int"},
+              "effects": [],
+              "body": {"kind": "Block", "statements": [{
+                "kind": "If",
+                "cond": {
+                  "kind": "Call",
+                  "target": {"kind": "Name", "name": "lte"},
+                  "args": [{"kind": "Name", "name": "i"}, {"kind": "Int", "value": 0}]
+                },
+                "thenBlock": {"kind": "Block", "statements": [{"kind": "Return", "expr": {"kind": "Name", "name": "acc"}}]},
+                "elseBlock": {"kind": "Block", "statements": [{
+                  "kind": "Return",
+                  "expr": {
+                    "kind": "Call",
+                    "target": {"kind": "Name", "name": "loop"},
+                    "args": [
+                      {
+                        "kind": "Call",
+                        "target": {"kind": "Name", "name": "sub"},
+                        "args": [{"kind": "Name", "name": "i"}, {"kind": "Int", "value": 1}]
+                      },
+                      {
+                        "kind": "Call",
+                        "target": {"kind": "Name", "name": "add"},
+                        "args": [
+                          {"kind": "Name", "name": "acc"},
+                          {
+                            "kind": "Call",
+                            "target": {"kind": "Name", "name": "grade"},
+                            "args": [{
+                              "kind": "Call",
+                              "target": {"kind": "Name", "name": "mod"},
+                              "args": [{"kind": "Name", "name": "i"}, {"kind": "Int", "value": 100}]
+                            }]
+                          }
+                        ]
+                      }
+                    ]
+                  }
+                }]}
+              }]}
+            },
+            {
+              "kind": "Func",
+              "name": "main",
+              "params": [],
+              "ret": {"kind": "TypeName", "name": "Int"},
+              "effects": [],
+              "body": {"kind": "Block", "statements": [{
+                "kind": "Return",
+                "expr": {
+                  "kind": "Call",
+                  "target": {"kind": "Name", "name": "loop"},
+                  "args": [{"kind": "Int", "value": 1000}, {"kind": "Int", "value": 0}]
+                }
+              }]}
+            }
+          ]
+        }
+        """.formatted(moduleName, gradeStatements);
+  }
+
+  private static String ltN(int bound) {
+    return "{\"kind\": \"Call\", \"target\": {\"kind\": \"Name\", \"name\": \"lt\"}, \"args\": ["
+        + "{\"kind\": \"Name\", \"name\": \"n\"}, {\"kind\": \"Int\", \"value\": " + bound + "}]}";
+  }
+
+  private static String returnInt(int value) {
+    return "{\"kind\": \"Return\", \"expr\": {\"kind\": \"Int\", \"value\": " + value + "}}";
+  }
+
+  private static final int[] GRADE_BOUNDS = {10, 20, 40, 70};
+
+  /**
+   * If lt(n, b) Return k. ... Return 5 —— 前四个 Return 后面还有语句。开启 aster.LowerReturns（默认）时
+   * Loader 把每个守卫改写为 if/else；关闭时每次提前返回都抛 ReturnException。
+   */
+  private static String earlyReturnGrade() {
+    StringBuilder sb = new StringBuilder();
+    for (int k = 0; k < GRADE_BOUNDS.length; k++) {
+      sb.append("{\"kind\": \"If\", \"cond\": ").append(ltN(GRADE_BOUNDS[k]))
+          .append(", \"thenBlock\": {\"kind\": \"Block\", \"statements\": [").append(returnInt(k + 1)).append("]}}, ");
+    }
+    return sb.append(returnInt(GRADE_BOUNDS.length + 1)).toString();
+  }
+
+  /** If lt(n, b) Return k Otherwise (If ...) —— 每个 Return 都在尾位置。 */
+  private static String tailReturnGrade() {
+    String tail = returnInt(GRADE_BOUNDS.length + 1);
+    for (int k = GRADE_BOUNDS.length - 1; k >= 0; k--) {
+      tail = "{\"kind\": \"If\", \"cond\": " + ltN(GRADE_BOUNDS[k])
+          + ", \"thenBlock\": {\"kind\": \"Block\", \"statements\": [" + returnInt(k + 1) + "]}"
+          + ", \"elseBlock\": {\"kind\": \"Block\", \"statements\": [" + tail + "]}}";
+    }
+    return tail;
+  }
+
+  private static final BenchmarkCase EARLY_RETURN = new BenchmarkCase(
+      "EarlyReturn Rule x1000",
+      "bench-early-return-jit.json",
+      "main",
+      gradeRuleJson("bench.early_return", earlyReturnGrade()),
+      3600,
+      200,
+      50,
+      200
+  );
+
+  /** 与 EARLY_RETURN 同一规则，关闭结构化返回降级作为对照。 */
+  private static final BenchmarkCase EARLY_RETURN_UNLOWERED = new BenchmarkCase(
+      "EarlyReturn Rule x1000 (ReturnException)",
+      "bench-early-return-unlowered-jit.json",
+      "main",
+      gradeRuleJson("bench.early_return", earlyReturnGrade()),
+      3600,
+      200,
+      50,
+      200
+  );
+
+  private static final BenchmarkCase TAIL_RETURN = new BenchmarkCase(
+      "TailReturn Rule x1000",
+      "bench-tail-return-jit.json",
+      "main",
+      gradeRuleJson("bench.tail_return", tailReturnGrade()),
+      3600,
+      200,
+      50,
+      200
+  );
+
   @Test
   public void benchmarkFactorial_GraalVMJit() throws IOException {
     BenchmarkResult result = runBenchmark(FACTORIAL);
@@ -558,6 +715,21 @@ public class GraalVMJitBenchmark {
     RESULTS.add(result);
   }
 
+  @Test
+  public void benchmarkEarlyReturn_GraalVMJit() throws IOException {
+    RESULTS.add(runBenchmark(EARLY_RETURN));
+  }
+
+  @Test
+  public void benchmarkEarlyReturnUnlowered_GraalVMJit() throws IOException {
+    RESULTS.add(runBenchmark(EARLY_RETURN_UNLOWERED, Map.of("aster.LowerReturns", "false")));
+  }
+
+  @Test
+  public void benchmarkTailReturn_GraalVMJit() throws IOException {
+    RESULTS.add(runBenchmark(TAIL_RETURN));
+  }
+
   @AfterAll
   static void printSummary() throws IOException {
     if (RESULTS.isEmpty()) {
@@ -607,7 +779,11 @@ public class GraalVMJitBenchmark {
   }
 
   private BenchmarkResult runBenchmark(BenchmarkCase config) throws IOException {
-    try (Context context = createJitContext()) {
+    return runBenchmark(config, Map.of());
+  }
+
+  private BenchmarkResult runBenchmark(BenchmarkCase config, Map<String, String> options) throws IOException {
+    try (Context context = createJitContext(options)) {
       Source source = Source.newBuilder("aster", config.json(), config.sourceName()).build();
       Value firstResult = context.eval(source);
       assertNumericEquals(config.expectedResult(), firstResult);
@@ -644,10 +820,11 @@ public class GraalVMJitBenchmark {
     }
   }
 
-  private static Context createJitContext() {
+  private static Context createJitContext(Map<String, String> options) {
     return Context.newBuilder("aster")
         .allowAllAccess(true)
         .option("engine.WarnInterpreterOnly", "false")
+        .options(options)
         .build();
   }
 }
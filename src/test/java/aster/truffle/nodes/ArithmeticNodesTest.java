@@ -0,0 +1,163 @@
+package aster.truffle.nodes;
+
+import aster.truffle.runtime.AsterPiiValue;
+import aster.truffle.runtime.AsterText;
+import aster.truffle.runtime.Builtins;
+import aster.truffle.runtime.interop.AsterDecimalValue;
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.strings.TruffleString;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * ArithmeticNodes 回归测试：类型特化路径必须与 Builtins 通用路径逐位一致，
+ * 包括溢出宽化、混合类型、字符串拼接与 PII 解包，且参数恰好求值一次。
+ */
+public class ArithmeticNodesTest {
+
+  /** 可变值参数节点：同一个 CallTarget 多次调用时切换操作数类型，驱动重特化。 */
+  private static final class ValueNode extends AsterExpressionNode {
+    Object value;
+    final AtomicInteger counter = new AtomicInteger();
+    ValueNode(Object value) { this.value = value; }
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+      counter.incrementAndGet();
+      return value;
+    }
+  }
+
+  private static CallTarget wrap(AsterExpressionNode body) {
+    RootNode root = new RootNode(null, new FrameDescriptor()) {
+      @Override
+      public Object execute(VirtualFrame frame) {
+        return body.executeGeneric(frame);
+      }
+    };
+    return root.getCallTarget();
+  }
+
+  private static AsterExpressionNode node(String op, AsterExpressionNode a, AsterExpressionNode b) {
+    return ArithmeticNodes.create(Builtins.canonicalName(op), Builtins.lookup(op), a, b);
+  }
+
+  private static Object eval(String op, Object a, Object b) {
+    return wrap(node(op, new ValueNode(a), new ValueNode(b))).call();
+  }
+
+  @Test
+  public void intFastPath() {
+    assertEquals(7, eval("+", 3, 4));
+    assertEquals(-1, eval("-", 3, 4));
+    assertEquals(12, eval("*", 3, 4));
+    assertEquals(1, eval("%", 7, 3));
+    assertEquals(3.5, eval("/", 7, 2));
+  }
+
+  @Test
+  public void mixedIntDoubleDoesNotReturnSingleOperand() {
+    // 旧手写 int 特化的问题：100 - 10.0 → 10。DSL 子节点路径必须得到 90.0。
+    assertEquals(90.0, eval("sub", 100, 10.0));
+    assertEquals(110.0, eval("add", 100, 10.0));
+  }
+
+  @Test
+  public void intOverflowWidensToLongAndMatchesGenericPath() {
+    ValueNode a = new ValueNode(Integer.MAX_VALUE);
+    ValueNode b = new ValueNode(1);
+    CallTarget target = wrap(node("add", a, b));
+    assertEquals(2147483648L, target.call());
+    assertEquals(Builtins.call("add", new Object[]{Integer.MAX_VALUE, 1}), 2147483648L);
+    // 重特化后小整数仍保持 Int（与通用路径一致，不变成 Long）
+    a.value = 2;
+    b.value = 3;
+    assertEquals(5, target.call());
+  }
+
+  @Test
+  public void longOverflowWidensToDouble() {
+    Object r = eval("mul", Long.MAX_VALUE, 2L);
+    assertEquals((double) Long.MAX_VALUE * 2.0, r);
+    assertEquals(Builtins.call("mul", new Object[]{Long.MAX_VALUE, 2L}), r);
+  }
+
+  @Test
+  public void stringConcatAndMixedConcat() {
+    assertEquals("ab", eval("+", "a", "b"));
+    assertEquals("a7", eval("+", "a", 7));
+  }
+
+  @Test
+  public void repeatedStringAddBuildsRope() {
+    // guest 循环 acc = acc + line：同一节点反复执行，越过阈值后累加值保持为 rope
+    ValueNode acc = new ValueNode("");
+    ValueNode line = new ValueNode(null);
+    CallTarget target = wrap(node("add", acc, line));
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 10_000; i++) {
+      line.value = "line " + i + "\n";
+      acc.value = target.call();
+      expected.append(line.value);
+      if (expected.length() < AsterText.ROPE_THRESHOLD) {
+        assertInstanceOf(String.class, acc.value);
+      }
+    }
+    assertInstanceOf(TruffleString.class, acc.value);
+    assertEquals(expected.toString(), AsterText.flatten(acc.value));
+    // rope 特化后单侧文本仍走通用路径
+    acc.value = "a";
+    line.value = 7;
+    assertEquals("a7", target.call());
+  }
+
+  @Test
+  public void decimalAndPiiFallbacks() {
+    AsterDecimalValue d1 = AsterDecimalValue.of(new BigDecimal("0.1"));
+    AsterDecimalValue d2 = AsterDecimalValue.of(new BigDecimal("0.2"));
+    assertEquals(AsterDecimalValue.of(new BigDecimal("0.3")), eval("add", d1, d2));
+    assertEquals(AsterDecimalValue.of(new BigDecimal("2.1")), eval("add", AsterDecimalValue.of(new BigDecimal("0.1")), 2));
+    assertEquals(6, eval("add", new AsterPiiValue(5, List.of("email"), "L2"), 1));
+  }
+
+  @Test
+  public void divisionByZeroThrows() {
+    assertThrows(Builtins.BuiltinException.class, () -> eval("/", 1, 0));
+    assertThrows(Builtins.BuiltinException.class, () -> eval("div", AsterDecimalValue.of(BigDecimal.ONE), 2));
+  }
+
+  @Test
+  public void argumentsEvaluatedExactlyOnceAcrossRespecialization() {
+    ValueNode a = new ValueNode(100);
+    ValueNode b = new ValueNode(10.0);
+    assertEquals(90.0, wrap(node("-", a, b)).call());
+    assertEquals(1, a.counter.get());
+    assertEquals(1, b.counter.get());
+  }
+
+  @Test
+  public void controlFlowFromArgumentPropagates() {
+    AsterExpressionNode thrower = new AsterExpressionNode() {
+      @Override
+      public Object executeGeneric(VirtualFrame frame) {
+        throw new ReturnNode.ReturnException(99);
+      }
+    };
+    try {
+      wrap(node("+", new ValueNode(1), thrower)).call();
+      fail("expected ReturnException to propagate");
+    } catch (ReturnNode.ReturnException r) {
+      assertEquals(99, r.value);
+    }
+  }
+}
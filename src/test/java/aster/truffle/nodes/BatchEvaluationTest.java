@@ -0,0 +1,176 @@
+package aster.truffle.nodes;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * executeBatch：一次 polyglot 调用对多条记录求值，结果按输入顺序返回；纯函数可分块并行。
+ */
+public class BatchEvaluationTest {
+
+  private static String module(String params, String body) {
+    return """
+        {
+          "name": "batch.test",
+          "decls": [
+            {"kind": "Data", "name": "Loan", "fields": [
+              {"name": "amount", "type": {"kind": "TypeName", "name": "Int"}}]},
+            {
+              "kind": "Func", "name": "score",
+              "params": [%s],
+              "ret": {"kind": "TypeName", "name": "Int"}, "effects": [],
+              "body": {"kind": "Block", "statements": [{"kind": "Return", "expr": %s}]}
+            }
+          ]
+        }
+        """.formatted(params, body);
+  }
+
+  private static final String INT_PARAM = "{\"name\": \"x\", \"type\": {\"kind\": \"TypeName\", \"name\": \"Int\"}}";
+
+  private static String call(String fn, String... args) {
+    return "{\"kind\": \"Call\", \"target\": {\"kind\": \"Name\", \"name\": \"" + fn + "\"}, \"args\": ["
+        + String.join(", ", args) + "]}";
+  }
+
+  private static String name(String n) {
+    return "{\"kind\": \"Name\", \"name\": \"" + n + "\"}";
+  }
+
+  private static String intLit(int v) {
+    return "{\"kind\": \"Int\", \"value\": " + v + "}";
+  }
+
+  private static Value eval(Context context, String json) throws Exception {
+    return context.eval(Source.newBuilder("aster", json, "batch.json").build());
+  }
+
+  @Test
+  public void evaluatesRecordsInOrder() throws Exception {
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true)
+        .option("aster.ParallelThreads", "1").build()) {
+      Value score = eval(context, module(INT_PARAM, call("mul", name("x"), intLit(3))));
+      Value results = score.invokeMember(LambdaValue.BATCH_MEMBER, List.of(1, 2, 3));
+      assertEquals(3, results.getArraySize());
+      assertEquals(List.of(3, 6, 9), results.as(List.class));
+      assertEquals(0, score.invokeMember(LambdaValue.BATCH_MEMBER, List.of()).getArraySize());
+      // executeBatch 不出现在普通成员列表中
+      assertTrue(score.getMemberKeys().isEmpty());
+    }
+  }
+
+  @Test
+  public void onlyEntryFunctionExportsBatchMember() throws Exception {
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true).build()) {
+      String lambda = """
+          {"kind": "Lambda", "params": [{"name": "y", "type": {"kind": "TypeName", "name": "Int"}}],
+           "ret": {"kind": "TypeName", "name": "Int"}, "captures": ["x"],
+           "body": {"kind": "Block", "statements": [{"kind": "Return", "expr": %s}]}}
+          """.formatted(call("add", name("x"), name("y")));
+      Value score = eval(context, module(INT_PARAM, lambda));
+      assertTrue(score.hasMembers());
+      Value closure = score.execute(2);
+      assertTrue(closure.canExecute());
+      assertFalse(closure.hasMembers());
+      assertEquals(5, closure.execute(3).asInt());
+    }
+  }
+
+  @Test
+  public void pureFunctionRunsInParallelChunks() throws Exception {
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true)
+        .option("aster.ParallelThreads", "4")
+        .option("aster.ParallelMinSize", "16").build()) {
+      Value score = eval(context, module(INT_PARAM, call("add", name("x"), intLit(1))));
+      List<Integer> inputs = new ArrayList<>();
+      for (int i = 0; i < 5000; i++) {
+        inputs.add(i);
+      }
+      Value results = score.invokeMember(LambdaValue.BATCH_MEMBER, inputs);
+      for (int i = 0; i < 5000; i++) {
+        assertEquals(i + 1, results.getArrayElement(i).asInt());
+      }
+    }
+  }
+
+  @Test
+  public void multiParameterRecordsAreArgumentArrays() throws Exception {
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true).build()) {
+      String params = INT_PARAM + ", {\"name\": \"y\", \"type\": {\"kind\": \"TypeName\", \"name\": \"Int\"}}";
+      Value score = eval(context, module(params, call("sub", name("x"), name("y"))));
+      Value results = score.invokeMember(LambdaValue.BATCH_MEMBER, (Object) new Object[][] {{5, 2}, {10, 4}});
+      assertEquals(List.of(3, 6), results.as(List.class));
+      assertThrows(IllegalArgumentException.class,
+          () -> score.invokeMember(LambdaValue.BATCH_MEMBER, List.of(List.of(1))));
+    }
+  }
+
+  @Test
+  public void recordsAreBoundLikeExecute() throws Exception {
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true).build()) {
+      String params = "{\"name\": \"l\", \"type\": {\"kind\": \"TypeName\", \"name\": \"Loan\"}}";
+      Value score = eval(context, module(params, call("mul", name("l.amount"), intLit(2))));
+      Value results = score.invokeMember(LambdaValue.BATCH_MEMBER,
+          List.of(Map.of("amount", 10), Map.of("amount", 21)));
+      assertEquals(List.of(20, 42), results.as(List.class));
+    }
+  }
+
+  @Test
+  public void failingRecordSurfacesError() throws Exception {
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true)
+        .option("aster.ParallelThreads", "4")
+        .option("aster.ParallelMinSize", "16").build()) {
+      Value score = eval(context, module(INT_PARAM, call("intdiv", intLit(100), name("x"))));
+      List<Integer> inputs = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        inputs.add(i == 40 ? 0 : 1);
+      }
+      PolyglotException e = assertThrows(PolyglotException.class,
+          () -> score.invokeMember(LambdaValue.BATCH_MEMBER, inputs));
+      assertTrue(e.isGuestException() || e.isHostException(), e.getMessage());
+    }
+  }
+
+  @Test
+  public void earliestFailingRecordWinsRegardlessOfErrorType() throws Exception {
+    // 下标 127（首块末尾）整除零（BuiltinException），下标 2560 起全部越界（宿主 StringIndexOutOfBoundsException），
+    // 后面的块通常先失败：并行时无论哪个块先失败，都必须报告与顺序执行相同的第一个错误
+    String body = call("add",
+        call("Text.length", call("Text.substring", "{\"kind\": \"String\", \"value\": \"abcdef\"}", intLit(0), name("x"))),
+        call("intdiv", intLit(100), name("x")));
+    List<Integer> inputs = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      inputs.add(i == 127 ? 0 : i >= 2560 ? 10 : 1);
+    }
+    String expected;
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true)
+        .option("aster.ParallelThreads", "1").build()) {
+      Value score = eval(context, module(INT_PARAM, body));
+      expected = assertThrows(PolyglotException.class,
+          () -> score.invokeMember(LambdaValue.BATCH_MEMBER, inputs)).getMessage();
+    }
+    for (int run = 0; run < 5; run++) {
+      try (Context context = Context.newBuilder("aster").allowAllAccess(true)
+          .option("aster.ParallelThreads", "4")
+          .option("aster.ParallelMinSize", "16").build()) {
+        Value score = eval(context, module(INT_PARAM, body));
+        PolyglotException e = assertThrows(PolyglotException.class,
+            () -> score.invokeMember(LambdaValue.BATCH_MEMBER, inputs));
+        assertEquals(expected, e.getMessage());
+      }
+    }
+  }
+}
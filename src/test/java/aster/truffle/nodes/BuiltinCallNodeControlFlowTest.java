@@ -129,6 +129,29 @@ public class BuiltinCallNodeControlFlowTest {
     assertEquals(1, c1.get(), "non-string arg must be evaluated exactly once even on fallback");
   }
 
+  @Test
+  public void operatorSpellingUsesResolvedBuiltin() {
+    // "<" 在节点构建期归一化为 lt：走比较快速路径，且参数各求值一次。
+    AtomicInteger c0 = new AtomicInteger();
+    AtomicInteger c1 = new AtomicInteger();
+    AsterExpressionNode call = BuiltinCallNodeGen.create(
+        "<",
+        new AsterExpressionNode[]{ new CountingIntNode(c0, 1), new CountingIntNode(c1, 2) });
+    assertEquals(Boolean.TRUE, wrap(call).call());
+    assertEquals(1, c0.get());
+    assertEquals(1, c1.get());
+  }
+
+  @Test
+  public void unknownBuiltinFailsExplicitly() {
+    AsterExpressionNode call = BuiltinCallNodeGen.create(
+        "no.such.builtin",
+        new AsterExpressionNode[]{ intLit(1) });
+    RuntimeException ex = org.junit.jupiter.api.Assertions.assertThrows(
+        RuntimeException.class, () -> wrap(call).call());
+    assertTrue(ex.getMessage().contains("Unknown builtin"));
+  }
+
   private static AsterExpressionNode intLit(int v) {
     return new AsterExpressionNode() {
       @Override
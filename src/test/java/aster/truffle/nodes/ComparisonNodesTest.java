@@ -0,0 +1,123 @@
+package aster.truffle.nodes;
+
+import aster.truffle.runtime.Builtins;
+import aster.truffle.runtime.interop.AsterDecimalValue;
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ComparisonNodes / NameNode 类型化读取回归测试：特化路径与 Builtins 通用路径结果一致，
+ * 参数恰好求值一次，槽位 tag 变化后读取仍正确。
+ */
+public class ComparisonNodesTest {
+
+  /** 可变值参数节点：同一个 CallTarget 多次调用时切换操作数类型，驱动重特化。 */
+  private static final class ValueNode extends AsterExpressionNode {
+    Object value;
+    final AtomicInteger counter = new AtomicInteger();
+    ValueNode(Object value) { this.value = value; }
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+      counter.incrementAndGet();
+      return value;
+    }
+  }
+
+  private static CallTarget wrap(AsterExpressionNode body) {
+    RootNode root = new RootNode(null, new FrameDescriptor()) {
+      @Override
+      public Object execute(VirtualFrame frame) {
+        return body.executeGeneric(frame);
+      }
+    };
+    return root.getCallTarget();
+  }
+
+  private static Object eval(String op, Object... operands) {
+    var args = new java.util.ArrayList<AsterExpressionNode>();
+    for (Object o : operands) args.add(new ValueNode(o));
+    AsterExpressionNode node = ComparisonNodes.create(Builtins.canonicalName(op), Builtins.lookup(op), args);
+    return wrap(node).call();
+  }
+
+  private static Object generic(String op, Object... operands) {
+    return Builtins.lookup(op).invoke(operands);
+  }
+
+  @Test
+  public void numericComparisonsMatchGenericPath() {
+    Object[][] pairs = {
+        {3, 4}, {4, 3}, {4, 4}, {0, 0.0}, {2.5, 2}, {1L << 40, 3}, {-1, -1L}
+    };
+    for (String op : List.of("==", "!=", "<", "<=", ">", ">=")) {
+      for (Object[] p : pairs) {
+        assertEquals(generic(op, p[0], p[1]), eval(op, p[0], p[1]), op + " " + p[0] + " " + p[1]);
+      }
+    }
+  }
+
+  @Test
+  public void nonNumericOperandsFallBack() {
+    assertEquals(true, eval("==", "a", "a"));
+    assertEquals(false, eval("==", "a", 1));
+    assertEquals(true, eval("!=", true, false));
+    assertEquals(true, eval("==",
+        AsterDecimalValue.of(new BigDecimal("1.0")), AsterDecimalValue.of(new BigDecimal("1.00"))));
+    assertEquals(generic("and", true, 1), eval("and", true, 1));
+    assertEquals(generic("not", "false"), eval("not", "false"));
+    assertEquals(false, eval("not", true));
+  }
+
+  @Test
+  public void respecializesWithoutReevaluatingArguments() {
+    ValueNode a = new ValueNode(1);
+    ValueNode b = new ValueNode(2);
+    CallTarget target = wrap(ComparisonNodes.create("lt", Builtins.lookup("lt"), List.of(a, b)));
+    assertEquals(true, target.call());
+    a.value = 2.5;
+    assertEquals(false, target.call());
+    b.value = "3";
+    assertEquals(generic("<", 2.5, "3"), target.call());
+    assertEquals(3, a.counter.get());
+    assertEquals(3, b.counter.get());
+  }
+
+  @Test
+  public void nameNodeFollowsSlotTag() {
+    FrameDescriptor.Builder builder = FrameDescriptor.newBuilder();
+    int slot = builder.addSlot(FrameSlotKind.Illegal, "x", null);
+    AsterExpressionNode read = NameNodeGen.create("x", slot);
+    ValueNode value = new ValueNode(41);
+    AsterExpressionNode write = LetNodeGen.create("x", slot, value);
+    RootNode root = new RootNode(null, builder.build()) {
+      @Child AsterExpressionNode w = write;
+      @Child AsterExpressionNode r = read;
+      @Override
+      public Object execute(VirtualFrame frame) {
+        w.executeGeneric(frame);
+        return r.executeGeneric(frame);
+      }
+    };
+    CallTarget target = root.getCallTarget();
+    assertEquals(41, target.call());
+    value.value = true;
+    assertTrue((Boolean) target.call());
+    value.value = "s";
+    assertEquals("s", target.call());
+    value.value = 7;
+    assertEquals(7, target.call());
+    assertFalse(target.call() instanceof Long);
+  }
+}
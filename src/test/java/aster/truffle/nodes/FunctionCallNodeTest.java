@@ -0,0 +1,67 @@
+package aster.truffle.nodes;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * FunctionCallNode 回归测试：直接调用缓存的 CallTarget，Env 改绑后重新链接。
+ */
+public class FunctionCallNodeTest {
+
+  private static LambdaValue function(Function<Object[], Object> body) {
+    RootNode root = new RootNode(null, new FrameDescriptor()) {
+      @Override
+      public Object execute(VirtualFrame frame) {
+        return body.apply(frame.getArguments());
+      }
+    };
+    return new LambdaValue(List.of("x"), List.of(), new Object[0], root.getCallTarget(), null);
+  }
+
+  private static CallTarget wrap(AsterExpressionNode body) {
+    RootNode root = new RootNode(null, new FrameDescriptor()) {
+      @Override
+      public Object execute(VirtualFrame frame) {
+        return body.executeGeneric(frame);
+      }
+    };
+    return root.getCallTarget();
+  }
+
+  @Test
+  public void callsBoundFunctionAndRelinksAfterRebind() {
+    Env env = new Env();
+    env.set("double", null);
+    env.set("double", function(a -> (Integer) a[0] * 2));
+    FunctionCallNode call = new FunctionCallNode(env, "double", List.of(LiteralNode.create(21)));
+    CallTarget target = wrap(call);
+
+    assertEquals(42, target.call());
+    assertEquals(42, target.call());
+
+    // 首次绑定不使假设失效；改绑已有函数值才失效
+    var before = env.getUnchangedAssumption();
+    env.set("double", function(a -> (Integer) a[0] * 3));
+    assertFalse(before.isValid());
+    assertTrue(env.getUnchangedAssumption().isValid());
+    assertEquals(63, target.call());
+  }
+
+  @Test
+  public void returnExceptionYieldsValue() {
+    Env env = new Env();
+    env.set("early", function(a -> { throw new ReturnNode.ReturnException("done"); }));
+    CallTarget target = wrap(new FunctionCallNode(env, "early", List.of()));
+    assertEquals("done", target.call());
+  }
+}
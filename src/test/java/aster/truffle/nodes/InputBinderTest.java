@@ -0,0 +1,107 @@
+package aster.truffle.nodes;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * InputBinder：入口函数的宿主实参按参数类型一次性转为共享布局的 AsterDataValue / AsterList；
+ * 输入缺少字段时原样传入，仍由 MemberAccessNode 按原规则读取。
+ */
+public class InputBinderTest {
+
+  /** {@code echo(a: Applicant) = a}，Applicant 含嵌套 Data、Data 列表与 umlaut 字段名。 */
+  private static final String ECHO = """
+      {
+        "name": "binder.echo",
+        "decls": [
+          {"kind": "Data", "name": "Address", "fields": [
+            {"name": "city", "type": {"kind": "TypeName", "name": "Text"}}]},
+          {"kind": "Data", "name": "Loan", "fields": [
+            {"name": "amount", "type": {"kind": "TypeName", "name": "Int"}}]},
+          {"kind": "Data", "name": "Applicant", "fields": [
+            {"name": "name", "type": {"kind": "TypeName", "name": "Text"}},
+            {"name": "größe", "type": {"kind": "TypeName", "name": "Int"}},
+            {"name": "address", "type": {"kind": "TypeName", "name": "Address"}},
+            {"name": "loans", "type": {"kind": "List", "type": {"kind": "TypeName", "name": "Loan"}}}]},
+          {
+            "kind": "Func", "name": "echo",
+            "params": [{"name": "a", "type": {"kind": "TypeName", "name": "Applicant"}}],
+            "ret": {"kind": "TypeName", "name": "Applicant"}, "effects": [],
+            "body": {"kind": "Block", "statements": [{"kind": "Return", "expr": {"kind": "Name", "name": "a"}}]}
+          }
+        ]
+      }
+      """;
+
+  public static final class HostAddress {
+    public final String city;
+    public HostAddress(String city) { this.city = city; }
+  }
+
+  public static final class HostLoan {
+    public final int amount;
+    public HostLoan(int amount) { this.amount = amount; }
+  }
+
+  public static final class HostApplicant {
+    public final String name = "Bo";
+    public final int groesse = 180;
+    public final HostAddress address = new HostAddress("Graz");
+    public final HostLoan[] loans = {new HostLoan(7)};
+  }
+
+  private static void assertBound(Value applicant, String name, int size, String city, int firstLoan) {
+    assertEquals("Applicant", applicant.getMember("_type").asString());
+    assertEquals(name, applicant.getMember("name").asString());
+    assertEquals(size, applicant.getMember("größe").asInt());
+    Value address = applicant.getMember("address");
+    assertEquals("Address", address.getMember("_type").asString());
+    assertEquals(city, address.getMember("city").asString());
+    Value loans = applicant.getMember("loans");
+    assertEquals(1, loans.getArraySize());
+    assertEquals("Loan", loans.getArrayElement(0).getMember("_type").asString());
+    assertEquals(firstLoan, loans.getArrayElement(0).getMember("amount").asInt());
+  }
+
+  @Test
+  public void bindsHostMapsToDataValues() throws Exception {
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true).build()) {
+      Value echo = context.eval(Source.newBuilder("aster", ECHO, "echo.json").build());
+      Map<String, Object> input = Map.of(
+          "name", "Ann",
+          "groesse", 170,
+          "address", Map.of("city", "Wien"),
+          "loans", List.of(Map.of("amount", 1200)));
+      assertBound(echo.execute(input), "Ann", 170, "Wien", 1200);
+    }
+  }
+
+  @Test
+  public void bindsHostObjectsToDataValues() throws Exception {
+    try (Context context = Context.newBuilder("aster").allowHostAccess(HostAccess.ALL).build()) {
+      Value echo = context.eval(Source.newBuilder("aster", ECHO, "echo.json").build());
+      assertBound(echo.execute(new HostApplicant()), "Bo", 180, "Graz", 7);
+    }
+  }
+
+  @Test
+  public void incompleteInputIsPassedThrough() throws Exception {
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true).build()) {
+      Value echo = context.eval(Source.newBuilder("aster", ECHO, "echo.json").build());
+      Value result = echo.execute(Map.of("name", "Cy"));
+      assertFalse(result.hasMember("_type"));
+      assertTrue(result.hasHashEntries());
+      assertEquals("Cy", result.getHashValue("name").asString());
+    }
+  }
+}
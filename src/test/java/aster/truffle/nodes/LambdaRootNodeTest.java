@@ -0,0 +1,77 @@
+package aster.truffle.nodes;
+
+import aster.truffle.runtime.AsterList;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LambdaRootNode 的返回值：内部调用原样返回（不复制集合），只在宿主边界转换为互操作值。
+ */
+public class LambdaRootNodeTest {
+
+  private static Object callReturning(Object value) {
+    LambdaRootNode root = new LambdaRootNode(null, new FrameDescriptor(), "constant", 0, 0,
+        LiteralNode.create(value), null);
+    return root.getCallTarget().call();
+  }
+
+  @Test
+  public void internalCallsReturnCollectionsWithoutCopying() {
+    List<Object> nested = new ArrayList<>(List.of(new ArrayList<>(List.of(1, 2)), 3));
+    assertSame(nested, callReturning(nested));
+    Map<String, Object> record = new LinkedHashMap<>();
+    record.put("items", nested);
+    assertSame(record, callReturning(record));
+    AsterList list = AsterList.copyOf(List.of(1, 2, 3));
+    assertSame(list, callReturning(list));
+  }
+
+  @Test
+  public void hostBoundaryExposesNestedValuesLazily() throws Exception {
+    String json = """
+        {
+          "name": "lambda.returns",
+          "decls": [
+            {
+              "kind": "Func", "name": "main", "params": [],
+              "ret": {"kind": "TypeName", "name": "List"}, "effects": [],
+              "body": {"kind": "Block", "statements": [{"kind": "Return", "expr":
+                {"kind": "Call", "target": {"kind": "Name", "name": "pairs"}, "args": []}}]}
+            },
+            {
+              "kind": "Func", "name": "pairs", "params": [],
+              "ret": {"kind": "TypeName", "name": "List"}, "effects": [],
+              "body": {"kind": "Block", "statements": [{"kind": "Return", "expr":
+                {"kind": "ListLit", "elements": [
+                  {"kind": "ListLit", "elements": [{"kind": "Int", "value": 1}, {"kind": "Int", "value": 2}]},
+                  {"kind": "Call", "target": {"kind": "Name", "name": "List.range"}, "args": [
+                    {"kind": "Int", "value": 0}, {"kind": "Int", "value": 1000}]}
+                ]}}]}
+            }
+          ]
+        }
+        """;
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true).build()) {
+      Value result = context.eval(Source.newBuilder("aster", json, "returns.json").build());
+      assertTrue(result.hasArrayElements());
+      assertEquals(2, result.getArraySize());
+      assertEquals(Arrays.asList(1, 2), result.getArrayElement(0).as(List.class));
+      Value range = result.getArrayElement(1);
+      assertEquals(1000, range.getArraySize());
+      assertEquals(999, range.getArrayElement(999).asInt());
+    }
+  }
+}
@@ -0,0 +1,216 @@
+package aster.truffle.nodes;
+
+import aster.truffle.runtime.AsterList;
+import aster.truffle.runtime.Builtins;
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ListPipelineNode：融合执行与逐层调用 builtin 的结果一致，filter 丢弃的元素不进入后续阶段；
+ * 非纯 lambda 与融合中出错时退回逐层执行，调用顺序与错误与未融合时相同。
+ */
+public class ListPipelineNodeTest {
+
+  private static final class ValueNode extends AsterExpressionNode {
+    final Object value;
+    ValueNode(Object value) { this.value = value; }
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+      return value;
+    }
+  }
+
+  /** 记录调用日志的 lambda；effects 非空时为非纯。 */
+  private static LambdaValue lambda(String name, List<String> log, Set<String> effects, Function<Object[], Object> body) {
+    RootNode root = new RootNode(null, new FrameDescriptor()) {
+      @Override
+      public Object execute(VirtualFrame frame) {
+        Object[] args = frame.getArguments();
+        log.add(name + args[args.length - 1]);
+        return body.apply(args);
+      }
+    };
+    return new LambdaValue(List.of("x"), List.of(), new Object[0], root.getCallTarget(), effects);
+  }
+
+  private static Object run(Object list, ListPipelineNode.Stage[] stages, Object[] fns,
+                            ListPipelineNode.Terminal terminal, String terminalName, Object init, Object termFn) {
+    AsterExpressionNode[] fnNodes = new AsterExpressionNode[fns.length];
+    Builtins.BuiltinDef[] defs = new Builtins.BuiltinDef[fns.length];
+    for (int i = 0; i < fns.length; i++) {
+      fnNodes[i] = new ValueNode(fns[i]);
+      defs[i] = Builtins.lookup(stages[i] == ListPipelineNode.Stage.MAP ? "List.map" : "List.filter");
+    }
+    ListPipelineNode node = ListPipelineNode.create(new ValueNode(list), stages, defs, fnNodes, terminal,
+        terminalName == null ? null : Builtins.lookup(terminalName),
+        init == null ? null : new ValueNode(init), termFn == null ? null : new ValueNode(termFn));
+    RootNode root = new RootNode(null, new FrameDescriptor()) {
+      @Override
+      public Object execute(VirtualFrame frame) {
+        return node.executeGeneric(frame);
+      }
+    };
+    CallTarget target = root.getCallTarget();
+    return target.call();
+  }
+
+  private static final ListPipelineNode.Stage[] FILTER_MAP = {ListPipelineNode.Stage.FILTER, ListPipelineNode.Stage.MAP};
+
+  @Test
+  public void fusedMatchesStagedBuiltins() {
+    List<Object> xs = AsterList.copyOf(List.of(1, 2, 3, 4, 5, 6, 7));
+    List<String> log = new ArrayList<>();
+    LambdaValue even = lambda("p", log, Set.of(), a -> ((Integer) a[0]) % 2 == 0);
+    LambdaValue tenfold = lambda("f", log, Set.of(), a -> ((Integer) a[0]) * 10);
+    LambdaValue plus = lambda("g", log, Set.of(), a -> ((Integer) a[0]) + ((Integer) a[1]));
+    Object[] fns = {even, tenfold};
+
+    Object staged = Builtins.call("List.map", new Object[]{Builtins.call("List.filter", new Object[]{xs, even}), tenfold});
+    assertEquals(staged, run(xs, FILTER_MAP, fns, ListPipelineNode.Terminal.COLLECT, null, null, null));
+    assertEquals(Builtins.call("List.sum", new Object[]{staged}),
+        run(xs, FILTER_MAP, fns, ListPipelineNode.Terminal.SUM, "List.sum", null, null));
+    assertEquals(Builtins.call("List.reduce", new Object[]{staged, 100, plus}),
+        run(xs, FILTER_MAP, fns, ListPipelineNode.Terminal.REDUCE, "List.reduce", 100, plus));
+    LambdaValue big = lambda("c", log, Set.of(), a -> ((Integer) a[0]) > 30);
+    assertEquals(Builtins.call("List.count", new Object[]{staged, big}),
+        run(xs, FILTER_MAP, fns, ListPipelineNode.Terminal.COUNT, "List.count", null, big));
+
+    // 单趟：filter 对每个元素调用一次，map 只对保留下来的元素调用
+    log.clear();
+    run(xs, FILTER_MAP, fns, ListPipelineNode.Terminal.SUM, "List.sum", null, null);
+    assertEquals(List.of("p1", "p2", "f2", "p3", "p4", "f4", "p5", "p6", "f6", "p7"), log);
+  }
+
+  @Test
+  public void impureLambdasKeepStageOrder() {
+    List<Object> xs = AsterList.copyOf(List.of(1, 2, 3, 4));
+    List<String> log = new ArrayList<>();
+    LambdaValue even = lambda("p", log, Set.of("IO"), a -> ((Integer) a[0]) % 2 == 0);
+    LambdaValue tenfold = lambda("f", log, Set.of(), a -> ((Integer) a[0]) * 10);
+    assertEquals(60, run(xs, FILTER_MAP, new Object[]{even, tenfold}, ListPipelineNode.Terminal.SUM, "List.sum", null, null));
+    assertEquals(List.of("p1", "p2", "p3", "p4", "f2", "f4"), log);
+  }
+
+  @Test
+  public void errorsMatchUnfusedOrder() {
+    List<Object> xs = AsterList.copyOf(List.of(1, 2, 3, 4, 5));
+    List<String> log = Collections.synchronizedList(new ArrayList<>());
+    LambdaValue keep = lambda("p", log, Set.of(), a -> {
+      if ((Integer) a[0] == 5) throw new IllegalStateException("filter failed at 5");
+      return true;
+    });
+    LambdaValue explode = lambda("f", log, Set.of(), a -> {
+      throw new IllegalStateException("map failed at " + a[0]);
+    });
+    // 未融合时 filter 先遍历完整个列表，故报 filter 的错误而非 map 在元素 1 上的错误
+    IllegalStateException e = assertThrows(IllegalStateException.class,
+        () -> run(xs, FILTER_MAP, new Object[]{keep, explode}, ListPipelineNode.Terminal.COLLECT, null, null, null));
+    assertEquals("filter failed at 5", e.getMessage());
+  }
+
+  @Test
+  public void largeListsMatchSequentialFold() {
+    List<Object> xs = Builtins.asList(Builtins.call("List.range", new Object[]{0, 5000}));
+    List<String> log = Collections.synchronizedList(new ArrayList<>());
+    LambdaValue odd = lambda("p", log, Set.of(), a -> ((Integer) a[0]) % 2 == 1);
+    LambdaValue half = lambda("f", log, Set.of(), a -> ((Integer) a[0]) / 2.0);
+    Object[] fns = {odd, half};
+    Object staged = Builtins.call("List.map", new Object[]{Builtins.call("List.filter", new Object[]{xs, odd}), half});
+    log.clear();
+    assertEquals(staged, run(xs, FILTER_MAP, fns, ListPipelineNode.Terminal.COLLECT, null, null, null));
+    assertEquals(Builtins.call("List.sum", new Object[]{staged}),
+        run(xs, FILTER_MAP, fns, ListPipelineNode.Terminal.SUM, "List.sum", null, null));
+    // 每趟 filter 5000 次、map 只对 2500 个保留元素
+    assertEquals(2 * (5000 + 2500), log.size());
+  }
+
+  @Test
+  public void loaderFusesChainedCalls() throws Exception {
+    String json = """
+        {
+          "name": "pipeline.sum",
+          "decls": [{
+            "kind": "Func", "name": "main", "params": [],
+            "ret": {"kind": "TypeName", "name": "Int"}, "effects": [],
+            "body": {"kind": "Block", "statements": [{
+              "kind": "Return",
+              "expr": {"kind": "Call", "target": {"kind": "Name", "name": "List.sum"}, "args": [
+                {"kind": "Call", "target": {"kind": "Name", "name": "List.map"}, "args": [
+                  {"kind": "Call", "target": {"kind": "Name", "name": "List.filter"}, "args": [
+                    {"kind": "Call", "target": {"kind": "Name", "name": "List.range"}, "args": [
+                      {"kind": "Int", "value": 0}, {"kind": "Int", "value": 10}]},
+                    {"kind": "Lambda", "params": [{"name": "x", "type": {"kind": "TypeName", "name": "Int"}}],
+                     "ret": {"kind": "TypeName", "name": "Boolean"}, "captures": [],
+                     "body": {"kind": "Block", "statements": [{"kind": "Return", "expr":
+                       {"kind": "Call", "target": {"kind": "Name", "name": "gt"}, "args": [
+                         {"kind": "Name", "name": "x"}, {"kind": "Int", "value": 6}]}}]}}]},
+                  {"kind": "Lambda", "params": [{"name": "x", "type": {"kind": "TypeName", "name": "Int"}}],
+                   "ret": {"kind": "TypeName", "name": "Int"}, "captures": [],
+                   "body": {"kind": "Block", "statements": [{"kind": "Return", "expr":
+                     {"kind": "Call", "target": {"kind": "Name", "name": "mul"}, "args": [
+                       {"kind": "Name", "name": "x"}, {"kind": "Int", "value": 10}]}}]}}]}]}
+            }]}
+          }]
+        }
+        """;
+    Profiler.setEnabled(true);
+    Profiler.reset();
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true).build()) {
+      assertEquals(240, context.eval(Source.newBuilder("aster", json, "pipeline.json").build()).asInt());
+      assertEquals(1L, Profiler.getCounters().getOrDefault("list_pipeline_fused", 0L));
+    } finally {
+      Profiler.setEnabled(false);
+    }
+  }
+
+  @Test
+  public void loaderKeepsStaticallyUnknownChainsNested() throws Exception {
+    // 阶段函数是局部变量，构建期推断不出纯度：保持原嵌套 BuiltinCallNode，不进入流水线
+    String json = """
+        {
+          "name": "pipeline.local",
+          "decls": [{
+            "kind": "Func", "name": "main", "params": [],
+            "ret": {"kind": "TypeName", "name": "Int"}, "effects": [],
+            "body": {"kind": "Block", "statements": [
+              {"kind": "Let", "name": "scale", "expr":
+                {"kind": "Lambda", "params": [{"name": "x", "type": {"kind": "TypeName", "name": "Int"}}],
+                 "ret": {"kind": "TypeName", "name": "Int"}, "captures": [],
+                 "body": {"kind": "Block", "statements": [{"kind": "Return", "expr":
+                   {"kind": "Call", "target": {"kind": "Name", "name": "mul"}, "args": [
+                     {"kind": "Name", "name": "x"}, {"kind": "Int", "value": 10}]}}]}}},
+              {"kind": "Return",
+               "expr": {"kind": "Call", "target": {"kind": "Name", "name": "List.sum"}, "args": [
+                 {"kind": "Call", "target": {"kind": "Name", "name": "List.map"}, "args": [
+                   {"kind": "Call", "target": {"kind": "Name", "name": "List.range"}, "args": [
+                     {"kind": "Int", "value": 0}, {"kind": "Int", "value": 4}]},
+                   {"kind": "Name", "name": "scale"}]}]}}
+            ]}
+          }]
+        }
+        """;
+    Profiler.setEnabled(true);
+    Profiler.reset();
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true).build()) {
+      assertEquals(60, context.eval(Source.newBuilder("aster", json, "pipeline.json").build()).asInt());
+      assertEquals(0L, Profiler.getCounters().getOrDefault("list_pipeline_fused", 0L));
+      assertEquals(0L, Profiler.getCounters().getOrDefault("list_pipeline_staged", 0L));
+    } finally {
+      Profiler.setEnabled(false);
+    }
+  }
+}
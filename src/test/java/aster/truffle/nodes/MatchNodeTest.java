@@ -0,0 +1,143 @@
+package aster.truffle.nodes;
+
+import aster.truffle.runtime.AsterDataLayout;
+import aster.truffle.runtime.AsterDataValue;
+import aster.truffle.runtime.AsterEnumValue;
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * MatchNode 决策表回归测试：按种类分派后的首个匹配分支必须与逐一尝试一致，
+ * 包括通配分支排在具名分支之前、未建表的值退回全量尝试等情况。
+ */
+public class MatchNodeTest {
+
+  private static final class ValueNode extends AsterExpressionNode {
+    Object value;
+    ValueNode(Object value) { this.value = value; }
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+      return value;
+    }
+  }
+
+  /** 单个 Object 槽位（下标 0）供通配分支绑定。 */
+  private static CallTarget wrap(AsterExpressionNode body) {
+    FrameDescriptor.Builder builder = FrameDescriptor.newBuilder();
+    builder.addSlot(FrameSlotKind.Object, "x", null);
+    RootNode root = new RootNode(null, builder.build()) {
+      @Override
+      public Object execute(VirtualFrame frame) {
+        return body.executeGeneric(frame);
+      }
+    };
+    return root.getCallTarget();
+  }
+
+  private static MatchNode.CaseNode arm(MatchNode.PatternNode pattern, Object result) {
+    return new MatchNode.CaseNode(pattern, LiteralNode.create(result));
+  }
+
+  private static MatchNode.CaseNode bindingArm() {
+    return new MatchNode.CaseNode(new MatchNode.PatNameNode("x", 0), NameNodeGen.create("x", 0));
+  }
+
+  @Test
+  public void enumDispatchByOrdinal() {
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < 40; i++) names.add("V" + i);
+    AsterEnumValue[] family = AsterEnumValue.internAll("Code", names);
+    List<MatchNode.CaseNode> cases = new ArrayList<>();
+    for (int i = 0; i < 30; i++) cases.add(arm(new MatchNode.PatNameNode("V" + i, -1), i));
+    cases.add(arm(new MatchNode.PatNameNode("_", -1), "rest"));
+    ValueNode scrutinee = new ValueNode(family[17]);
+    CallTarget target = wrap(MatchNode.create(scrutinee, cases, family));
+
+    assertEquals(17, target.call());
+    scrutinee.value = family[35];
+    assertEquals("rest", target.call());
+    // 枚举的字符串表示与外来（非驻留）枚举值仍按名称匹配
+    scrutinee.value = "V3";
+    assertEquals(3, target.call());
+    scrutinee.value = new AsterEnumValue("Code", "V4");
+    assertEquals(4, target.call());
+    scrutinee.value = family[0];
+    assertEquals(0, target.call());
+  }
+
+  @Test
+  public void catchAllBeforeVariantWins() {
+    AsterEnumValue[] family = AsterEnumValue.internAll("Color", List.of("Red", "Green"));
+    List<MatchNode.CaseNode> cases = List.of(
+        arm(new MatchNode.PatNameNode("Red", -1), "red"),
+        bindingArm(),
+        arm(new MatchNode.PatNameNode("Green", -1), "unreachable"));
+    ValueNode scrutinee = new ValueNode(family[1]);
+    CallTarget target = wrap(MatchNode.create(scrutinee, cases, family));
+
+    assertSame(family[1], target.call());
+    scrutinee.value = family[0];
+    assertEquals("red", target.call());
+    scrutinee.value = null;
+    assertNull(target.call());
+  }
+
+  @Test
+  public void intDispatchDenseAndSparse() {
+    List<MatchNode.CaseNode> dense = List.of(
+        arm(new MatchNode.PatIntNode(1), "one"),
+        arm(new MatchNode.PatIntNode(2), "two"),
+        bindingArm());
+    ValueNode denseValue = new ValueNode(2);
+    CallTarget denseTarget = wrap(MatchNode.create(denseValue, dense));
+    assertEquals("two", denseTarget.call());
+    denseValue.value = 7;
+    assertEquals(7, denseTarget.call());
+    denseValue.value = 1L;
+    assertEquals("one", denseTarget.call());
+
+    List<MatchNode.CaseNode> sparse = List.of(
+        arm(new MatchNode.PatIntNode(-1_000_000), "low"),
+        arm(new MatchNode.PatIntNode(0), "zero"),
+        arm(new MatchNode.PatIntNode(1_000_000), "high"));
+    ValueNode sparseValue = new ValueNode(1_000_000);
+    CallTarget sparseTarget = wrap(MatchNode.create(sparseValue, sparse));
+    assertEquals("high", sparseTarget.call());
+    sparseValue.value = -1_000_000;
+    assertEquals("low", sparseTarget.call());
+    sparseValue.value = 5;
+    assertNull(sparseTarget.call());
+  }
+
+  @Test
+  public void dataDispatchByLayoutAndTypeName() {
+    AsterDataLayout point = AsterDataLayout.of("Point", new String[]{"x", "y"}, null);
+    AsterDataLayout size = AsterDataLayout.of("Size", new String[]{"w"}, null);
+    List<MatchNode.CaseNode> cases = List.of(
+        arm(new MatchNode.PatCtorNode("Point", point, new int[0], List.of(new MatchNode.PatIntNode(0), new MatchNode.PatNameNode("_", -1))), "origin-x"),
+        arm(new MatchNode.PatCtorNode("Point", point, new int[0], List.of()), "point"),
+        arm(new MatchNode.PatCtorNode("Size", size, new int[0], List.of()), "size"));
+    ValueNode scrutinee = new ValueNode(new AsterDataValue(point, new Object[]{0, 5}));
+    CallTarget target = wrap(MatchNode.create(scrutinee, cases));
+
+    assertEquals("origin-x", target.call());
+    scrutinee.value = new AsterDataValue(point, new Object[]{3, 5});
+    assertEquals("point", target.call());
+    scrutinee.value = new AsterDataValue(size, new Object[]{1});
+    assertEquals("size", target.call());
+    // 旧构造方式的私有布局：按类型名匹配
+    scrutinee.value = new AsterDataValue("Size", new String[]{"w"}, new Object[]{2}, null);
+    assertEquals("size", target.call());
+  }
+}
@@ -0,0 +1,110 @@
+package aster.truffle.nodes;
+
+import aster.truffle.runtime.AsterDataValue;
+import aster.truffle.runtime.interop.AsterMapValue;
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * MemberAccessNode 回归测试：内联缓存在多种接收者布局/Map 形态间切换时结果不变，
+ * umlaut 双向别名仍然生效，a.b.c 链折叠后基表达式只求值一次。
+ */
+public class MemberAccessNodeTest {
+
+  private static final class ValueNode extends AsterExpressionNode {
+    Object value;
+    final AtomicInteger counter = new AtomicInteger();
+    ValueNode(Object value) { this.value = value; }
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+      counter.incrementAndGet();
+      return value;
+    }
+  }
+
+  private static CallTarget wrap(AsterExpressionNode body) {
+    RootNode root = new RootNode(null, new FrameDescriptor()) {
+      @Override
+      public Object execute(VirtualFrame frame) {
+        return body.executeGeneric(frame);
+      }
+    };
+    return root.getCallTarget();
+  }
+
+  private static AsterDataValue data(String type, String[] names, Object... values) {
+    return new AsterDataValue(type, names, values, null);
+  }
+
+  @Test
+  public void dataAccessAcrossDifferentLayouts() {
+    ValueNode base = new ValueNode(data("User", new String[]{"name", "age"}, "Alice", 30));
+    CallTarget target = wrap(MemberAccessNode.buildChain(base, new String[]{"age"}));
+    assertEquals(30, target.call());
+    // 字段位置不同的另一布局：缓存按布局区分，不能复用上一个索引
+    base.value = data("Admin", new String[]{"age", "level"}, 50, 9);
+    assertEquals(50, target.call());
+    // 超过缓存上限后退化为通用路径，结果不变
+    for (int i = 0; i < 5; i++) {
+      base.value = data("T" + i, new String[]{"x", "age"}, i, i * 10);
+      assertEquals(i * 10, target.call());
+    }
+    base.value = data("User", new String[]{"name"}, "Bob");
+    assertThrows(RuntimeException.class, target::call);
+  }
+
+  @Test
+  public void mapAccessResolvesUmlautAliasesBothWays() {
+    ValueNode base = new ValueNode(Map.of("requestedLimit", 100));
+    CallTarget target = wrap(MemberAccessNode.buildChain(base, new String[]{"reqüstedLimit"}));
+    assertEquals(100, target.call());
+
+    // 反向：键含 umlaut，成员名为 ASCII
+    ValueNode reverseBase = new ValueNode(Map.of("größe", 7));
+    CallTarget reverse = wrap(MemberAccessNode.buildChain(reverseBase, new String[]{"groesse"}));
+    assertEquals(7, reverse.call());
+    // 缓存的反向键不存在于新载荷时重新扫描
+    reverseBase.value = Map.of("grösse", 8);
+    assertEquals(8, reverse.call());
+    reverseBase.value = Map.of("other", 1);
+    assertThrows(RuntimeException.class, reverse::call);
+  }
+
+  @Test
+  public void mapEntryWithNullValueIsReturned() {
+    Map<String, Object> entries = new HashMap<>();
+    entries.put("value", null);
+    CallTarget target = wrap(MemberAccessNode.buildChain(new ValueNode(new AsterMapValue(entries)), new String[]{"value"}));
+    assertNull(target.call());
+  }
+
+  @Test
+  public void chainEvaluatesBaseOnceAndWalksEveryStep() {
+    Map<String, Object> inner = new LinkedHashMap<>();
+    inner.put("c", 42);
+    AsterDataValue middle = data("Mid", new String[]{"b"}, inner);
+    ValueNode base = new ValueNode(Map.of("a", middle));
+    CallTarget target = wrap(MemberAccessNode.buildChain(base, new String[]{"a", "b", "c"}));
+    assertEquals(42, target.call());
+    assertEquals(1, base.counter.get());
+  }
+
+  @Test
+  public void nullBaseFailsExplicitly() {
+    CallTarget target = wrap(MemberAccessNode.buildChain(new ValueNode(null), new String[]{"x"}));
+    RuntimeException ex = assertThrows(RuntimeException.class, target::call);
+    assertEquals("无法访问 null 对象的成员：x", ex.getMessage());
+  }
+}
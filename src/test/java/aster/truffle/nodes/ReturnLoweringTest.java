@@ -0,0 +1,104 @@
+package aster.truffle.nodes;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 结构化返回：守卫改写、槽位哨兵与 ReturnException 三条路径对同一规则给出相同结果。
+ */
+public class ReturnLoweringTest {
+
+  private static String module(String statements) {
+    return """
+        {
+          "name": "returns.test",
+          "decls": [{
+            "kind": "Func", "name": "grade",
+            "params": [{"name": "n", "type": {"kind": "TypeName", "name": "Int"}}],
+            "ret": {"kind": "TypeName", "name": "Int"}, "effects": [],
+            "body": {"kind": "Block", "statements": [%s]}
+          }]
+        }
+        """.formatted(statements);
+  }
+
+  private static String call(String fn, String... args) {
+    return "{\"kind\": \"Call\", \"target\": {\"kind\": \"Name\", \"name\": \"" + fn + "\"}, \"args\": ["
+        + String.join(", ", args) + "]}";
+  }
+
+  private static String name(String n) {
+    return "{\"kind\": \"Name\", \"name\": \"" + n + "\"}";
+  }
+
+  private static String intLit(int v) {
+    return "{\"kind\": \"Int\", \"value\": " + v + "}";
+  }
+
+  private static String ret(String expr) {
+    return "{\"kind\": \"Return\", \"expr\": " + expr + "}";
+  }
+
+  private static String let(String n, String expr) {
+    return "{\"kind\": \"Let\", \"name\": \"" + n + "\", \"expr\": " + expr + "}";
+  }
+
+  private static String ifThen(String cond, String... then) {
+    return "{\"kind\": \"If\", \"cond\": " + cond + ", \"thenBlock\": {\"kind\": \"Block\", \"statements\": ["
+        + String.join(", ", then) + "]}}";
+  }
+
+  /** 在开启与关闭 aster.LowerReturns 的上下文中分别对 0..9 求值，两者一致且等于 expected。 */
+  private static void assertGrades(String statements, int... expected) throws Exception {
+    for (String lower : new String[] {"true", "false"}) {
+      try (Context context = Context.newBuilder("aster").allowAllAccess(true)
+          .option("aster.LowerReturns", lower).build()) {
+        Value grade = context.eval(Source.newBuilder("aster", module(statements), "returns.json").build());
+        for (int n = 0; n < expected.length; n++) {
+          assertEquals(expected[n], grade.execute(n).asInt(), "n=" + n + ", LowerReturns=" + lower);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void guardChainIsRewrittenToIfElse() throws Exception {
+    assertGrades(String.join(", ",
+            ifThen(call("lt", name("n"), intLit(3)), ret(intLit(1))),
+            let("m", call("mul", name("n"), intLit(2))),
+            ifThen(call("lt", name("m"), intLit(12)), let("k", intLit(7)), ret(name("k"))),
+            ret(name("m"))),
+        1, 1, 1, 7, 7, 7, 12, 14, 16, 18);
+  }
+
+  @Test
+  public void nestedEarlyReturnUsesResultSlot() throws Exception {
+    // 外层 If 的 then 分支并非必然返回，无法改写，内层 Return 经槽位哨兵穿过两层块
+    assertGrades(String.join(", ",
+            let("acc", intLit(100)),
+            ifThen(call("lt", name("n"), intLit(6)),
+                ifThen(call("lt", name("n"), intLit(2)), ret(name("n"))),
+                let("acc", call("add", name("acc"), name("n")))),
+            ret(name("acc"))),
+        0, 1, 102, 103, 104, 105, 100, 100, 100, 100);
+  }
+
+  @Test
+  public void guardInsideScopeAndLambda() throws Exception {
+    String lambda = """
+        {"kind": "Lambda", "params": [{"name": "y", "type": {"kind": "TypeName", "name": "Int"}}],
+         "ret": {"kind": "TypeName", "name": "Int"}, "captures": [],
+         "body": {"kind": "Block", "statements": [%s, %s]}}
+        """.formatted(ifThen(call("lt", name("y"), intLit(4)), ret(intLit(0))), ret(call("sub", name("y"), intLit(4))));
+    String scope = "{\"kind\": \"Scope\", \"statements\": [" + String.join(", ",
+        let("f", lambda),
+        let("r", call("f", name("n"))),
+        ifThen(call("eq", name("r"), intLit(0)), ret(intLit(-1))),
+        ret(name("r"))) + "]}";
+    assertGrades(scope, -1, -1, -1, -1, -1, 1, 2, 3, 4, 5);
+  }
+}
@@ -0,0 +1,118 @@
+package aster.truffle.nodes;
+
+import aster.truffle.runtime.AsterList;
+import aster.truffle.runtime.AsterText;
+import aster.truffle.runtime.Builtins;
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.strings.TruffleString;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TextNodes / AsterText 回归测试：长拼接产生 rope 且各消费点看到的内容与 String 拼接一致，
+ * 字面分隔符切分与 {@code String.split(Pattern.quote(d))} 逐项一致。
+ */
+public class TextNodesTest {
+
+  private static final class ValueNode extends AsterExpressionNode {
+    final Object value;
+    ValueNode(Object value) { this.value = value; }
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+      return value;
+    }
+  }
+
+  private static Object eval(String op, List<AsterExpressionNode> args) {
+    AsterExpressionNode node = TextNodes.create(Builtins.canonicalName(op), Builtins.lookup(op), args);
+    RootNode root = new RootNode(null, new FrameDescriptor()) {
+      @Override
+      public Object execute(VirtualFrame frame) {
+        return node.executeGeneric(frame);
+      }
+    };
+    CallTarget target = root.getCallTarget();
+    return target.call();
+  }
+
+  private static Object eval(String op, Object... operands) {
+    var args = new java.util.ArrayList<AsterExpressionNode>();
+    for (Object o : operands) args.add(new ValueNode(o));
+    return eval(op, args);
+  }
+
+  @Test
+  public void repeatedConcatBuildsRope() {
+    Object acc = "";
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 20_000; i++) {
+      String line = "line " + i + "\n";
+      acc = i % 2 == 0 ? eval("Text.concat", acc, line) : Builtins.call("add", new Object[]{acc, line});
+      expected.append(line);
+    }
+    assertInstanceOf(TruffleString.class, acc);
+    assertEquals(expected.length(), eval("Text.length", acc));
+    assertEquals(expected.toString(), AsterText.flatten(acc));
+    assertEquals(expected.toString().hashCode(), acc.hashCode());
+    assertEquals(Boolean.TRUE, Builtins.call("eq", new Object[]{acc, expected.toString()}));
+    assertEquals(expected.indexOf("line 19999"), eval("Text.indexOf", acc, "line 19999"));
+    assertEquals(true, eval("Text.contains", acc, "line 12345\n"));
+    assertEquals("line 0\nline 1", eval("Text.substring", acc, 0, 13));
+    assertEquals(20_000, ((List<?>) eval("Text.split", acc, "\n")).size());
+  }
+
+  @Test
+  public void shortConcatStaysString() {
+    assertEquals("ab", eval("Text.concat", "a", "b"));
+    assertEquals("n=1", Builtins.call("add", new Object[]{"n=", 1}));
+    assertEquals(3, eval("Text.length", "abc"));
+    assertEquals("String", Builtins.typeName(eval("Text.concat", "x".repeat(40), "y".repeat(40))));
+  }
+
+  @Test
+  public void ropesInsideCollectionsCompareByContent() {
+    String left = "a".repeat(40);
+    String right = "b".repeat(40);
+    Object rope = eval("Text.concat", left, right);
+    assertInstanceOf(TruffleString.class, rope);
+    String flat = left + right;
+
+    AsterList withRope = AsterList.copyOf(List.of("x", rope));
+    AsterList withFlat = AsterList.copyOf(List.of("x", flat));
+    assertEquals(Boolean.TRUE, Builtins.call("List.contains", new Object[]{withRope, flat}));
+    assertEquals(Boolean.TRUE, Builtins.call("List.contains", new Object[]{withFlat, rope}));
+    assertEquals(Boolean.TRUE, Builtins.call("eq", new Object[]{withRope, withFlat}));
+    assertEquals(Boolean.FALSE, Builtins.call("ne", new Object[]{withFlat, withRope}));
+    assertEquals(Boolean.TRUE, Builtins.call("eq", new Object[]{Map.of("k", List.of(rope)), Map.of("k", List.of(flat))}));
+    assertEquals(1, ((List<?>) Builtins.call("List.distinct", new Object[]{List.of(rope, flat)})).size());
+  }
+
+  @Test
+  public void literalSplitMatchesQuotedRegex() {
+    List<String> inputs = List.of("", ",", ",,", "a", "a,b", ",a,,b,,", "a.b.c", "a||b||", "||a", "x.*y.*");
+    List<String> delimiters = List.of(",", ".", "||", ".*", "");
+    for (String delimiter : delimiters) {
+      for (String input : inputs) {
+        List<String> expected = Arrays.asList(input.split(Pattern.quote(delimiter)));
+        assertEquals(expected, new AsterText.Splitter(delimiter).split(input), input + " / " + delimiter);
+        assertEquals(expected, Builtins.call("Text.split", new Object[]{input, delimiter}));
+        Object viaConstant = eval("Text.split", List.of(new ValueNode(input), LiteralNode.create(delimiter)));
+        assertInstanceOf(AsterList.class, viaConstant);
+        assertEquals(expected, viaConstant);
+      }
+    }
+    assertTrue(TextNodes.create("Text.split", Builtins.lookup("Text.split"),
+        List.of(new ValueNode("a"), LiteralNode.create(","))) instanceof TextNodes.SplitConstantNode);
+  }
+}
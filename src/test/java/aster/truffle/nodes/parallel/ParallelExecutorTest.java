@@ -0,0 +1,164 @@
+package aster.truffle.nodes.parallel;
+
+import aster.truffle.nodes.LambdaValue;
+import aster.truffle.nodes.Profiler;
+import aster.truffle.runtime.Builtins;
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+import org.graalvm.polyglot.Context;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ParallelExecutor：线程池由上下文持有并受语言选项控制，块大小随实测单元素耗时自适应，
+ * 上下文取消时 worker 停止领取新块。
+ */
+public class ParallelExecutorTest {
+
+  private static LambdaValue pure(Function<Object[], Object> body) {
+    RootNode root = new RootNode(null, new FrameDescriptor()) {
+      @Override
+      public Object execute(VirtualFrame frame) {
+        return body.apply(frame.getArguments());
+      }
+    };
+    return new LambdaValue(List.of("x"), List.of(), new Object[0], root.getCallTarget(), Set.of());
+  }
+
+  private static CallTarget target() {
+    return pure(a -> a[0]).getCallTarget();
+  }
+
+  private static Object evenCount(Context context) {
+    context.enter();
+    try {
+      List<Object> xs = Builtins.asList(Builtins.call("List.range", new Object[]{0, 5000}));
+      return Builtins.call("List.count", new Object[]{xs, pure(a -> ((Integer) a[0]) % 2 == 0)});
+    } finally {
+      context.leave();
+    }
+  }
+
+  @Test
+  public void threadsOptionControlsContextPool() {
+    Profiler.setEnabled(true);
+    Profiler.reset();
+    try {
+      try (Context context = Context.newBuilder("aster").option("aster.ParallelThreads", "1").build()) {
+        context.initialize("aster");
+        assertEquals(2500, evenCount(context));
+        assertEquals(0L, Profiler.getCounters().getOrDefault("builtin_list_count_parallel", 0L));
+      }
+      // 即便宿主只有单核，上下文也按选项建立自己的 4 线程池
+      try (Context context = Context.newBuilder("aster").option("aster.ParallelThreads", "4")
+          .option("aster.ParallelMinSize", "1000").build()) {
+        context.initialize("aster");
+        assertEquals(2500, evenCount(context));
+        assertEquals(1L, Profiler.getCounters().getOrDefault("builtin_list_count_parallel", 0L));
+      }
+    } finally {
+      Profiler.setEnabled(false);
+    }
+  }
+
+  @Test
+  public void chunkSizeAdaptsToMeasuredCost() {
+    ParallelExecutor executor = new ParallelExecutor(4, 256, 50);
+    try {
+      CallTarget unknown = target();
+      assertEquals(ParallelExecutor.DEFAULT_CHUNK_SIZE, executor.chunkSize(10_000, unknown));
+      assertTrue(executor.shouldParallelize(300, unknown));
+
+      // 1ns/元素：块放大到每线程一块；300 个元素的总工作量不足两块，顺序执行
+      CallTarget cheap = target();
+      executor.recordCost(cheap, 1);
+      assertEquals(2500, executor.chunkSize(10_000, cheap));
+      assertFalse(executor.shouldParallelize(300, cheap));
+
+      // 1ms/元素：块缩到下限，重任务也能均匀分摊到各线程
+      CallTarget heavy = target();
+      executor.recordCost(heavy, 1_000_000);
+      assertEquals(4, executor.chunkSize(10_000, heavy));
+      assertTrue(executor.shouldParallelize(300, heavy));
+
+      // 并行执行后记录实测耗时
+      CallTarget measured = target();
+      executor.forEachChunk(1000, 100, measured, (chunk, start, end) -> { });
+      assertTrue(executor.chunkSize(1000, measured) >= 4);
+    } finally {
+      executor.close();
+    }
+  }
+
+  @Test
+  public void closedExecutorRunsChunksOnCaller() {
+    ParallelExecutor executor = new ParallelExecutor(4, 256, 50);
+    executor.close();
+    assertFalse(executor.shouldParallelize(10_000));
+    int[] seen = new int[10];
+    Thread caller = Thread.currentThread();
+    executor.forEachChunk(1000, 100, null, (chunk, start, end) -> {
+      assertEquals(caller, Thread.currentThread());
+      seen[chunk] = end - start;
+    });
+    assertEquals(100, seen[9]);
+  }
+
+  @Test
+  public void cancelledContextStopsWorkers() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Context context = Context.newBuilder("aster").option("aster.ParallelThreads", "2").build();
+    context.initialize("aster");
+    Thread runner = new Thread(() -> {
+      context.enter();
+      try {
+        List<Object> xs = Builtins.asList(Builtins.call("List.range", new Object[]{0, 100_000}));
+        Builtins.call("List.count", new Object[]{xs, pure(a -> {
+          calls.incrementAndGet();
+          started.countDown();
+          long until = System.nanoTime() + 200_000;
+          while (System.nanoTime() < until) {
+            Thread.onSpinWait();
+          }
+          return true;
+        })});
+      } catch (Throwable t) {
+        failure.set(t);
+      } finally {
+        try {
+          context.leave();
+        } catch (Throwable ignored) {
+          // 取消后上下文可能已关闭
+        }
+      }
+    });
+    runner.start();
+    assertTrue(started.await(30, TimeUnit.SECONDS));
+    context.close(true);
+    runner.join(TimeUnit.SECONDS.toMillis(30));
+    assertFalse(runner.isAlive());
+    assertNotNull(failure.get());
+    int afterCancel = calls.get();
+    Thread.sleep(200);
+    // worker 不再领取新块（最多完成各自手头的一块）
+    assertTrue(calls.get() - afterCancel <= 2 * ParallelExecutor.DEFAULT_CHUNK_SIZE);
+    assertTrue(calls.get() < 100_000);
+    assertTrue(String.valueOf(failure.get().getMessage()).contains("cancelled"), String.valueOf(failure.get()));
+  }
+}
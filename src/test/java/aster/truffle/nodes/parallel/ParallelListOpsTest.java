@@ -0,0 +1,175 @@
+package aster.truffle.nodes.parallel;
+
+import aster.truffle.nodes.LambdaValue;
+import aster.truffle.nodes.Profiler;
+import aster.truffle.purity.EffectSummary;
+import aster.truffle.runtime.Builtins;
+import aster.truffle.runtime.interop.AsterDecimalValue;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 纯 lambda 的 List.filter/count/sortBy/groupBy/minBy/maxBy/reduce 并行路径：结果（含顺序、
+ * 稳定性与相等键的取舍）与同一函数体的非纯（顺序）执行逐一相同；出错时重放得到顺序执行的首个错误。
+ */
+public class ParallelListOpsTest {
+  private static final int SIZE = 5000;
+
+  private final boolean parallel = ParallelListOps.shouldParallelize(SIZE);
+
+  @BeforeEach
+  void enableProfiler() {
+    Profiler.setEnabled(true);
+    Profiler.reset();
+  }
+
+  @AfterEach
+  void disableProfiler() {
+    Profiler.setEnabled(false);
+  }
+
+  private static LambdaValue lambda(Set<String> effects, Function<Object[], Object> body) {
+    RootNode root = new RootNode(null, new FrameDescriptor()) {
+      @Override
+      public Object execute(VirtualFrame frame) {
+        return body.apply(frame.getArguments());
+      }
+    };
+    return new LambdaValue(List.of("x"), List.of(), new Object[0], root.getCallTarget(), effects);
+  }
+
+  /** 带静态摘要的纯二元 lambda，摘要声明其为可结合运算 op（模拟 Loader 识别的 {@code (a, b) => op(a, b)}）。 */
+  private static LambdaValue associative(String op, Function<Object[], Object> body) {
+    final class SummarizedRoot extends RootNode implements EffectSummary {
+      SummarizedRoot() {
+        super(null, new FrameDescriptor());
+      }
+
+      @Override
+      public Object execute(VirtualFrame frame) {
+        return body.apply(frame.getArguments());
+      }
+
+      @Override
+      public Set<String> inferredEffects() {
+        return Set.of();
+      }
+
+      @Override
+      public boolean isPure() {
+        return true;
+      }
+
+      @Override
+      public String associativeOp() {
+        return op;
+      }
+    }
+    return new LambdaValue(List.of("a", "b"), List.of(), new Object[0], new SummarizedRoot().getCallTarget(), Set.of());
+  }
+
+  private static LambdaValue pure(Function<Object[], Object> body) {
+    return lambda(Set.of(), body);
+  }
+
+  private static LambdaValue impure(Function<Object[], Object> body) {
+    return lambda(Set.of("io"), body);
+  }
+
+  private static List<Object> range() {
+    return Builtins.asList(Builtins.call("List.range", new Object[]{0, SIZE}));
+  }
+
+  private static long counter(String name) {
+    return Profiler.getCounters().getOrDefault(name, 0L);
+  }
+
+  @Test
+  public void filterAndCountMatchSequential() {
+    List<Object> xs = range();
+    Function<Object[], Object> divisibleBy3 = a -> ((Integer) a[0]) % 3 == 0;
+    Object expected = Builtins.call("List.filter", new Object[]{xs, impure(divisibleBy3)});
+    assertEquals(expected, Builtins.call("List.filter", new Object[]{xs, pure(divisibleBy3)}));
+    assertEquals(1667, Builtins.call("List.count", new Object[]{xs, pure(divisibleBy3)}));
+    assertEquals(parallel ? 1L : 0L, counter("builtin_list_filter_parallel"));
+    assertEquals(parallel ? 1L : 0L, counter("builtin_list_count_parallel"));
+  }
+
+  @Test
+  public void sortByIsStableWithTies() {
+    List<Object> xs = range();
+    Function<Object[], Object> lastDigitDescending = a -> 9 - ((Integer) a[0]) % 10;
+    Object expected = Builtins.call("List.sortBy", new Object[]{xs, impure(lastDigitDescending)});
+    List<?> sorted = (List<?>) Builtins.call("List.sortBy", new Object[]{xs, pure(lastDigitDescending)});
+    assertEquals(expected, sorted);
+    assertEquals(List.of(9, 19, 29), sorted.subList(0, 3));
+  }
+
+  @Test
+  public void groupByKeepsFirstOccurrenceOrder() {
+    List<Object> xs = range();
+    Function<Object[], Object> bucket = a -> ((Integer) a[0]) * 7 % 13;
+    Object expected = Builtins.call("List.groupBy", new Object[]{xs, impure(bucket)});
+    Object grouped = Builtins.call("List.groupBy", new Object[]{xs, pure(bucket)});
+    assertEquals(expected, grouped);
+    assertEquals(new ArrayList<>(((java.util.Map<?, ?>) expected).keySet()),
+        new ArrayList<>(((java.util.Map<?, ?>) grouped).keySet()));
+  }
+
+  @Test
+  public void minByAndMaxByKeepEarliestOnTies() {
+    List<Object> xs = range();
+    Function<Object[], Object> mod100 = a -> ((Integer) a[0]) % 100;
+    assertEquals(0, Builtins.call("List.minBy", new Object[]{xs, pure(mod100)}));
+    assertEquals(99, Builtins.call("List.maxBy", new Object[]{xs, pure(mod100)}));
+  }
+
+  @Test
+  public void reduceRunsInChunksOnlyForProvenAssociativeOps() {
+    List<Object> decimals = new ArrayList<>();
+    for (int i = 0; i < SIZE; i++) {
+      decimals.add(AsterDecimalValue.parse(i + ".05"));
+    }
+    Function<Object[], Object> addDecimals = a -> ((AsterDecimalValue) a[0]).add((AsterDecimalValue) a[1]);
+    AsterDecimalValue zero = AsterDecimalValue.valueOf(0);
+    Object expected = Builtins.call("List.reduce", new Object[]{decimals, zero, impure(addDecimals)});
+
+    LambdaValue add = associative("add", addDecimals);
+    assertEquals(expected, Builtins.call("List.reduce", new Object[]{decimals, zero, add}));
+    assertEquals(AsterDecimalValue.parse("12497750.00"), expected);
+    assertEquals(parallel ? 1L : 0L, counter("builtin_list_reduce_parallel"));
+
+    // 未证明可结合的 lambda 与 Int 归约（溢出拓宽依赖顺序）保持顺序折叠
+    Builtins.call("List.reduce", new Object[]{decimals, zero, pure(addDecimals)});
+    LambdaValue addInts = associative("add", a -> Builtins.numericAdd(a[0], a[1]));
+    assertEquals(12497500, Builtins.call("List.reduce", new Object[]{range(), 0, addInts}));
+    assertEquals(parallel ? 1L : 0L, counter("builtin_list_reduce_parallel"));
+  }
+
+  @Test
+  public void parallelFailureReportsFirstSequentialError() {
+    LambdaValue failing = pure(a -> {
+      int x = (Integer) a[0];
+      if (x >= 3000) {
+        throw new IllegalStateException("bad " + x);
+      }
+      return true;
+    });
+    IllegalStateException e = assertThrows(IllegalStateException.class,
+        () -> Builtins.call("List.filter", new Object[]{range(), failing}));
+    assertEquals("bad 3000", e.getMessage());
+    assertEquals(parallel ? 1L : 0L, counter("builtin_list_parallel_replay"));
+  }
+}
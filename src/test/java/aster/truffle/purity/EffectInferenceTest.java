@@ -0,0 +1,131 @@
+package aster.truffle.purity;
+
+import aster.truffle.core.CoreModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * EffectInference：effect 经用户函数调用、高阶 builtin 的函数参数传递，递归收敛到不动点，
+ * 调用静态不可知的函数值计为 Unknown。
+ */
+public class EffectInferenceTest {
+
+  private static CoreModel.Name name(String n) {
+    CoreModel.Name e = new CoreModel.Name();
+    e.name = n;
+    return e;
+  }
+
+  private static CoreModel.IntE lit(int v) {
+    CoreModel.IntE e = new CoreModel.IntE();
+    e.value = v;
+    return e;
+  }
+
+  private static CoreModel.Call call(String target, CoreModel.Expr... args) {
+    CoreModel.Call c = new CoreModel.Call();
+    c.target = name(target);
+    c.args = List.of(args);
+    return c;
+  }
+
+  private static CoreModel.Block returns(CoreModel.Expr expr) {
+    CoreModel.Return r = new CoreModel.Return();
+    r.expr = expr;
+    CoreModel.Block b = new CoreModel.Block();
+    b.statements = List.of(r);
+    return b;
+  }
+
+  private static List<CoreModel.Param> params(String... names) {
+    List<CoreModel.Param> ps = new ArrayList<>();
+    for (String n : names) {
+      CoreModel.Param p = new CoreModel.Param();
+      p.name = n;
+      ps.add(p);
+    }
+    return ps;
+  }
+
+  private static CoreModel.Lambda lambda(String param, CoreModel.Expr body) {
+    CoreModel.Lambda lam = new CoreModel.Lambda();
+    lam.params = params(param);
+    lam.captures = List.of();
+    lam.body = returns(body);
+    return lam;
+  }
+
+  private static CoreModel.Func func(String n, List<String> effects, CoreModel.Expr body, String... ps) {
+    CoreModel.Func fn = new CoreModel.Func();
+    fn.name = n;
+    fn.params = params(ps);
+    fn.effects = effects;
+    fn.body = returns(body);
+    return fn;
+  }
+
+  private static EffectInference infer(CoreModel.Func... fns) {
+    Map<String, CoreModel.Func> funcs = new LinkedHashMap<>();
+    for (CoreModel.Func fn : fns) funcs.put(fn.name, fn);
+    return new EffectInference(funcs);
+  }
+
+  @Test
+  public void effectsPropagateThroughUserCalls() {
+    // caller 在 log 之前声明，需迭代才能看到 log 的 IO
+    EffectInference inference = infer(
+        func("caller", List.of(), call("log", name("x")), "x"),
+        func("log", List.of(), call("IO.print", name("x")), "x"),
+        func("inc", List.of(), call("add", name("x"), lit(1)), "x"));
+    assertEquals(Set.of("IO"), inference.functionEffects("caller"));
+    assertEquals(Set.of("IO"), inference.functionEffects("log"));
+    assertEquals(Set.of(), inference.functionEffects("inc"));
+  }
+
+  @Test
+  public void declaredEffectsAreKeptAndRecursionConverges() {
+    EffectInference inference = infer(
+        func("countdown", List.of(), call("countdown", call("sub", name("n"), lit(1))), "n"),
+        func("audited", List.of("IO"), name("n"), "n"),
+        func("ping", List.of(), call("pong", name("n")), "n"),
+        func("pong", List.of(), call("ping", call("IO.print", name("n"))), "n"));
+    assertEquals(Set.of(), inference.functionEffects("countdown"));
+    assertEquals(Set.of("IO"), inference.functionEffects("audited"));
+    assertEquals(Set.of("IO"), inference.functionEffects("ping"));
+  }
+
+  @Test
+  public void higherOrderBuiltinsIncludeFunctionArgumentEffects() {
+    EffectInference inference = infer(
+        func("log", List.of(), call("IO.print", name("x")), "x"),
+        func("logAll", List.of(), call("List.map", name("xs"), lambda("x", call("log", name("x")))), "xs"),
+        func("logEach", List.of(), call("List.map", name("xs"), name("log")), "xs"),
+        func("double", List.of(), call("List.map", name("xs"), lambda("x", call("mul", name("x"), lit(2)))), "xs"));
+    assertEquals(Set.of("IO"), inference.functionEffects("logAll"));
+    assertEquals(Set.of("IO"), inference.functionEffects("logEach"));
+    assertEquals(Set.of(), inference.functionEffects("double"));
+    // 创建 lambda 不产生 effect，只有调用它的地方计入
+    assertEquals(Set.of("IO"), inference.lambdaEffects(lambda("x", call("log", name("x")))));
+  }
+
+  @Test
+  public void unknownFunctionValuesAreImpure() {
+    EffectInference inference = infer(
+        func("apply", List.of(), call("f", name("x")), "f", "x"),
+        func("mapWith", List.of(), call("List.map", name("xs"), name("f")), "xs", "f"));
+    assertEquals(Set.of(EffectInference.UNKNOWN), inference.functionEffects("apply"));
+    assertEquals(Set.of(EffectInference.UNKNOWN), inference.functionEffects("mapWith"));
+    assertEquals(Set.of(EffectInference.UNKNOWN), inference.functionEffects("missing"));
+    // 参数遮蔽同名用户函数
+    CoreModel.Lambda shadowing = lambda("log", call("log", lit(1)));
+    assertEquals(Set.of(EffectInference.UNKNOWN),
+        infer(func("log", List.of(), lit(0), "x")).lambdaEffects(shadowing));
+  }
+}
@@ -0,0 +1,68 @@
+package aster.truffle.runtime;
+
+import aster.truffle.core.CoreModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsterDataLayoutTest {
+
+  private static CoreModel.Data userDefinition() {
+    CoreModel.Data data = new CoreModel.Data();
+    data.name = "User";
+    CoreModel.Field name = new CoreModel.Field();
+    name.name = "name";
+    CoreModel.Field age = new CoreModel.Field();
+    age.name = "age";
+    data.fields = List.of(name, age);
+    return data;
+  }
+
+  @Test
+  public void testLayoutFollowsDeclarationOrder() {
+    AsterDataLayout layout = AsterDataLayout.fromDefinition(userDefinition());
+
+    assertEquals("User", layout.getTypeName());
+    assertEquals(List.of("name", "age"), layout.getFieldNames());
+    assertEquals(0, layout.indexOf("name"));
+    assertEquals(1, layout.indexOf("age"));
+    assertEquals(-1, layout.indexOf("email"));
+  }
+
+  @Test
+  public void testInstancesShareLayout() {
+    AsterDataLayout layout = AsterDataLayout.fromDefinition(userDefinition());
+    AsterDataValue alice = new AsterDataValue(layout, new Object[]{"Alice", 30});
+    AsterDataValue bob = new AsterDataValue(layout, new Object[]{"Bob", null});
+
+    assertSame(alice.getLayout(), bob.getLayout());
+    assertEquals("User", bob.getTypeName());
+    assertEquals(30, alice.getField("age"));
+    assertTrue(bob.hasField("age"));
+    assertNull(bob.getField("age"));
+    assertFalse(bob.hasField("email"));
+    assertEquals("User{name=Bob, age=null}", bob.toString());
+  }
+
+  @Test
+  public void testFieldCountMismatchRejected() {
+    AsterDataLayout layout = AsterDataLayout.fromDefinition(userDefinition());
+    assertThrows(IllegalArgumentException.class, () -> new AsterDataValue(layout, new Object[]{"Alice"}));
+  }
+
+  @Test
+  public void testLegacyConstructorBuildsPrivateLayout() {
+    AsterDataValue value = new AsterDataValue("Point", new String[]{"x", "y"}, new Object[]{1, 2}, null);
+
+    assertEquals("Point", value.getTypeName());
+    assertEquals(List.of("x", "y"), value.getFieldNames());
+    assertEquals(2, value.getField("y"));
+  }
+}
@@ -0,0 +1,88 @@
+package aster.truffle.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * AsterList 存储策略：同构数值落原始数组，异构写入泛化为 Object[]，读取保持写入类型；
+ * List.* 聚合在原始存储上的结果须与 ArrayList 通用路径逐位一致。
+ */
+public class AsterListTest {
+
+  private static Object call(String name, Object... args) {
+    return Builtins.call(name, args);
+  }
+
+  @Test
+  public void chooseStrategyFromFirstWriteAndGeneralize() {
+    AsterList l = new AsterList();
+    assertEquals(AsterList.StorageKind.EMPTY, l.storageKind());
+    for (int i = 0; i < 20; i++) l.add(i);
+    assertEquals(AsterList.StorageKind.INT, l.storageKind());
+    l.add(5L);
+    assertEquals(AsterList.StorageKind.OBJECT, l.storageKind());
+    assertEquals(19, l.get(19));
+    assertEquals(5L, l.get(20));
+    assertEquals(21, l.size());
+
+    AsterList d = new AsterList();
+    d.add(1.5);
+    d.add(2.5);
+    assertEquals(AsterList.StorageKind.DOUBLE, d.storageKind());
+    d.set(0, "x");
+    assertEquals(List.of("x", 2.5), d);
+  }
+
+  @Test
+  public void behavesLikeArrayList() {
+    AsterList l = AsterList.copyOf(List.of(1, 2, 3));
+    l.add(0, 0);
+    l.remove(3);
+    assertEquals(List.of(0, 1, 2), l);
+    assertEquals(new ArrayList<>(List.of(0, 1, 2)).hashCode(), l.hashCode());
+    assertEquals("[0, 1, 2]", l.toString());
+    assertEquals(List.of(1, 2), AsterList.copyOfRange(l, 1, 3));
+    assertThrows(IndexOutOfBoundsException.class, () -> l.get(3));
+    l.add(null);
+    assertEquals(Arrays.asList(0, 1, 2, null), l);
+  }
+
+  @Test
+  public void listBuiltinsProducePrimitiveStorage() {
+    Object range = call("List.range", 0, 5);
+    assertEquals(AsterList.StorageKind.INT, ((AsterList) range).storageKind());
+    assertEquals(List.of(0, 1, 2, 3, 4), range);
+    Object appended = call("List.append", range, 5);
+    assertEquals(AsterList.StorageKind.INT, ((AsterList) appended).storageKind());
+    Object sorted = call("List.sort", AsterList.copyOf(List.of(3.5, -0.0, 0.0, 1.0)));
+    assertEquals(AsterList.StorageKind.DOUBLE, ((AsterList) sorted).storageKind());
+    assertEquals(call("List.sort", new ArrayList<>(List.of(3.5, -0.0, 0.0, 1.0))), sorted);
+  }
+
+  @Test
+  public void aggregatesMatchGenericPath() {
+    List<List<Object>> cases = List.of(
+        List.of(1, 2, 3),
+        List.of(Integer.MAX_VALUE, 1, -5),
+        List.of(Integer.MAX_VALUE, 1, -2),
+        List.of(Long.MAX_VALUE, 1L, -3L),
+        List.of(1L << 40, 7L),
+        List.of(0.1, 0.2, 0.3),
+        List.of(-0.0),
+        List.of(3, 1, 3, 1));
+    for (List<Object> c : cases) {
+      List<Object> boxed = new ArrayList<>(c);
+      AsterList primitive = AsterList.copyOf(c);
+      for (String op : List.of("List.sum", "List.min", "List.max", "List.sort")) {
+        assertEquals(call(op, boxed), call(op, primitive), op + " " + c);
+      }
+    }
+    assertEquals(0, call("List.sum", new AsterList()));
+  }
+}
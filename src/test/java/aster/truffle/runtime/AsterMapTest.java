@@ -0,0 +1,110 @@
+package aster.truffle.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * AsterMap：持久化 HAMT 须与 LinkedHashMap 的插入序、覆盖与删除语义逐项一致，
+ * 且旧版本不受后续 assoc/without 影响；AsterList 不可变追加同理。
+ */
+public class AsterMapTest {
+
+  /** hashCode 固定的键，强制走冲突节点。 */
+  private record Colliding(String name) {
+    @Override
+    public int hashCode() {
+      return 42;
+    }
+  }
+
+  @Test
+  public void matchesLinkedHashMapUnderRandomEdits() {
+    Random random = new Random(7);
+    AsterMap persistent = AsterMap.empty();
+    Map<Object, Object> reference = new LinkedHashMap<>();
+    List<AsterMap> versions = new ArrayList<>();
+    List<Map<Object, Object>> snapshots = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      Object key = random.nextInt(8) == 0 ? new Colliding("c" + random.nextInt(4)) : "k" + random.nextInt(1500);
+      if (random.nextInt(5) == 0) {
+        persistent = persistent.without(key);
+        reference.remove(key);
+      } else {
+        persistent = persistent.assoc(key, i);
+        reference.put(key, i);
+      }
+      if (i % 500 == 0) {
+        versions.add(persistent);
+        snapshots.add(new LinkedHashMap<>(reference));
+      }
+    }
+    assertEquals(reference, persistent);
+    assertEquals(new ArrayList<>(reference.keySet()), new ArrayList<>(persistent.keySet()));
+    assertEquals(reference.toString(), persistent.toString());
+    for (int i = 0; i < versions.size(); i++) {
+      assertEquals(new ArrayList<>(snapshots.get(i).entrySet()), new ArrayList<>(versions.get(i).entrySet()));
+    }
+  }
+
+  @Test
+  public void builderAndCopyPreserveOrder() {
+    Map<Object, Object> source = new LinkedHashMap<>();
+    source.put("b", 1);
+    source.put("a", 2);
+    source.put(null, 3);
+    AsterMap copy = AsterMap.copyOf(source);
+    assertEquals(List.of("b", "a"), new ArrayList<>(copy.keySet()).subList(0, 2));
+    assertEquals(3, copy.get(null));
+    assertSame(copy, AsterMap.copyOf(copy));
+    assertThrows(UnsupportedOperationException.class, () -> copy.put("c", 4));
+  }
+
+  @Test
+  public void mapBuiltinsKeepImmutableValueSemantics() {
+    Object empty = Builtins.call("Map.empty", new Object[0]);
+    Object m1 = Builtins.call("Map.put", new Object[]{empty, "x", 1});
+    Object m2 = Builtins.call("Map.put", new Object[]{m1, "y", 2});
+    Object m3 = Builtins.call("Map.put", new Object[]{m2, "x", 3});
+    Object m4 = Builtins.call("Map.remove", new Object[]{m3, "x"});
+    assertEquals(Map.of("x", 1), m1);
+    assertEquals(List.of("x", "y"), Builtins.call("Map.keys", new Object[]{m3}));
+    assertEquals(List.of(3, 2), Builtins.call("Map.values", new Object[]{m3}));
+    assertEquals(Map.of("y", 2), m4);
+    assertNull(Builtins.call("Map.get", new Object[]{m4, "x"}));
+  }
+
+  @Test
+  public void appendSharesStorageWithoutLeakingIntoOlderVersions() {
+    AsterList base = AsterList.copyOf(List.of(1, 2));
+    AsterList a = base.appended(3);
+    AsterList b = a.appended(4);
+    AsterList branch = a.appended("x");
+    assertEquals(List.of(1, 2), base);
+    assertEquals(List.of(1, 2, 3), a);
+    assertEquals(List.of(1, 2, 3, 4), b);
+    assertEquals(List.of(1, 2, 3, "x"), branch);
+
+    b.set(0, 9);
+    assertEquals(List.of(1, 2, 3), a);
+    assertEquals(List.of(9, 2, 3, 4), b);
+
+    AsterList acc = new AsterList();
+    for (int i = 0; i < 10_000; i++) {
+      acc = acc.appended(i);
+    }
+    assertEquals(AsterList.StorageKind.INT, acc.storageKind());
+    assertEquals(10_000, acc.size());
+    assertEquals(9_999, acc.get(9_999));
+    assertEquals(List.of(1, 2, 3, 1, 2), a.appendedAll(base).subList(0, 5));
+  }
+}
@@ -0,0 +1,72 @@
+package aster.truffle.runtime;
+
+import aster.truffle.runtime.interop.AsterNullValue;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AsterResult / AsterMaybe：Map 视图、interop 成员与 builtins 行为须与旧
+ * {@code LinkedHashMap{"_type", "value"}} 表示一致。
+ */
+public class AsterResultTest {
+
+  private final InteropLibrary interop = InteropLibrary.getUncached();
+
+  private static Map<String, Object> legacy(String type, Object value) {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("_type", type);
+    map.put("value", value);
+    return map;
+  }
+
+  @Test
+  public void testMapViewMatchesLegacyShape() {
+    AsterResult ok = AsterResult.ok(1);
+    assertEquals(legacy("Ok", 1), ok);
+    assertEquals(ok, legacy("Ok", 1));
+    assertEquals(legacy("Ok", 1).hashCode(), ok.hashCode());
+    assertEquals("{_type=Ok, value=1}", ok.toString());
+    assertEquals(List.of("_type", "value"), List.copyOf(ok.keySet()));
+
+    assertEquals(Map.of("_type", "None"), AsterMaybe.NONE);
+    assertFalse(AsterMaybe.NONE.containsKey("value"));
+    assertEquals("{_type=Some, value=null}", AsterMaybe.some(null).toString());
+    assertThrows(UnsupportedOperationException.class, () -> ok.put("value", 2));
+  }
+
+  @Test
+  public void testInteropMembersNormalizeNull() throws Exception {
+    AsterResult err = AsterResult.err(null);
+    assertTrue(interop.hasMembers(err));
+    assertSame("Err", interop.readMember(err, "_type"));
+    assertSame(AsterNullValue.INSTANCE, interop.readMember(err, "value"));
+    assertFalse(interop.isMemberReadable(AsterMaybe.NONE, "value"));
+    assertThrows(UnknownIdentifierException.class, () -> interop.readMember(AsterMaybe.NONE, "value"));
+  }
+
+  @Test
+  public void testBuiltinsProduceAndConsumeValueClasses() {
+    assertEquals(true, Builtins.call("Result.isOk", new Object[]{AsterResult.ok(1)}));
+    assertEquals(true, Builtins.call("Result.isErr", new Object[]{AsterResult.err("bad")}));
+    assertEquals("bad", Builtins.call("Result.unwrapErr", new Object[]{AsterResult.err("bad")}));
+    assertEquals(5, Builtins.call("Maybe.withDefault", new Object[]{AsterMaybe.NONE, 5}));
+    assertEquals(3, Builtins.call("Option.unwrap", new Object[]{AsterMaybe.some(3)}));
+    assertSame(AsterMaybe.NONE, Builtins.call("Maybe.map", new Object[]{AsterMaybe.NONE, null}));
+    // 宿主传入的旧 Map 形态仍可识别
+    assertEquals(true, Builtins.call("Result.isOk", new Object[]{legacy("Ok", 1)}));
+    assertEquals(1, Builtins.call("Result.unwrap", new Object[]{legacy("Ok", 1)}));
+    assertNull(Builtins.call("Option.unwrapOr", new Object[]{Map.of("_type", "None"), null}));
+  }
+}
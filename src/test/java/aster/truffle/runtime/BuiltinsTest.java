@@ -3,7 +3,9 @@ package aster.truffle.runtime;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -52,4 +54,37 @@ public class BuiltinsTest {
     // #14: Builtins.call 对未知名称返回 null（与「合法返回 null」区分由调用点负责）。
     assertNull(Builtins.call("no.such.builtin", new Object[]{}));
   }
+
+  @Test
+  public void lookupResolvesOperatorSpellingsToSameDefinition() {
+    // 节点构建期一次解析：运算符符号、英文拼写与注册名必须得到同一个句柄。
+    Builtins.BuiltinDef add = Builtins.lookup("add");
+    assertNotNull(add);
+    assertSame(add, Builtins.lookup("+"));
+    assertSame(add, Builtins.lookup("Plus"));
+    assertSame(Builtins.lookup("lte"), Builtins.lookup("less than  or equal to"));
+    assertEquals(5, add.invoke(new Object[]{2, 3}));
+  }
+
+  @Test
+  public void lookupUnknownReturnsNull() {
+    assertNull(Builtins.lookup("no.such.builtin"));
+    assertNull(Builtins.lookup(null));
+  }
+
+  @Test
+  public void integerOverflowWidensInsteadOfWrapping() {
+    // Int 溢出提升为 Long，Long 溢出退化为 Double（与 TS 统一 number 一致，不回绕）。
+    assertEquals(2147483648L, Builtins.call("add", new Object[]{Integer.MAX_VALUE, 1}));
+    assertEquals(-2147483649L, Builtins.call("sub", new Object[]{Integer.MIN_VALUE, 1}));
+    assertEquals(4611686014132420609L, Builtins.call("mul", new Object[]{Integer.MAX_VALUE, Integer.MAX_VALUE}));
+    assertEquals(7, Builtins.call("add", new Object[]{3, 4}));
+    assertEquals((double) Long.MAX_VALUE + 1.0, Builtins.call("add", new Object[]{Long.MAX_VALUE, 1L}));
+  }
+
+  @Test
+  public void longOperandsAreNotTruncated() {
+    assertEquals(5_000_000_001L, Builtins.call("add", new Object[]{5_000_000_000L, 1}));
+    assertEquals(1L, Builtins.call("mod", new Object[]{5_000_000_001L, 2}));
+  }
 }
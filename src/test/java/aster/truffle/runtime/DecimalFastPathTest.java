@@ -0,0 +1,74 @@
+package aster.truffle.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import aster.truffle.runtime.interop.AsterDecimalValue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * AsterDecimalValue 的 scaled-long 快速路径：随机操作数（含 long 边界与溢出附近的值）下，
+ * 加减乘、比较、舍入、定标除法与 canonical 字符串须与 BigDecimal 参考实现逐位一致。
+ */
+public class DecimalFastPathTest {
+
+  private static final RoundingMode[] MODES = {
+      RoundingMode.HALF_UP, RoundingMode.HALF_EVEN, RoundingMode.DOWN,
+      RoundingMode.UP, RoundingMode.HALF_DOWN, RoundingMode.CEILING, RoundingMode.FLOOR};
+
+  private static BigDecimal randomDecimal(Random random) {
+    long unscaled;
+    switch (random.nextInt(4)) {
+      case 0: unscaled = random.nextInt(2001) - 1000; break;
+      case 1: unscaled = random.nextLong(); break;
+      case 2: unscaled = (random.nextBoolean() ? Long.MAX_VALUE : Long.MIN_VALUE) - random.nextInt(3) + 1; break;
+      default: unscaled = random.nextInt(); break;
+    }
+    return BigDecimal.valueOf(unscaled, random.nextInt(12) - 2);
+  }
+
+  private static String canon(BigDecimal b) {
+    return AsterDecimalValue.of(b).canonicalString();
+  }
+
+  @Test
+  public void randomOperationsMatchBigDecimal() {
+    Random random = new Random(25);
+    for (int i = 0; i < 20_000; i++) {
+      BigDecimal x = randomDecimal(random);
+      BigDecimal y = randomDecimal(random);
+      AsterDecimalValue a = AsterDecimalValue.parse(x.toPlainString());
+      AsterDecimalValue b = AsterDecimalValue.of(y);
+      String ctx = x + " " + y;
+      assertEquals(x.stripTrailingZeros().toPlainString().replaceFirst("^-?0$", "0"), a.canonicalString(), ctx);
+      assertEquals(AsterDecimalValue.of(x), a, ctx);
+      assertEquals(AsterDecimalValue.of(x).hashCode(), a.hashCode(), ctx);
+      assertEquals(canon(x.add(y)), a.add(b).canonicalString(), ctx);
+      assertEquals(canon(x.subtract(y)), a.subtract(b).canonicalString(), ctx);
+      assertEquals(canon(x.multiply(y)), a.multiply(b).canonicalString(), ctx);
+      assertEquals(Integer.signum(x.compareTo(y)), Integer.signum(a.compareTo(b)), ctx);
+      RoundingMode mode = MODES[random.nextInt(MODES.length)];
+      int scale = random.nextInt(8) - 1;
+      assertEquals(canon(x.setScale(scale, mode)), a.setScale(scale, mode).canonicalString(), ctx + " " + mode);
+      if (y.signum() != 0) {
+        assertEquals(canon(x.divide(y, scale, mode)), a.divide(b, scale, mode).canonicalString(),
+            ctx + " " + scale + " " + mode);
+      }
+    }
+  }
+
+  @Test
+  public void builtinsStayOnCompactValues() {
+    Object sum = Builtins.call("add", new Object[]{AsterDecimalValue.parse("1200.50"), 3});
+    assertEquals("1203.5", sum.toString());
+    assertEquals(AsterDecimalValue.parse("1203.50"), sum);
+    Object big = Builtins.call("mul", new Object[]{AsterDecimalValue.parse("92233720368547758.07"), 100});
+    assertEquals("9223372036854775807", big.toString());
+    Object overflow = Builtins.call("add", new Object[]{big, 1});
+    assertEquals("9223372036854775808", overflow.toString());
+    assertEquals(Boolean.TRUE, Builtins.call("gt", new Object[]{overflow, big}));
+    assertEquals("0", AsterDecimalValue.parse("-0.000").canonicalString());
+  }
+}
@@ -0,0 +1,135 @@
+package aster.truffle.runtime;
+
+import aster.truffle.nodes.Profiler;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * MemoCache：实参按结构比较、有界 LRU 淘汰，以及开启 aster.Memoize 后纯递归函数只对每组实参求值一次。
+ */
+public class MemoCacheTest {
+
+  private static final String FIB = """
+      {
+        "name": "memo.fib",
+        "decls": [
+          {
+            "kind": "Func", "name": "main", "params": [],
+            "ret": {"kind": "TypeName", "name": "Int"}, "effects": [],
+            "body": {"kind": "Block", "statements": [{"kind": "Return", "expr":
+              {"kind": "Call", "target": {"kind": "Name", "name": "fib"}, "args": [{"kind": "Int", "value": 25}]}}]}
+          },
+          {
+            "kind": "Func", "name": "fib",
+            "params": [{"name": "n", "type": {"kind": "TypeName", "name": "Int"}}],
+            "ret": {"kind": "TypeName", "name": "Int"}, "effects": [],
+            "body": {"kind": "Block", "statements": [
+              {"kind": "If",
+               "cond": {"kind": "Call", "target": {"kind": "Name", "name": "lt"}, "args": [
+                 {"kind": "Name", "name": "n"}, {"kind": "Int", "value": 2}]},
+               "thenBlock": {"kind": "Block", "statements": [{"kind": "Return", "expr": {"kind": "Name", "name": "n"}}]},
+               "elseBlock": {"kind": "Block", "statements": [{"kind": "Return", "expr":
+                 {"kind": "Call", "target": {"kind": "Name", "name": "add"}, "args": [
+                   {"kind": "Call", "target": {"kind": "Name", "name": "fib"}, "args": [
+                     {"kind": "Call", "target": {"kind": "Name", "name": "sub"}, "args": [
+                       {"kind": "Name", "name": "n"}, {"kind": "Int", "value": 1}]}]},
+                   {"kind": "Call", "target": {"kind": "Name", "name": "fib"}, "args": [
+                     {"kind": "Call", "target": {"kind": "Name", "name": "sub"}, "args": [
+                       {"kind": "Name", "name": "n"}, {"kind": "Int", "value": 2}]}]}]}}]}}
+            ]}
+          }
+        ]
+      }
+      """;
+
+  private static AsterDataValue applicant(String name, int score) {
+    return new AsterDataValue("Applicant", new String[]{"name", "score"}, new Object[]{name, score}, null);
+  }
+
+  @Test
+  public void keysCompareArgumentsStructurally() {
+    MemoCache cache = new MemoCache(16);
+    Object fn = new Object();
+    Object key = cache.keyFor(fn, new Object[]{applicant("Ann", 700), List.of(1, 2), new AsterEnumValue("Tier", "Gold")});
+    assertEquals(key, cache.keyFor(fn, new Object[]{applicant("Ann", 700), AsterList.copyOf(List.of(1, 2)),
+        new AsterEnumValue("Tier", "Gold")}));
+    assertNotEquals(key, cache.keyFor(fn, new Object[]{applicant("Ann", 701), List.of(1, 2), new AsterEnumValue("Tier", "Gold")}));
+    assertNotEquals(key, cache.keyFor(new Object(), new Object[]{applicant("Ann", 700), List.of(1, 2),
+        new AsterEnumValue("Tier", "Gold")}));
+    // Int 与 Long 不混用缓存结果
+    assertNotEquals(cache.keyFor(fn, new Object[]{1}), cache.keyFor(fn, new Object[]{1L}));
+    // 无法结构化比较的实参与超大列表不缓存
+    assertNull(cache.keyFor(fn, new Object[]{new Object()}));
+    assertNull(cache.keyFor(fn, new Object[]{List.of(List.of(new Object()))}));
+    assertNull(cache.keyFor(fn, new Object[]{java.util.Collections.nCopies(MemoCache.MAX_KEY_NODES + 1, 0)}));
+    assertNotNull(cache.keyFor(fn, new Object[]{null, "text", 1.5, true}));
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedEntries() {
+    MemoCache cache = new MemoCache(2);
+    Object fn = new Object();
+    Object a = cache.keyFor(fn, new Object[]{"a"});
+    Object b = cache.keyFor(fn, new Object[]{"b"});
+    Object c = cache.keyFor(fn, new Object[]{"c"});
+    cache.put(a, 1);
+    cache.put(b, 2);
+    assertEquals(1, cache.get(a));
+    cache.put(c, 3);
+    assertSame(MemoCache.MISS, cache.get(b));
+    assertEquals(1, cache.get(a));
+    assertEquals(3, cache.get(c));
+    assertEquals(2, cache.size());
+    assertEquals(3, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.getEvictions());
+  }
+
+  @Test
+  public void memoizedRecursionEvaluatesEachArgumentOnce() throws Exception {
+    Source source = Source.newBuilder("aster", FIB, "fib.json").build();
+    Profiler.setEnabled(true);
+    try {
+      Profiler.reset();
+      try (Context context = Context.newBuilder("aster").option("aster.Memoize", "true").build()) {
+        assertEquals(75025, context.eval(source).asInt());
+      }
+      // main 与 fib(0..25) 各求值一次；n = 3..25 的第二个递归调用 fib(n - 2) 命中缓存
+      assertEquals(27L, Profiler.getCounters().get("memo_miss"));
+      assertEquals(23L, Profiler.getCounters().get("memo_hit"));
+
+      Profiler.reset();
+      try (Context context = Context.newBuilder("aster").build()) {
+        assertEquals(75025, context.eval(source).asInt());
+      }
+      assertNull(Profiler.getCounters().get("memo_miss"));
+    } finally {
+      Profiler.setEnabled(false);
+    }
+  }
+
+  @Test
+  public void currentRequiresEnteredContext() {
+    try (Context context = Context.newBuilder("aster").option("aster.Memoize", "true").build()) {
+      context.initialize("aster");
+      context.enter();
+      try {
+        assertNotNull(MemoCache.current());
+      } finally {
+        context.leave();
+      }
+      // 本线程已为该上下文初始化过，但当前不在上下文中：返回 null 而不是抛出
+      assertNull(MemoCache.current());
+    }
+    assertNull(MemoCache.current());
+  }
+}
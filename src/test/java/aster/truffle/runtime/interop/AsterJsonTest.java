@@ -0,0 +1,145 @@
+package aster.truffle.runtime.interop;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AsterJson：JSON 字节作为惰性 guest 对象直接传入策略，未访问的子树不解析。
+ */
+class AsterJsonTest {
+
+  private final AsterJson json = new AsterJson();
+
+  /** {@code score(a: Applicant) = add(a.x.y, List.length(a.items))}。 */
+  private static final String SCORE = """
+      {
+        "name": "json.score",
+        "decls": [
+          {"kind": "Data", "name": "X", "fields": [
+            {"name": "y", "type": {"kind": "TypeName", "name": "Int"}}]},
+          {"kind": "Data", "name": "Applicant", "fields": [
+            {"name": "x", "type": {"kind": "TypeName", "name": "X"}},
+            {"name": "items", "type": {"kind": "List", "type": {"kind": "TypeName", "name": "Int"}}}]},
+          {
+            "kind": "Func", "name": "score",
+            "params": [{"name": "a", "type": {"kind": "TypeName", "name": "Applicant"}}],
+            "ret": {"kind": "TypeName", "name": "Int"}, "effects": [],
+            "body": {"kind": "Block", "statements": [{"kind": "Return", "expr": {
+              "kind": "Call", "target": {"kind": "Name", "name": "add"}, "args": [
+                {"kind": "Name", "name": "a.x.y"},
+                {"kind": "Call", "target": {"kind": "Name", "name": "List.length"},
+                 "args": [{"kind": "Name", "name": "a.items"}]}]}}]}
+          }
+        ]
+      }
+      """;
+
+  @Test
+  void readsFieldsLazily() {
+    // unused 子树格式错误，但从未被访问，因此不报错
+    Object parsed = json.parse("{\"a\": 1, \"unused\": {\"k\": tru}, \"b\": \"two\"}");
+    Map<?, ?> obj = assertInstanceOf(AsterJsonObject.class, parsed);
+    assertEquals(1, obj.get("a"));
+    assertEquals("two", obj.get("b"));
+    assertNull(obj.get("missing"));
+    assertEquals(3, obj.size());
+  }
+
+  @Test
+  void decodesNestedValuesAndScalars() {
+    Map<?, ?> obj = (Map<?, ?>) json.parse("""
+        {"n": {"list": [1, 3000000000, 2.5, null, true, "x"]},
+         "s": "a\\"b\\\\c\\u00e9\\n", "u": "größe"}
+        """);
+    List<?> list = (List<?>) ((Map<?, ?>) obj.get("n")).get("list");
+    assertEquals(List.of(1, 3000000000L, 2.5), list.subList(0, 3));
+    assertNull(list.get(3));
+    assertEquals(Boolean.TRUE, list.get(4));
+    assertEquals("x", list.get(5));
+    assertEquals("a\"b\\cé\n", obj.get("s"));
+    assertEquals("größe", obj.get("u"));
+  }
+
+  @Test
+  void documentsWithDifferentLayoutsShareHints() {
+    // 同一位置先后出现相同、前缀、不同与重复键的布局，提示命中与否都不影响结果
+    String[] docs = {
+        "[{\"a\": 1, \"b\": 2}, {\"a\": 3, \"b\": 4}]",
+        "[{\"a\": 5}]",
+        "[{\"b\": 6, \"c\": 7}]",
+        "[{\"a\": 8, \"a\": 9}]",
+        "[{}]",
+    };
+    List<?> first = (List<?>) json.parse(docs[0]);
+    assertEquals(Map.of("a", 3, "b", 4), Map.copyOf((Map<?, ?>) first.get(1)));
+    assertEquals(Map.of("a", 5), Map.copyOf((Map<?, ?>) ((List<?>) json.parse(docs[1])).get(0)));
+    Map<?, ?> third = (Map<?, ?>) ((List<?>) json.parse(docs[2])).get(0);
+    assertFalse(third.containsKey("a"));
+    assertEquals(7, third.get("c"));
+    Map<?, ?> dup = (Map<?, ?>) ((List<?>) json.parse(docs[3])).get(0);
+    assertEquals(1, dup.size());
+    assertEquals(9, dup.get("a"));
+    assertTrue(((Map<?, ?>) ((List<?>) json.parse(docs[4])).get(0)).isEmpty());
+  }
+
+  @Test
+  void malformedInputFailsOnAccess() {
+    assertThrows(AsterJsonException.class, () -> json.parse("  "));
+    assertThrows(AsterJsonException.class, () -> json.parse("1 2"));
+    Object broken = json.parse("{\"a\": 1,");
+    AsterJsonException e =
+        assertThrows(AsterJsonException.class, () -> ((Map<?, ?>) broken).get("a"));
+    assertEquals(8, e.getOffset());
+    assertTrue(e.getMessage().contains("字节偏移 8"), e.getMessage());
+  }
+
+  @Test
+  void shapesAreOwnedByParser() {
+    AsterJson other = new AsterJson();
+    byte[][] raw = {"a".getBytes(StandardCharsets.UTF_8)};
+    JsonShape mine = json.shape(new String[] {"a"}, raw);
+    assertSame(mine, json.shape(new String[] {"a"}, raw));
+    assertNotSame(mine, other.shape(new String[] {"a"}, raw));
+  }
+
+  @Test
+  void malformedFieldReadByPolicyIsGuestError() throws Exception {
+    byte[] request = "{\"x\": {\"y\": 4o}, \"items\": []}".getBytes(StandardCharsets.UTF_8);
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true).build()) {
+      Value score = context.eval(Source.newBuilder("aster", SCORE, "score.json").build());
+      PolyglotException e = assertThrows(PolyglotException.class, () -> score.execute(json.parse(request)));
+      assertTrue(e.isGuestException(), e.getMessage());
+      assertTrue(e.getMessage().contains("JSON 格式错误"), e.getMessage());
+    }
+  }
+
+  @Test
+  void entryFunctionReadsJsonInput() throws Exception {
+    byte[] request = """
+        {"id": "r-1", "x": {"y": 40, "z": [1, 2, 3]}, "items": [7, 8], "notes": "..."}
+        """.getBytes(StandardCharsets.UTF_8);
+    try (Context context = Context.newBuilder("aster").allowAllAccess(true).build()) {
+      Value score = context.eval(Source.newBuilder("aster", SCORE, "score.json").build());
+      assertEquals(42, score.execute(json.parse(request)).asInt());
+      Value view = context.asValue(json.parse(request));
+      assertEquals(40, view.getMember("x").getMember("y").asInt());
+      assertEquals(3, view.getMember("x").getMember("z").getArraySize());
+    }
+  }
+}